@@ -1,4 +1,5 @@
 CREATE EXTENSION IF NOT EXISTS "uuid-ossp";
+CREATE EXTENSION IF NOT EXISTS pg_stat_statements;
 
 -- Tabela kategorii produktów
 CREATE TABLE IF NOT EXISTS product_category (
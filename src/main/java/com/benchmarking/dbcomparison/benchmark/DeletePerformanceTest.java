@@ -1,5 +1,8 @@
 package com.benchmarking.dbcomparison.benchmark;
 
+import com.benchmarking.dbcomparison.benchmark.phase.TimeBoxedRunner;
+import com.benchmarking.dbcomparison.benchmark.results.ResultSink;
+import com.benchmarking.dbcomparison.benchmark.run.BenchmarkRunContext;
 import com.benchmarking.dbcomparison.config.BenchmarkConfig;
 import com.benchmarking.dbcomparison.config.DatabaseMetrics;
 import com.benchmarking.dbcomparison.repository.*;
@@ -11,9 +14,6 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.File;
-import java.io.FileWriter;
-import java.io.IOException;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
@@ -32,6 +32,9 @@ public class DeletePerformanceTest {
     private final ProductCategoryRepository categoryRepository;
     private final BenchmarkConfig benchmarkConfig;
     private final DeletePerformanceTest self;
+    private final BenchmarkRunContext runContext;
+    private final ResultSink resultSink;
+    private final TimeBoxedRunner runner;
 
     @Value("${spring.profiles.active:unknown}")
     private String activeProfile;
@@ -46,7 +49,10 @@ public class DeletePerformanceTest {
                                  BrandRepository brandRepository,
                                  ProductCategoryRepository categoryRepository,
                                  BenchmarkConfig benchmarkConfig,
-                                 @Lazy DeletePerformanceTest self) {
+                                 @Lazy DeletePerformanceTest self,
+                                 BenchmarkRunContext runContext,
+                                 ResultSink resultSink,
+                                 TimeBoxedRunner runner) {
         this.databaseMetrics = databaseMetrics;
         this.orderItemRepository = orderItemRepository;
         this.orderRepository = orderRepository;
@@ -58,6 +64,9 @@ public class DeletePerformanceTest {
         this.categoryRepository = categoryRepository;
         this.benchmarkConfig = benchmarkConfig;
         this.self = self;
+        this.runContext = runContext;
+        this.resultSink = resultSink;
+        this.runner = runner;
     }
 
     private boolean isMySql()    { return activeProfile != null && activeProfile.toLowerCase().contains("mysql"); }
@@ -67,31 +76,10 @@ public class DeletePerformanceTest {
     private int chunkSize() { return Math.max(2_000, Math.min(limit(), benchmarkConfig.getBatchSize())); }
 
     private void writeCsv(String metric, String label, long durMs, int count) {
-        File csv = new File("performance-delete-results.csv");
-        boolean header = !csv.exists() || csv.length() == 0;
-        double opsPerSec = durMs > 0 ? (count * 1000.0) / durMs : 0.0;
-        double p95 = databaseMetrics.getP95Millis(metric, activeProfile);
-
-        try (FileWriter w = new FileWriter(csv, true)) {
-            if (header) {
-                // identyczny układ i nazwy kolumn jak w przykładzie:
-                w.write("Operacja;Czas[ms];Liczba rekordów;Operacji/s;Profil;p95_ms;DB_operacje;DB_failed_queries;DB_czas_timer_ms\n");
-            }
-            String line = String.join(";",
-                    label,
-                    String.valueOf(durMs),
-                    String.valueOf(count),
-                    String.valueOf(opsPerSec),
-                    activeProfile,
-                    String.valueOf(Double.isNaN(p95) ? 0 : p95),
-                    String.valueOf(databaseMetrics.getOperationsCount(metric, activeProfile)),
-                    String.valueOf(databaseMetrics.getFailedQueriesCount()),
-                    String.valueOf(databaseMetrics.getTotalOperationTimeMillis(metric, activeProfile))
-            );
-            w.write(line + "\n");
-        } catch (IOException e) {
-            log.warn("CSV write error for {}: {}", metric, e.getMessage());
-        }
+        resultSink.record("delete", label)
+                .throughput(count, durMs)
+                .dbMetrics(metric)
+                .submit();
     }
 
 
@@ -99,23 +87,29 @@ public class DeletePerformanceTest {
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     protected int doBulk(String label, String metric, Supplier<Integer> action) {
         log.info("Start: {}", label);
+        // chunk to jeden wiersz wyniku – jego okno pomiarowe daje kolektorom kroku liczniki tylko tego chunka
+        TimeBoxedRunner.Window window = runner.measurementWindow();
         Timer.Sample t = databaseMetrics.startTimer();
         long start = System.nanoTime();
+        int affected;
+        long dur;
         try {
-            int affected = action.get();
+            affected = action.get();
             databaseMetrics.incrementDatabaseOperations(metric, activeProfile);
             databaseMetrics.recordDataSize(metric, activeProfile, affected);
-            long dur = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            dur = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
             databaseMetrics.recordTransactionTime(dur);
-            writeCsv(metric, label, dur, affected);
-            return affected;
+            runContext.progress(affected);
         } catch (Exception e) {
             databaseMetrics.incrementDatabaseErrors(metric, activeProfile);
             databaseMetrics.incrementFailedQueries();
             throw e;
         } finally {
             databaseMetrics.stopTimer(t, metric, activeProfile);
+            window.close();
         }
+        writeCsv(metric, label, dur, affected);
+        return affected;
     }
 
     /* --- dispatch do metod repo, zgodnie z profilem --- */
@@ -161,9 +155,11 @@ public class DeletePerformanceTest {
 
     /* --- testy: bez @Transactional na metodach pętli, transakcje tylko na chunk --- */
     public void testDeleteOrderItems() {
+        runContext.step("Usuwanie pozycji zamówień");
         final int target = limit(), bite = chunkSize();
         int left = target, total = 0;
         while (left > 0) {
+            runContext.checkCancelled();
             final int currentLimit = Math.min(bite, left);
             int n = self.doBulk("Usuwanie pozycji zamówień (chunk " + currentLimit + ")", "delete_order_items",
                     () -> delOrderItemsTopN(currentLimit));
@@ -173,9 +169,11 @@ public class DeletePerformanceTest {
     }
 
     public void testDeleteOrders() {
+        runContext.step("Usuwanie zamówień");
         final int target = limit(), bite = chunkSize();
         int left = target, total = 0;
         while (left > 0) {
+            runContext.checkCancelled();
             final int currentLimit = Math.min(bite, left);
             self.doBulk("Usuwanie pozycji tych zamówień (chunk " + currentLimit + ")",
                     "delete_order_items_for_orders",
@@ -189,9 +187,11 @@ public class DeletePerformanceTest {
     }
 
     public void testDeleteProductReviews() {
+        runContext.step("Usuwanie opinii produktów");
         final int target = limit(), bite = chunkSize();
         int left = target, total = 0;
         while (left > 0) {
+            runContext.checkCancelled();
             final int currentLimit = Math.min(bite, left);
             int n = self.doBulk("Usuwanie opinii produktów (chunk " + currentLimit + ")", "delete_product_reviews",
                     () -> delProductReviewsTopN(currentLimit));
@@ -201,9 +201,11 @@ public class DeletePerformanceTest {
     }
 
     public void testDeleteInventoryMovements() {
+        runContext.step("Usuwanie ruchów magazynowych");
         final int target = limit(), bite = chunkSize();
         int left = target, total = 0;
         while (left > 0) {
+            runContext.checkCancelled();
             final int currentLimit = Math.min(bite, left);
             int n = self.doBulk("Usuwanie ruchów magazynowych (chunk " + currentLimit + ")", "delete_inventory_movements",
                     () -> delInventoryMovementsTopN(currentLimit));
@@ -213,9 +215,11 @@ public class DeletePerformanceTest {
     }
 
     public void testDeleteProducts() {
+        runContext.step("Usuwanie produktów");
         final int target = limit(), bite = chunkSize();
         int left = target, total = 0;
         while (left > 0) {
+            runContext.checkCancelled();
             final int currentLimit = Math.min(bite, left);
             self.doBulk("Usuwanie opinii (pod produkty) – chunk " + currentLimit, "delete_product_reviews",
                     () -> delProductReviewsTopN(currentLimit));
@@ -229,9 +233,11 @@ public class DeletePerformanceTest {
     }
 
     public void testDeleteCustomers() {
+        runContext.step("Usuwanie klientów");
         final int target = limit(), bite = chunkSize();
         int left = target, total = 0;
         while (left > 0) {
+            runContext.checkCancelled();
             final int currentLimit = Math.min(bite, left);
             int n = self.doBulk("Usuwanie klientów (chunk " + currentLimit + ")", "delete_customers",
                     () -> delCustomersTopN(currentLimit));
@@ -241,12 +247,14 @@ public class DeletePerformanceTest {
     }
 
     public void testDeleteBrands() {
+        runContext.step("Usuwanie marek");
         final int currentLimit = chunkSize();
         self.doBulk("Usuwanie marek (chunk " + currentLimit + ")", "delete_brands",
                 () -> delBrandsTopN(currentLimit));
     }
 
     public void testDeleteCategories() {
+        runContext.step("Usuwanie kategorii");
         final int currentLimit = chunkSize();
         self.doBulk("Usuwanie kategorii (chunk " + currentLimit + ")", "delete_categories",
                 () -> delCategoriesTopN(currentLimit));
@@ -1,10 +1,24 @@
 package com.benchmarking.dbcomparison.benchmark;
 
+import com.benchmarking.dbcomparison.benchmark.insert.BulkInsertWriter;
+import com.benchmarking.dbcomparison.benchmark.insert.BulkTable;
+import com.benchmarking.dbcomparison.benchmark.insert.BulkTables;
+import com.benchmarking.dbcomparison.benchmark.insert.InsertEngine;
+import com.benchmarking.dbcomparison.benchmark.insert.JdbcBatchWriter;
+import com.benchmarking.dbcomparison.benchmark.insert.TableWriter;
+import com.benchmarking.dbcomparison.benchmark.phase.TimeBoxedRunner;
+import com.benchmarking.dbcomparison.benchmark.results.ResultSink;
+import com.benchmarking.dbcomparison.benchmark.run.BenchmarkRunContext;
+import com.benchmarking.dbcomparison.benchmark.telemetry.jfr.BatchFlushEvent;
 import com.benchmarking.dbcomparison.config.BenchmarkConfig;
 import com.benchmarking.dbcomparison.config.DatabaseMetrics;
 import com.benchmarking.dbcomparison.model.*;
+import com.benchmarking.dbcomparison.model.id.BenchmarkIdGenerator;
 import com.benchmarking.dbcomparison.repository.*;
-import com.benchmarking.dbcomparison.util.DataGenerator;
+import com.benchmarking.dbcomparison.util.DatasetSpec;
+import com.benchmarking.dbcomparison.util.DatasetTable;
+import com.benchmarking.dbcomparison.util.EntityGenerator;
+import com.benchmarking.dbcomparison.util.ParallelDataGenerator;
 import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
@@ -13,12 +27,11 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.File;
-import java.io.FileWriter;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
 
 @Slf4j
 @Component
@@ -34,6 +47,11 @@ public class InsertPerformanceTest {
     private final InventoryMovementRepository movementRepository;
     private final OrderItemRepository orderItemRepository;
     private final BenchmarkConfig benchmarkConfig;
+    private final BenchmarkRunContext runContext;
+    private final BulkInsertWriter bulkWriter;
+    private final JdbcBatchWriter jdbcBatchWriter;
+    private final ResultSink resultSink;
+    private final TimeBoxedRunner runner;
 
     @PersistenceContext
     private EntityManager em;
@@ -41,7 +59,10 @@ public class InsertPerformanceTest {
     @Value("${spring.profiles.active:unknown}")
     private String activeProfile;
 
-    private DataGenerator dataGenerator = new DataGenerator();
+    private EntityGenerator dataGenerator;
+    private DatasetSpec dataset;
+    // ścieżka zapisu wybrana dla bieżącego przebiegu (null = benchmark.insertEngine)
+    private volatile InsertEngine runEngine;
 
     private List<Customer> customers = new ArrayList<>();
     private List<Brand> brands = new ArrayList<>();
@@ -60,7 +81,12 @@ public class InsertPerformanceTest {
                                  ProductReviewRepository reviewRepository,
                                  InventoryMovementRepository movementRepository,
                                  OrderItemRepository orderItemRepository,
-                                 BenchmarkConfig benchmarkConfig) {
+                                 BenchmarkConfig benchmarkConfig,
+                                 BenchmarkRunContext runContext,
+                                 BulkInsertWriter bulkWriter,
+                                 JdbcBatchWriter jdbcBatchWriter,
+                                 ResultSink resultSink,
+                                 TimeBoxedRunner runner) {
         this.databaseMetrics = databaseMetrics;
         this.customerRepository = customerRepository;
         this.brandRepository = brandRepository;
@@ -71,6 +97,11 @@ public class InsertPerformanceTest {
         this.movementRepository = movementRepository;
         this.orderItemRepository = orderItemRepository;
         this.benchmarkConfig = benchmarkConfig;
+        this.runContext = runContext;
+        this.bulkWriter = bulkWriter;
+        this.jdbcBatchWriter = jdbcBatchWriter;
+        this.resultSink = resultSink;
+        this.runner = runner;
     }
 
     private boolean isMySql()    { return activeProfile != null && activeProfile.toLowerCase().contains("mysql"); }
@@ -79,8 +110,46 @@ public class InsertPerformanceTest {
     private int maxRecords() { return Math.max(1, benchmarkConfig.getRecordCount()); }
     private int batchSize()  { return Math.max(100, benchmarkConfig.getBatchSize()); }
 
+    private InsertEngine engine() {
+        InsertEngine e = runEngine;
+        return e != null ? e : benchmarkConfig.getInsertEngine();
+    }
+
+    /** Zapis z pominięciem JPA dla bieżącej ścieżki; null = JPA. */
+    private TableWriter tableWriter() {
+        return switch (engine()) {
+            case JPA -> null;
+            case BULK -> bulkWriter;
+            case JDBC_BATCH -> jdbcBatchWriter;
+        };
+    }
+
+    /** Ścieżka JPA zostaje pod dotychczasowymi etykietami, pozostałe dostają dopisek – jeden CSV dla wszystkich. */
+    private String label(String base) {
+        TableWriter writer = tableWriter();
+        return writer != null ? base + " [" + writer.name() + "]" : base;
+    }
+
+    private String metric(String base) {
+        return switch (engine()) {
+            case JPA -> base;
+            case BULK -> base + "_bulk";
+            case JDBC_BATCH -> base + "_jdbc";
+        };
+    }
+
+    /** Paczka generowania/zapisu: ładowanie natywne opłaca się dopiero przy dużych paczkach. */
+    private int chunkSize() {
+        return engine() == InsertEngine.BULK ? Math.max(batchSize(), benchmarkConfig.getBulkChunkRows()) : batchSize();
+    }
+
     private void initIfNeeded() {
-        if (dataGenerator == null) dataGenerator = new DataGenerator();
+        if (dataset == null && benchmarkConfig.getDatasetSeed() != null) {
+            dataset = DatasetSpec.of(benchmarkConfig.getDatasetSeed(), benchmarkConfig.getScaleFactor());
+        }
+        if (dataGenerator == null) {
+            dataGenerator = dataset != null ? dataset.newGenerator() : benchmarkConfig.getGeneratorMode().create();
+        }
         if (customers == null) customers = new ArrayList<>();
         if (brands == null) brands = new ArrayList<>();
         if (categories == null) categories = new ArrayList<>();
@@ -119,45 +188,148 @@ public class InsertPerformanceTest {
     }
 
     private void writeCsv(String label, long durationMs, int recordCount, String metricName) {
-        File csv = new File("performance-insert-results.csv");
-        boolean header = !csv.exists() || csv.length() == 0;
-        double opsPerSec = durationMs > 0 ? (recordCount * 1000.0) / durationMs : 0.0;
-        double p95 = databaseMetrics.getP95Millis(metricName, activeProfile);
-        try (FileWriter w = new FileWriter(csv, true)) {
-            if (header) {
-                w.write("Operacja;Czas[ms];Liczba rekordów;Operacji/s;Profil;p95_ms;DB_operacje;DB_failed_queries;DB_czas_timer_ms\n");
-            }
-            String line = String.join(";",
-                    label, String.valueOf(durationMs), String.valueOf(recordCount),
-                    String.valueOf(opsPerSec), activeProfile,
-                    String.valueOf(Double.isNaN(p95) ? 0 : p95),
-                    String.valueOf(databaseMetrics.getOperationsCount(metricName, activeProfile)),
-                    String.valueOf(databaseMetrics.getFailedQueriesCount()),
-                    String.valueOf(databaseMetrics.getTotalOperationTimeMillis(metricName, activeProfile)));
-            w.write(line + "\n");
-        } catch (IOException e) {
-            log.error("CSV write error", e);
-        }
+        resultSink.record("insert", label)
+                .param("engine", engine())
+                .param("idStrategy", BenchmarkIdGenerator.current())
+                .throughput(recordCount, durationMs)
+                .dbMetrics(metricName)
+                .submit();
     }
 
-    private <T> int saveBatch(List<T> buf, java.util.function.Function<List<T>, List<T>> saver) {
+    private <T> int saveBatch(List<T> buf, Function<List<T>, List<T>> saver) {
         if (buf.isEmpty()) return 0;
+        BatchFlushEvent event = batchEvent(InsertEngine.JPA, buf);
         List<T> saved = saver.apply(buf);
         em.flush(); em.clear();
         int n = saved.size();
+        event.finish(n);
+        buf.clear();
+        runContext.progress(n);
+        runContext.checkCancelled();
+        return n;
+    }
+
+    /** Zapis paczki wybraną ścieżką; bufor jest potem czyszczony. */
+    private <T> int persist(List<T> buf, Function<List<T>, List<T>> saver, ToIntFunction<List<T>> direct) {
+        if (engine() == InsertEngine.JPA) return saveBatch(buf, saver);
+        if (buf.isEmpty()) return 0;
+        BatchFlushEvent event = batchEvent(engine(), buf);
+        int n = direct.applyAsInt(buf);
+        event.finish(n);
         buf.clear();
+        runContext.progress(n);
+        runContext.checkCancelled();
+        return n;
+    }
+
+    private BatchFlushEvent batchEvent(InsertEngine engine, List<?> buf) {
+        BatchFlushEvent event = new BatchFlushEvent(engine.name(), buf.get(0).getClass().getSimpleName(), activeProfile);
+        event.begin();
+        return event;
+    }
+
+    /** Paczka jednej tabeli ścieżką bez JPA (BULK / JDBC_BATCH). */
+    private <T> int writeDirect(BulkTable<T> table, List<T> rows) {
+        return tableWriter().write(table, rows);
+    }
+
+    /** Zamówienia i ich pozycje – dwie tabele, pozycje zapisywane zaraz po paczce zamówień (id nadaje koder). */
+    private int writeOrdersDirect(List<Order> orders) {
+        TableWriter writer = tableWriter();
+        int n = writer.write(BulkTables.ORDER, orders);
+        List<OrderItem> items = new ArrayList<>(orders.size() * 3);
+        for (Order o : orders) items.addAll(o.getItems());
+        writer.write(BulkTables.ORDER_ITEM, items);
         return n;
     }
 
-    private <T> List<T> sample(Class<T> type, int limit) {
+    /** Liczba wierszy tabeli: ze specyfikacji zbioru deterministycznego albo recordCount. */
+    private int targetRows(DatasetTable table) {
+        return dataset != null ? dataset.count(table) : maxRecords();
+    }
+
+    /**
+     * Generuje wiersze tabeli ({@link #targetRows}) i zapisuje je paczkami. Przy {@code generatorThreads > 0} paczki powstają
+     * na osobnych wątkach (każdy z własnym generatorem), a ten wątek tylko zapisuje.
+     * W zbiorze deterministycznym każdy wiersz dostaje ziarno z (seed, tabela, indeks).
+     */
+    private <T> int generateAndSave(DatasetTable table, ParallelDataGenerator.EntityFactory<T> factory,
+                                    Function<List<T>, List<T>> saver, ToIntFunction<List<T>> direct) {
+        return generateAndSave(table, factory, saver, direct, null);
+    }
+
+    /** Jak wyżej; {@code firstRows} (tylko zbiór deterministyczny) zbiera encje o najniższych indeksach wiersza. */
+    private <T> int generateAndSave(DatasetTable table, ParallelDataGenerator.EntityFactory<T> factory,
+                                    Function<List<T>, List<T>> saver, ToIntFunction<List<T>> direct, FirstRows<T> firstRows) {
+        int target = targetRows(table);
+        if (dataset != null) factory = dataset.rowFactory(table, firstRows != null ? firstRows.capture(factory) : factory);
+        int bs = chunkSize(), workers = benchmarkConfig.getGeneratorThreads(), total = 0;
+        if (workers <= 0) {
+            List<T> buf = new ArrayList<>(bs);
+            for (int i = 0; i < target; i++) {
+                buf.add(factory.create(dataGenerator, i));
+                if (buf.size() == bs) total += persist(buf, saver, direct);
+            }
+            return total + persist(buf, saver, direct);
+        }
+        try (ParallelDataGenerator<T> gen = new ParallelDataGenerator<>(target, bs, workers, workers * 2,
+                dataset != null ? dataset::newGenerator : benchmarkConfig.getGeneratorMode()::create, factory)) {
+            List<T> batch;
+            while ((batch = gen.nextBatch()) != null) total += persist(batch, saver, direct);
+        }
+        return total;
+    }
+
+    /**
+     * Próbka zapisanych encji do powiązań. W zbiorze deterministycznym – encje o indeksach wiersza 0..limit-1
+     * w kolejności indeksu, zebrane przy generowaniu ({@code firstRows}): rodzice są przypisywani tak samo
+     * w każdym przebiegu i na obu bazach, niezależnie od collation i strategii id (sortowanie po kolumnach
+     * tekstowych zależało od collation bazy).
+     */
+    private <T> List<T> sample(Class<T> type, int limit, FirstRows<T> firstRows) {
+        if (dataset != null) return firstRows.list();
         return em.createQuery("select e from " + type.getSimpleName() + " e", type)
                 .setMaxResults(limit)
                 .getResultList();
     }
 
+    /**
+     * Encje o indeksach wiersza poniżej limitu, zapisywane przez fabrykę na wątkach generatora; czytane po zakończeniu
+     * generowania (paczki przechodzą przez kolejkę generatora, więc zapisy są widoczne).
+     */
+    private static final class FirstRows<T> {
+        private final Object[] rows;
+        private int appended;
+
+        FirstRows(int limit) {
+            this.rows = new Object[Math.max(0, limit)];
+        }
+
+        ParallelDataGenerator.EntityFactory<T> capture(ParallelDataGenerator.EntityFactory<T> factory) {
+            return (generator, index) -> {
+                T entity = factory.create(generator, index);
+                if (index < rows.length) rows[index] = entity;
+                return entity;
+            };
+        }
+
+        /** Dla wierszy generowanych po kolei na wątku zapisu (kategorie). */
+        void add(T entity) {
+            if (appended < rows.length) rows[appended++] = entity;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<T> list() {
+            List<T> list = new ArrayList<>(rows.length);
+            for (Object row : rows) if (row != null) list.add((T) row);
+            return list;
+        }
+    }
+
     @Transactional
     public void setUp() {
         initIfNeeded();
+        if (dataset != null) log.info("setUp: zbiór deterministyczny {}", dataset.describe());
         log.info("setUp: TRUNCATE...");
         truncateAll();
         clearLocalCaches();
@@ -174,26 +346,28 @@ public class InsertPerformanceTest {
     @Transactional
     public void testCustomerInsertPerformance() {
         initIfNeeded();
-        final String label = "Dodawanie klientów", metric = "customer_insert";
-        Timer.Sample timer = databaseMetrics.startTimer();
-        long start = System.nanoTime();
+        final String label = label("Dodawanie klientów"), metric = metric("customer_insert");
+        runContext.step(label);
+        // okno pomiarowe: kolektory kroku (bufor bazy, zasoby, JDBC) dla wiersza wyniku
+        long start;
         int total = 0;
-        try {
-            customers.clear();
-            List<Customer> buf = new ArrayList<>(batchSize());
-            int target = maxRecords(), bs = batchSize();
-            for (int i = 0; i < target; i++) {
-                buf.add(dataGenerator.generateCustomer());
-                if (buf.size() == bs) total += saveBatch(buf, customerRepository::saveAll);
+        try (TimeBoxedRunner.Window window = runner.measurementWindow()) {
+            start = window.startNanos();
+            // stopTimer przed zamknięciem okna – poza nim pomiar nie jest zapisywany
+            Timer.Sample timer = databaseMetrics.startTimer();
+            try {
+                customers.clear();
+                FirstRows<Customer> firstCustomers = new FirstRows<>(Math.min(10_000, targetRows(DatasetTable.CUSTOMER)));
+                total += generateAndSave(DatasetTable.CUSTOMER, (gen, i) -> gen.generateCustomer(), customerRepository::saveAll,
+                        rows -> writeDirect(BulkTables.CUSTOMER, rows), firstCustomers);
+                customers = sample(Customer.class, Math.min(10_000, total), firstCustomers);
+                databaseMetrics.incrementDatabaseOperations(metric, activeProfile);
+                databaseMetrics.recordDataSize("customers", activeProfile, total);
+            } finally {
+                databaseMetrics.stopTimer(timer, metric, activeProfile);
             }
-            total += saveBatch(buf, customerRepository::saveAll);
-            customers = sample(Customer.class, Math.min(10_000, total));
-            databaseMetrics.incrementDatabaseOperations(metric, activeProfile);
-            databaseMetrics.recordDataSize("customers", activeProfile, total);
         } catch (Exception e) {
             databaseMetrics.incrementFailedQueries(); throw e;
-        } finally {
-            databaseMetrics.stopTimer(timer, metric, activeProfile);
         }
         writeCsv(label, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), total, metric);
     }
@@ -201,41 +375,53 @@ public class InsertPerformanceTest {
     @Transactional
     public void testBrandAndCategoryInsertPerformance() {
         initIfNeeded();
-        final String label = "Dodawanie marek i kategorii", metric = "brand_category_insert";
-        Timer.Sample timer = databaseMetrics.startTimer();
-        long start = System.nanoTime();
+        final String label = label("Dodawanie marek i kategorii"), metric = metric("brand_category_insert");
+        runContext.step(label);
+        long start;
         int total = 0;
-        try {
-            // Brand
-            brands.clear();
-            List<Brand> bbuf = new ArrayList<>(batchSize());
-            int targetBrands = maxRecords(), bs = batchSize();
-            for (int i = 0; i < targetBrands; i++) {
-                bbuf.add(dataGenerator.generateBrand());
-                if (bbuf.size() == bs) total += saveBatch(bbuf, brandRepository::saveAll);
-            }
-            total += saveBatch(bbuf, brandRepository::saveAll);
-            brands = sample(Brand.class, Math.min(10_000, (int) brandRepository.count()));
-            databaseMetrics.incrementDatabaseOperations("brand_insert", activeProfile);
-            databaseMetrics.recordDataSize("brands", activeProfile, brands.size());
-
-            // Category
-            categories.clear();
-            List<ProductCategory> cbuf = new ArrayList<>(batchSize());
-            for (int i = 0; i < MAX_CATEGORIES; i++) {
-                ProductCategory main = dataGenerator.generateCategory(null);
-                cbuf.add(main);
-                for (int j = 0; j < SUBCATEGORIES_PER_MAIN; j++) cbuf.add(dataGenerator.generateCategory(main));
-                if (cbuf.size() >= bs) total += saveBatch(cbuf, categoryRepository::saveAll);
+        try (TimeBoxedRunner.Window window = runner.measurementWindow()) {
+            start = window.startNanos();
+            Timer.Sample timer = databaseMetrics.startTimer();
+            try {
+                // Brand
+                brands.clear();
+                FirstRows<Brand> firstBrands = new FirstRows<>(Math.min(10_000, targetRows(DatasetTable.BRAND)));
+                total += generateAndSave(DatasetTable.BRAND, (gen, i) -> gen.generateBrand(), brandRepository::saveAll,
+                        rows -> writeDirect(BulkTables.BRAND, rows), firstBrands);
+                brands = sample(Brand.class, Math.min(10_000, (int) brandRepository.count()), firstBrands);
+                databaseMetrics.incrementDatabaseOperations(metric("brand_insert"), activeProfile);
+                databaseMetrics.recordDataSize("brands", activeProfile, brands.size());
+
+                // Category
+                categories.clear();
+                int bs = chunkSize();
+                List<ProductCategory> cbuf = new ArrayList<>(bs);
+                ToIntFunction<List<ProductCategory>> directCategories = rows -> writeDirect(BulkTables.CATEGORY, rows);
+                int mains = dataset != null ? dataset.mainCategories() : MAX_CATEGORIES;
+                // kategorie powstają po kolei na tym wątku – kolejność dodawania to kolejność indeksu
+                FirstRows<ProductCategory> firstCategories = new FirstRows<>(dataset != null ? 20_000 : 0);
+                for (int i = 0; i < mains; i++) {
+                    // główna kategoria i jej podkategorie powstają z jednego ziarna wiersza
+                    if (dataset != null) dataset.atRow(dataGenerator, DatasetTable.CATEGORY, i);
+                    ProductCategory main = dataGenerator.generateCategory(null);
+                    cbuf.add(main);
+                    firstCategories.add(main);
+                    for (int j = 0; j < SUBCATEGORIES_PER_MAIN; j++) {
+                        ProductCategory sub = dataGenerator.generateCategory(main);
+                        cbuf.add(sub);
+                        firstCategories.add(sub);
+                    }
+                    if (cbuf.size() >= bs) total += persist(cbuf, categoryRepository::saveAll, directCategories);
+                }
+                total += persist(cbuf, categoryRepository::saveAll, directCategories);
+                categories = sample(ProductCategory.class, Math.min(20_000, (int) categoryRepository.count()), firstCategories);
+                databaseMetrics.incrementDatabaseOperations(metric("category_insert"), activeProfile);
+                databaseMetrics.recordDataSize("categories", activeProfile, categories.size());
+            } finally {
+                databaseMetrics.stopTimer(timer, metric, activeProfile);
             }
-            total += saveBatch(cbuf, categoryRepository::saveAll);
-            categories = sample(ProductCategory.class, Math.min(20_000, (int) categoryRepository.count()));
-            databaseMetrics.incrementDatabaseOperations("category_insert", activeProfile);
-            databaseMetrics.recordDataSize("categories", activeProfile, categories.size());
         } catch (Exception e) {
             databaseMetrics.incrementFailedQueries(); throw e;
-        } finally {
-            databaseMetrics.stopTimer(timer, metric, activeProfile);
         }
         writeCsv(label, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), total, metric);
     }
@@ -243,28 +429,29 @@ public class InsertPerformanceTest {
     @Transactional
     public void testProductInsertPerformance() {
         initIfNeeded();
-        final String label = "Dodawanie produktów", metric = "product_insert";
-        Timer.Sample timer = databaseMetrics.startTimer();
-        long start = System.nanoTime();
+        final String label = label("Dodawanie produktów"), metric = metric("product_insert");
+        runContext.step(label);
+        long start;
         int total = 0;
-        try {
-            List<Product> pbuf = new ArrayList<>(batchSize());
-            int target = maxRecords(), bs = batchSize();
-            int bsz = Math.max(1, brands.size()), csz = Math.max(1, categories.size());
-            for (int i = 0; i < target; i++) {
-                Brand brand = brands.get(i % bsz);
-                ProductCategory category = categories.get(i % csz);
-                pbuf.add(dataGenerator.generateProduct(brand, category));
-                if (pbuf.size() == bs) total += saveBatch(pbuf, productRepository::saveAll);
+        try (TimeBoxedRunner.Window window = runner.measurementWindow()) {
+            start = window.startNanos();
+            Timer.Sample timer = databaseMetrics.startTimer();
+            try {
+                List<Brand> brandList = brands;
+                List<ProductCategory> categoryList = categories;
+                int bsz = Math.max(1, brandList.size()), csz = Math.max(1, categoryList.size());
+                FirstRows<Product> firstProducts = new FirstRows<>(Math.min(20_000, targetRows(DatasetTable.PRODUCT)));
+                total += generateAndSave(DatasetTable.PRODUCT,
+                        (gen, i) -> gen.generateProduct(brandList.get(i % bsz), categoryList.get(i % csz)),
+                        productRepository::saveAll, rows -> writeDirect(BulkTables.PRODUCT, rows), firstProducts);
+                products = sample(Product.class, Math.min(20_000, (int) productRepository.count()), firstProducts);
+                databaseMetrics.incrementDatabaseOperations(metric, activeProfile);
+                databaseMetrics.recordDataSize("products", activeProfile, total);
+            } finally {
+                databaseMetrics.stopTimer(timer, metric, activeProfile);
             }
-            total += saveBatch(pbuf, productRepository::saveAll);
-            products = sample(Product.class, Math.min(20_000, (int) productRepository.count()));
-            databaseMetrics.incrementDatabaseOperations(metric, activeProfile);
-            databaseMetrics.recordDataSize("products", activeProfile, total);
         } catch (Exception e) {
             databaseMetrics.incrementFailedQueries(); throw e;
-        } finally {
-            databaseMetrics.stopTimer(timer, metric, activeProfile);
         }
         writeCsv(label, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), total, metric);
     }
@@ -272,26 +459,27 @@ public class InsertPerformanceTest {
     @Transactional
     public void testOrderInsertPerformance() {
         initIfNeeded();
-        final String label = "Dodawanie zamówień", metric = "order_insert";
-        Timer.Sample timer = databaseMetrics.startTimer();
-        long start = System.nanoTime();
+        final String label = label("Dodawanie zamówień"), metric = metric("order_insert");
+        runContext.step(label);
+        long start;
         int total = 0;
-        try {
-            List<Product> pick = products.isEmpty() ? new ArrayList<>() : products.subList(0, Math.min(5, products.size()));
-            List<Order> obuf = new ArrayList<>(batchSize());
-            int target = maxRecords(), bs = batchSize(), csz = Math.max(1, customers.size());
-            for (int i = 0; i < target; i++) {
-                Customer customer = customers.get(i % csz);
-                obuf.add(dataGenerator.generateOrder(customer, pick.isEmpty() ? products : pick));
-                if (obuf.size() == bs) total += saveBatch(obuf, orderRepository::saveAll);
+        try (TimeBoxedRunner.Window window = runner.measurementWindow()) {
+            start = window.startNanos();
+            Timer.Sample timer = databaseMetrics.startTimer();
+            try {
+                List<Product> pick = products.isEmpty() ? products : products.subList(0, Math.min(5, products.size()));
+                List<Customer> customerList = customers;
+                int csz = Math.max(1, customerList.size());
+                total += generateAndSave(DatasetTable.ORDER,
+                        (gen, i) -> gen.generateOrder(customerList.get(i % csz), pick),
+                        orderRepository::saveAll, this::writeOrdersDirect);
+                databaseMetrics.incrementDatabaseOperations(metric, activeProfile);
+                databaseMetrics.recordDataSize("orders", activeProfile, total);
+            } finally {
+                databaseMetrics.stopTimer(timer, metric, activeProfile);
             }
-            total += saveBatch(obuf, orderRepository::saveAll);
-            databaseMetrics.incrementDatabaseOperations(metric, activeProfile);
-            databaseMetrics.recordDataSize("orders", activeProfile, total);
         } catch (Exception e) {
             databaseMetrics.incrementFailedQueries(); throw e;
-        } finally {
-            databaseMetrics.stopTimer(timer, metric, activeProfile);
         }
         writeCsv(label, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), total, metric);
     }
@@ -299,27 +487,27 @@ public class InsertPerformanceTest {
     @Transactional
     public void testProductReviewInsertPerformance() {
         initIfNeeded();
-        final String label = "Dodawanie opinii o produktach", metric = "product_review_insert";
-        Timer.Sample timer = databaseMetrics.startTimer();
-        long start = System.nanoTime();
+        final String label = label("Dodawanie opinii o produktach"), metric = metric("product_review_insert");
+        runContext.step(label);
+        long start;
         int total = 0;
-        try {
-            List<ProductReview> rbuf = new ArrayList<>(batchSize());
-            int target = maxRecords(), bs = batchSize();
-            int csz = Math.max(1, customers.size()), psz = Math.max(1, products.size());
-            for (int i = 0; i < target; i++) {
-                Customer customer = customers.get(i % csz);
-                Product product = products.get(i % psz);
-                rbuf.add(dataGenerator.generateReview(product, customer));
-                if (rbuf.size() == bs) total += saveBatch(rbuf, reviewRepository::saveAll);
+        try (TimeBoxedRunner.Window window = runner.measurementWindow()) {
+            start = window.startNanos();
+            Timer.Sample timer = databaseMetrics.startTimer();
+            try {
+                List<Customer> customerList = customers;
+                List<Product> productList = products;
+                int csz = Math.max(1, customerList.size()), psz = Math.max(1, productList.size());
+                total += generateAndSave(DatasetTable.REVIEW,
+                        (gen, i) -> gen.generateReview(productList.get(i % psz), customerList.get(i % csz)),
+                        reviewRepository::saveAll, rows -> writeDirect(BulkTables.REVIEW, rows));
+                databaseMetrics.incrementDatabaseOperations(metric, activeProfile);
+                databaseMetrics.recordDataSize("product_reviews", activeProfile, total);
+            } finally {
+                databaseMetrics.stopTimer(timer, metric, activeProfile);
             }
-            total += saveBatch(rbuf, reviewRepository::saveAll);
-            databaseMetrics.incrementDatabaseOperations(metric, activeProfile);
-            databaseMetrics.recordDataSize("product_reviews", activeProfile, total);
         } catch (Exception e) {
             databaseMetrics.incrementFailedQueries(); throw e;
-        } finally {
-            databaseMetrics.stopTimer(timer, metric, activeProfile);
         }
         writeCsv(label, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), total, metric);
     }
@@ -327,29 +515,40 @@ public class InsertPerformanceTest {
     @Transactional
     public void testInventoryMovementInsertPerformance() {
         initIfNeeded();
-        final String label = "Dodawanie ruchów magazynowych", metric = "inventory_movement_insert";
-        Timer.Sample timer = databaseMetrics.startTimer();
-        long start = System.nanoTime();
+        final String label = label("Dodawanie ruchów magazynowych"), metric = metric("inventory_movement_insert");
+        runContext.step(label);
+        long start;
         int total = 0;
-        try {
-            List<InventoryMovement> mbuf = new ArrayList<>(batchSize());
-            int target = maxRecords(), bs = batchSize(), psz = Math.max(1, products.size());
-            for (int i = 0; i < target; i++) {
-                Product product = products.get(i % psz);
-                mbuf.add(dataGenerator.generateInventoryMovement(product));
-                if (mbuf.size() == bs) total += saveBatch(mbuf, movementRepository::saveAll);
+        try (TimeBoxedRunner.Window window = runner.measurementWindow()) {
+            start = window.startNanos();
+            Timer.Sample timer = databaseMetrics.startTimer();
+            try {
+                List<Product> productList = products;
+                int psz = Math.max(1, productList.size());
+                total += generateAndSave(DatasetTable.MOVEMENT,
+                        (gen, i) -> gen.generateInventoryMovement(productList.get(i % psz)),
+                        movementRepository::saveAll, rows -> writeDirect(BulkTables.MOVEMENT, rows));
+                databaseMetrics.incrementDatabaseOperations(metric, activeProfile);
+                databaseMetrics.recordDataSize("inventory_movements", activeProfile, total);
+            } finally {
+                databaseMetrics.stopTimer(timer, metric, activeProfile);
             }
-            total += saveBatch(mbuf, movementRepository::saveAll); // <- upewnij się, że to jest mbuf (literówka!)
-            databaseMetrics.incrementDatabaseOperations(metric, activeProfile);
-            databaseMetrics.recordDataSize("inventory_movements", activeProfile, total);
         } catch (Exception e) {
             databaseMetrics.incrementFailedQueries(); throw e;
-        } finally {
-            databaseMetrics.stopTimer(timer, metric, activeProfile);
         }
         writeCsv(label, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), total, metric);
     }
 
+    /** Cały zestaw wybraną ścieżką zapisu (null = benchmark.insertEngine). */
+    public void runAll(InsertEngine engine) {
+        runEngine = engine;
+        try {
+            runAll();
+        } finally {
+            runEngine = null;
+        }
+    }
+
     public void runAll() {
         setUp();
         testCustomerInsertPerformance();
@@ -1,5 +1,8 @@
 package com.benchmarking.dbcomparison.benchmark;
 
+import com.benchmarking.dbcomparison.benchmark.phase.TimeBoxedResult;
+import com.benchmarking.dbcomparison.benchmark.phase.TimeBoxedRunner;
+import com.benchmarking.dbcomparison.benchmark.results.ResultSink;
 import com.benchmarking.dbcomparison.config.BenchmarkConfig;
 import com.benchmarking.dbcomparison.config.DatabaseMetrics;
 import com.benchmarking.dbcomparison.repository.CustomerRepository;
@@ -12,10 +15,8 @@ import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.File;
-import java.io.FileWriter;
-import java.io.IOException;
 import java.util.concurrent.TimeUnit;
+import java.util.function.IntUnaryOperator;
 
 @Slf4j
 @Component
@@ -27,6 +28,8 @@ public class UpdatePerformanceTest {
     private final OrderRepository orderRepository;
     private final BenchmarkConfig benchmarkConfig;
     private final UpdatePerformanceTest self;
+    private final TimeBoxedRunner runner;
+    private final ResultSink resultSink;
 
     @Value("${spring.profiles.active:unknown}")
     private String activeProfile;
@@ -36,105 +39,86 @@ public class UpdatePerformanceTest {
                                  CustomerRepository customerRepository,
                                  OrderRepository orderRepository,
                                  BenchmarkConfig benchmarkConfig,
-                                 @Lazy UpdatePerformanceTest self) {
+                                 @Lazy UpdatePerformanceTest self,
+                                 TimeBoxedRunner runner,
+                                 ResultSink resultSink) {
         this.databaseMetrics = databaseMetrics;
         this.productRepository = productRepository;
         this.customerRepository = customerRepository;
         this.orderRepository = orderRepository;
         this.benchmarkConfig = benchmarkConfig;
         this.self = self;
+        this.runner = runner;
+        this.resultSink = resultSink;
     }
 
     private boolean isMySql() { return activeProfile != null && activeProfile.toLowerCase().contains("mysql"); }
     private int limit() { return Math.max(1, benchmarkConfig.getRecordCount()); }
 
-    private void writeCsv(String metric, String label, long durMs, int count) {
-        File csv = new File("performance-update-results.csv");
-        boolean header = !csv.exists() || csv.length() == 0;
-        double opsPerSec = durMs > 0 ? (count * 1000.0) / durMs : 0.0;
-        double p95 = databaseMetrics.getP95Millis(metric, activeProfile);
-        try (FileWriter w = new FileWriter(csv, true)) {
-            if (header) {
-                w.write("Operacja;Czas[ms];Liczba rekordów;Operacji/s;Profil;p95_ms;DB_operacje;DB_błędy;DB_failed_queries;DB_czas_timer_ms\n");
-            }
-            String line = String.join(";",
-                    label, String.valueOf(durMs), String.valueOf(count),
-                    String.valueOf(opsPerSec), activeProfile,
-                    String.valueOf(Double.isNaN(p95) ? 0 : p95),
-                    String.valueOf(databaseMetrics.getOperationsCount(metric, activeProfile)),
-                    String.valueOf(databaseMetrics.getErrorsCount(metric, activeProfile)),
-                    String.valueOf(databaseMetrics.getFailedQueriesCount()),
-                    String.valueOf(databaseMetrics.getTotalOperationTimeMillis(metric, activeProfile)));
-            w.write(line + "\n");
-        } catch (IOException e) {
-            log.warn("CSV write error: {}", e.getMessage());
-        }
+    private void writeCsv(String metric, String label, TimeBoxedResult r) {
+        resultSink.record("update", label)
+                .throughput(r.getRecords(), r.getDurationMs())
+                .opsPerSecond(r.opsPerSecond())
+                .dbMetrics(metric)
+                .counter("iterations", r.getIterations())
+                .counter("iteration_p99_ms", r.getIterationLatency().getP99Ms())
+                .bufferCache(r.getBufferCache())
+                .submit();
+    }
+
+    /** Rozgrzewka na małej liczbie wierszy, potem pomiar na limit() wierszy (powtarzany w trybie czasowym). */
+    private void runUpdate(String metric, String label, IntUnaryOperator warmup, IntUnaryOperator update) {
+        TimeBoxedResult r = runner.run(label,
+                () -> warmup.applyAsInt(Math.min(limit(), runner.warmupRecords())),
+                () -> {
+                    Timer.Sample t = databaseMetrics.startTimer();
+                    long start = System.nanoTime();
+                    try {
+                        int updated = update.applyAsInt(limit());
+                        databaseMetrics.incrementDatabaseOperations(metric, activeProfile);
+                        databaseMetrics.recordDataSize(metric, activeProfile, updated);
+                        databaseMetrics.recordTransactionTime(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                        return updated;
+                    } catch (Exception e) {
+                        databaseMetrics.incrementDatabaseErrors(metric, activeProfile);
+                        throw e;
+                    } finally {
+                        databaseMetrics.stopTimer(t, metric, activeProfile);
+                    }
+                });
+        writeCsv(metric, label, r);
     }
 
     @Transactional
     public void testUpdateProductPrices() {
-        final String label = "Aktualizacja cen produktów", metric = "update_products";
-        Timer.Sample t = databaseMetrics.startTimer();
-        long start = System.nanoTime();
-        try {
-            int updated = isMySql()
-                    ? productRepository.bulkIncreasePriceByPercentMySql(limit(), 10.0)
-                    : productRepository.bulkIncreasePriceByPercentPostgres(limit(), 10.0);
-            databaseMetrics.incrementDatabaseOperations(metric, activeProfile);
-            databaseMetrics.recordDataSize(metric, activeProfile, updated);
-            long dur = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
-            databaseMetrics.recordTransactionTime(dur);
-            writeCsv(metric, label, dur, updated);
-        } catch (Exception e) {
-            databaseMetrics.incrementDatabaseErrors(metric, activeProfile);
-            throw e;
-        } finally {
-            databaseMetrics.stopTimer(t, metric, activeProfile);
-        }
+        // +10% i z powrotem (÷1.1) na zmianę – przy powtarzaniu w oknie czasowym ceny nie rosną bez końca;
+        // rozgrzewka zapisuje te same wiersze bez zmiany ceny (+0%)
+        int[] round = {0};
+        runUpdate("update_products", "Aktualizacja cen produktów",
+                limit -> increasePrices(limit, 0.0),
+                limit -> increasePrices(limit, round[0]++ % 2 == 0 ? 10.0 : -100.0 / 11.0));
+    }
+
+    private int increasePrices(int limit, double percent) {
+        return isMySql()
+                ? productRepository.bulkIncreasePriceByPercentMySql(limit, percent)
+                : productRepository.bulkIncreasePriceByPercentPostgres(limit, percent);
     }
 
     @Transactional
     public void testUpdateCustomerEmails() {
-        final String label = "Aktualizacja emaili klientów", metric = "update_customers";
-        Timer.Sample t = databaseMetrics.startTimer();
-        long start = System.nanoTime();
-        try {
-            int updated = isMySql()
-                    ? customerRepository.bulkUpdateEmailsMySql(limit(), "updated")
-                    : customerRepository.bulkUpdateEmailsPostgres(limit(), "updated");
-            databaseMetrics.incrementDatabaseOperations(metric, activeProfile);
-            databaseMetrics.recordDataSize(metric, activeProfile, updated);
-            long dur = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
-            databaseMetrics.recordTransactionTime(dur);
-            writeCsv(metric, label, dur, updated);
-        } catch (Exception e) {
-            databaseMetrics.incrementDatabaseErrors(metric, activeProfile);
-            throw e;
-        } finally {
-            databaseMetrics.stopTimer(t, metric, activeProfile);
-        }
+        IntUnaryOperator update = limit -> isMySql()
+                ? customerRepository.bulkUpdateEmailsMySql(limit, "updated")
+                : customerRepository.bulkUpdateEmailsPostgres(limit, "updated");
+        runUpdate("update_customers", "Aktualizacja emaili klientów", update, update);
     }
 
     @Transactional
     public void testUpdateOrderStatus() {
-        final String label = "Aktualizacja statusów zamówień", metric = "update_orders";
-        Timer.Sample t = databaseMetrics.startTimer();
-        long start = System.nanoTime();
-        try {
-            int updated = isMySql()
-                    ? orderRepository.bulkUpdateStatusMySql(limit(), "UPDATED")
-                    : orderRepository.bulkUpdateStatusPostgres(limit(), "UPDATED");
-            databaseMetrics.incrementDatabaseOperations(metric, activeProfile);
-            databaseMetrics.recordDataSize(metric, activeProfile, updated);
-            long dur = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
-            databaseMetrics.recordTransactionTime(dur);
-            writeCsv(metric, label, dur, updated);
-        } catch (Exception e) {
-            databaseMetrics.incrementDatabaseErrors(metric, activeProfile);
-            throw e;
-        } finally {
-            databaseMetrics.stopTimer(t, metric, activeProfile);
-        }
+        IntUnaryOperator update = limit -> isMySql()
+                ? orderRepository.bulkUpdateStatusMySql(limit, "UPDATED")
+                : orderRepository.bulkUpdateStatusPostgres(limit, "UPDATED");
+        runUpdate("update_orders", "Aktualizacja statusów zamówień", update, update);
     }
 
     public void runAll() {
@@ -0,0 +1,38 @@
+package com.benchmarking.dbcomparison.benchmark.concurrency;
+
+import java.util.SplittableRandom;
+
+/** Rozkład odstępów między kolejnymi przybyciami operacji w teście open-loop. */
+public enum ArrivalDistribution {
+
+    /** Proces Poissona – odstępy wykładnicze o średniej 1/rate. */
+    POISSON {
+        @Override
+        public long nextIntervalNanos(double ratePerSecond, SplittableRandom random) {
+            double u = 1.0 - random.nextDouble(); // (0, 1]
+            return Math.round(-Math.log(u) * meanNanos(ratePerSecond));
+        }
+    },
+
+    /** Odstępy losowane jednostajnie z [0, 2/rate] – ta sama średnia, mniejsza wariancja niż Poisson. */
+    UNIFORM {
+        @Override
+        public long nextIntervalNanos(double ratePerSecond, SplittableRandom random) {
+            return Math.round(random.nextDouble() * 2.0 * meanNanos(ratePerSecond));
+        }
+    },
+
+    /** Stały odstęp 1/rate (bez losowości). */
+    CONSTANT {
+        @Override
+        public long nextIntervalNanos(double ratePerSecond, SplittableRandom random) {
+            return Math.round(meanNanos(ratePerSecond));
+        }
+    };
+
+    public abstract long nextIntervalNanos(double ratePerSecond, SplittableRandom random);
+
+    private static double meanNanos(double ratePerSecond) {
+        return 1_000_000_000.0 / ratePerSecond;
+    }
+}
@@ -0,0 +1,70 @@
+package com.benchmarking.dbcomparison.benchmark.concurrency;
+
+import com.benchmarking.dbcomparison.config.BenchmarkConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Tworzy pulę wątków dla testów wielowątkowych zgodnie z {@code benchmark.executorMode}.
+ * Wątki wirtualne są pobierane refleksyjnie, żeby projekt dalej kompilował się na JDK 17
+ * (na JDK 21+ profil {@code jdk21} w pom.xml podbija też poziom kompilacji).
+ */
+@Slf4j
+@Component
+public class BenchmarkExecutorFactory {
+
+    private static final MethodHandle NEW_VIRTUAL_EXECUTOR = lookupVirtualExecutor();
+
+    private final BenchmarkConfig benchmarkConfig;
+
+    public BenchmarkExecutorFactory(BenchmarkConfig benchmarkConfig) {
+        this.benchmarkConfig = benchmarkConfig;
+    }
+
+    public ExecutorMode mode() {
+        ExecutorMode mode = benchmarkConfig.getExecutorMode();
+        return mode != null ? mode : ExecutorMode.PLATFORM;
+    }
+
+    public static boolean virtualThreadsAvailable() {
+        return NEW_VIRTUAL_EXECUTOR != null;
+    }
+
+    /** Dla VIRTUAL {@code threads} nie ogranicza puli – każde zadanie dostaje własny wątek wirtualny. */
+    public ExecutorService newExecutor(int threads) {
+        int size = Math.max(1, threads);
+        switch (mode()) {
+            case VIRTUAL:
+                if (NEW_VIRTUAL_EXECUTOR == null) {
+                    throw new IllegalStateException("benchmark.executorMode=VIRTUAL wymaga JDK 21+ (uruchomiono na "
+                            + Runtime.version() + ")");
+                }
+                try {
+                    return (ExecutorService) NEW_VIRTUAL_EXECUTOR.invoke();
+                } catch (Throwable t) {
+                    throw new IllegalStateException("Nie udało się utworzyć executora wątków wirtualnych", t);
+                }
+            case FORK_JOIN:
+                return new ForkJoinPool(size);
+            case PLATFORM:
+            default:
+                return Executors.newFixedThreadPool(size);
+        }
+    }
+
+    private static MethodHandle lookupVirtualExecutor() {
+        try {
+            return MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+}
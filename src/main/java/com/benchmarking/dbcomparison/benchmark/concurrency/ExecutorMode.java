@@ -0,0 +1,11 @@
+package com.benchmarking.dbcomparison.benchmark.concurrency;
+
+/** Rodzaj puli wątków używanej przez testy wielowątkowe. */
+public enum ExecutorMode {
+    /** Klasyczna pula stałej wielkości na wątkach platformowych. */
+    PLATFORM,
+    /** Wątek wirtualny na każde zadanie (wymaga JDK 21+). */
+    VIRTUAL,
+    /** ForkJoinPool o zadanej równoległości (work-stealing). */
+    FORK_JOIN
+}
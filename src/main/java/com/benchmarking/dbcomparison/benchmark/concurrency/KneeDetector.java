@@ -0,0 +1,35 @@
+package com.benchmarking.dbcomparison.benchmark.concurrency;
+
+import java.util.List;
+
+/**
+ * Szukanie „kolana” krzywej przepustowości: ostatni punkt, po którym kolejny krok współbieżności
+ * dokłada mniej niż {@code minGain} (np. 0.05 = 5%) przepustowości. Punkty muszą być posortowane
+ * rosnąco po liczbie wątków.
+ */
+public final class KneeDetector {
+
+    private KneeDetector() {
+    }
+
+    /** Indeks punktu kolana; ostatni indeks, gdy krzywa nie wypłaszcza się w badanym zakresie; -1 dla pustej listy. */
+    public static int findKnee(List<ScalabilityPoint> points, double minGain) {
+        if (points.isEmpty()) return -1;
+        for (int i = 1; i < points.size(); i++) {
+            if (gain(points, i) < minGain) return i - 1;
+        }
+        return points.size() - 1;
+    }
+
+    /**
+     * Względny przyrost przepustowości punktu {@code i} względem poprzedniego (0 dla pierwszego). Po punkcie
+     * z zerową przepustowością (np. nieudany poziom) każdy niezerowy wynik to przyrost nieskończony, a kolejne zero – 0.
+     */
+    public static double gain(List<ScalabilityPoint> points, int i) {
+        if (i <= 0) return 0;
+        double prev = points.get(i - 1).getThroughput();
+        double current = points.get(i).getThroughput();
+        if (prev <= 0) return current > 0 ? Double.POSITIVE_INFINITY : 0;
+        return (current - prev) / prev;
+    }
+}
@@ -1,14 +1,12 @@
 package com.benchmarking.dbcomparison.benchmark.concurrency;
 
 import com.benchmarking.dbcomparison.benchmark.InsertPerformanceTest;
+import com.benchmarking.dbcomparison.benchmark.results.ResultSink;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.io.File;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -24,6 +22,7 @@ public class MultiThreadedCrudTest {
     @Autowired private MultiThreadedUpdateTest updateTest;
     @Autowired private MultiThreadedDeleteTest deleteTest;
     @Autowired private InsertPerformanceTest insertPerformanceTest;
+    @Autowired private ResultSink resultSink;
 
     private String timestamp;
 
@@ -72,60 +71,12 @@ public class MultiThreadedCrudTest {
     }
 
     private void createBackupFiles() {
-        try {
-            backupIfExists("performance-multithread-insert.csv");
-            backupIfExists("performance-multithread-read.csv");
-            backupIfExists("performance-multithread-update.csv");
-            backupIfExists("performance-multithread-delete.csv");
-        } catch (Exception e) {
-            log.error("Błąd podczas tworzenia kopii zapasowych plików CSV", e);
-        }
-    }
-
-    private void backupIfExists(String filename) {
-        try {
-            File file = new File(filename);
-            if (file.exists()) {
-                String backupName = filename.replace(".csv", String.format("_%s.csv", timestamp));
-                Files.copy(file.toPath(), Path.of(backupName));
-                // czyścimy plik na nowe wyniki
-                if (!file.delete()) {
-                    log.warn("Nie udało się usunąć starego pliku: {}", filename);
-                }
-            }
-        } catch (Exception e) {
-            log.error("Błąd podczas tworzenia kopii zapasowej pliku: {}", filename, e);
-        }
+        // wyniki sprzed testów osobno – katalog testów wielowątkowych zawiera tylko ich wyniki
+        resultSink.archive("results_backup_" + timestamp);
     }
 
     private void archiveResultFiles() {
-        try {
-            String resultDir = String.format("results_multithread_%s_%s", activeProfile, timestamp);
-            File dir = new File(resultDir);
-            if (!dir.exists() && !dir.mkdirs()) {
-                log.warn("Nie udało się utworzyć katalogu wyników: {}", resultDir);
-            }
-
-            moveIfExists("performance-multithread-insert.csv", resultDir);
-            moveIfExists("performance-multithread-read.csv", resultDir);
-            moveIfExists("performance-multithread-update.csv", resultDir);
-            moveIfExists("performance-multithread-delete.csv", resultDir);
-
-            log.info("Wyniki testów wielowątkowych zostały zarchiwizowane w katalogu: {}", resultDir);
-        } catch (Exception e) {
-            log.error("Błąd podczas archiwizacji wyników", e);
-        }
-    }
-
-    private void moveIfExists(String filename, String targetDir) {
-        try {
-            File file = new File(filename);
-            if (file.exists()) {
-                Files.move(file.toPath(), Path.of(targetDir, filename));
-            }
-        } catch (Exception e) {
-            log.error("Błąd podczas przenoszenia pliku: {}", filename, e);
-        }
+        resultSink.archive(String.format("results_multithread_%s_%s", activeProfile, timestamp));
     }
 
     //runAllTests
@@ -1,5 +1,8 @@
 package com.benchmarking.dbcomparison.benchmark.concurrency;
 
+import com.benchmarking.dbcomparison.benchmark.phase.TimeBoxedRunner;
+import com.benchmarking.dbcomparison.benchmark.results.ResultSink;
+import com.benchmarking.dbcomparison.benchmark.run.BenchmarkRunContext;
 import com.benchmarking.dbcomparison.config.BenchmarkConfig;
 import com.benchmarking.dbcomparison.config.DatabaseMetrics;
 import com.benchmarking.dbcomparison.model.Customer;
@@ -18,9 +21,6 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Component;
 
-import java.io.File;
-import java.io.FileWriter;
-import java.io.IOException;
 import java.util.List;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -40,6 +40,11 @@ public class MultiThreadedDeleteTest {
     @Autowired private ProductReviewRepository productReviewRepository;
     @Autowired private DatabaseMetrics databaseMetrics;
     @Autowired private BenchmarkConfig benchmarkConfig;
+    @Autowired private BenchmarkExecutorFactory executorFactory;
+    @Autowired private VirtualThreadPinningMonitor pinningMonitor;
+    @Autowired private BenchmarkRunContext runContext;
+    @Autowired private ResultSink resultSink;
+    @Autowired private TimeBoxedRunner runner;
 
     static void setupGenerator() {
         new DataGenerator(); // opcjonalnie, jeśli potrzebne
@@ -62,60 +67,65 @@ public class MultiThreadedDeleteTest {
         int threadCount = Math.min(configuredThreads, totalRecords);
         log.info("Rozpoczynam test wielowątkowego DELETE ({} wątków)", threadCount);
 
-        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        runContext.step(METRIC_NAME);
+        ExecutorService executor = executorFactory.newExecutor(threadCount);
+        VirtualThreadPinningMonitor.PinningSession pinning = pinningMonitor.start(METRIC_NAME);
         CountDownLatch latch = new CountDownLatch(threadCount);
         java.util.List<Long> threadDurations = new CopyOnWriteArrayList<>();
 
-        long startTime = System.nanoTime();
         int base = totalRecords / threadCount;
         int remainder = totalRecords % threadCount;
-
         final AtomicInteger successCounter = new AtomicInteger();
         final AtomicInteger errorCounter = new AtomicInteger();
+        long totalDuration;
+
+        try (pinning; TimeBoxedRunner.Window window = runner.measurementWindow()) {
+            long startTime = window.startNanos();
+            for (int i = 0; i < threadCount; i++) {
+                int startIdx = i * base + Math.min(i, remainder);
+                int endIdx = startIdx + base + (i < remainder ? 1 : 0);
+                List<Customer> customersSlice = allCustomers.subList(startIdx, endIdx);
+
+                executor.submit(() -> {
+                    Timer.Sample timer = databaseMetrics.startTimer();
+                    long threadStart = System.nanoTime();
+
+                    try {
+                        customerRepository.deleteAll(customersSlice);
+
+                        databaseMetrics.incrementDatabaseOperations(METRIC_NAME, activeProfile);
+                        databaseMetrics.recordDataSize(METRIC_NAME, activeProfile, customersSlice.size());
+
+                        successCounter.addAndGet(customersSlice.size());
+                        runContext.progress(customersSlice.size());
+                    } catch (Exception e) {
+                        log.error("Błąd w wątku DELETE", e);
+                        databaseMetrics.incrementDatabaseErrors(METRIC_NAME, activeProfile);
+                        databaseMetrics.incrementFailedQueries();
+                        errorCounter.incrementAndGet();
+                    } finally {
+                        long threadDuration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - threadStart);
+                        threadDurations.add(threadDuration);
+                        databaseMetrics.stopTimer(timer, METRIC_NAME, activeProfile);
+                        latch.countDown();
+                    }
+                });
+            }
 
-        for (int i = 0; i < threadCount; i++) {
-            int startIdx = i * base + Math.min(i, remainder);
-            int endIdx = startIdx + base + (i < remainder ? 1 : 0);
-            List<Customer> customersSlice = allCustomers.subList(startIdx, endIdx);
-
-            executor.submit(() -> {
-                Timer.Sample timer = databaseMetrics.startTimer();
-                long threadStart = System.nanoTime();
-
-                try {
-                    customerRepository.deleteAll(customersSlice);
-
-                    databaseMetrics.incrementDatabaseOperations(METRIC_NAME, activeProfile);
-                    databaseMetrics.recordDataSize(METRIC_NAME, activeProfile, customersSlice.size());
-
-                    successCounter.addAndGet(customersSlice.size());
-                } catch (Exception e) {
-                    log.error("Błąd w wątku DELETE", e);
-                    databaseMetrics.incrementDatabaseErrors(METRIC_NAME, activeProfile);
-                    databaseMetrics.incrementFailedQueries();
-                    errorCounter.incrementAndGet();
-                } finally {
-                    long threadDuration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - threadStart);
-                    threadDurations.add(threadDuration);
-                    databaseMetrics.stopTimer(timer, METRIC_NAME, activeProfile);
-                    latch.countDown();
-                }
-            });
-        }
-
-        latch.await();
-        executor.shutdown();
-        if (!executor.awaitTermination(60, TimeUnit.SECONDS)) {
-            log.warn("DELETE executor timeout – forcing shutdownNow()");
-            executor.shutdownNow();
+            latch.await();
+            executor.shutdown();
+            if (!executor.awaitTermination(60, TimeUnit.SECONDS)) {
+                log.warn("DELETE executor timeout – forcing shutdownNow()");
+                executor.shutdownNow();
+            }
+            totalDuration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
         }
 
-        long totalDuration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
         double avgThreadTime = threadDurations.stream().mapToLong(Long::longValue).average().orElse(0);
         double opsPerSecond = totalDuration > 0 ? successCounter.get() / (totalDuration / 1000.0) : 0;
 
         log.info("Zakończono test DELETE: {} rekordów w {} ms", successCounter.get(), totalDuration);
-        logPerformance(totalDuration, avgThreadTime, successCounter.get(), errorCounter.get(), threadDurations.size(), opsPerSecond);
+        logPerformance(totalDuration, avgThreadTime, successCounter.get(), errorCounter.get(), threadDurations.size(), opsPerSecond, pinning.getPinnedEvents());
     }
 
     private void deleteRelatedRecords(int threadCount) throws InterruptedException {
@@ -136,7 +146,7 @@ public class MultiThreadedDeleteTest {
         if (entities.isEmpty()) return;
 
         int actualThreads = Math.min(threadCount, entities.size());
-        ExecutorService executor = Executors.newFixedThreadPool(actualThreads);
+        ExecutorService executor = executorFactory.newExecutor(actualThreads);
         CountDownLatch latch = new CountDownLatch(actualThreads);
         int base = entities.size() / actualThreads;
         int remainder = entities.size() % actualThreads;
@@ -170,25 +180,16 @@ public class MultiThreadedDeleteTest {
         }
     }
 
-    private void logPerformance(long totalDuration, double avgThreadTime, int totalSuccess, int totalErrors, int threads, double opsPerSecond) {
-        File file = new File("performance-multithread-delete.csv");
-        boolean writeHeader = !file.exists() || file.length() == 0;
-
-        try (FileWriter writer = new FileWriter(file, true)) {
-            if (writeHeader) {
-                writer.write("Operacja,Czas całkowity[ms],Śr. czas wątku[ms],Wątki,Sukcesy,Błędy,Operacji/s,Profil,db.operations,db.errors,db.queries.failed,db.operation.time\n");
-            }
-
-            double operations = databaseMetrics.getOperationsCount(METRIC_NAME, activeProfile);
-            double errors = databaseMetrics.getErrorsCount(METRIC_NAME, activeProfile);
-            double failedQueries = databaseMetrics.getFailedQueriesCount();
-            double totalTime = databaseMetrics.getTotalOperationTimeMillis(METRIC_NAME, activeProfile);
-
-            writer.write(String.format("Wielowątkowy DELETE,%d,%.0f,%d,%d,%d,%.2f,%s,%.0f,%.0f,%.0f,%.0f\n",
-                    totalDuration, avgThreadTime, threads, totalSuccess, totalErrors, opsPerSecond,
-                    activeProfile, operations, errors, failedQueries, totalTime));
-        } catch (IOException e) {
-            log.error("Błąd zapisu wyników wielowątkowego DELETE do CSV", e);
-        }
+    private void logPerformance(long totalDuration, double avgThreadTime, int totalSuccess, int totalErrors, int threads, double opsPerSecond, long pinnedEvents) {
+        resultSink.record("multithread", "Wielowątkowy DELETE")
+                .param("threads", threads)
+                .param("executor", executorFactory.mode())
+                .throughput(totalSuccess, totalDuration)
+                .opsPerSecond(opsPerSecond)
+                .errors(totalErrors)
+                .dbMetrics(METRIC_NAME)
+                .counter("avg_thread_ms", avgThreadTime)
+                .counter("vt_pinned_events", pinnedEvents)
+                .submit();
     }
 }
@@ -1,8 +1,12 @@
 package com.benchmarking.dbcomparison.benchmark.concurrency;
 
+import com.benchmarking.dbcomparison.benchmark.keys.KeyChooser;
+import com.benchmarking.dbcomparison.benchmark.keys.KeyChooserFactory;
+import com.benchmarking.dbcomparison.benchmark.phase.TimeBoxedRunner;
+import com.benchmarking.dbcomparison.benchmark.results.ResultSink;
+import com.benchmarking.dbcomparison.benchmark.run.BenchmarkRunContext;
 import com.benchmarking.dbcomparison.config.BenchmarkConfig;
 import com.benchmarking.dbcomparison.config.DatabaseMetrics;
-import com.benchmarking.dbcomparison.model.Customer;
 import com.benchmarking.dbcomparison.repository.CustomerRepository;
 import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
@@ -10,10 +14,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.io.File;
-import java.io.FileWriter;
-import java.io.IOException;
 import java.util.List;
+import java.util.UUID;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -29,98 +31,111 @@ public class MultiThreadedReadTest {
     @Autowired private CustomerRepository customerRepository;
     @Autowired private DatabaseMetrics databaseMetrics;
     @Autowired private BenchmarkConfig benchmarkConfig;
+    @Autowired private BenchmarkExecutorFactory executorFactory;
+    @Autowired private VirtualThreadPinningMonitor pinningMonitor;
+    @Autowired private BenchmarkRunContext runContext;
+    @Autowired private ResultSink resultSink;
+    @Autowired private KeyChooserFactory keyChooserFactory;
+    @Autowired private TimeBoxedRunner runner;
 
     void testMultiThreadedRead() throws InterruptedException {
         int configuredThreads = Math.max(1, benchmarkConfig.getThreads());
         int totalRecords = Math.max(1, benchmarkConfig.getRecordCount());
 
-        List<Customer> allCustomers = customerRepository.findAll();
-        if (allCustomers.size() < totalRecords) {
-            log.warn("Brak wystarczającej liczby rekordów do testu, znaleziono: {}", allCustomers.size());
+        List<UUID> allIds = customerRepository.findAllIds();
+        if (allIds.size() < totalRecords) {
+            log.warn("Brak wystarczającej liczby rekordów do testu, znaleziono: {}", allIds.size());
             return;
         }
+        // klucze losowane z puli według benchmark.keyDistribution (dla UNIFORM bez skupisk ruchu)
+        KeyChooser keys = keyChooserFactory.create(allIds);
 
         int threadCount = Math.min(configuredThreads, totalRecords);
-        log.info("Rozpoczynam test wielowątkowego ODCZYTU ({} wątków)", threadCount);
+        log.info("Rozpoczynam test wielowątkowego ODCZYTU ({} wątków, klucze {})", threadCount, keyChooserFactory.distribution());
 
-        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        runner.warmup(METRIC_NAME, () -> {
+            for (int n = 0; n < runner.warmupRecords(); n++) customerRepository.findById(keys.next());
+        });
+
+        runContext.step(METRIC_NAME);
+        ExecutorService executor = executorFactory.newExecutor(threadCount);
+        VirtualThreadPinningMonitor.PinningSession pinning = pinningMonitor.start(METRIC_NAME);
         CountDownLatch latch = new CountDownLatch(threadCount);
         AtomicInteger successCounter = new AtomicInteger();
         AtomicInteger errorCounter = new AtomicInteger();
         CopyOnWriteArrayList<Long> threadDurations = new CopyOnWriteArrayList<>();
 
-        long startTime = System.nanoTime();
         int base = totalRecords / threadCount;
         int remainder = totalRecords % threadCount;
-
-        for (int i = 0; i < threadCount; i++) {
-            int startIdx = i * base + Math.min(i, remainder);
-            int endIdx = startIdx + base + (i < remainder ? 1 : 0);
-            List<Customer> customersSlice = allCustomers.subList(startIdx, endIdx);
-
-            executor.submit(() -> {
-                Timer.Sample timer = databaseMetrics.startTimer();
-                long threadStart = System.nanoTime();
-
-                try {
-                    for (Customer c : customersSlice) {
-                        if (customerRepository.findById(c.getId()).isPresent()) {
-                            successCounter.incrementAndGet();
-                        } else {
-                            errorCounter.incrementAndGet();
+        long totalDuration;
+
+        try (pinning; TimeBoxedRunner.Window window = runner.measurementWindow()) {
+            long startTime = window.startNanos();
+            // measurementSeconds > 0: wątki pracują do końca okna zamiast stałej liczby operacji
+            long deadline = runner.measurementDeadlineNanos(startTime);
+
+            for (int i = 0; i < threadCount; i++) {
+                int opsForThread = base + (i < remainder ? 1 : 0);
+
+                executor.submit(() -> {
+                    Timer.Sample timer = databaseMetrics.startTimer();
+                    long threadStart = System.nanoTime();
+
+                    try {
+                        int n = 0;
+                        for (; (deadline != 0 ? System.nanoTime() < deadline : n < opsForThread) && !runContext.isCancelled(); n++) {
+                            runContext.progress(1);
+                            if (customerRepository.findById(keys.next()).isPresent()) {
+                                successCounter.incrementAndGet();
+                            } else {
+                                errorCounter.incrementAndGet();
+                            }
                         }
+                        databaseMetrics.incrementDatabaseOperations(METRIC_NAME, activeProfile);
+                        databaseMetrics.recordDataSize(METRIC_NAME, activeProfile, n);
+                    } catch (Exception e) {
+                        log.error("Błąd w wątku READ", e);
+                        databaseMetrics.incrementDatabaseErrors(METRIC_NAME, activeProfile);
+                        databaseMetrics.incrementFailedQueries();
+                        errorCounter.incrementAndGet();
+                    } finally {
+                        long threadDuration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - threadStart);
+                        threadDurations.add(threadDuration);
+                        databaseMetrics.stopTimer(timer, METRIC_NAME, activeProfile);
+                        latch.countDown();
                     }
-                    databaseMetrics.incrementDatabaseOperations(METRIC_NAME, activeProfile);
-                    databaseMetrics.recordDataSize(METRIC_NAME, activeProfile, customersSlice.size());
-                } catch (Exception e) {
-                    log.error("Błąd w wątku READ", e);
-                    databaseMetrics.incrementDatabaseErrors(METRIC_NAME, activeProfile);
-                    databaseMetrics.incrementFailedQueries();
-                    errorCounter.incrementAndGet();
-                } finally {
-                    long threadDuration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - threadStart);
-                    threadDurations.add(threadDuration);
-                    databaseMetrics.stopTimer(timer, METRIC_NAME, activeProfile);
-                    latch.countDown();
-                }
-            });
-        }
+                });
+            }
 
-        latch.await();
-        executor.shutdown();
-        if (!executor.awaitTermination(60, TimeUnit.SECONDS)) {
-            log.warn("READ executor timeout – forcing shutdownNow()");
-            executor.shutdownNow();
+            latch.await();
+            executor.shutdown();
+            if (!executor.awaitTermination(60, TimeUnit.SECONDS)) {
+                log.warn("READ executor timeout – forcing shutdownNow()");
+                executor.shutdownNow();
+            }
+            totalDuration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
         }
+        runner.cooldown(METRIC_NAME);
 
-        long totalDuration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
         double avgThreadTime = threadDurations.stream().mapToLong(Long::longValue).average().orElse(0);
         double opsPerSecond = totalDuration > 0 ? successCounter.get() / (totalDuration / 1000.0) : 0;
 
         log.info("Zakończono test wielowątkowy READ: {} rekordów w {} ms", successCounter.get(), totalDuration);
-        logPerformance(totalDuration, avgThreadTime, successCounter.get(), errorCounter.get(), threadDurations.size(), opsPerSecond);
+        logPerformance(totalDuration, avgThreadTime, successCounter.get(), errorCounter.get(), threadDurations.size(), opsPerSecond, pinning.getPinnedEvents());
     }
 
-    private void logPerformance(long totalDuration, double avgThreadTime, int totalSuccess, int totalErrors, int threads, double opsPerSecond) {
-        File file = new File("performance-multithread-read.csv");
-        boolean writeHeader = !file.exists() || file.length() == 0;
-
-        try (FileWriter writer = new FileWriter(file, true)) {
-            if (writeHeader) {
-                writer.write("Operacja,Czas całkowity[ms],Śr. czas wątku[ms],Wątki,Sukcesy,Błędy,Operacji/s,Profil,db.operations,db.errors,db.queries.failed,db.operation.time\n");
-            }
-
-            double operations = databaseMetrics.getOperationsCount(METRIC_NAME, activeProfile);
-            double errors = databaseMetrics.getErrorsCount(METRIC_NAME, activeProfile);
-            double failedQueries = databaseMetrics.getFailedQueriesCount();
-            double totalTime = databaseMetrics.getTotalOperationTimeMillis(METRIC_NAME, activeProfile);
-
-            writer.write(String.format("Wielowątkowy READ,%d,%.0f,%d,%d,%d,%.2f,%s,%.0f,%.0f,%.0f,%.0f\n",
-                    totalDuration, avgThreadTime, threads, totalSuccess, totalErrors, opsPerSecond,
-                    activeProfile, operations, errors, failedQueries, totalTime));
-        } catch (IOException e) {
-            log.error("Błąd zapisu wyników wielowątkowego READ do CSV", e);
-        }
+    private void logPerformance(long totalDuration, double avgThreadTime, int totalSuccess, int totalErrors, int threads, double opsPerSecond, long pinnedEvents) {
+        resultSink.record("multithread", "Wielowątkowy READ")
+                .param("threads", threads)
+                .param("executor", executorFactory.mode())
+                .param("keyDistribution", keyChooserFactory.distribution())
+                .throughput(totalSuccess, totalDuration)
+                .opsPerSecond(opsPerSecond)
+                .errors(totalErrors)
+                .dbMetrics(METRIC_NAME)
+                .counter("avg_thread_ms", avgThreadTime)
+                .counter("vt_pinned_events", pinnedEvents)
+                .submit();
     }
 
     //runAllTests
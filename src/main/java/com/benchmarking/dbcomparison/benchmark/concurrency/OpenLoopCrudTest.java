@@ -0,0 +1,133 @@
+package com.benchmarking.dbcomparison.benchmark.concurrency;
+
+import com.benchmarking.dbcomparison.benchmark.keys.KeyChooser;
+import com.benchmarking.dbcomparison.benchmark.keys.KeyChooserFactory;
+import com.benchmarking.dbcomparison.benchmark.results.ResultSink;
+import com.benchmarking.dbcomparison.config.BenchmarkConfig;
+import com.benchmarking.dbcomparison.config.DatabaseMetrics;
+import com.benchmarking.dbcomparison.repository.CustomerRepository;
+import com.benchmarking.dbcomparison.util.DataGenerator;
+import com.benchmarking.dbcomparison.util.LatencyStats;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntConsumer;
+
+/**
+ * Testy open-loop (stałe tempo przybyć) dla READ / UPDATE / INSERT na klientach.
+ * Każda operacja jest uruchamiana dla wszystkich temp z {@code benchmark.targetRates},
+ * żeby było widać, przy jakim obciążeniu baza zaczyna odstawać (rośnie czas w kolejce).
+ */
+@Slf4j
+@Component
+public class OpenLoopCrudTest {
+
+
+    private static final ThreadLocal<DataGenerator> TL_GEN =
+            ThreadLocal.withInitial(DataGenerator::new);
+
+    @Value("${spring.profiles.active:unknown}")
+    private String activeProfile;
+
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private DatabaseMetrics databaseMetrics;
+    @Autowired private BenchmarkConfig benchmarkConfig;
+    @Autowired private OpenLoopLoadDriver driver;
+    @Autowired private PlatformTransactionManager txManager;
+    @Autowired private KeyChooserFactory keyChooserFactory;
+    @Autowired private ResultSink resultSink;
+
+    private int operations() { return Math.max(1, benchmarkConfig.getRecordCount()); }
+    private int workers()    { return Math.max(1, benchmarkConfig.getThreads()); }
+
+    void testOpenLoopRead(KeyChooser keys) throws InterruptedException {
+        runForAllRates("customer_openloop_read", "Open-loop READ", idx -> {
+            UUID id = keys.next();
+            customerRepository.findById(id).orElseThrow();
+        });
+    }
+
+    void testOpenLoopUpdate(KeyChooser keys) throws InterruptedException {
+        TransactionTemplate tx = new TransactionTemplate(txManager);
+        runForAllRates("customer_openloop_update", "Open-loop UPDATE", idx -> {
+            UUID id = keys.next();
+            tx.executeWithoutResult(s -> customerRepository.findById(id).ifPresent(c -> {
+                c.setLoyaltyPoints(ThreadLocalRandom.current().nextInt(0, 1000));
+                customerRepository.save(c);
+            }));
+        });
+    }
+
+    void testOpenLoopInsert() throws InterruptedException {
+        runForAllRates("customer_openloop_insert", "Open-loop INSERT",
+                idx -> customerRepository.save(TL_GEN.get().generateCustomer()));
+    }
+
+    private void runForAllRates(String metric, String label, IntConsumer op) throws InterruptedException {
+        for (Integer rate : benchmarkConfig.getTargetRates()) {
+            if (rate == null || rate <= 0) continue;
+            Timer.Sample timer = databaseMetrics.startTimer();
+            OpenLoopResult result;
+            try {
+                result = driver.run(metric, operations(), rate, benchmarkConfig.getArrivalDistribution(), workers(), op);
+                databaseMetrics.incrementDatabaseOperations(metric, activeProfile);
+                databaseMetrics.recordDataSize(metric, activeProfile, result.getCompleted());
+            } finally {
+                databaseMetrics.stopTimer(timer, metric, activeProfile);
+            }
+            log.info("{} @ {} ops/s: osiągnięto {} ops/s, odpowiedź p99={} ms (kolejka p99={} ms, obsługa p99={} ms)",
+                    label, rate, String.format(Locale.ROOT, "%.1f", result.getAchievedRate()),
+                    result.getResponse().getP99Ms(), result.getQueue().getP99Ms(), result.getService().getP99Ms());
+            logPerformance(label, result);
+        }
+    }
+
+    private void logPerformance(String label, OpenLoopResult r) {
+        LatencyStats q = r.getQueue(), s = r.getService();
+        // percentyle wyniku = czas odpowiedzi (kolejka + obsługa) – bez coordinated omission
+        resultSink.record("openloop", label)
+                .param("targetRate", r.getTargetRate())
+                .param("distribution", r.getDistribution())
+                .param("workers", r.getWorkers())
+                .param("executor", r.getExecutorMode())
+                .throughput(r.getCompleted(), r.getDurationMs())
+                .opsPerSecond(r.getAchievedRate())
+                .latency(r.getResponse())
+                .errors(r.getErrors())
+                .counter("scheduled", r.getScheduled())
+                .counter("dropped", r.getDropped())
+                .counter("queue_p50_ms", q.getP50Ms())
+                .counter("queue_p99_ms", q.getP99Ms())
+                .counter("queue_max_ms", q.getMaxMs())
+                .counter("service_p50_ms", s.getP50Ms())
+                .counter("service_p99_ms", s.getP99Ms())
+                .counter("service_max_ms", s.getMaxMs())
+                .counter("vt_pinned_events", r.getPinnedEvents())
+                .submit();
+    }
+
+    //runAllTests
+    public void runAllTests() throws InterruptedException {
+        log.info("Rozpoczynam testy open-loop (rozkład {}, tempa {})",
+                benchmarkConfig.getArrivalDistribution(), benchmarkConfig.getTargetRates());
+        List<UUID> ids = customerRepository.findAllIds();
+        if (ids.isEmpty()) {
+            log.warn("Brak klientów w bazie – pomijam open-loop READ/UPDATE");
+        } else {
+            KeyChooser keys = keyChooserFactory.create(ids);
+            testOpenLoopRead(keys);
+            testOpenLoopUpdate(keys);
+        }
+        testOpenLoopInsert();
+        log.info("Zakończono testy open-loop");
+    }
+}
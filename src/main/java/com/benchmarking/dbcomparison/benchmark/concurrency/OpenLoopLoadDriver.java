@@ -0,0 +1,142 @@
+package com.benchmarking.dbcomparison.benchmark.concurrency;
+
+import com.benchmarking.dbcomparison.benchmark.phase.TimeBoxedRunner;
+import com.benchmarking.dbcomparison.benchmark.run.BenchmarkRunContext;
+import com.benchmarking.dbcomparison.util.LatencyStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntConsumer;
+
+/**
+ * Sterownik open-loop: operacje są planowane ze stałym średnim tempem niezależnie od tego,
+ * czy baza nadąża. Opóźnienie liczone jest od zaplanowanego (a nie faktycznego) startu,
+ * więc przy przeciążeniu rośnie czas w kolejce zamiast „znikać” jak w testach closed-loop.
+ */
+@Slf4j
+@Component
+public class OpenLoopLoadDriver {
+
+    private final BenchmarkExecutorFactory executorFactory;
+    private final VirtualThreadPinningMonitor pinningMonitor;
+    private final BenchmarkRunContext runContext;
+    private final TimeBoxedRunner runner;
+
+    public OpenLoopLoadDriver(BenchmarkExecutorFactory executorFactory, VirtualThreadPinningMonitor pinningMonitor,
+                              BenchmarkRunContext runContext, TimeBoxedRunner runner) {
+        this.executorFactory = executorFactory;
+        this.pinningMonitor = pinningMonitor;
+        this.runContext = runContext;
+        this.runner = runner;
+    }
+
+    /**
+     * @param operation  nazwa operacji (do logów)
+     * @param operations liczba operacji do zaplanowania
+     * @param ratePerSec docelowe tempo przybyć
+     * @param workers    liczba wątków wykonujących operacje (VIRTUAL: limit operacji obsługiwanych naraz)
+     * @param op         operacja; dostaje numer kolejny 0..operations-1, wyjątek = błąd
+     */
+    public OpenLoopResult run(String operation, int operations, double ratePerSec,
+                              ArrivalDistribution distribution, int workers, IntConsumer op) throws InterruptedException {
+        int n = Math.max(0, operations);
+        long[] queueNanos = new long[n];
+        long[] serviceNanos = new long[n];
+        long[] responseNanos = new long[n];
+        boolean[] executed = new boolean[n];
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        runContext.step(operation + " @ " + Math.round(ratePerSec) + " ops/s");
+        ExecutorService executor = executorFactory.newExecutor(workers);
+        // VIRTUAL: wątek na operację – semafor ogranicza równoległą obsługę do workers jak pula PLATFORM,
+        // a czekanie na wolne miejsce liczy się do czasu w kolejce
+        Semaphore slots = executorFactory.mode() == ExecutorMode.VIRTUAL ? new Semaphore(Math.max(1, workers)) : null;
+        VirtualThreadPinningMonitor.PinningSession pinning = pinningMonitor.start(operation);
+        SplittableRandom random = new SplittableRandom();
+
+        log.info("Open-loop {}: {} operacji, tempo {} ops/s, rozkład {}, {} wątków ({})",
+                operation, n, ratePerSec, distribution, workers, executorFactory.mode());
+
+        long durationNanos;
+        try (pinning; TimeBoxedRunner.Window window = runner.measurementWindow()) {
+            long start = window.startNanos();
+            long intended = start;
+            try {
+                for (int i = 0; i < n; i++) {
+                    if (i > 0) intended += distribution.nextIntervalNanos(ratePerSec, random);
+                    long wait;
+                    while ((wait = intended - System.nanoTime()) > 0) {
+                        LockSupport.parkNanos(wait);
+                        if (Thread.interrupted()) throw new InterruptedException("Open-loop przerwany");
+                    }
+                    if (runContext.isCancelled()) throw new InterruptedException("Open-loop anulowany");
+                    final int idx = i;
+                    final long intendedStart = intended;
+                    executor.execute(() -> {
+                        if (slots != null) slots.acquireUninterruptibly();
+                        long actualStart = System.nanoTime();
+                        try {
+                            op.accept(idx);
+                            completed.incrementAndGet();
+                            runContext.progress(1);
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            log.debug("Błąd operacji open-loop {}: {}", operation, e.getMessage());
+                        } finally {
+                            long end = System.nanoTime();
+                            queueNanos[idx] = actualStart - intendedStart;
+                            serviceNanos[idx] = end - actualStart;
+                            responseNanos[idx] = end - intendedStart;
+                            executed[idx] = true;
+                            if (slots != null) slots.release();
+                        }
+                    });
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                throw e;
+            } finally {
+                executor.shutdown();
+            }
+
+            // zaplanowany czas trwania + zapas na rozładowanie kolejki
+            long plannedSeconds = (long) Math.ceil(n / Math.max(1e-9, ratePerSec));
+            if (!executor.awaitTermination(Math.max(60, plannedSeconds * 2), TimeUnit.SECONDS)) {
+                log.warn("Open-loop {}: executor timeout – forcing shutdownNow()", operation);
+                executor.shutdownNow();
+            }
+            durationNanos = System.nanoTime() - start;
+        }
+
+        double achieved = durationNanos > 0 ? completed.get() / (durationNanos / 1_000_000_000.0) : 0;
+        int ran = 0;
+        for (boolean e : executed) if (e) ran++;
+        if (ran < n) log.warn("Open-loop {}: {} z {} zaplanowanych operacji nie wykonano", operation, n - ran, n);
+
+        OpenLoopResult result = new OpenLoopResult(operation, ratePerSec, achieved, distribution, executorFactory.mode(),
+                pinning.getPinnedEvents(), workers, n,
+                completed.get(), errors.get(), n - ran, TimeUnit.NANOSECONDS.toMillis(durationNanos),
+                executedStats(queueNanos, executed, ran),
+                executedStats(serviceNanos, executed, ran),
+                executedStats(responseNanos, executed, ran));
+        runContext.latency(result.getResponse());
+        return result;
+    }
+
+    /** Tylko operacje wykonane – zera po niewykonanych zaniżałyby percentyle. */
+    private static LatencyStats executedStats(long[] nanos, boolean[] executed, int ran) {
+        long[] values = new long[ran];
+        int k = 0;
+        for (int i = 0; i < nanos.length && k < ran; i++) {
+            if (executed[i]) values[k++] = nanos[i];
+        }
+        return LatencyStats.of(values, k);
+    }
+}
@@ -0,0 +1,33 @@
+package com.benchmarking.dbcomparison.benchmark.concurrency;
+
+import com.benchmarking.dbcomparison.util.LatencyStats;
+import lombok.Value;
+
+/**
+ * Wynik jednego przebiegu open-loop.
+ * <ul>
+ *     <li>queue – od zaplanowanego startu do faktycznego podjęcia przez wątek (czekanie w kolejce)</li>
+ *     <li>service – czas samej operacji na bazie</li>
+ *     <li>response – od zaplanowanego startu do końca (to widzi „klient”, bez coordinated omission)</li>
+ * </ul>
+ * Percentyle tylko z operacji wykonanych; {@code dropped} – zaplanowane, których pula nie podjęła przed
+ * końcem czasu na rozładowanie kolejki.
+ */
+@Value
+public class OpenLoopResult {
+    String operation;
+    double targetRate;
+    double achievedRate;
+    ArrivalDistribution distribution;
+    ExecutorMode executorMode;
+    long pinnedEvents;
+    int workers;
+    int scheduled;
+    int completed;
+    int errors;
+    int dropped;
+    long durationMs;
+    LatencyStats queue;
+    LatencyStats service;
+    LatencyStats response;
+}
@@ -0,0 +1,14 @@
+package com.benchmarking.dbcomparison.benchmark.concurrency;
+
+import com.benchmarking.dbcomparison.util.LatencyStats;
+import lombok.Value;
+
+/** Jeden punkt krzywej skalowalności: (rozmiar puli, liczba wątków) → przepustowość i opóźnienia. */
+@Value
+public class ScalabilityPoint {
+    int poolSize;
+    int threads;
+    double throughput;
+    int errors;
+    LatencyStats latency;
+}
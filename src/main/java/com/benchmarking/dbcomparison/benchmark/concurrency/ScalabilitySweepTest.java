@@ -0,0 +1,135 @@
+package com.benchmarking.dbcomparison.benchmark.concurrency;
+
+import com.benchmarking.dbcomparison.benchmark.results.ResultSink;
+import com.benchmarking.dbcomparison.benchmark.workload.MixedWorkloadTest;
+import com.benchmarking.dbcomparison.benchmark.workload.WorkloadMix;
+import com.benchmarking.dbcomparison.benchmark.workload.WorkloadResult;
+import com.benchmarking.dbcomparison.config.BenchmarkConfig;
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Przebieg skalowalności: ten sam workload dla 1, 2, 4 … N wątków (opcjonalnie dla kilku
+ * rozmiarów puli Hikari), z przepustowością i p99 w każdym kroku oraz wykryciem kolana krzywej.
+ */
+@Slf4j
+@Component
+public class ScalabilitySweepTest {
+
+
+    @Value("${spring.profiles.active:unknown}")
+    private String activeProfile;
+
+    @Autowired private BenchmarkConfig benchmarkConfig;
+    @Autowired private MixedWorkloadTest mixedWorkloadTest;
+    @Autowired private BenchmarkExecutorFactory executorFactory;
+    @Autowired private DataSource dataSource;
+    @Autowired private ResultSink resultSink;
+
+    /** 1, 2, 4 … do max; max dokładany na końcu, gdy nie jest potęgą dwójki. */
+    static List<Integer> threadSteps(int max) {
+        List<Integer> steps = new ArrayList<>();
+        for (int t = 1; t < max; t *= 2) steps.add(t);
+        steps.add(Math.max(1, max));
+        return steps;
+    }
+
+    private HikariDataSource hikari() {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class);
+            }
+        } catch (SQLException e) {
+            log.warn("Nie udało się pobrać konfiguracji Hikari: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    private void resizePool(HikariDataSource ds, int maxPoolSize, int minIdle) {
+        HikariConfigMXBean config = ds.getHikariConfigMXBean();
+        config.setMinimumIdle(Math.min(minIdle, maxPoolSize));
+        config.setMaximumPoolSize(maxPoolSize);
+        // nadmiarowe połączenia zostałyby w puli do idle-timeout – wymieniamy je od razu
+        if (ds.getHikariPoolMXBean() != null) ds.getHikariPoolMXBean().softEvictConnections();
+    }
+
+    public void runSweep(String mixSpec) throws InterruptedException {
+        WorkloadMix mix = WorkloadMix.parse(mixSpec != null ? mixSpec : benchmarkConfig.getSweepWorkload());
+        int maxThreads = benchmarkConfig.getSweepMaxThreads() > 0 ? benchmarkConfig.getSweepMaxThreads() : benchmarkConfig.getThreads();
+        List<Integer> steps = threadSteps(Math.max(1, maxThreads));
+
+        HikariDataSource ds = hikari();
+        HikariConfigMXBean hikari = ds != null ? ds.getHikariConfigMXBean() : null;
+        List<Integer> poolSizes = new ArrayList<>(benchmarkConfig.getSweepPoolSizes());
+        if (poolSizes.isEmpty() || hikari == null) {
+            if (!poolSizes.isEmpty()) log.warn("DataSource to nie HikariDataSource – pomijam zmianę rozmiaru puli");
+            poolSizes = List.of(hikari != null ? hikari.getMaximumPoolSize() : 0);
+        }
+        int originalMax = hikari != null ? hikari.getMaximumPoolSize() : 0;
+        int originalMinIdle = hikari != null ? hikari.getMinimumIdle() : 0;
+
+        // pule kluczy i wybór kluczy raz na cały przebieg, nie przy każdym punkcie krzywej
+        MixedWorkloadTest.Keys keys = mixedWorkloadTest.loadKeys(mix);
+        if (keys == null) return;
+
+        log.info("Skalowalność {}: wątki {}, pule {}, krok {} s ({})", mix, steps, poolSizes,
+                benchmarkConfig.getSweepStepSeconds(), executorFactory.mode());
+        try {
+            for (int poolSize : poolSizes) {
+                if (ds != null && poolSize > 0) {
+                    // Hikari pozwala zmieniać maksimum w locie; minimumIdle nie może go przekraczać
+                    resizePool(ds, poolSize, originalMinIdle);
+                }
+                List<ScalabilityPoint> curve = new ArrayList<>();
+                for (int threads : steps) {
+                    WorkloadResult r = mixedWorkloadTest.measure(mix, keys, threads, benchmarkConfig.getSweepStepSeconds());
+                    ScalabilityPoint point = new ScalabilityPoint(poolSize, threads, r.throughput(), r.getTotalErrors(), r.getTotal());
+                    curve.add(point);
+                    log.info("Pula {} / {} wątków: {} ops/s, p99={} ms", poolSize, threads,
+                            String.format(Locale.ROOT, "%.1f", point.getThroughput()), point.getLatency().getP99Ms());
+                }
+                int knee = KneeDetector.findKnee(curve, benchmarkConfig.getKneeGainThreshold());
+                ScalabilityPoint kp = curve.get(knee);
+                log.info("Pula {}: kolano przy {} wątkach ({} ops/s, p99={} ms){}", poolSize, kp.getThreads(),
+                        String.format(Locale.ROOT, "%.1f", kp.getThroughput()), kp.getLatency().getP99Ms(),
+                        knee == curve.size() - 1 ? " – brak wypłaszczenia w badanym zakresie" : "");
+                logPerformance(mix, curve, knee);
+            }
+        } finally {
+            if (ds != null) {
+                resizePool(ds, originalMax, originalMinIdle);
+            }
+        }
+    }
+
+    private void logPerformance(WorkloadMix mix, List<ScalabilityPoint> curve, int knee) {
+        for (int i = 0; i < curve.size(); i++) {
+            ScalabilityPoint p = curve.get(i);
+            resultSink.record("scalability", mix.getName())
+                    .param("poolSize", p.getPoolSize())
+                    .param("threads", p.getThreads())
+                    .param("executor", executorFactory.mode())
+                    .opsPerSecond(p.getThroughput())
+                    .latency(p.getLatency())
+                    .errors(p.getErrors())
+                    .counter("gain_percent", KneeDetector.gain(curve, i) * 100)
+                    .counter("knee", i == knee)
+                    .submit();
+        }
+    }
+
+    //runAllTests
+    public void runAllTests() throws InterruptedException {
+        runSweep(null);
+    }
+}
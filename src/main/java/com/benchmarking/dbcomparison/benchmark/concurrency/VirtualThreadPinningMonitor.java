@@ -0,0 +1,105 @@
+package com.benchmarking.dbcomparison.benchmark.concurrency;
+
+import com.benchmarking.dbcomparison.config.BenchmarkConfig;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Wykrywa przypinanie wątków wirtualnych do nośnika (np. blokowanie I/O wewnątrz {@code synchronized}
+ * w sterowniku JDBC albo w Hikari). Korzysta ze zdarzenia JFR {@code jdk.VirtualThreadPinned},
+ * więc działa tylko na JDK 21+; na starszych JDK sesja po prostu nic nie zlicza.
+ */
+@Slf4j
+@Component
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int TOP_FRAMES = 5;
+
+    private final BenchmarkConfig benchmarkConfig;
+    private final BenchmarkExecutorFactory executorFactory;
+
+    public VirtualThreadPinningMonitor(BenchmarkConfig benchmarkConfig, BenchmarkExecutorFactory executorFactory) {
+        this.benchmarkConfig = benchmarkConfig;
+        this.executorFactory = executorFactory;
+    }
+
+    /** Startuje nasłuch tylko w trybie VIRTUAL; w pozostałych zwraca pustą sesję. */
+    public PinningSession start(String operation) {
+        if (executorFactory.mode() != ExecutorMode.VIRTUAL) return new PinningSession(operation, null);
+        RecordingStream stream = new RecordingStream();
+        PinningSession session = new PinningSession(operation, stream);
+        stream.enable(PINNED_EVENT)
+                .withThreshold(Duration.ofMillis(Math.max(0, benchmarkConfig.getPinningThresholdMs())))
+                .withStackTrace();
+        stream.onEvent(PINNED_EVENT, session::onPinned);
+        stream.startAsync();
+        return session;
+    }
+
+    public static class PinningSession implements AutoCloseable {
+        private final String operation;
+        private final RecordingStream stream;
+        private final AtomicLong events = new AtomicLong();
+        private final LongAdder pinnedNanos = new LongAdder();
+        private final Map<String, LongAdder> frames = new ConcurrentHashMap<>();
+
+        PinningSession(String operation, RecordingStream stream) {
+            this.operation = operation;
+            this.stream = stream;
+        }
+
+        private void onPinned(RecordedEvent event) {
+            events.incrementAndGet();
+            pinnedNanos.add(event.getDuration().toNanos());
+            frames.computeIfAbsent(culpritFrame(event), k -> new LongAdder()).increment();
+        }
+
+        /** Pierwsza ramka z kodu sterownika / puli / Hibernate – tam zwykle siedzi synchronized. */
+        private static String culpritFrame(RecordedEvent event) {
+            if (event.getStackTrace() == null) return "?";
+            String fallback = "?";
+            for (RecordedFrame f : event.getStackTrace().getFrames()) {
+                if (!f.isJavaFrame()) continue;
+                String type = f.getMethod().getType().getName();
+                String frame = type + "." + f.getMethod().getName();
+                if ("?".equals(fallback)) fallback = frame;
+                if (type.startsWith("com.mysql") || type.startsWith("org.postgresql")
+                        || type.startsWith("com.zaxxer") || type.startsWith("org.hibernate")) {
+                    return frame;
+                }
+            }
+            return fallback;
+        }
+
+        public long getPinnedEvents() { return events.get(); }
+
+        public double getPinnedMillis() { return pinnedNanos.sum() / 1_000_000.0; }
+
+        @Override
+        public void close() {
+            if (stream == null) return;
+            stream.close();
+            if (events.get() > 0) {
+                String top = frames.entrySet().stream()
+                        .sorted(Comparator.comparingLong((Map.Entry<String, LongAdder> e) -> e.getValue().sum()).reversed())
+                        .limit(TOP_FRAMES)
+                        .map(e -> e.getKey() + "=" + e.getValue().sum())
+                        .collect(Collectors.joining(", "));
+                log.warn("{}: wykryto {} przypięć wątków wirtualnych ({} ms łącznie); najczęstsze miejsca: {}",
+                        operation, events.get(), String.format("%.1f", getPinnedMillis()), top);
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.benchmarking.dbcomparison.benchmark.idgen;
+
+import com.benchmarking.dbcomparison.model.id.IdStrategy;
+import lombok.Value;
+
+/** Wynik jednej strategii kluczy: wstawianie, odczyty po kluczu i stan indeksu. Podziały stron -1 = brak licznika. */
+@Value
+public class IdStrategyResult {
+    IdStrategy strategy;
+    int rows;
+    long insertMs;
+    double insertOpsPerSec;
+    double randomReadOpsPerSec;
+    double recentReadOpsPerSec;
+    long pageSplits;
+    IndexLayout layout;
+}
@@ -0,0 +1,206 @@
+package com.benchmarking.dbcomparison.benchmark.idgen;
+
+import com.benchmarking.dbcomparison.benchmark.insert.BulkInsertWriter;
+import com.benchmarking.dbcomparison.benchmark.insert.BulkTables;
+import com.benchmarking.dbcomparison.benchmark.insert.InsertEngine;
+import com.benchmarking.dbcomparison.benchmark.insert.JdbcBatchWriter;
+import com.benchmarking.dbcomparison.benchmark.insert.TableWriter;
+import com.benchmarking.dbcomparison.benchmark.phase.TimeBoxedRunner;
+import com.benchmarking.dbcomparison.benchmark.results.ResultSink;
+import com.benchmarking.dbcomparison.benchmark.run.BenchmarkRunContext;
+import com.benchmarking.dbcomparison.config.BenchmarkConfig;
+import com.benchmarking.dbcomparison.model.Brand;
+import com.benchmarking.dbcomparison.model.InventoryMovement;
+import com.benchmarking.dbcomparison.model.Product;
+import com.benchmarking.dbcomparison.model.ProductCategory;
+import com.benchmarking.dbcomparison.model.id.BenchmarkIdGenerator;
+import com.benchmarking.dbcomparison.model.id.IdStrategy;
+import com.benchmarking.dbcomparison.repository.BrandRepository;
+import com.benchmarking.dbcomparison.repository.InventoryMovementRepository;
+import com.benchmarking.dbcomparison.repository.ProductCategoryRepository;
+import com.benchmarking.dbcomparison.repository.ProductRepository;
+import com.benchmarking.dbcomparison.util.FastDataGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Porównanie strategii kluczy głównych ({@link IdStrategy}) na tabeli-liściu {@code inventory_movement}
+ * (nic na nią nie wskazuje, więc można ją czyścić TRUNCATE bez ruszania reszty danych). Dla każdej strategii:
+ * wstawienie recordCount wierszy wybraną ścieżką zapisu, rozmiar i stan indeksu PK, potem odczyty po kluczu –
+ * losowe z całego zakresu i z ostatnich 10% wstawionych (przy kluczach uporządkowanych są na "gorących" stronach).
+ */
+@Slf4j
+@Component
+public class IdStrategyTest {
+
+    private static final String TABLE = "inventory_movement";
+    private static final int PRODUCT_SAMPLE = 100;
+    private static final double RECENT_FRACTION = 0.1;
+
+    @Autowired private BenchmarkConfig benchmarkConfig;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private PlatformTransactionManager txManager;
+    @Autowired private IndexLayoutProbe probe;
+    @Autowired private InventoryMovementRepository inventoryMovementRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private BrandRepository brandRepository;
+    @Autowired private ProductCategoryRepository categoryRepository;
+    @Autowired private BulkInsertWriter bulkInsertWriter;
+    @Autowired private JdbcBatchWriter jdbcBatchWriter;
+    @Autowired private ResultSink resultSink;
+    @Autowired private BenchmarkRunContext runContext;
+    @Autowired private TimeBoxedRunner runner;
+
+    @Value("${spring.profiles.active:unknown}")
+    private String activeProfile;
+
+    private boolean isMySql() { return activeProfile != null && activeProfile.toLowerCase().contains("mysql"); }
+
+    /** Lista z parametru żądania ("TIME_ORDERED_V7,SEQUENTIAL"), pusta = z konfiguracji albo wszystkie. */
+    List<IdStrategy> strategies(String spec) {
+        List<IdStrategy> list = new ArrayList<>();
+        if (spec != null && !spec.isBlank()) {
+            for (String part : spec.split(",")) {
+                if (!part.isBlank()) list.add(IdStrategy.parse(part, null));
+            }
+        }
+        if (list.isEmpty()) list.addAll(benchmarkConfig.getIdStrategies());
+        if (list.isEmpty()) list.addAll(EnumSet.allOf(IdStrategy.class));
+        return list;
+    }
+
+    public void runAll(InsertEngine engineOverride, String strategySpec) {
+        InsertEngine engine = engineOverride != null ? engineOverride : benchmarkConfig.getInsertEngine();
+        List<IdStrategy> strategies = strategies(strategySpec);
+        int rows = benchmarkConfig.getRecordCount();
+        List<Product> products = products();
+
+        log.info("Strategie kluczy {} – {} wierszy {} ścieżką {}", strategies, rows, TABLE, engine);
+        IdStrategy previous = BenchmarkIdGenerator.current();
+        try {
+            for (IdStrategy strategy : strategies) {
+                BenchmarkIdGenerator.use(strategy);
+                runContext.step("Klucze " + strategy);
+                IdStrategyResult r = measure(strategy, engine, rows, products);
+                logPerformance(engine, r);
+                log.info("{}: insert {} ops/s, odczyt losowy {} ops/s, najnowsze {} ops/s, PK {} MB, podziały stron {}",
+                        strategy, String.format(Locale.ROOT, "%.1f", r.getInsertOpsPerSec()),
+                        String.format(Locale.ROOT, "%.1f", r.getRandomReadOpsPerSec()),
+                        String.format(Locale.ROOT, "%.1f", r.getRecentReadOpsPerSec()),
+                        String.format(Locale.ROOT, "%.2f", mb(r.getLayout().getPrimaryBytes())), r.getPageSplits());
+            }
+        } finally {
+            BenchmarkIdGenerator.use(previous);
+        }
+    }
+
+    private IdStrategyResult measure(IdStrategy strategy, InsertEngine engine, int rows, List<Product> products) {
+        new TransactionTemplate(txManager).executeWithoutResult(status ->
+                jdbcTemplate.execute("TRUNCATE TABLE " + TABLE));
+
+        FastDataGenerator generator = new FastDataGenerator();
+        List<UUID> ids = new ArrayList<>(rows);
+        int batchSize = Math.max(1, benchmarkConfig.getBatchSize());
+        long splitsBefore = probe.pageSplits();
+
+        // okno pomiarowe obejmuje tylko wstawianie – liczniki kolektorów (bufor bazy, zasoby, JDBC) w wierszu wyniku
+        long insertNs;
+        try (TimeBoxedRunner.Window window = runner.measurementWindow()) {
+            List<InventoryMovement> batch = new ArrayList<>(batchSize);
+            for (int i = 0; i < rows; i++) {
+                batch.add(generator.generateInventoryMovement(products.get(i % products.size())));
+                if (batch.size() == batchSize || i == rows - 1) {
+                    persist(engine, batch);
+                    for (InventoryMovement m : batch) ids.add(m.getId());
+                    runContext.progress(batch.size());
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            insertNs = System.nanoTime() - window.startNanos();
+        }
+
+        long splitsAfter = probe.pageSplits();
+        long splits = splitsBefore >= 0 && splitsAfter >= 0 ? splitsAfter - splitsBefore : -1;
+        probe.analyze(TABLE);
+        IndexLayout layout = probe.inspect(TABLE);
+
+        int lookups = Math.min(rows, 10_000);
+        double randomReads = lookups(ids, 0, lookups);
+        double recentReads = lookups(ids, (int) (ids.size() * (1 - RECENT_FRACTION)), lookups);
+
+        long insertMs = insertNs / 1_000_000;
+        return new IdStrategyResult(strategy, rows, insertMs, rows * 1e9 / Math.max(1, insertNs),
+                randomReads, recentReads, splits, layout);
+    }
+
+    private void persist(InsertEngine engine, List<InventoryMovement> batch) {
+        TableWriter writer = switch (engine) {
+            case JPA -> null;
+            case BULK -> bulkInsertWriter;
+            case JDBC_BATCH -> jdbcBatchWriter;
+        };
+        if (writer == null) inventoryMovementRepository.saveAll(batch);
+        else writer.write(BulkTables.MOVEMENT, batch);
+    }
+
+    /** Wyszukania po kluczu dla losowych id z zakresu [from, size) – @return ops/s */
+    private double lookups(List<UUID> ids, int from, int count) {
+        if (ids.isEmpty() || count <= 0) return 0;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String sql = "SELECT quantity FROM " + TABLE + " WHERE id = ?";
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            UUID id = ids.get(random.nextInt(from, ids.size()));
+            jdbcTemplate.queryForList(sql, Integer.class, key(id));
+        }
+        return count * 1e9 / Math.max(1, System.nanoTime() - start);
+    }
+
+    /** MySQL trzyma UUID w BINARY(16) (jak Hibernate), PostgreSQL w typie uuid. */
+    private Object key(UUID id) {
+        if (!isMySql()) return id;
+        return ByteBuffer.allocate(16).putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits()).array();
+    }
+
+    /** Produkty, na które wskazują ruchy magazynowe; przy pustej bazie tworzy jeden komplet. */
+    private List<Product> products() {
+        List<Product> products = productRepository.findAll(PageRequest.of(0, PRODUCT_SAMPLE)).getContent();
+        if (!products.isEmpty()) return products;
+        FastDataGenerator generator = new FastDataGenerator();
+        Brand brand = brandRepository.save(generator.generateBrand());
+        ProductCategory category = categoryRepository.save(generator.generateCategory(null));
+        return List.of(productRepository.save(generator.generateProduct(brand, category)));
+    }
+
+    private static double mb(long bytes) {
+        return bytes < 0 ? -1 : bytes / (1024.0 * 1024.0);
+    }
+
+    private void logPerformance(InsertEngine engine, IdStrategyResult r) {
+        IndexLayout l = r.getLayout();
+        resultSink.record("idStrategy", r.getStrategy().name())
+                .param("idStrategy", r.getStrategy())
+                .param("engine", engine)
+                .throughput(r.getRows(), r.getInsertMs())
+                .opsPerSecond(r.getInsertOpsPerSec())
+                .counter("random_read_ops_s", r.getRandomReadOpsPerSec())
+                .counter("recent_read_ops_s", r.getRecentReadOpsPerSec())
+                .counter("pk_mb", mb(l.getPrimaryBytes()))
+                .counter("secondary_indexes_mb", mb(l.getSecondaryBytes()))
+                .counter("table_mb", mb(l.getTableBytes()))
+                .counter("page_splits", r.getPageSplits())
+                .counter("leaf_density_percent", l.getLeafDensityPercent())
+                .counter("leaf_fragmentation_percent", l.getLeafFragmentationPercent())
+                .submit();
+    }
+}
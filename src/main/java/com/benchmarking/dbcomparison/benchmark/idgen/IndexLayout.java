@@ -0,0 +1,17 @@
+package com.benchmarking.dbcomparison.benchmark.idgen;
+
+import lombok.Value;
+
+/**
+ * Fizyczny stan tabeli po wstawieniach. W InnoDB klucz główny jest indeksem klastrowym, więc
+ * {@code primaryBytes} obejmuje też dane wierszy. Gęstość i fragmentacja liści tylko z {@code pgstatindex}
+ * (PostgreSQL z pgstattuple) – inaczej NaN.
+ */
+@Value
+public class IndexLayout {
+    long primaryBytes;
+    long secondaryBytes;
+    long tableBytes;
+    double leafDensityPercent;
+    double leafFragmentationPercent;
+}
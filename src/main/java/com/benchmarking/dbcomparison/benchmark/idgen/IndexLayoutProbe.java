@@ -0,0 +1,133 @@
+package com.benchmarking.dbcomparison.benchmark.idgen;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+/**
+ * Rozmiar indeksu klucza głównego i skutki podziałów stron B-drzewa:
+ * <ul>
+ *     <li>MySQL – rozmiary z {@code information_schema.TABLES} po {@code ANALYZE TABLE}, podziały stron
+ *     z licznika {@code index_page_splits} w {@code INNODB_METRICS} (globalny – liczymy różnicę)</li>
+ *     <li>PostgreSQL – {@code pg_relation_size} indeksu PK; licznika podziałów nie ma, ich ślad widać
+ *     w gęstości i fragmentacji liści z {@code pgstatindex} (rozszerzenie pgstattuple)</li>
+ * </ul>
+ * Brak uprawnień / rozszerzenia nie przerywa testu – odpowiednie pole zostaje puste (-1 / NaN).
+ * Polecenia DDL/ANALYZE idą w {@link TransactionTemplate} – pula ma auto-commit=false.
+ */
+@Slf4j
+@Component
+public class IndexLayoutProbe {
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private PlatformTransactionManager txManager;
+
+    @Value("${spring.profiles.active:unknown}")
+    private String activeProfile;
+
+    private volatile Boolean splitCounterEnabled;
+    private volatile Boolean pgstattupleAvailable;
+
+    private boolean isMySql() { return activeProfile != null && activeProfile.toLowerCase().contains("mysql"); }
+    private boolean isPostgres() { return activeProfile != null && activeProfile.toLowerCase().contains("postgres"); }
+
+    /** Odświeża statystyki, z których czytane są rozmiary (MySQL liczy je przy ANALYZE). */
+    public void analyze(String table) {
+        try {
+            new TransactionTemplate(txManager).executeWithoutResult(status -> {
+                if (isMySql()) jdbcTemplate.queryForList("ANALYZE TABLE " + table);
+                else if (isPostgres()) jdbcTemplate.execute("ANALYZE " + table);
+            });
+        } catch (DataAccessException e) {
+            log.warn("ANALYZE {} nie powiodło się: {}", table, e.getMessage());
+        }
+    }
+
+    /** Bieżąca wartość licznika podziałów stron InnoDB; -1 gdy niedostępny (PostgreSQL, brak uprawnień). */
+    public long pageSplits() {
+        if (!isMySql()) return -1;
+        if (splitCounterEnabled == null) {
+            try {
+                // licznik jest domyślnie wyłączony; włączenie wymaga SYSTEM_VARIABLES_ADMIN
+                jdbcTemplate.execute("SET GLOBAL innodb_monitor_enable = 'index_page_splits'");
+                splitCounterEnabled = true;
+            } catch (DataAccessException e) {
+                log.warn("Nie udało się włączyć licznika index_page_splits: {}", e.getMessage());
+                splitCounterEnabled = false;
+            }
+        }
+        if (!splitCounterEnabled) return -1;
+        try {
+            Long count = jdbcTemplate.queryForObject(
+                    "SELECT `COUNT` FROM information_schema.INNODB_METRICS WHERE NAME = 'index_page_splits'", Long.class);
+            return count != null ? count : -1;
+        } catch (DataAccessException e) {
+            log.warn("Odczyt index_page_splits nie powiódł się: {}", e.getMessage());
+            return -1;
+        }
+    }
+
+    public IndexLayout inspect(String table) {
+        try {
+            if (isMySql()) return inspectMySql(table);
+            if (isPostgres()) return inspectPostgres(table);
+        } catch (DataAccessException e) {
+            log.warn("Nie udało się odczytać rozmiaru indeksów {}: {}", table, e.getMessage());
+        }
+        return new IndexLayout(-1, -1, -1, Double.NaN, Double.NaN);
+    }
+
+    private IndexLayout inspectMySql(String table) {
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT DATA_LENGTH, INDEX_LENGTH FROM information_schema.TABLES " +
+                        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?", table);
+        long data = ((Number) row.get("DATA_LENGTH")).longValue();
+        long secondary = ((Number) row.get("INDEX_LENGTH")).longValue();
+        return new IndexLayout(data, secondary, data, Double.NaN, Double.NaN);
+    }
+
+    private IndexLayout inspectPostgres(String table) {
+        String pk = jdbcTemplate.queryForObject(
+                "SELECT i.indexrelid::regclass::text FROM pg_index i WHERE i.indrelid = ?::regclass AND i.indisprimary",
+                String.class, table);
+        long primary = size("SELECT pg_relation_size(?::regclass)", pk);
+        long allIndexes = size("SELECT pg_indexes_size(?::regclass)", table);
+        long heap = size("SELECT pg_relation_size(?::regclass)", table);
+
+        double density = Double.NaN;
+        double fragmentation = Double.NaN;
+        if (pgstattuple()) {
+            Map<String, Object> stats = jdbcTemplate.queryForMap(
+                    "SELECT avg_leaf_density, leaf_fragmentation FROM pgstatindex(?)", pk);
+            density = ((Number) stats.get("avg_leaf_density")).doubleValue();
+            fragmentation = ((Number) stats.get("leaf_fragmentation")).doubleValue();
+        }
+        return new IndexLayout(primary, allIndexes - primary, heap, density, fragmentation);
+    }
+
+    private long size(String sql, String relation) {
+        Long bytes = jdbcTemplate.queryForObject(sql, Long.class, relation);
+        return bytes != null ? bytes : -1;
+    }
+
+    private boolean pgstattuple() {
+        if (pgstattupleAvailable == null) {
+            try {
+                new TransactionTemplate(txManager).executeWithoutResult(status ->
+                        jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pgstattuple"));
+                pgstattupleAvailable = true;
+            } catch (DataAccessException e) {
+                log.warn("Brak rozszerzenia pgstattuple – bez gęstości liści indeksu: {}", e.getMessage());
+                pgstattupleAvailable = false;
+            }
+        }
+        return pgstattupleAvailable;
+    }
+}
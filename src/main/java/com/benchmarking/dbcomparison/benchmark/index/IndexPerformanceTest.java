@@ -1,5 +1,9 @@
 package com.benchmarking.dbcomparison.benchmark.index;
 
+import com.benchmarking.dbcomparison.benchmark.phase.TimeBoxedResult;
+import com.benchmarking.dbcomparison.benchmark.phase.TimeBoxedRunner;
+import com.benchmarking.dbcomparison.benchmark.results.ResultSink;
+import com.benchmarking.dbcomparison.benchmark.telemetry.BufferCacheSampler.BufferCacheStats;
 import com.benchmarking.dbcomparison.config.BenchmarkConfig;
 import com.benchmarking.dbcomparison.config.DatabaseMetrics;
 import com.benchmarking.dbcomparison.model.Brand;
@@ -16,9 +20,6 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
-import java.io.File;
-import java.io.FileWriter;
-import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
 
@@ -34,6 +35,10 @@ public class IndexPerformanceTest {
     @Autowired private ProductCategoryRepository categoryRepository;
     @Autowired private DatabaseMetrics databaseMetrics;
     @Autowired private BenchmarkConfig benchmarkConfig;
+    @Autowired private TimeBoxedRunner runner;
+    @Autowired private PlanCapture planCapture;
+    @Autowired private PlanBaselineStore planBaselines;
+    @Autowired private ResultSink resultSink;
 
     @Value("${spring.profiles.active:unknown}")
     private String activeProfile;
@@ -195,68 +200,62 @@ public class IndexPerformanceTest {
         );
     }
 
-    /* ------------ execution + CSV ------------ */
+    /* ------------ execution + wyniki ------------ */
 
     private void runQueryAndLog(String label, String sql, String metricKey) {
         log.info("Wykonywanie testu: {} | SQL: {}", label, sql);
 
-        // Warm-up (bez pomiaru)
-        try {
-            jdbcTemplate.queryForList(sql);
-        } catch (Exception e) {
-            databaseMetrics.incrementFailedQueries();
-            log.warn("Warm-up error ({}): {}", label, e.getMessage());
-        }
-
-        Timer.Sample t = databaseMetrics.startTimer();
-        long startNs = System.nanoTime();
-
-        int size = 0;
-        try {
-            List<?> results = jdbcTemplate.queryForList(sql);
-            size = results.size();
-            databaseMetrics.incrementDatabaseOperations(metricKey, activeProfile);
-        } catch (Exception e) {
-            databaseMetrics.incrementFailedQueries();
-            log.error("Błąd zapytania [{}]: {}", label, e.getMessage());
-        } finally {
-            databaseMetrics.stopTimer(t, metricKey, activeProfile);
-        }
-
-        long durMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs);
-        databaseMetrics.recordTransactionTime(durMs);
-
-        writeCsv(label, sql, metricKey, durMs, size);
+        // Rozgrzewka (bez pomiaru), potem zapytanie raz albo w pętli przez measurementSeconds
+        TimeBoxedResult r = runner.run(label,
+                () -> jdbcTemplate.queryForList(sql),
+                () -> {
+                    Timer.Sample t = databaseMetrics.startTimer();
+                    long startNs = System.nanoTime();
+                    int size = 0;
+                    try {
+                        List<?> results = jdbcTemplate.queryForList(sql);
+                        size = results.size();
+                        databaseMetrics.incrementDatabaseOperations(metricKey, activeProfile);
+                    } catch (Exception e) {
+                        databaseMetrics.incrementFailedQueries();
+                        log.error("Błąd zapytania [{}]: {}", label, e.getMessage());
+                    } finally {
+                        databaseMetrics.stopTimer(t, metricKey, activeProfile);
+                    }
+                    databaseMetrics.recordTransactionTime(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs));
+                    return size;
+                });
+
+        int resultCount = r.getIterations() > 0 ? (int) (r.getRecords() / r.getIterations()) : 0;
+
+        // Plan poza pomiarem – EXPLAIN ANALYZE wykonuje zapytanie jeszcze raz
+        QueryPlan plan = planCapture.capture(sql);
+        boolean planChanged = planBaselines.check(activeProfile, metricKey, plan);
+        log.info("Plan [{}]: {} | indeks: {} | wiersze szac./rzecz.: {}/{}", label, plan.getFingerprint(),
+                plan.getIndexesUsed().isEmpty() ? "-" : plan.getIndexesUsed(), plan.getEstimatedRows(), plan.getActualRows());
+        writeCsv(label, sql, metricKey, r.getDurationMs(), resultCount, r.getIterations(), plan, planChanged, r.getBufferCache());
     }
 
-    private void writeCsv(String label, String sql, String metricKey, long durMs, int resultCount) {
-        File csv = new File("performance-index-results.csv");
-        boolean header = !csv.exists() || csv.length() == 0;
-
+    private void writeCsv(String label, String sql, String metricKey, long durMs, int resultCount, int iterations,
+                          QueryPlan plan, boolean planChanged, BufferCacheStats cache) {
         // 1 zapytanie = 1 operacja
-        double opsPerSec = durMs > 0 ? (1000.0 / durMs) : 0.0;
-        double p95 = databaseMetrics.getP95Millis(metricKey, activeProfile);
-
-        try (FileWriter w = new FileWriter(csv, true)) {
-            if (header) {
-                w.write("Operacja;Czas[ms];Liczba rekordów;Operacji/s;Profil;p95_ms;DB_operacje;DB_failed_queries;DB_czas_timer_ms;Zapytanie\n");
-            }
-            String line = String.join(";",
-                    label,
-                    String.valueOf(durMs),
-                    String.valueOf(resultCount),
-                    String.valueOf(opsPerSec),
-                    activeProfile,
-                    String.valueOf(Double.isNaN(p95) ? 0 : p95),
-                    String.valueOf(databaseMetrics.getOperationsCount(metricKey, activeProfile)),
-                    String.valueOf(databaseMetrics.getFailedQueriesCount()),
-                    String.valueOf(databaseMetrics.getTotalOperationTimeMillis(metricKey, activeProfile)),
-                    "\"" + sql.replace("\n", " ").replace("\"", "'") + "\""
-            );
-            w.write(line + "\n");
-        } catch (IOException e) {
-            log.error("Błąd zapisu CSV: {}", e.getMessage());
-        }
+        resultSink.record("index", label)
+                .param("sql", sql.replace("\n", " "))
+                .throughput(resultCount, durMs)
+                .opsPerSecond(durMs > 0 ? iterations * 1000.0 / durMs : 0.0)
+                .dbMetrics(metricKey)
+                .counter("iterations", iterations)
+                .counter("plan_access", plan.getAccessMethod())
+                .counter("plan_indexes", plan.getIndexesUsed())
+                .counter("plan_rows_estimated", plan.getEstimatedRows())
+                .counter("plan_rows_actual", plan.getActualRows())
+                .counter("plan_execution_ms", plan.getExecutionMs())
+                .counter("plan_blocks_hit", plan.getSharedBlocksHit())
+                .counter("plan_blocks_read", plan.getSharedBlocksRead())
+                .counter("plan_fingerprint", plan.getFingerprint())
+                .counter("plan_changed", planChanged)
+                .bufferCache(cache)
+                .submit();
     }
 
     /* ------------ DDL helpers ------------ */
@@ -0,0 +1,90 @@
+package com.benchmarking.dbcomparison.benchmark.index;
+
+import com.benchmarking.dbcomparison.config.BenchmarkConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Bazowe odciski planów w {@value #FILE} ({@code Profil;Klucz;Odcisk_planu}). Pierwszy przebieg zapisuje
+ * bazę; kolejne tylko porównują, chyba że {@code benchmark.planBaselineUpdate=true} – wtedy bieżący plan
+ * zastępuje bazowy. Plany w pełnej postaci trafiają do katalogu {@value #PLAN_DIR}.
+ */
+@Slf4j
+@Component
+public class PlanBaselineStore {
+
+    static final String FILE = "index-plan-baseline.csv";
+    static final String PLAN_DIR = "index-plans";
+
+    @Autowired private BenchmarkConfig benchmarkConfig;
+
+    /**
+     * Porównuje plan z bazowym dla (profil, klucz) i w razie potrzeby zapisuje go jako bazowy.
+     * @return true, gdy istniał bazowy plan o innym kształcie
+     */
+    public synchronized boolean check(String profile, String key, QueryPlan plan) {
+        if (plan.getFingerprint().isEmpty()) return false;
+        savePlan(profile, key, plan);
+
+        Map<String, String> baselines = load();
+        String id = profile + ";" + key;
+        String baseline = baselines.get(id);
+        boolean changed = baseline != null && !baseline.equals(plan.getFingerprint());
+        if (changed) {
+            log.warn("Zmiana planu [{}]: bazowy {} → bieżący {}", key, baseline, plan.getFingerprint());
+        }
+        if (baseline == null || (changed && benchmarkConfig.isPlanBaselineUpdate())) {
+            baselines.put(id, plan.getFingerprint());
+            store(baselines);
+        }
+        return changed;
+    }
+
+    private Map<String, String> load() {
+        Map<String, String> baselines = new TreeMap<>();
+        File file = new File(FILE);
+        if (!file.exists()) return baselines;
+        try {
+            List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+            for (String line : lines.subList(Math.min(1, lines.size()), lines.size())) {
+                String[] parts = line.split(";", 3);
+                if (parts.length == 3) baselines.put(parts[0] + ";" + parts[1], parts[2]);
+            }
+        } catch (IOException e) {
+            log.error("Błąd odczytu bazowych planów", e);
+        }
+        return baselines;
+    }
+
+    private void store(Map<String, String> baselines) {
+        List<String> lines = new ArrayList<>();
+        lines.add("Profil;Klucz;Odcisk_planu");
+        baselines.forEach((id, fingerprint) -> lines.add(id + ";" + fingerprint));
+        try {
+            Files.write(new File(FILE).toPath(), lines, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log.error("Błąd zapisu bazowych planów", e);
+        }
+    }
+
+    private void savePlan(String profile, String key, QueryPlan plan) {
+        File dir = new File(PLAN_DIR);
+        if (!dir.exists() && !dir.mkdirs()) return;
+        String extension = plan.getRaw().startsWith("[") || plan.getRaw().startsWith("{") ? ".json" : ".txt";
+        try {
+            Files.writeString(new File(dir, profile + "_" + key + extension).toPath(), plan.getRaw(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log.error("Błąd zapisu planu {}", key, e);
+        }
+    }
+}
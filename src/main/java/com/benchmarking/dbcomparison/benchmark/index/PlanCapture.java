@@ -0,0 +1,124 @@
+package com.benchmarking.dbcomparison.benchmark.index;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Plan zapytania z bazy (wykonuje zapytanie jeszcze raz – wołać poza oknem pomiarowym):
+ * <ul>
+ *     <li>PostgreSQL – {@code EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON)}: drzewo węzłów z wierszami
+ *     szacowanymi i rzeczywistymi oraz blokami shared hit/read</li>
+ *     <li>MySQL – {@code EXPLAIN FORMAT=JSON} (access_type i użyty klucz każdej tabeli) oraz
+ *     {@code EXPLAIN ANALYZE} (wiersze szacowane/rzeczywiste i czas z korzenia drzewa)</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class PlanCapture {
+
+    // "(cost=1.25..101.25 rows=1000) (actual time=0.05..0.61 rows=1000 loops=1)"
+    private static final Pattern MYSQL_ANALYZE_ROOT = Pattern.compile(
+            "rows=([\\d.eE+]+)\\)\\s*\\(actual time=[\\d.]+\\.\\.([\\d.]+) rows=([\\d.eE+]+) loops=(\\d+)\\)");
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private ObjectMapper objectMapper;
+
+    @Value("${spring.profiles.active:unknown}")
+    private String activeProfile;
+
+    private boolean isMySql() { return activeProfile != null && activeProfile.toLowerCase().contains("mysql"); }
+    private boolean isPostgres() { return activeProfile != null && activeProfile.toLowerCase().contains("postgres"); }
+
+    public QueryPlan capture(String sql) {
+        try {
+            if (isPostgres()) return postgres(sql);
+            if (isMySql()) return mysql(sql);
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("Nie udało się pobrać planu zapytania: {}", e.getMessage());
+        }
+        return QueryPlan.unavailable();
+    }
+
+    private QueryPlan postgres(String sql) throws JsonProcessingException {
+        String json = jdbcTemplate.queryForObject("EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) " + sql, String.class);
+        JsonNode root = objectMapper.readTree(json).path(0);
+        JsonNode plan = root.path("Plan");
+
+        List<String> shape = new ArrayList<>();
+        Set<String> indexes = new LinkedHashSet<>();
+        String[] access = {""};
+        walkPostgres(plan, shape, indexes, access);
+
+        return new QueryPlan(String.join(">", shape), access[0], String.join(",", indexes),
+                plan.path("Plan Rows").asDouble(Double.NaN),
+                plan.path("Actual Rows").asDouble(Double.NaN) * plan.path("Actual Loops").asDouble(1),
+                root.path("Execution Time").asDouble(Double.NaN),
+                plan.path("Shared Hit Blocks").asLong(-1), plan.path("Shared Read Blocks").asLong(-1),
+                json);
+    }
+
+    private void walkPostgres(JsonNode node, List<String> shape, Set<String> indexes, String[] access) {
+        String type = node.path("Node Type").asText();
+        String relation = node.path("Relation Name").asText("");
+        String index = node.path("Index Name").asText("");
+        shape.add(type + target(relation, index));
+        if (!index.isEmpty()) indexes.add(index);
+        if (access[0].isEmpty() && type.endsWith("Scan")) access[0] = type;
+        for (JsonNode child : node.path("Plans")) walkPostgres(child, shape, indexes, access);
+    }
+
+    private QueryPlan mysql(String sql) throws JsonProcessingException {
+        String json = jdbcTemplate.queryForObject("EXPLAIN FORMAT=JSON " + sql, String.class);
+        List<String> shape = new ArrayList<>();
+        Set<String> indexes = new LinkedHashSet<>();
+        String[] access = {""};
+        walkMySql(objectMapper.readTree(json), shape, indexes, access);
+
+        String tree = jdbcTemplate.queryForObject("EXPLAIN ANALYZE " + sql, String.class);
+        double estimated = Double.NaN;
+        double actual = Double.NaN;
+        double ms = Double.NaN;
+        Matcher m = MYSQL_ANALYZE_ROOT.matcher(tree != null ? tree : "");
+        if (m.find()) {
+            estimated = Double.parseDouble(m.group(1));
+            ms = Double.parseDouble(m.group(2));
+            actual = Double.parseDouble(m.group(3)) * Integer.parseInt(m.group(4));
+        }
+        return new QueryPlan(String.join(">", shape), access[0], String.join(",", indexes),
+                estimated, actual, ms, -1, -1, tree);
+    }
+
+    /** Obiekty "table" w kolejności z planu (także w nested_loop / ordering_operation itd.). */
+    private void walkMySql(JsonNode node, List<String> shape, Set<String> indexes, String[] access) {
+        if (node.isObject()) {
+            JsonNode table = node.get("table");
+            if (table != null && table.has("table_name")) {
+                String type = table.path("access_type").asText("?");
+                String key = table.path("key").asText("");
+                shape.add(type + target(table.path("table_name").asText(), key));
+                if (!key.isEmpty()) indexes.add(key);
+                if (access[0].isEmpty()) access[0] = type;
+            }
+            // zagnieżdżone bloki (nested_loop, materialized_from_subquery, ...)
+            for (JsonNode child : node) walkMySql(child, shape, indexes, access);
+        } else if (node.isArray()) {
+            for (JsonNode child : node) walkMySql(child, shape, indexes, access);
+        }
+    }
+
+    private static String target(String relation, String index) {
+        if (relation.isEmpty() && index.isEmpty()) return "";
+        return "(" + relation + (index.isEmpty() ? "" : "/" + index) + ")";
+    }
+}
@@ -0,0 +1,25 @@
+package com.benchmarking.dbcomparison.benchmark.index;
+
+import lombok.Value;
+
+/**
+ * Plan wykonania mierzonego zapytania. {@code fingerprint} to znormalizowany kształt planu (węzły / typy
+ * dostępu z tabelą i indeksem, bez liczb), porównywany z bazowym między przebiegami. Bloki tylko
+ * z PostgreSQL (BUFFERS) – w MySQL -1; {@code raw} to pełny plan (JSON / drzewo EXPLAIN ANALYZE).
+ */
+@Value
+public class QueryPlan {
+    String fingerprint;
+    String accessMethod;
+    String indexesUsed;
+    double estimatedRows;
+    double actualRows;
+    double executionMs;
+    long sharedBlocksHit;
+    long sharedBlocksRead;
+    String raw;
+
+    static QueryPlan unavailable() {
+        return new QueryPlan("", "", "", Double.NaN, Double.NaN, Double.NaN, -1, -1, "");
+    }
+}
@@ -0,0 +1,69 @@
+package com.benchmarking.dbcomparison.benchmark.insert;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Zapis paczki encji ścieżką natywną: encje z generatora są tylko nośnikiem wartości (bez persistence contextu),
+ * kodowane wprost do strumienia COPY / LOAD DATA. Paczka dołącza do bieżącej transakcji (dane są widoczne
+ * dla dalszych zapytań JPA w tym samym teście), a bez niej jest zatwierdzana sama – pula ma auto-commit=false.
+ */
+@Slf4j
+@Component
+public class BulkInsertWriter implements TableWriter {
+
+    @Autowired private JdbcTemplate jdbc;
+    @Autowired private PlatformTransactionManager txManager;
+
+    @Value("${spring.profiles.active:unknown}")
+    private String activeProfile;
+
+    private volatile BulkLoader loader;
+    // pisarz na wątek – bufor z poprzedniej paczki jest czyszczony i używany ponownie
+    private final ThreadLocal<TsvRowWriter> writers = ThreadLocal.withInitial(TsvRowWriter::new);
+
+    private BulkLoader loader() {
+        BulkLoader l = loader;
+        if (l == null) loader = l = BulkLoader.forProfile(activeProfile);
+        return l;
+    }
+
+    /** Nazwa mechanizmu dla bieżącego profilu (COPY / LOAD DATA). */
+    @Override
+    public String name() {
+        return loader().name();
+    }
+
+    /** @return liczba załadowanych wierszy wg bazy */
+    @Override
+    public <T> int write(BulkTable<T> table, List<? extends T> rows) {
+        if (rows.isEmpty()) return 0;
+        TsvRowWriter writer = writers.get();
+        writer.reset();
+        for (T row : rows) table.encode(row, writer);
+        BulkLoader l = loader();
+        Long loaded = new TransactionTemplate(txManager).execute(status ->
+                jdbc.execute((ConnectionCallback<Long>) con -> {
+                    try {
+                        return l.load(con, table, writer.stream());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+        long n = loaded != null ? loaded : 0;
+        if (n != writer.rows()) {
+            log.warn("{} {}: wysłano {} wierszy, baza zgłosiła {}", l.name(), table.getName(), writer.rows(), n);
+        }
+        return (int) n;
+    }
+}
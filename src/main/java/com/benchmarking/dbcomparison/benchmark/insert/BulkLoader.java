@@ -0,0 +1,29 @@
+package com.benchmarking.dbcomparison.benchmark.insert;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Natywne ładowanie paczki wierszy zakodowanych przez {@link TsvRowWriter}.
+ * Połączenie należy do bieżącej transakcji – loader go nie zamyka i nie zatwierdza.
+ */
+public interface BulkLoader {
+
+    /** Nazwa mechanizmu do etykiet w CSV, np. „COPY”. */
+    String name();
+
+    /**
+     * @param data strumień z {@link TsvRowWriter#stream()} – bufor pisarza, ważny tylko na czas wywołania
+     * @return liczba wierszy zgłoszona przez bazę
+     */
+    long load(Connection connection, BulkTable<?> table, InputStream data) throws SQLException, IOException;
+
+    static BulkLoader forProfile(String profile) {
+        String p = profile == null ? "" : profile.toLowerCase();
+        if (p.contains("postgres")) return new PostgresCopyLoader();
+        if (p.contains("mysql")) return new MySqlLoadDataLoader();
+        throw new IllegalStateException("Ładowanie natywne dostępne tylko dla profili mysql/postgres, jest: " + profile);
+    }
+}
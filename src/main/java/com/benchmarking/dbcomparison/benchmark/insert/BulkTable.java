@@ -0,0 +1,64 @@
+package com.benchmarking.dbcomparison.benchmark.insert;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Opis tabeli dla zapisu z pominięciem JPA: nazwa, kolumny w kolejności pól i koder wiersza.
+ * Ten sam opis służy ładowaniu natywnemu (kolejność pól w strumieniu) i JDBC batch (kolejność parametrów).
+ * Rodzaj kolumny decyduje o konwersji po stronie MySQL (UUID → BINARY(16), 1/0 → bit).
+ */
+public class BulkTable<T> {
+
+    public enum Kind { VALUE, UUID, BOOL }
+
+    @Value
+    public static class Column {
+        String name;
+        Kind kind;
+    }
+
+    @FunctionalInterface
+    public interface RowEncoder<T> {
+        /** Zapisuje pola wiersza w kolejności {@link BulkTable#getColumns()}; id nadaje sam (jeśli encja go nie ma). */
+        void encode(T entity, RowWriter writer);
+    }
+
+    private final String name;
+    private final List<Column> columns;
+    private final RowEncoder<T> encoder;
+
+    public BulkTable(String name, List<Column> columns, RowEncoder<T> encoder) {
+        this.name = name;
+        this.columns = List.copyOf(columns);
+        this.encoder = encoder;
+    }
+
+    public static Column col(String name)  { return new Column(name, Kind.VALUE); }
+    public static Column uuid(String name) { return new Column(name, Kind.UUID); }
+    public static Column bool(String name) { return new Column(name, Kind.BOOL); }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<Column> getColumns() {
+        return columns;
+    }
+
+    /** Lista kolumn do {@code INSERT INTO tabela (...)} / {@code COPY tabela (...)}. */
+    public String columnList() {
+        StringBuilder sb = new StringBuilder();
+        for (Column c : columns) {
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(c.getName());
+        }
+        return sb.toString();
+    }
+
+    public void encode(T entity, RowWriter writer) {
+        encoder.encode(entity, writer);
+        writer.endRow();
+    }
+}
@@ -0,0 +1,107 @@
+package com.benchmarking.dbcomparison.benchmark.insert;
+
+import com.benchmarking.dbcomparison.model.*;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static com.benchmarking.dbcomparison.benchmark.insert.BulkTable.bool;
+import static com.benchmarking.dbcomparison.benchmark.insert.BulkTable.col;
+import static com.benchmarking.dbcomparison.benchmark.insert.BulkTable.uuid;
+
+/**
+ * Definicje tabel dla ładowania natywnego i JDBC batch. Kolumny jak w schemacie tworzonym przez Hibernate
+ * (CamelCase → snake_case); pominięte kolumny dostają NULL / wartość domyślną, tak jak przy {@code saveAll}
+ * encji z generatora.
+ */
+public final class BulkTables {
+
+    private BulkTables() {
+    }
+
+    public static final BulkTable<Customer> CUSTOMER = new BulkTable<>("customer", List.of(
+            uuid("id"), col("first_name"), col("last_name"), col("email"), col("phone_number"), col("date_of_birth"),
+            col("address_street"), col("address_city"), col("address_postal_code"), col("address_country"),
+            col("status"), col("loyalty_points"), bool("newsletter_subscription"), col("last_login_date"),
+            col("created_at"), col("updated_at")),
+            (c, w) -> w.uuid(id(c.getId(), c::setId, w)).str(c.getFirstName()).str(c.getLastName()).str(c.getEmail())
+                    .str(c.getPhoneNumber()).date(c.getDateOfBirth())
+                    .str(c.getAddressStreet()).str(c.getAddressCity()).str(c.getAddressPostalCode()).str(c.getAddressCountry())
+                    .str(c.getStatus()).num(c.getLoyaltyPoints()).bool(c.getNewsletterSubscription())
+                    .timestamp(c.getLastLoginDate()).timestamp(c.getCreatedAt()).timestamp(c.getUpdatedAt()));
+
+    public static final BulkTable<Brand> BRAND = new BulkTable<>("brand", List.of(
+            uuid("id"), col("name"), col("description"), col("website"), col("logo_url"), bool("is_active"),
+            col("created_at"), col("updated_at")),
+            (b, w) -> w.uuid(id(b.getId(), b::setId, w)).str(b.getName()).str(b.getDescription()).str(b.getWebsite())
+                    .str(b.getLogoUrl()).bool(b.getIsActive()).timestamp(b.getCreatedAt()).timestamp(b.getUpdatedAt()));
+
+    public static final BulkTable<ProductCategory> CATEGORY = new BulkTable<>("product_category", List.of(
+            uuid("id"), col("name"), col("description"), uuid("parent_category_id"), col("level"), bool("is_active"),
+            col("created_at"), col("updated_at")),
+            // rodzic jest wcześniej w tym samym strumieniu, więc ma już id
+            (c, w) -> w.uuid(id(c.getId(), c::setId, w)).str(c.getName()).str(c.getDescription())
+                    .uuid(c.getParentCategory() != null ? c.getParentCategory().getId() : null)
+                    .num(c.getLevel()).bool(c.getIsActive()).timestamp(c.getCreatedAt()).timestamp(c.getUpdatedAt()));
+
+    public static final BulkTable<Product> PRODUCT = new BulkTable<>("product", List.of(
+            uuid("id"), col("name"), col("description"), col("price"), col("stock_quantity"), uuid("category_id"),
+            uuid("brand_id"), col("weight"), col("dimensions"), col("sku"), col("barcode"), bool("is_available"),
+            col("min_stock_level"), col("max_stock_level"), col("rating"), col("review_count"),
+            col("created_at"), col("updated_at")),
+            (p, w) -> w.uuid(id(p.getId(), p::setId, w)).str(p.getName()).str(p.getDescription()).num(p.getPrice())
+                    .num(p.getStockQuantity())
+                    .uuid(p.getCategory() != null ? p.getCategory().getId() : null)
+                    .uuid(p.getBrand() != null ? p.getBrand().getId() : null)
+                    .num(p.getWeight()).str(p.getDimensions()).str(p.getSku()).str(p.getBarcode()).bool(p.getIsAvailable())
+                    .num(p.getMinStockLevel()).num(p.getMaxStockLevel()).num(p.getRating()).num(p.getReviewCount())
+                    .timestamp(p.getCreatedAt()).timestamp(p.getUpdatedAt()));
+
+    public static final BulkTable<Order> ORDER = new BulkTable<>("orders", List.of(
+            uuid("id"), uuid("customer_id"), uuid("order_number"), col("status"), col("total_amount"),
+            col("shipping_address_street"), col("shipping_address_city"), col("shipping_address_postal_code"),
+            col("shipping_address_country"), col("shipping_method"), col("shipping_cost"), col("payment_method"),
+            col("payment_status"), col("estimated_delivery_date"), col("order_date"), col("created_at"), col("updated_at")),
+            (o, w) -> w.uuid(id(o.getId(), o::setId, w))
+                    .uuid(o.getCustomer() != null ? o.getCustomer().getId() : null)
+                    .uuid(o.getOrderNumber()).str(o.getStatus()).num(o.getTotalAmount())
+                    .str(o.getShippingAddressStreet()).str(o.getShippingAddressCity()).str(o.getShippingAddressPostalCode())
+                    .str(o.getShippingAddressCountry()).str(o.getShippingMethod()).num(o.getShippingCost())
+                    .str(o.getPaymentMethod()).str(o.getPaymentStatus()).date(o.getEstimatedDeliveryDate())
+                    .timestamp(o.getOrderDate()).timestamp(o.getCreatedAt()).timestamp(o.getUpdatedAt()));
+
+    /** Ładowane po paczce zamówień – id zamówienia nadaje koder {@link #ORDER}. */
+    public static final BulkTable<OrderItem> ORDER_ITEM = new BulkTable<>("order_item", List.of(
+            uuid("id"), uuid("order_id"), uuid("product_id"), col("quantity"), col("unit_price"), col("discount_amount"),
+            col("tax_rate"), col("tax_amount"), col("total_amount"), col("created_at"), col("updated_at")),
+            (i, w) -> w.uuid(id(i.getId(), i::setId, w))
+                    .uuid(i.getOrder().getId())
+                    .uuid(i.getProduct() != null ? i.getProduct().getId() : null)
+                    .num(i.getQuantity()).num(i.getUnitPrice()).num(i.getDiscountAmount()).num(i.getTaxRate())
+                    .num(i.getTaxAmount()).num(i.getTotalAmount()).timestamp(i.getCreatedAt()).timestamp(i.getUpdatedAt()));
+
+    public static final BulkTable<ProductReview> REVIEW = new BulkTable<>("product_review", List.of(
+            uuid("id"), uuid("product_id"), uuid("customer_id"), col("rating"), col("title"), col("comment"),
+            bool("is_verified"), col("helpful_votes"), col("created_at"), col("updated_at")),
+            (r, w) -> w.uuid(id(r.getId(), r::setId, w))
+                    .uuid(r.getProduct() != null ? r.getProduct().getId() : null)
+                    .uuid(r.getCustomer() != null ? r.getCustomer().getId() : null)
+                    .num(r.getRating()).str(r.getTitle()).str(r.getComment()).bool(r.getIsVerified())
+                    .num(r.getHelpfulVotes()).timestamp(r.getCreatedAt()).timestamp(r.getUpdatedAt()));
+
+    public static final BulkTable<InventoryMovement> MOVEMENT = new BulkTable<>("inventory_movement", List.of(
+            uuid("id"), uuid("product_id"), col("movement_type"), col("quantity"), col("reference_type"),
+            uuid("reference_id"), col("notes"), col("created_at"), uuid("created_by")),
+            (m, w) -> w.uuid(id(m.getId(), m::setId, w))
+                    .uuid(m.getProduct() != null ? m.getProduct().getId() : null)
+                    .str(m.getMovementType()).num(m.getQuantity()).str(m.getReferenceType()).uuid(m.getReferenceId())
+                    .str(m.getNotes()).timestamp(m.getCreatedAt()).uuid(m.getCreatedBy()));
+
+    private static UUID id(UUID current, Consumer<UUID> setter, RowWriter writer) {
+        if (current != null) return current;
+        UUID id = writer.newId();
+        setter.accept(id);
+        return id;
+    }
+}
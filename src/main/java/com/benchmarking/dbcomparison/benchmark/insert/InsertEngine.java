@@ -0,0 +1,21 @@
+package com.benchmarking.dbcomparison.benchmark.insert;
+
+/**
+ * Ścieżka zapisu w teście INSERT.
+ * <ul>
+ *     <li>JPA – {@code saveAll} + batching Hibernate (jak dotąd)</li>
+ *     <li>BULK – natywne ładowanie: COPY FROM STDIN (PostgreSQL) / LOAD DATA LOCAL INFILE (MySQL)</li>
+ *     <li>JDBC_BATCH – {@code PreparedStatement.addBatch} przez JdbcTemplate, bez Hibernate</li>
+ * </ul>
+ */
+public enum InsertEngine {
+    JPA,
+    BULK,
+    JDBC_BATCH;
+
+    /** Nazwa z parametru żądania (bez rozróżniania wielkości liter); pusta = {@code fallback}. */
+    public static InsertEngine parse(String value, InsertEngine fallback) {
+        if (value == null || value.isBlank()) return fallback;
+        return valueOf(value.trim().toUpperCase());
+    }
+}
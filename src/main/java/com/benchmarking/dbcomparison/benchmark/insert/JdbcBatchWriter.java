@@ -0,0 +1,74 @@
+package com.benchmarking.dbcomparison.benchmark.insert;
+
+import com.benchmarking.dbcomparison.config.BenchmarkConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Zapis przez {@link JdbcTemplate#batchUpdate} / {@code addBatch} – bez dirty-checkingu, generatora id
+ * i persistence contextu Hibernate, ale z tym samym batchingiem sterownika
+ * ({@code rewriteBatchedStatements} / {@code reWriteBatchedInserts}). Różnica względem ścieżki JPA
+ * to koszt samego ORM.
+ * <p>
+ * SQL budowany raz na tabelę, parametry wiąże koder tabeli z {@link BulkTables} przez {@link StatementRowWriter}.
+ */
+@Component
+public class JdbcBatchWriter implements TableWriter {
+
+    @Autowired private JdbcTemplate jdbc;
+    @Autowired private PlatformTransactionManager txManager;
+    @Autowired private BenchmarkConfig benchmarkConfig;
+
+    @Value("${spring.profiles.active:unknown}")
+    private String activeProfile;
+
+    private final Map<String, String> sqlByTable = new ConcurrentHashMap<>();
+
+    @Override
+    public String name() {
+        return "JDBC batch";
+    }
+
+    @Override
+    public <T> int write(BulkTable<T> table, List<? extends T> rows) {
+        if (rows.isEmpty()) return 0;
+        String sql = sqlByTable.computeIfAbsent(table.getName(), n -> insertSql(table));
+        // MySQL trzyma UUID jako BINARY(16)
+        StatementRowWriter binder = new StatementRowWriter(activeProfile != null && activeProfile.toLowerCase().contains("mysql"));
+        int[][] counts = new TransactionTemplate(txManager).execute(status -> batch(sql, rows, table, binder));
+        return count(counts, rows.size());
+    }
+
+    private <R> int[][] batch(String sql, List<R> rows, BulkTable<? super R> table, StatementRowWriter binder) {
+        int batchSize = Math.max(1, benchmarkConfig.getBatchSize());
+        return jdbc.batchUpdate(sql, rows, batchSize, (ps, row) -> table.encode(row, binder.bind(ps)));
+    }
+
+    static String insertSql(BulkTable<?> table) {
+        StringBuilder placeholders = new StringBuilder();
+        for (int i = 0; i < table.getColumns().size(); i++) placeholders.append(i == 0 ? "?" : ", ?");
+        return "INSERT INTO " + table.getName() + " (" + table.columnList() + ") VALUES (" + placeholders + ")";
+    }
+
+    /** Przy przepisywaniu batchy sterowniki zwracają SUCCESS_NO_INFO – wtedy liczymy wysłane wiersze. */
+    private static int count(int[][] counts, int sent) {
+        if (counts == null) return 0;
+        int total = 0;
+        for (int[] batch : counts) {
+            for (int c : batch) {
+                if (c == Statement.SUCCESS_NO_INFO) return sent;
+                total += Math.max(0, c);
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,61 @@
+package com.benchmarking.dbcomparison.benchmark.insert;
+
+import com.mysql.cj.jdbc.JdbcStatement;
+
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code LOAD DATA LOCAL INFILE} ze strumienia w pamięci ({@link JdbcStatement#setLocalInfileInputStream}),
+ * bez pliku na dysku. Kolumny UUID przechodzą przez {@code UUID_TO_BIN} (BINARY(16) jak w Hibernate),
+ * boolean – przez liczbę, bo Hibernate mapuje je na {@code bit}.
+ * <p>
+ * Wymaga {@code allowLoadLocalInfile=true} w URL i {@code local_infile=ON} po stronie serwera.
+ */
+public class MySqlLoadDataLoader implements BulkLoader {
+
+    @Override
+    public String name() {
+        return "LOAD DATA";
+    }
+
+    @Override
+    public long load(Connection connection, BulkTable<?> table, InputStream data) throws SQLException {
+        try (Statement st = connection.createStatement()) {
+            st.unwrap(JdbcStatement.class).setLocalInfileInputStream(data);
+            return st.executeUpdate(sql(table));
+        }
+    }
+
+    static String sql(BulkTable<?> table) {
+        List<String> targets = new ArrayList<>();
+        List<String> assignments = new ArrayList<>();
+        int var = 0;
+        for (BulkTable.Column c : table.getColumns()) {
+            switch (c.getKind()) {
+                case VALUE -> targets.add(c.getName());
+                case UUID -> {
+                    String v = "@v" + var++;
+                    targets.add(v);
+                    assignments.add(c.getName() + " = UUID_TO_BIN(" + v + ")");
+                }
+                case BOOL -> {
+                    String v = "@v" + var++;
+                    targets.add(v);
+                    assignments.add(c.getName() + " = CAST(" + v + " AS UNSIGNED)");
+                }
+            }
+        }
+        StringBuilder sql = new StringBuilder("LOAD DATA LOCAL INFILE 'stream' INTO TABLE ")
+                .append(table.getName())
+                .append(" CHARACTER SET utf8mb4 (")
+                .append(String.join(", ", targets))
+                .append(')');
+        if (!assignments.isEmpty()) sql.append(" SET ").append(String.join(", ", assignments));
+        return sql.toString();
+    }
+}
@@ -0,0 +1,27 @@
+package com.benchmarking.dbcomparison.benchmark.insert;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * {@code COPY tabela (kolumny) FROM STDIN} przez {@link CopyManager} – format tekstowy (tabulator, {@code \N}),
+ * UUID i 1/0 dla boolean PostgreSQL konwertuje sam.
+ */
+public class PostgresCopyLoader implements BulkLoader {
+
+    @Override
+    public String name() {
+        return "COPY";
+    }
+
+    @Override
+    public long load(Connection connection, BulkTable<?> table, InputStream data) throws SQLException, IOException {
+        CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+        return copy.copyIn("COPY " + table.getName() + " (" + table.columnList() + ") FROM STDIN", data);
+    }
+}
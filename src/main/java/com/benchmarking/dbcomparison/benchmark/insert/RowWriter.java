@@ -0,0 +1,37 @@
+package com.benchmarking.dbcomparison.benchmark.insert;
+
+import com.benchmarking.dbcomparison.model.id.BenchmarkIdGenerator;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Odbiorca wartości jednego wiersza w kolejności kolumn {@link BulkTable}. Ten sam koder tabeli zasila
+ * strumień tekstowy COPY / LOAD DATA ({@link TsvRowWriter}) i parametry {@code PreparedStatement}
+ * ({@link StatementRowWriter}).
+ */
+public interface RowWriter {
+
+    /** Nowe id dla wiersza – poza JPA nadaje je aplikacja, wg tej samej strategii co {@link BenchmarkIdGenerator}. */
+    default UUID newId() {
+        return BenchmarkIdGenerator.nextId();
+    }
+
+    RowWriter str(String value);
+
+    RowWriter uuid(UUID value);
+
+    RowWriter num(Integer value);
+
+    RowWriter num(BigDecimal value);
+
+    RowWriter bool(Boolean value);
+
+    RowWriter date(LocalDate value);
+
+    RowWriter timestamp(LocalDateTime value);
+
+    void endRow();
+}
@@ -0,0 +1,128 @@
+package com.benchmarking.dbcomparison.benchmark.insert;
+
+import org.springframework.jdbc.UncategorizedSQLException;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Wiąże wartości wiersza z parametrami {@link PreparedStatement} w kolejności kolumn {@link BulkTable}.
+ * Jedna instancja na cały batch – {@link #bind} przestawia ją na kolejny wiersz.
+ * UUID: w PostgreSQL jako {@code uuid} ({@code setObject}), w MySQL jako 16 bajtów do BINARY(16), jak robi Hibernate.
+ */
+public class StatementRowWriter implements RowWriter {
+
+    private final boolean uuidAsBytes;
+    private PreparedStatement ps;
+    private int index;
+
+    public StatementRowWriter(boolean uuidAsBytes) {
+        this.uuidAsBytes = uuidAsBytes;
+    }
+
+    public StatementRowWriter bind(PreparedStatement ps) {
+        this.ps = ps;
+        this.index = 0;
+        return this;
+    }
+
+    @Override
+    public RowWriter str(String value) {
+        try {
+            if (value == null) ps.setNull(++index, Types.VARCHAR);
+            else ps.setString(++index, value);
+        } catch (SQLException e) {
+            throw translate(e);
+        }
+        return this;
+    }
+
+    @Override
+    public RowWriter uuid(UUID value) {
+        try {
+            if (uuidAsBytes) {
+                if (value == null) ps.setNull(++index, Types.BINARY);
+                else ps.setBytes(++index, ByteBuffer.allocate(16)
+                        .putLong(value.getMostSignificantBits())
+                        .putLong(value.getLeastSignificantBits())
+                        .array());
+            } else {
+                if (value == null) ps.setNull(++index, Types.OTHER);
+                else ps.setObject(++index, value);
+            }
+        } catch (SQLException e) {
+            throw translate(e);
+        }
+        return this;
+    }
+
+    @Override
+    public RowWriter num(Integer value) {
+        try {
+            if (value == null) ps.setNull(++index, Types.INTEGER);
+            else ps.setInt(++index, value);
+        } catch (SQLException e) {
+            throw translate(e);
+        }
+        return this;
+    }
+
+    @Override
+    public RowWriter num(BigDecimal value) {
+        try {
+            if (value == null) ps.setNull(++index, Types.NUMERIC);
+            else ps.setBigDecimal(++index, value);
+        } catch (SQLException e) {
+            throw translate(e);
+        }
+        return this;
+    }
+
+    @Override
+    public RowWriter bool(Boolean value) {
+        try {
+            if (value == null) ps.setNull(++index, Types.BOOLEAN);
+            else ps.setBoolean(++index, value);
+        } catch (SQLException e) {
+            throw translate(e);
+        }
+        return this;
+    }
+
+    @Override
+    public RowWriter date(LocalDate value) {
+        try {
+            if (value == null) ps.setNull(++index, Types.DATE);
+            else ps.setObject(++index, value);
+        } catch (SQLException e) {
+            throw translate(e);
+        }
+        return this;
+    }
+
+    @Override
+    public RowWriter timestamp(LocalDateTime value) {
+        try {
+            if (value == null) ps.setNull(++index, Types.TIMESTAMP);
+            else ps.setObject(++index, value);
+        } catch (SQLException e) {
+            throw translate(e);
+        }
+        return this;
+    }
+
+    @Override
+    public void endRow() {
+        // wiersz kończy addBatch() wywoływane przez JdbcTemplate
+    }
+
+    private static UncategorizedSQLException translate(SQLException e) {
+        return new UncategorizedSQLException("bind", null, e);
+    }
+}
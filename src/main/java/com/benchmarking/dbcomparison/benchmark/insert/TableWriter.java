@@ -0,0 +1,13 @@
+package com.benchmarking.dbcomparison.benchmark.insert;
+
+import java.util.List;
+
+/** Zapis paczki encji z pominięciem JPA – natywnie ({@link BulkInsertWriter}) albo przez JDBC batch ({@link JdbcBatchWriter}). */
+public interface TableWriter {
+
+    /** Nazwa ścieżki do etykiet w CSV, np. „COPY”, „JDBC batch”. */
+    String name();
+
+    /** @return liczba zapisanych wierszy */
+    <T> int write(BulkTable<T> table, List<? extends T> rows);
+}
@@ -0,0 +1,199 @@
+package com.benchmarking.dbcomparison.benchmark.insert;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Koduje wiersze w formacie tekstowym rozumianym zarówno przez {@code COPY ... FROM STDIN} (PostgreSQL),
+ * jak i domyślne {@code LOAD DATA} (MySQL): pola rozdzielone tabulatorem, wiersze znakiem nowej linii,
+ * NULL jako {@code \N}, znaki specjalne poprzedzone odwrotnym ukośnikiem.
+ * Tekst trafia od razu jako UTF-8 do bufora bajtów, który loader czyta bez kopiowania ({@link #stream()}).
+ * Instancja nie jest bezpieczna wątkowo – {@link BulkInsertWriter} trzyma jedną na wątek i przed każdą
+ * paczką woła {@link #reset()}, więc bufor rośnie do rozmiaru największej paczki i dalej jest używany ponownie.
+ */
+public class TsvRowWriter implements RowWriter {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSS");
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private byte[] buf = new byte[1 << 16];
+    private int size;
+    // daty i liczby formatowane są przez JDK do Appendable – stąd mały bufor znaków pośredniczący
+    private final StringBuilder scratch = new StringBuilder(32);
+    private boolean rowStart = true;
+    private int rows;
+
+    @Override
+    public TsvRowWriter str(String value) {
+        if (!field(value)) return this;
+        int n = value.length();
+        ensure(n);
+        for (int i = 0; i < n; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                switch (c) {
+                    case '\\' -> escape('\\');
+                    case '\t' -> escape('t');
+                    case '\n' -> escape('n');
+                    case '\r' -> escape('r');
+                    default -> put(c);
+                }
+            } else if (c < 0x800) {
+                put(0xC0 | (c >> 6));
+                put(0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, value.charAt(++i));
+                put(0xF0 | (cp >> 18));
+                put(0x80 | ((cp >> 12) & 0x3F));
+                put(0x80 | ((cp >> 6) & 0x3F));
+                put(0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // samotny surogat – jak String.getBytes(UTF_8)
+                put('?');
+            } else {
+                put(0xE0 | (c >> 12));
+                put(0x80 | ((c >> 6) & 0x3F));
+                put(0x80 | (c & 0x3F));
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public TsvRowWriter uuid(UUID value) {
+        if (!field(value)) return this;
+        ensure(36);
+        long msb = value.getMostSignificantBits();
+        long lsb = value.getLeastSignificantBits();
+        hex(msb >>> 32, 8);
+        put('-');
+        hex(msb >>> 16, 4);
+        put('-');
+        hex(msb, 4);
+        put('-');
+        hex(lsb >>> 48, 4);
+        put('-');
+        hex(lsb, 12);
+        return this;
+    }
+
+    @Override
+    public TsvRowWriter num(Integer value) {
+        if (field(value)) ascii(scratch().append(value.intValue()));
+        return this;
+    }
+
+    @Override
+    public TsvRowWriter num(BigDecimal value) {
+        if (field(value)) ascii(value.toPlainString());
+        return this;
+    }
+
+    /** 1/0 – PostgreSQL przyjmuje to jako boolean, w MySQL kolumna bit dostaje wartość przez SET. */
+    @Override
+    public TsvRowWriter bool(Boolean value) {
+        if (field(value)) {
+            ensure(1);
+            put(value ? '1' : '0');
+        }
+        return this;
+    }
+
+    @Override
+    public TsvRowWriter date(LocalDate value) {
+        if (field(value)) ascii(scratch().append(value));
+        return this;
+    }
+
+    @Override
+    public TsvRowWriter timestamp(LocalDateTime value) {
+        if (field(value)) {
+            StringBuilder sb = scratch();
+            TIMESTAMP.formatTo(value, sb);
+            ascii(sb);
+        }
+        return this;
+    }
+
+    @Override
+    public void endRow() {
+        ensure(1);
+        put('\n');
+        rowStart = true;
+        rows++;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    /** Liczba zakodowanych bajtów. */
+    public int size() {
+        return size;
+    }
+
+    /** Zawartość bufora bez kopiowania – ważna do następnego {@link #reset()}. */
+    public InputStream stream() {
+        return new ByteArrayInputStream(buf, 0, size);
+    }
+
+    /** Nowa paczka w tym samym buforze. */
+    public void reset() {
+        size = 0;
+        rowStart = true;
+        rows = 0;
+    }
+
+    /** Separator przed polem; dla NULL od razu wpisuje {@code \N} i zwraca false. */
+    private boolean field(Object value) {
+        ensure(3);
+        if (!rowStart) put('\t');
+        rowStart = false;
+        if (value == null) {
+            escape('N');
+            return false;
+        }
+        return true;
+    }
+
+    private StringBuilder scratch() {
+        scratch.setLength(0);
+        return scratch;
+    }
+
+    /** Daty, liczby i znaczniki czasu są czystym ASCII – znak = bajt, bez escapowania. */
+    private void ascii(CharSequence s) {
+        int n = s.length();
+        ensure(n);
+        for (int i = 0; i < n; i++) put(s.charAt(i));
+    }
+
+    private void hex(long value, int digits) {
+        for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+            buf[size++] = HEX[(int) (value >>> shift) & 0xF];
+        }
+    }
+
+    private void escape(char c) {
+        ensure(2);
+        put('\\');
+        put(c);
+    }
+
+    private void put(int b) {
+        // str() rezerwuje n bajtów, a znak może dać do 4 – stąd sprawdzenie także tutaj
+        if (size == buf.length) ensure(1);
+        buf[size++] = (byte) b;
+    }
+
+    private void ensure(int extra) {
+        if (buf.length - size < extra) buf = Arrays.copyOf(buf, Math.max(buf.length * 2, size + extra));
+    }
+}
@@ -1,5 +1,8 @@
 package com.benchmarking.dbcomparison.benchmark.isolation;
 
+import com.benchmarking.dbcomparison.benchmark.results.ResultRecord;
+import com.benchmarking.dbcomparison.benchmark.results.ResultSink;
+import com.benchmarking.dbcomparison.benchmark.telemetry.LockWaitSampler;
 import com.benchmarking.dbcomparison.config.DatabaseMetrics;
 import com.benchmarking.dbcomparison.util.DataGenerator;
 import io.micrometer.core.instrument.Timer;
@@ -14,9 +17,6 @@ import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.TransactionSystemException;
 import org.springframework.transaction.support.TransactionTemplate;
 
-import java.io.File;
-import java.io.FileWriter;
-import java.io.IOException;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.*;
@@ -26,7 +26,6 @@ import java.util.concurrent.atomic.AtomicBoolean;
 @Component
 public class IsolationLevelTest {
 
-    private static final String CSV_FILE = "isolation-test-results.csv";
     private static final int TIMEOUT_SECONDS = 10;
     private static final int SERIALIZABLE_MAX_RETRIES = 3;
 
@@ -37,6 +36,8 @@ public class IsolationLevelTest {
 
     @Autowired private DatabaseMetrics databaseMetrics;
     @Autowired private PlatformTransactionManager txManager;
+    @Autowired private LockWaitSampler lockWaitSampler;
+    @Autowired private ResultSink resultSink;
     @Autowired private JdbcTemplate jdbc;
 
     private TransactionTemplate txReadCommitted;
@@ -99,52 +100,54 @@ public class IsolationLevelTest {
 
         Timer.Sample t = databaseMetrics.startTimer();
         long startNs = System.nanoTime();
-        boolean phantom = false;
+        try (LockWaitSampler.Session locks = lockWaitSampler.open()) {
+            boolean phantom = false;
+
+            ExecutorService pool = Executors.newSingleThreadExecutor();
+            CountDownLatch inserted = new CountDownLatch(1);
+
+            try {
+                Integer before = txReadCommitted.execute(status ->
+                        jdbc.queryForObject("SELECT COUNT(*) FROM customer WHERE " + where, Integer.class));
+
+                // równoległy INSERT, który spełnia warunek (phantom)
+                pool.submit(() -> {
+                    try {
+                        txReadCommitted.execute(s2 -> {
+                            jdbc.update("INSERT INTO customer (id, first_name, last_name, email) VALUES (" +
+                                            idSqlForInsert() + ", ?, ?, ?)",
+                                    "Pha", "Zeta",
+                                    // prosta losowa poczta bez getFaker()
+                                    "pha-" + UUID.randomUUID() + "@example.com");
+                            return null;
+                        });
+                    } catch (Exception e) {
+                        databaseMetrics.incrementFailedQueries();
+                        log.warn("Insert thread error: {}", e.getMessage());
+                    } finally {
+                        inserted.countDown();
+                    }
+                });
 
-        ExecutorService pool = Executors.newSingleThreadExecutor();
-        CountDownLatch inserted = new CountDownLatch(1);
-
-        try {
-            Integer before = txReadCommitted.execute(status ->
-                    jdbc.queryForObject("SELECT COUNT(*) FROM customer WHERE " + where, Integer.class));
-
-            // równoległy INSERT, który spełnia warunek (phantom)
-            pool.submit(() -> {
-                try {
-                    txReadCommitted.execute(s2 -> {
-                        jdbc.update("INSERT INTO customer (id, first_name, last_name, email) VALUES (" +
-                                        idSqlForInsert() + ", ?, ?, ?)",
-                                "Pha", "Zeta",
-                                // prosta losowa poczta bez getFaker()
-                                "pha-" + UUID.randomUUID() + "@example.com");
-                        return null;
-                    });
-                } catch (Exception e) {
+                if (!inserted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
                     databaseMetrics.incrementFailedQueries();
-                    log.warn("Insert thread error: {}", e.getMessage());
-                } finally {
-                    inserted.countDown();
+                    log.warn("Insert timeout");
                 }
-            });
 
-            if (!inserted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
-                databaseMetrics.incrementFailedQueries();
-                log.warn("Insert timeout");
-            }
+                Integer after = txReadCommitted.execute(status ->
+                        jdbc.queryForObject("SELECT COUNT(*) FROM customer WHERE " + where, Integer.class));
 
-            Integer after = txReadCommitted.execute(status ->
-                    jdbc.queryForObject("SELECT COUNT(*) FROM customer WHERE " + where, Integer.class));
+                phantom = !Objects.equals(before, after);
+            } finally {
+                pool.shutdownNow();
+                databaseMetrics.stopTimer(t, test, activeProfile);
+            }
 
-            phantom = !Objects.equals(before, after);
-        } finally {
-            pool.shutdownNow();
-            databaseMetrics.stopTimer(t, test, activeProfile);
+            long durMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs);
+            databaseMetrics.recordTransactionTime(durMs);
+            databaseMetrics.incrementDatabaseOperations(test, activeProfile);
+            writeCsv(test, "READ_COMMITTED", phantom, durMs, locks);
         }
-
-        long durMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs);
-        databaseMetrics.recordTransactionTime(durMs);
-        databaseMetrics.incrementDatabaseOperations(test, activeProfile);
-        writeCsv(test, "READ_COMMITTED", phantom, durMs);
     }
 
     public void testPhantomReadRepeatableRead() throws InterruptedException {
@@ -153,52 +156,54 @@ public class IsolationLevelTest {
 
         Timer.Sample t = databaseMetrics.startTimer();
         long startNs = System.nanoTime();
-        boolean phantom = false;
+        try (LockWaitSampler.Session locks = lockWaitSampler.open()) {
+            boolean phantom = false;
+
+            ExecutorService pool = Executors.newSingleThreadExecutor();
+            CountDownLatch inserted = new CountDownLatch(1);
+
+            try {
+                Integer before = txRepeatableRead.execute(status ->
+                        jdbc.queryForObject("SELECT COUNT(*) FROM customer WHERE " + where, Integer.class));
+
+                pool.submit(() -> {
+                    try {
+                        // INSERT w RC żeby był widoczny „z zewnątrz”
+                        txReadCommitted.execute(s2 -> {
+                            jdbc.update("INSERT INTO customer (id, first_name, last_name, email) VALUES (" +
+                                            idSqlForInsert() + ", ?, ?, ?)",
+                                    "Pha", "Zeta",
+                                    "pha-" + UUID.randomUUID() + "@example.com");
+                            return null;
+                        });
+                    } catch (Exception e) {
+                        databaseMetrics.incrementFailedQueries();
+                        log.warn("Insert thread error: {}", e.getMessage());
+                    } finally {
+                        inserted.countDown();
+                    }
+                });
 
-        ExecutorService pool = Executors.newSingleThreadExecutor();
-        CountDownLatch inserted = new CountDownLatch(1);
-
-        try {
-            Integer before = txRepeatableRead.execute(status ->
-                    jdbc.queryForObject("SELECT COUNT(*) FROM customer WHERE " + where, Integer.class));
-
-            pool.submit(() -> {
-                try {
-                    // INSERT w RC żeby był widoczny „z zewnątrz”
-                    txReadCommitted.execute(s2 -> {
-                        jdbc.update("INSERT INTO customer (id, first_name, last_name, email) VALUES (" +
-                                        idSqlForInsert() + ", ?, ?, ?)",
-                                "Pha", "Zeta",
-                                "pha-" + UUID.randomUUID() + "@example.com");
-                        return null;
-                    });
-                } catch (Exception e) {
+                if (!inserted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
                     databaseMetrics.incrementFailedQueries();
-                    log.warn("Insert thread error: {}", e.getMessage());
-                } finally {
-                    inserted.countDown();
+                    log.warn("Insert timeout");
                 }
-            });
 
-            if (!inserted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
-                databaseMetrics.incrementFailedQueries();
-                log.warn("Insert timeout");
-            }
+                Integer after = txRepeatableRead.execute(status ->
+                        jdbc.queryForObject("SELECT COUNT(*) FROM customer WHERE " + where, Integer.class));
 
-            Integer after = txRepeatableRead.execute(status ->
-                    jdbc.queryForObject("SELECT COUNT(*) FROM customer WHERE " + where, Integer.class));
+                // RR (snapshot) zwykle NIE zobaczy phantomu
+                phantom = !Objects.equals(before, after);
+            } finally {
+                pool.shutdownNow();
+                databaseMetrics.stopTimer(t, test, activeProfile);
+            }
 
-            // RR (snapshot) zwykle NIE zobaczy phantomu
-            phantom = !Objects.equals(before, after);
-        } finally {
-            pool.shutdownNow();
-            databaseMetrics.stopTimer(t, test, activeProfile);
+            long durMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs);
+            databaseMetrics.recordTransactionTime(durMs);
+            databaseMetrics.incrementDatabaseOperations(test, activeProfile);
+            writeCsv(test, "REPEATABLE_READ", phantom, durMs, locks);
         }
-
-        long durMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs);
-        databaseMetrics.recordTransactionTime(durMs);
-        databaseMetrics.incrementDatabaseOperations(test, activeProfile);
-        writeCsv(test, "REPEATABLE_READ", phantom, durMs);
     }
 
     public void testPhantomReadSerializable() {
@@ -208,74 +213,65 @@ public class IsolationLevelTest {
         int attempts = 0;
         boolean phantom = false;
         long startNs = System.nanoTime();
-        Timer.Sample t = databaseMetrics.startTimer();
-
-        try {
-            while (true) {
-                attempts++;
-                try {
-                    Integer before = txSerializable.execute(s ->
-                            jdbc.queryForObject("SELECT COUNT(*) FROM customer WHERE " + where, Integer.class));
-
-                    // konkurencyjna transakcja (RC) wstawiająca rekord pasujący do predykatu
-                    txReadCommitted.execute(s2 -> {
-                        jdbc.update("INSERT INTO customer (id, first_name, last_name, email) VALUES (" +
-                                        idSqlForInsert() + ", ?, ?, ?)",
-                                "Pha", "Zeta",
-                                "pha-" + UUID.randomUUID() + "@example.com");
-                        return null;
-                    });
-
-                    Integer after = txSerializable.execute(s ->
-                            jdbc.queryForObject("SELECT COUNT(*) FROM customer WHERE " + where, Integer.class));
-
-                    // w SERIALIZABLE spodziewamy się braku phantomu (lub serialization failure → retry)
-                    phantom = !Objects.equals(before, after);
-                    break;
-                } catch (ConcurrencyFailureException | TransactionSystemException ex) {
-                    if (attempts >= SERIALIZABLE_MAX_RETRIES) {
-                        databaseMetrics.incrementFailedQueries();
-                        log.warn("Serializable retry exhausted: {}", ex.getMessage());
+        try (LockWaitSampler.Session locks = lockWaitSampler.open()) {
+            Timer.Sample t = databaseMetrics.startTimer();
+
+            try {
+                while (true) {
+                    attempts++;
+                    try {
+                        Integer before = txSerializable.execute(s ->
+                                jdbc.queryForObject("SELECT COUNT(*) FROM customer WHERE " + where, Integer.class));
+
+                        // konkurencyjna transakcja (RC) wstawiająca rekord pasujący do predykatu
+                        txReadCommitted.execute(s2 -> {
+                            jdbc.update("INSERT INTO customer (id, first_name, last_name, email) VALUES (" +
+                                            idSqlForInsert() + ", ?, ?, ?)",
+                                    "Pha", "Zeta",
+                                    "pha-" + UUID.randomUUID() + "@example.com");
+                            return null;
+                        });
+
+                        Integer after = txSerializable.execute(s ->
+                                jdbc.queryForObject("SELECT COUNT(*) FROM customer WHERE " + where, Integer.class));
+
+                        // w SERIALIZABLE spodziewamy się braku phantomu (lub serialization failure → retry)
+                        phantom = !Objects.equals(before, after);
                         break;
+                    } catch (ConcurrencyFailureException | TransactionSystemException ex) {
+                        if (attempts >= SERIALIZABLE_MAX_RETRIES) {
+                            databaseMetrics.incrementFailedQueries();
+                            log.warn("Serializable retry exhausted: {}", ex.getMessage());
+                            break;
+                        }
+                        log.info("Serializable retry ({}/{}): {}", attempts, SERIALIZABLE_MAX_RETRIES, ex.getMessage());
+                        // retry
                     }
-                    log.info("Serializable retry ({}/{}): {}", attempts, SERIALIZABLE_MAX_RETRIES, ex.getMessage());
-                    // retry
                 }
+            } finally {
+                databaseMetrics.stopTimer(t, test, activeProfile);
             }
-        } finally {
-            databaseMetrics.stopTimer(t, test, activeProfile);
-        }
 
-        long durMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs);
-        databaseMetrics.recordTransactionTime(durMs);
-        databaseMetrics.incrementDatabaseOperations(test, activeProfile);
-        writeCsv(test, "SERIALIZABLE", phantom, durMs);
+            long durMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs);
+            databaseMetrics.recordTransactionTime(durMs);
+            databaseMetrics.incrementDatabaseOperations(test, activeProfile);
+            writeCsv(test, "SERIALIZABLE", phantom, durMs, locks);
+        }
     }
 
-    private void writeCsv(String testName, String isolationLevel, boolean phantomDetected, long durMs) {
-        File csv = new File(CSV_FILE);
-        boolean header = !csv.exists() || csv.length() == 0;
-        double p95 = databaseMetrics.getP95Millis(testName, activeProfile);
-
-        try (FileWriter w = new FileWriter(csv, true)) {
-            if (header) {
-                w.write("Test;Duration[ms];IsolationLevel;PhantomDetected;Profile;p95_ms;DB_operations;DB_failed_queries;DB_timer_ms\n");
-            }
-            String line = String.join(";",
-                    testName,
-                    String.valueOf(durMs),
-                    isolationLevel,
-                    String.valueOf(phantomDetected),
-                    activeProfile,
-                    String.valueOf(Double.isNaN(p95) ? 0 : p95),
-                    String.valueOf(databaseMetrics.getOperationsCount(testName, activeProfile)),
-                    String.valueOf(databaseMetrics.getFailedQueriesCount()),
-                    String.valueOf(databaseMetrics.getTotalOperationTimeMillis(testName, activeProfile))
-            );
-            w.write(line + "\n");
-        } catch (IOException e) {
-            log.error("CSV write error: {}", e.getMessage());
+    private void writeCsv(String testName, String isolationLevel, boolean phantomDetected, long durMs, LockWaitSampler.Session locks) {
+        LockWaitSampler.LockPhaseStats lockStats = locks != null ? locks.stop() : null;
+        ResultRecord r = resultSink.record("isolation", testName)
+                .param("isolationLevel", isolationLevel)
+                .counter("phantom", phantomDetected)
+                .throughput(0, durMs)
+                .dbMetrics(testName);
+        if (lockStats != null) {
+            r.counter("lock_waits", lockStats.getObservedWaits())
+                    .counter("lock_wait_max_ms", lockStats.getObservedWaitMaxMs())
+                    .counter("deadlocks", lockStats.getDeadlocks());
         }
+        r.submit();
     }
 
     public void runAllTests() throws InterruptedException {
@@ -0,0 +1,39 @@
+package com.benchmarking.dbcomparison.benchmark.keys;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * {@code opFraction} operacji trafia w pierwsze {@code dataFraction} kluczy puli, reszta w pozostałe.
+ * Kolejność puli to kolejność z bazy, więc gorący zbiór jest spójnym zakresem kluczy.
+ */
+public class HotspotKeyChooser implements KeyChooser {
+
+    private final IdPool pool;
+    private final double dataFraction;
+    private final double opFraction;
+
+    public HotspotKeyChooser(IdPool pool, double dataFraction, double opFraction) {
+        if (dataFraction <= 0 || dataFraction > 1 || opFraction < 0 || opFraction > 1) {
+            throw new IllegalArgumentException("Hotspot: dataFraction musi być w (0,1], opFraction w [0,1]");
+        }
+        this.pool = pool;
+        this.dataFraction = dataFraction;
+        this.opFraction = opFraction;
+    }
+
+    @Override
+    public int nextIndex() {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        int n = pool.size();
+        int hot = Math.max(1, (int) (n * dataFraction));
+        if (hot >= n || rnd.nextDouble() < opFraction) {
+            return rnd.nextInt(hot);
+        }
+        return hot + rnd.nextInt(n - hot);
+    }
+
+    @Override
+    public IdPool pool() {
+        return pool;
+    }
+}
@@ -0,0 +1,55 @@
+package com.benchmarking.dbcomparison.benchmark.keys;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Zwarta pula kluczy UUID trzymana jako dwie tablice long (msb/lsb) zamiast listy obiektów –
+ * ok. 16 B na klucz, bez narzutu nagłówków i referencji. Odczyt bez blokad, dopisywanie
+ * (np. świeżo wstawione wiersze dla rozkładu LATEST) synchronizowane.
+ */
+public class IdPool {
+
+    private volatile long[] msb;
+    private volatile long[] lsb;
+    private volatile int size;
+
+    public IdPool(int initialCapacity) {
+        int cap = Math.max(16, initialCapacity);
+        this.msb = new long[cap];
+        this.lsb = new long[cap];
+    }
+
+    public static IdPool of(Collection<UUID> ids) {
+        IdPool pool = new IdPool(ids.size() + ids.size() / 4);
+        for (UUID id : ids) pool.add(id);
+        return pool;
+    }
+
+    public synchronized void add(UUID id) {
+        int n = size;
+        if (n == msb.length) {
+            // najpierw nowe tablice, potem rozmiar – czytelnik nigdy nie zobaczy indeksu spoza tablicy
+            lsb = Arrays.copyOf(lsb, n * 2);
+            msb = Arrays.copyOf(msb, n * 2);
+        }
+        msb[n] = id.getMostSignificantBits();
+        lsb[n] = id.getLeastSignificantBits();
+        size = n + 1;
+    }
+
+    public UUID get(int index) {
+        long[] m = msb;
+        long[] l = lsb;
+        return new UUID(m[index], l[index]);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
@@ -0,0 +1,16 @@
+package com.benchmarking.dbcomparison.benchmark.keys;
+
+import java.util.UUID;
+
+/** Wybór klucza z puli według zadanego rozkładu. Implementacje są bezpieczne wątkowo. */
+public interface KeyChooser {
+
+    /** Indeks w puli, 0..pool.size()-1. */
+    int nextIndex();
+
+    IdPool pool();
+
+    default UUID next() {
+        return pool().get(nextIndex());
+    }
+}
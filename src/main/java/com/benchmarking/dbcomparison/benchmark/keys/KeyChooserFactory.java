@@ -0,0 +1,40 @@
+package com.benchmarking.dbcomparison.benchmark.keys;
+
+import com.benchmarking.dbcomparison.config.BenchmarkConfig;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/** Tworzy {@link KeyChooser} według {@code benchmark.keyDistribution} i parametrów rozkładu. */
+@Component
+public class KeyChooserFactory {
+
+    private final BenchmarkConfig benchmarkConfig;
+
+    public KeyChooserFactory(BenchmarkConfig benchmarkConfig) {
+        this.benchmarkConfig = benchmarkConfig;
+    }
+
+    public KeyDistribution distribution() {
+        KeyDistribution d = benchmarkConfig.getKeyDistribution();
+        return d != null ? d : KeyDistribution.UNIFORM;
+    }
+
+    public KeyChooser create(Collection<UUID> ids) {
+        return create(IdPool.of(ids));
+    }
+
+    public KeyChooser create(IdPool pool) {
+        if (pool.isEmpty()) {
+            throw new IllegalArgumentException("Pusta pula kluczy");
+        }
+        return switch (distribution()) {
+            case UNIFORM -> new UniformKeyChooser(pool);
+            case ZIPFIAN -> new ZipfianKeyChooser(pool, benchmarkConfig.getZipfianTheta());
+            case HOTSPOT -> new HotspotKeyChooser(pool,
+                    benchmarkConfig.getHotspotDataFraction(), benchmarkConfig.getHotspotOpFraction());
+            case LATEST -> new LatestKeyChooser(pool, benchmarkConfig.getZipfianTheta());
+        };
+    }
+}
@@ -0,0 +1,13 @@
+package com.benchmarking.dbcomparison.benchmark.keys;
+
+/** Rozkład wyboru kluczy w testach odczytu / aktualizacji. */
+public enum KeyDistribution {
+    /** Każdy klucz z tym samym prawdopodobieństwem. */
+    UNIFORM,
+    /** Rozkład Zipfa (parametr theta) – kilka kluczy dostaje większość ruchu. */
+    ZIPFIAN,
+    /** x% operacji trafia w y% kluczy (hotspotOpFraction / hotspotDataFraction). */
+    HOTSPOT,
+    /** Zipf po „świeżości” – najczęściej najnowsze klucze w puli. */
+    LATEST
+}
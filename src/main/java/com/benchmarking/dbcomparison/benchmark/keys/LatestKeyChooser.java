@@ -0,0 +1,24 @@
+package com.benchmarking.dbcomparison.benchmark.keys;
+
+/** Zipf po „świeżości”: ranga 0 = ostatnio dopisany klucz puli. */
+public class LatestKeyChooser implements KeyChooser {
+
+    private final IdPool pool;
+    private final ZipfianGenerator zipf;
+
+    public LatestKeyChooser(IdPool pool, double theta) {
+        this.pool = pool;
+        this.zipf = new ZipfianGenerator(pool.size(), theta);
+    }
+
+    @Override
+    public int nextIndex() {
+        int n = pool.size();
+        return (int) (n - 1 - zipf.next(n));
+    }
+
+    @Override
+    public IdPool pool() {
+        return pool;
+    }
+}
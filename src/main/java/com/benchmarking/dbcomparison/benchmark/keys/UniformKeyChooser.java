@@ -0,0 +1,22 @@
+package com.benchmarking.dbcomparison.benchmark.keys;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+public class UniformKeyChooser implements KeyChooser {
+
+    private final IdPool pool;
+
+    public UniformKeyChooser(IdPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public int nextIndex() {
+        return ThreadLocalRandom.current().nextInt(pool.size());
+    }
+
+    @Override
+    public IdPool pool() {
+        return pool;
+    }
+}
@@ -0,0 +1,74 @@
+package com.benchmarking.dbcomparison.benchmark.keys;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generator rang 0..n-1 z rozkładu Zipfa (algorytm Graya et al., „Quickly Generating Billion-Record
+ * Synthetic Databases”, jak w YCSB). Stała zeta(n) liczona raz; przy wzroście n doliczana przyrostowo.
+ * Liczba elementów, zeta(n) i eta publikowane razem jako jeden niezmienny {@link State} – wątek losujący
+ * nie zobaczy nowego zeta(n) ze starym eta.
+ */
+class ZipfianGenerator {
+
+    private final double theta;
+    private final double alpha;
+    private final double zeta2;
+
+    private volatile State state;
+
+    /** Stałe dla danej liczby elementów. */
+    private static final class State {
+        final long items;
+        final double zetaN;
+        final double eta;
+
+        State(long items, double zetaN, double eta) {
+            this.items = items;
+            this.zetaN = zetaN;
+            this.eta = eta;
+        }
+    }
+
+    ZipfianGenerator(long items, double theta) {
+        if (theta <= 0 || theta >= 1) {
+            throw new IllegalArgumentException("Zipfian theta musi być w (0,1), podano " + theta);
+        }
+        this.theta = theta;
+        this.alpha = 1.0 / (1.0 - theta);
+        this.zeta2 = zeta(0, 2, 0);
+        long n = Math.max(1, items);
+        this.state = state(n, zeta(0, n, 0));
+    }
+
+    private double zeta(long from, long to, double initial) {
+        double sum = initial;
+        for (long i = from; i < to; i++) {
+            sum += 1.0 / Math.pow(i + 1, theta);
+        }
+        return sum;
+    }
+
+    private State state(long items, double zetaN) {
+        return new State(items, zetaN, (1 - Math.pow(2.0 / items, 1 - theta)) / (1 - zeta2 / zetaN));
+    }
+
+    private synchronized State grow(long n) {
+        State s = state;
+        if (n <= s.items) return s;
+        s = state(n, zeta(s.items, n, s.zetaN));
+        state = s;
+        return s;
+    }
+
+    /** Ranga 0..itemCount-1; 0 = najczęstsza. */
+    long next(long itemCount) {
+        State s = state;
+        if (itemCount > s.items) s = grow(itemCount);
+        double u = ThreadLocalRandom.current().nextDouble();
+        double uz = u * s.zetaN;
+        if (uz < 1.0) return 0;
+        if (uz < 1.0 + Math.pow(0.5, theta)) return Math.min(1, itemCount - 1);
+        long rank = (long) (itemCount * Math.pow(s.eta * u - s.eta + 1, alpha));
+        return Math.min(rank, itemCount - 1);
+    }
+}
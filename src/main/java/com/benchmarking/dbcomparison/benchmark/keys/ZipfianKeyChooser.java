@@ -0,0 +1,42 @@
+package com.benchmarking.dbcomparison.benchmark.keys;
+
+/**
+ * Zipf po kluczach puli. Rangi są rozpraszane hashem FNV (jak ScrambledZipfian w YCSB),
+ * żeby gorące klucze nie leżały obok siebie w indeksie – inaczej mierzylibyśmy głównie
+ * lokalność jednej strony, a nie cache całej puli buforów.
+ */
+public class ZipfianKeyChooser implements KeyChooser {
+
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 1099511628211L;
+
+    private final IdPool pool;
+    private final ZipfianGenerator zipf;
+
+    public ZipfianKeyChooser(IdPool pool, double theta) {
+        this.pool = pool;
+        this.zipf = new ZipfianGenerator(pool.size(), theta);
+    }
+
+    @Override
+    public int nextIndex() {
+        int n = pool.size();
+        long rank = zipf.next(n);
+        return (int) Math.floorMod(fnv(rank), (long) n);
+    }
+
+    @Override
+    public IdPool pool() {
+        return pool;
+    }
+
+    static long fnv(long value) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < 8; i++) {
+            hash ^= value & 0xFF;
+            hash *= FNV_PRIME;
+            value >>>= 8;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,13 @@
+package com.benchmarking.dbcomparison.benchmark.phase;
+
+/** Faza przebiegu benchmarku. Metryki zapisywane są tylko poza rozgrzewką i wygaszaniem. */
+public enum BenchmarkPhase {
+    IDLE,
+    WARMUP,
+    MEASUREMENT,
+    COOLDOWN;
+
+    public boolean isRecording() {
+        return this == IDLE || this == MEASUREMENT;
+    }
+}
@@ -0,0 +1,38 @@
+package com.benchmarking.dbcomparison.benchmark.phase;
+
+import com.benchmarking.dbcomparison.benchmark.telemetry.jfr.BenchmarkPhaseEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bieżąca faza benchmarku, wspólna dla całej aplikacji (testy uruchamiane są pojedynczo).
+ * {@code DatabaseMetrics} sprawdza ją przed zapisem, więc operacje z rozgrzewki i wygaszania
+ * nie trafiają do timerów, liczników ani CSV. Każda faza to też zdarzenie JFR {@link BenchmarkPhaseEvent}.
+ */
+@Component
+public class PhaseTracker {
+
+    @Value("${spring.profiles.active:unknown}")
+    private String activeProfile;
+
+    private volatile BenchmarkPhase phase = BenchmarkPhase.IDLE;
+    private BenchmarkPhaseEvent phaseEvent;
+
+    public BenchmarkPhase current() {
+        return phase;
+    }
+
+    public boolean isRecording() {
+        return phase.isRecording();
+    }
+
+    /** Ustawia fazę i zwraca poprzednią (do przywrócenia w finally). */
+    public synchronized BenchmarkPhase enter(BenchmarkPhase next) {
+        BenchmarkPhase previous = phase;
+        phase = next;
+        if (phaseEvent != null) phaseEvent.commit();
+        phaseEvent = new BenchmarkPhaseEvent(next.name(), activeProfile, next.isRecording());
+        phaseEvent.begin();
+        return previous;
+    }
+}
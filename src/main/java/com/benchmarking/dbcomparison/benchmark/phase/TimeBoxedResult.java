@@ -0,0 +1,19 @@
+package com.benchmarking.dbcomparison.benchmark.phase;
+
+import com.benchmarking.dbcomparison.benchmark.telemetry.BufferCacheSampler.BufferCacheStats;
+import com.benchmarking.dbcomparison.util.LatencyStats;
+import lombok.Value;
+
+/** Wynik okna pomiarowego: liczba iteracji, przetworzone rekordy, czasy pojedynczych iteracji i trafienia w bufor bazy. */
+@Value
+public class TimeBoxedResult {
+    int iterations;
+    long records;
+    long durationMs;
+    LatencyStats iterationLatency;
+    BufferCacheStats bufferCache;
+
+    public double opsPerSecond() {
+        return durationMs > 0 ? records * 1000.0 / durationMs : 0.0;
+    }
+}
@@ -0,0 +1,167 @@
+package com.benchmarking.dbcomparison.benchmark.phase;
+
+import com.benchmarking.dbcomparison.benchmark.run.BenchmarkRunContext;
+import com.benchmarking.dbcomparison.benchmark.telemetry.BufferCacheSampler;
+import com.benchmarking.dbcomparison.config.BenchmarkConfig;
+import com.benchmarking.dbcomparison.util.LatencySamples;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * Przebieg w trzech fazach: rozgrzewka → pomiar → wygaszanie.
+ * <ul>
+ *     <li>rozgrzewka: przez {@code benchmark.warmupSeconds} (0 = jedno wywołanie, jak dotąd)</li>
+ *     <li>pomiar: przez {@code benchmark.measurementSeconds} (0 = jedna iteracja, tryb „na liczbę rekordów”)</li>
+ *     <li>wygaszanie: {@code benchmark.cooldownSeconds} przerwy, żeby zapis w tle (checkpoint, vacuum) nie wpadał do kolejnego testu</li>
+ * </ul>
+ * Metryki i wyniki zapisywane są tylko w oknie pomiarowym (patrz {@link PhaseTracker}); to okno obejmują też
+ * kolektory kroku ({@link BenchmarkRunContext#measurementStarted()}) i współczynnik trafień w bufor bazy
+ * ({@link BufferCacheSampler}).
+ */
+@Slf4j
+@Component
+public class TimeBoxedRunner {
+
+    private final BenchmarkConfig benchmarkConfig;
+    private final PhaseTracker phaseTracker;
+    private final BenchmarkRunContext runContext;
+    private final BufferCacheSampler bufferCacheSampler;
+
+    public TimeBoxedRunner(BenchmarkConfig benchmarkConfig, PhaseTracker phaseTracker, BenchmarkRunContext runContext,
+                           BufferCacheSampler bufferCacheSampler) {
+        this.benchmarkConfig = benchmarkConfig;
+        this.phaseTracker = phaseTracker;
+        this.runContext = runContext;
+        this.bufferCacheSampler = bufferCacheSampler;
+    }
+
+    public boolean isTimeBoxed() {
+        return benchmarkConfig.getMeasurementSeconds() > 0;
+    }
+
+    /** Liczba rekordów/operacji rozgrzewki w trybie „na liczbę rekordów” ({@code benchmark.warmupPercent}). */
+    public int warmupRecords() {
+        long n = (long) Math.max(1, benchmarkConfig.getRecordCount()) * Math.max(0, benchmarkConfig.getWarmupPercent()) / 100;
+        return (int) Math.max(1, n);
+    }
+
+    /** Koniec okna pomiarowego dla testów, które same pilnują czasu (np. wielowątkowe); 0 gdy pomiar na liczbę rekordów. */
+    public long measurementDeadlineNanos(long startNanos) {
+        return isTimeBoxed() ? startNanos + TimeUnit.SECONDS.toNanos(benchmarkConfig.getMeasurementSeconds()) : 0;
+    }
+
+    /**
+     * @param warmup   operacja rozgrzewająca (bez pomiaru); null = brak rozgrzewki
+     * @param measured jedna iteracja mierzonej operacji, zwraca liczbę przetworzonych rekordów
+     */
+    public TimeBoxedResult run(String label, Runnable warmup, IntSupplier measured) {
+        runContext.step(label);
+        warmup(label, warmup);
+
+        BufferCacheSampler.Snapshot cacheBefore = bufferCacheSampler.snapshot();
+        runContext.measurementStarted();
+        BenchmarkPhase previous = phaseTracker.enter(BenchmarkPhase.MEASUREMENT);
+        LatencySamples samples = new LatencySamples(isTimeBoxed() ? 1024 : 1);
+        long records = 0;
+        long start = System.nanoTime();
+        long deadline = measurementDeadlineNanos(start);
+        try {
+            do {
+                long t0 = System.nanoTime();
+                int n = measured.getAsInt();
+                samples.add(System.nanoTime() - t0);
+                records += n;
+                runContext.progress(n);
+                runContext.checkCancelled();
+            } while (deadline != 0 && System.nanoTime() < deadline);
+        } finally {
+            phaseTracker.enter(previous);
+            runContext.measurementFinished();
+        }
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (isTimeBoxed()) {
+            log.info("{}: {} iteracji w oknie pomiarowym {} ms", label, samples.size(), durationMs);
+        }
+
+        TimeBoxedResult result = new TimeBoxedResult(samples.size(), records, durationMs, samples.stats(),
+                bufferCacheSampler.since(cacheBefore));
+        runContext.latency(result.getIterationLatency());
+        cooldown(label);
+        return result;
+    }
+
+    public void warmup(String label, Runnable warmup) {
+        if (warmup == null) return;
+        BenchmarkPhase previous = phaseTracker.enter(BenchmarkPhase.WARMUP);
+        try {
+            long seconds = benchmarkConfig.getWarmupSeconds();
+            if (seconds <= 0) {
+                warmup.run();
+                return;
+            }
+            log.info("{}: rozgrzewka {} s", label, seconds);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+            do {
+                warmup.run();
+            } while (System.nanoTime() < deadline && !runContext.isCancelled());
+        } catch (RuntimeException e) {
+            log.warn("Błąd rozgrzewki ({}): {}", label, e.getMessage());
+        } finally {
+            phaseTracker.enter(previous);
+        }
+    }
+
+    public void cooldown(String label) {
+        long seconds = benchmarkConfig.getCooldownSeconds();
+        if (seconds <= 0) return;
+        BenchmarkPhase previous = phaseTracker.enter(BenchmarkPhase.COOLDOWN);
+        try {
+            log.info("{}: wygaszanie {} s", label, seconds);
+            TimeUnit.SECONDS.sleep(seconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            phaseTracker.enter(previous);
+        }
+    }
+
+    /**
+     * Ustawia fazę pomiaru dla testów z własną pętlą (wielowątkowe) i otwiera okno kolektorów kroku;
+     * zamknięcie przywraca poprzednią fazę.
+     */
+    public Window measurementWindow() {
+        runContext.measurementStarted();
+        return new Window(phaseTracker, phaseTracker.enter(BenchmarkPhase.MEASUREMENT), runContext::measurementFinished);
+    }
+
+    public Window warmupWindow() {
+        return new Window(phaseTracker, phaseTracker.enter(BenchmarkPhase.WARMUP), null);
+    }
+
+    public static final class Window implements AutoCloseable {
+        private final PhaseTracker tracker;
+        private final BenchmarkPhase previous;
+        private final Runnable onClose;
+        private final long startNanos = System.nanoTime();
+
+        private Window(PhaseTracker tracker, BenchmarkPhase previous, Runnable onClose) {
+            this.tracker = tracker;
+            this.previous = previous;
+            this.onClose = onClose;
+        }
+
+        /** Początek okna ({@link System#nanoTime()}) – start pomiaru czasu testu z własną pętlą. */
+        public long startNanos() {
+            return startNanos;
+        }
+
+        @Override
+        public void close() {
+            tracker.enter(previous);
+            if (onClose != null) onClose.run();
+        }
+    }
+}
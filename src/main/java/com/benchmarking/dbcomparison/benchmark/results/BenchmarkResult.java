@@ -0,0 +1,34 @@
+package com.benchmarking.dbcomparison.benchmark.results;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Jeden wiersz wspólnego zapisu wyników – ten sam schemat dla CSV i JSON Lines. Percentyle w ms; null, gdy
+ * test ich nie mierzy (w CSV puste pole). {@code params} – ustawienia testu (parametry przebiegu + własne testu),
+ * {@code counters} – liczniki bazy, zasobów i JDBC oraz pola specyficzne dla testu. Czytany z powrotem z JSON Lines
+ * (wyniki forków, porównania między profilami).
+ */
+@lombok.Value
+@lombok.AllArgsConstructor(onConstructor_ = @JsonCreator)
+public class BenchmarkResult {
+    String runId;
+    Instant timestamp;
+    String profile;
+    String benchmark;
+    String operation;
+    Map<String, String> params;
+    long records;
+    long durationMs;
+    double opsPerSecond;
+    Double p50Ms;
+    Double p90Ms;
+    Double p95Ms;
+    Double p99Ms;
+    Double p999Ms;
+    Double maxMs;
+    long errors;
+    Map<String, Object> counters;
+}
@@ -0,0 +1,22 @@
+package com.benchmarking.dbcomparison.benchmark.results;
+
+import java.util.Map;
+
+/**
+ * Porównanie operacji między stronami A i B (profile albo przebiegi): statystyki obu prób, różnica średnich
+ * względem A w % i test Welcha. {@code verdict} oznacza wprost różnice nieistotne statystycznie i takie,
+ * których nie da się ocenić (mniej niż dwa powtórzenia po którejś stronie). Porównywane są tylko wiersze
+ * o tych samych {@code params}.
+ */
+@lombok.Value
+public class OperationComparison {
+    String benchmark;
+    String operation;
+    Map<String, String> params;
+    String metric;
+    SampleStats a;
+    SampleStats b;
+    double diffPercent;
+    WelchTest test;
+    String verdict;
+}
@@ -0,0 +1,16 @@
+package com.benchmarking.dbcomparison.benchmark.results;
+
+import java.util.Map;
+
+/**
+ * Statystyki jednej operacji benchmarku po wszystkich powtórzeniach przebiegu (iteracje i forki);
+ * {@code params} – ustawienia wspólne dla próby (bez numeru iteracji / forka).
+ */
+@lombok.Value
+public class OperationSummary {
+    String benchmark;
+    String operation;
+    Map<String, String> params;
+    String metric;
+    SampleStats stats;
+}
@@ -0,0 +1,106 @@
+package com.benchmarking.dbcomparison.benchmark.results;
+
+import com.benchmarking.dbcomparison.benchmark.telemetry.BufferCacheSampler.BufferCacheStats;
+import com.benchmarking.dbcomparison.util.LatencyStats;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Wynik w budowie – z {@link ResultSink#record(String, String)}, wysyłany przez {@link #submit()}.
+ * Percentyle: {@link #latency(LatencyStats)} (pomiar testu) ma pierwszeństwo przed histogramem
+ * {@code DatabaseMetrics} z {@link #dbMetrics(String)}; wszystkie (p50–max) zawsze z jednego z tych źródeł.
+ * Nie jest bezpieczny wielowątkowo – budowany na jednym wątku.
+ */
+public class ResultRecord {
+
+    private final ResultSink sink;
+    private final Instant timestamp = Instant.now();
+    private final String benchmark;
+    private final String operation;
+    private final Map<String, String> params = new LinkedHashMap<>();
+    private final Map<String, Object> counters = new LinkedHashMap<>();
+
+    private long records;
+    private long durationMs;
+    private Double opsPerSecond;
+    private LatencyStats latency;
+    private String dbMetric;
+    private long errors;
+
+    ResultRecord(ResultSink sink, String benchmark, String operation) {
+        this.sink = sink;
+        this.benchmark = benchmark;
+        this.operation = operation;
+    }
+
+    public ResultRecord param(String name, Object value) {
+        if (value != null) params.put(name, String.valueOf(value));
+        return this;
+    }
+
+    /** Rekordy i czas; ops/s liczone z nich, o ile nie podano {@link #opsPerSecond(double)}. */
+    public ResultRecord throughput(long records, long durationMs) {
+        this.records = records;
+        this.durationMs = durationMs;
+        return this;
+    }
+
+    /** Przepustowość liczona przez test inaczej niż rekordy / czas (np. tylko okno pomiarowe, zrealizowana stawka). */
+    public ResultRecord opsPerSecond(double opsPerSecond) {
+        this.opsPerSecond = opsPerSecond;
+        return this;
+    }
+
+    public ResultRecord latency(LatencyStats latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    /** Liczniki i histogram {@code DatabaseMetrics} dla metryki testu (operacje, błędy, czas timera, percentyle). */
+    public ResultRecord dbMetrics(String metric) {
+        this.dbMetric = metric;
+        return this;
+    }
+
+    public ResultRecord errors(long errors) {
+        this.errors = errors;
+        return this;
+    }
+
+    /** Licznik lub pole testu; null i NaN pomijane. */
+    public ResultRecord counter(String name, Object value) {
+        if (value == null || value instanceof Double d && d.isNaN()) return this;
+        counters.put(name, value);
+        return this;
+    }
+
+    public ResultRecord bufferCache(BufferCacheStats cache) {
+        if (cache == null || !cache.isAvailable()) return this;
+        return counter("buffer_hit_ratio", cache.getHitRatio())
+                .counter("buffer_blocks_hit", cache.getBlocksHit())
+                .counter("buffer_blocks_read", cache.getBlocksRead());
+    }
+
+    /** Kolejkuje wynik do zapisu w tle; nie blokuje wątku testu. */
+    public void submit() {
+        sink.submit(this);
+    }
+
+    String benchmark() { return benchmark; }
+    String operation() { return operation; }
+    Instant timestamp() { return timestamp; }
+    Map<String, String> params() { return params; }
+    Map<String, Object> counters() { return counters; }
+    long records() { return records; }
+    long durationMs() { return durationMs; }
+    LatencyStats latency() { return latency; }
+    String dbMetric() { return dbMetric; }
+    long errors() { return errors; }
+
+    double opsPerSecond() {
+        if (opsPerSecond != null) return opsPerSecond;
+        return durationMs > 0 ? records * 1000.0 / durationMs : 0;
+    }
+}
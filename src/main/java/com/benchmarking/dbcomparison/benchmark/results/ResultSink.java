@@ -0,0 +1,319 @@
+package com.benchmarking.dbcomparison.benchmark.results;
+
+import com.benchmarking.dbcomparison.benchmark.run.BenchmarkRunContext;
+import com.benchmarking.dbcomparison.benchmark.telemetry.BufferCacheSampler;
+import com.benchmarking.dbcomparison.benchmark.telemetry.BufferCacheSampler.BufferCacheStats;
+import com.benchmarking.dbcomparison.benchmark.telemetry.JdbcStatementStats;
+import com.benchmarking.dbcomparison.benchmark.telemetry.JdbcStatementStats.JdbcPhaseStats;
+import com.benchmarking.dbcomparison.benchmark.telemetry.ResourceSampler;
+import com.benchmarking.dbcomparison.benchmark.telemetry.ResourceSampler.ResourcePhaseStats;
+import com.benchmarking.dbcomparison.config.BenchmarkConfig;
+import com.benchmarking.dbcomparison.config.DatabaseMetrics;
+import com.benchmarking.dbcomparison.util.CsvFormatter;
+import com.benchmarking.dbcomparison.util.LatencyStats;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Wspólny zapis wyników wszystkich testów: jeden schemat ({@link BenchmarkResult}) w {@code <resultsFile>.csv}
+ * ({@code ;}, stały nagłówek) i {@code <resultsFile>.jsonl} (jeden obiekt JSON na linię). Wątek testu tylko
+ * składa wynik i wrzuca go do ograniczonej kolejki ({@code offer}, bez czekania) – plikami zajmuje się wątek
+ * {@code result-writer}, który zapisuje paczkami przez bufor i opróżnia go, gdy kolejka jest pusta. Przy pełnej
+ * kolejce wynik jest pomijany z ostrzeżeniem, zamiast zatrzymywać pomiar.
+ * <p>
+ * W przebiegu ({@code /benchmark/runs}) wynik dostaje ID przebiegu, jego parametry oraz liczniki zasobów
+ * ({@link ResourceSampler}), JDBC ({@link JdbcStatementStats}) i bufora bazy ({@link BufferCacheSampler}) z ostatniego
+ * zamkniętego okna pomiarowego kroku ({@link BenchmarkRunContext#measurementMetrics()}) – gotowe wyniki kolektorów,
+ * bez odczytów {@code /proc} i bazy na wątku testu; wiersze kolejnych okien nie nakładają się.
+ */
+@Slf4j
+@Component
+public class ResultSink {
+
+    private static final String[] HEADER = {
+            "Przebieg", "Czas", "Profil", "Benchmark", "Operacja", "Parametry", "Rekordy", "Czas[ms]", "Operacji/s",
+            "p50_ms", "p90_ms", "p95_ms", "p99_ms", "p999_ms", "max_ms", "Błędy", "Liczniki"};
+    private static final double MB = 1024.0 * 1024.0;
+    private static final long FLUSH_TIMEOUT_MS = 10_000;
+
+    @Autowired private BenchmarkConfig benchmarkConfig;
+    @Autowired private DatabaseMetrics databaseMetrics;
+    @Autowired private BenchmarkRunContext runContext;
+    @Autowired private ResourceSampler resourceSampler;
+    @Autowired private JdbcStatementStats jdbcStats;
+    @Autowired private BufferCacheSampler bufferCacheSampler;
+    @Autowired private ObjectMapper objectMapper;
+
+    @Value("${spring.profiles.active:unknown}")
+    private String activeProfile;
+
+    private BlockingQueue<BenchmarkResult> queue;
+    private Thread writer;
+    private volatile boolean running;
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private long written; // pod monitorem this – flush() czeka na dogonienie submitted
+
+    // pliki – tylko pod monitorem files (wątek zapisu, archive, stop)
+    private final Object files = new Object();
+    private BufferedWriter csv;
+    private BufferedWriter jsonl;
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(Math.max(100, benchmarkConfig.getResultsQueueCapacity()));
+        running = true;
+        writer = new Thread(this::drainLoop, "result-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        try {
+            writer.join(FLUSH_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<BenchmarkResult> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        write(rest);
+        synchronized (files) {
+            closeFiles();
+        }
+    }
+
+    /** Nowy wynik do uzupełnienia; {@code benchmark} – rodzina testów (insert, read, acid...), {@code operation} – krok. */
+    public ResultRecord record(String benchmark, String operation) {
+        return new ResultRecord(this, benchmark, operation);
+    }
+
+    /** Czeka (maks. 10 s), aż wyniki wysłane przed wywołaniem trafią do plików – dla orkiestracji, nie z pomiaru. */
+    public void flush() {
+        long target = submitted.get();
+        long deadline = System.currentTimeMillis() + FLUSH_TIMEOUT_MS;
+        synchronized (this) {
+            while (written < target) {
+                long left = deadline - System.currentTimeMillis();
+                if (left <= 0) {
+                    log.warn("Zapis wyników nie nadąża – {} w kolejce", target - written);
+                    return;
+                }
+                try {
+                    wait(left);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Przenosi bieżące pliki wyników do katalogu {@code dir} (tworzony tylko, gdy jest co przenieść);
+     * kolejne wyniki trafią do nowych plików.
+     */
+    public void archive(String dir) {
+        flush();
+        synchronized (files) {
+            closeFiles();
+            try {
+                List<Path> existing = new ArrayList<>();
+                for (Path file : List.of(csvPath(), jsonlPath())) {
+                    if (Files.exists(file)) existing.add(file);
+                }
+                if (existing.isEmpty()) return;
+                Files.createDirectories(Path.of(dir));
+                for (Path file : existing) {
+                    Files.move(file, Path.of(dir, file.getFileName().toString()), StandardCopyOption.REPLACE_EXISTING);
+                }
+                log.info("Wyniki zarchiwizowane w {}", dir);
+            } catch (IOException e) {
+                log.error("Błąd archiwizacji wyników do {}", dir, e);
+            }
+        }
+    }
+
+    void submit(ResultRecord record) {
+        BenchmarkResult result = toResult(record);
+        runContext.collect(result);
+        if (!queue.offer(result)) {
+            long n = dropped.incrementAndGet();
+            if (n == 1 || n % 1000 == 0) {
+                log.warn("Kolejka wyników pełna – pominięto {} wyników (ostatni: {}/{})", n, result.getBenchmark(), result.getOperation());
+            }
+            return;
+        }
+        submitted.incrementAndGet();
+    }
+
+    private BenchmarkResult toResult(ResultRecord r) {
+        Map<String, String> params = new LinkedHashMap<>(runContext.runParams());
+        params.putAll(r.params());
+
+        Map<String, Object> counters = new LinkedHashMap<>();
+        // wszystkie percentyle z jednego źródła: rozkład podany przez test, a bez niego – timer operacji w bazie
+        LatencyStats latency = r.latency();
+        String metric = r.dbMetric();
+        if (metric != null) {
+            if (latency == null || latency.getCount() == 0) latency = databaseMetrics.getLatency(metric, activeProfile);
+            counters.put("db_operations", (long) databaseMetrics.getOperationsCount(metric, activeProfile));
+            counters.put("db_errors", (long) databaseMetrics.getErrorsCount(metric, activeProfile));
+            counters.put("db_failed_queries", (long) databaseMetrics.getFailedQueriesCount());
+            counters.put("db_timer_ms", databaseMetrics.getTotalOperationTimeMillis(metric, activeProfile));
+        }
+        counters.putAll(r.counters());
+        addStepCounters(counters);
+
+        boolean measured = latency != null && latency.getCount() > 0;
+        UUID runId = runContext.runId();
+        return new BenchmarkResult(
+                runId != null ? runId.toString() : null, r.timestamp(), activeProfile, r.benchmark(), r.operation(),
+                params, r.records(), r.durationMs(), r.opsPerSecond(),
+                measured ? latency.getP50Ms() : null, measured ? latency.getP90Ms() : null,
+                measured ? latency.getP95Ms() : null,
+                measured ? latency.getP99Ms() : null, measured ? latency.getP999Ms() : null,
+                measured ? latency.getMaxMs() : null,
+                r.errors(), counters);
+    }
+
+    private void addStepCounters(Map<String, Object> counters) {
+        Map<String, Object> window = runContext.measurementMetrics();
+        if (window != null) {
+            if (window.get(resourceSampler.name()) instanceof ResourcePhaseStats res) {
+                counters.putIfAbsent("cpu_process_s", res.getProcessCpuSeconds());
+                counters.putIfAbsent("cpu_s_per_1k_ops", value(res.getCpuSecondsPer1kOps()));
+                counters.putIfAbsent("gc_count", res.getGcCount());
+                counters.putIfAbsent("gc_ms", res.getGcTimeMs());
+                counters.putIfAbsent("alloc_bytes_per_op", value(res.getAllocatedBytesPerOp()));
+                counters.putIfAbsent("rss_max_mb", res.getRssMaxBytes() / MB);
+            }
+            if (window.get(jdbcStats.name()) instanceof JdbcPhaseStats jdbc) {
+                counters.putIfAbsent("jdbc_round_trips", jdbc.getRoundTrips());
+                counters.putIfAbsent("jdbc_avg_batch_size", jdbc.getAvgBatchSize());
+                counters.putIfAbsent("jdbc_rows_fetched", jdbc.getRowsFetched());
+                counters.putIfAbsent("jdbc_driver_ms", jdbc.getDriverMs());
+            }
+            // test z własną migawką bufora (TimeBoxedRunner) ma pierwszeństwo – putIfAbsent
+            if (window.get(bufferCacheSampler.name()) instanceof BufferCacheStats cache && cache.isAvailable()) {
+                counters.putIfAbsent("buffer_hit_ratio", value(cache.getHitRatio()));
+                counters.putIfAbsent("buffer_blocks_hit", cache.getBlocksHit());
+                counters.putIfAbsent("buffer_blocks_read", cache.getBlocksRead());
+            }
+        }
+        counters.values().removeIf(Objects::isNull);
+    }
+
+    private static Double value(double d) {
+        return Double.isNaN(d) || Double.isInfinite(d) ? null : d;
+    }
+
+    /* ------------ wątek zapisu ------------ */
+
+    private void drainLoop() {
+        List<BenchmarkResult> batch = new ArrayList<>();
+        while (running) {
+            try {
+                BenchmarkResult first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<BenchmarkResult> batch) {
+        if (batch.isEmpty()) return;
+        synchronized (files) {
+            try {
+                openFiles();
+                for (BenchmarkResult r : batch) {
+                    csv.write(csvLine(r));
+                    jsonl.write(objectMapper.writeValueAsString(r));
+                    jsonl.write('\n');
+                }
+                // bufor opróżniany po każdej paczce – kolejka pusta albo zapisane wszystko, co czekało
+                csv.flush();
+                jsonl.flush();
+            } catch (IOException e) {
+                log.error("Błąd zapisu {} wyników", batch.size(), e);
+                closeFiles();
+            }
+        }
+        synchronized (this) {
+            written += batch.size();
+            notifyAll();
+        }
+    }
+
+    private static String csvLine(BenchmarkResult r) {
+        return CsvFormatter.formatCsvLine(
+                r.getRunId(), r.getTimestamp(), r.getProfile(), r.getBenchmark(), r.getOperation(), r.getParams(),
+                r.getRecords(), r.getDurationMs(), r.getOpsPerSecond(),
+                r.getP50Ms(), r.getP90Ms(), r.getP95Ms(), r.getP99Ms(), r.getP999Ms(), r.getMaxMs(),
+                r.getErrors(), r.getCounters());
+    }
+
+    private void openFiles() throws IOException {
+        if (csv == null) {
+            Path path = csvPath();
+            boolean header = !Files.exists(path) || Files.size(path) == 0;
+            csv = Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            if (header) csv.write(String.join(CsvFormatter.SEPARATOR, HEADER) + "\n");
+        }
+        if (jsonl == null) {
+            jsonl = Files.newBufferedWriter(jsonlPath(), StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+    }
+
+    private void closeFiles() {
+        for (BufferedWriter w : new BufferedWriter[]{csv, jsonl}) {
+            if (w == null) continue;
+            try {
+                w.close();
+            } catch (IOException e) {
+                log.warn("Błąd zamknięcia pliku wyników: {}", e.getMessage());
+            }
+        }
+        csv = null;
+        jsonl = null;
+    }
+
+    private Path csvPath() {
+        return Path.of(benchmarkConfig.getResultsFile() + ".csv");
+    }
+
+    private Path jsonlPath() {
+        return Path.of(benchmarkConfig.getResultsFile() + ".jsonl");
+    }
+
+    /** Bieżący plik JSON Lines – źródło porównań między profilami ({@code ResultStatistics}). */
+    public Path jsonlFile() {
+        return jsonlPath();
+    }
+}
@@ -0,0 +1,209 @@
+package com.benchmarking.dbcomparison.benchmark.results;
+
+import com.benchmarking.dbcomparison.config.BenchmarkConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Statystyki powtórzeń na wynikach z {@link ResultSink}: próba to wiersze o tym samym benchmarku, operacji
+ * i parametrach (bez numeru iteracji / forka i ustawień samego powtarzania – {@link #REPETITION_PARAMS}), jedna
+ * wartość na iterację / fork; wiersze z innym rozmiarem danych, silnikiem czy liczbą wątków nie są mieszane. Metryka to pole wyniku ({@code opsPerSecond}, {@code p99Ms},
+ * {@code durationMs}, ...) albo nazwa licznika. Przedziały ufności i test Welcha na poziomie
+ * {@code benchmark.significanceLevel}.
+ */
+@Slf4j
+@Component
+public class ResultStatistics {
+
+    public static final String DEFAULT_METRIC = "opsPerSecond";
+    static final Set<String> REPETITION_PARAMS =
+            Set.of("iteration", "fork", "parentRun", "iterations", "forks", "forkTimeoutMinutes", "metric");
+
+    @Autowired private BenchmarkConfig benchmarkConfig;
+    @Autowired private ResultSink resultSink;
+    @Autowired private ObjectMapper objectMapper;
+
+    public List<OperationSummary> summarize(List<BenchmarkResult> results, String metric) {
+        String m = metric(metric);
+        List<OperationSummary> summaries = new ArrayList<>();
+        group(results, m).forEach((key, values) ->
+                summaries.add(new OperationSummary(key.getBenchmark(), key.getOperation(), key.getParams(), m, stats(values))));
+        return summaries;
+    }
+
+    /** Porównanie operacji obecnych po którejkolwiek stronie; brak wyników po jednej stronie = n 0, bez testu. */
+    public List<OperationComparison> compare(String labelA, List<BenchmarkResult> a, String labelB, List<BenchmarkResult> b, String metric) {
+        String m = metric(metric);
+        Map<SampleKey, double[]> groupsA = group(a, m);
+        Map<SampleKey, double[]> groupsB = group(b, m);
+        Set<SampleKey> keys = new LinkedHashSet<>(groupsA.keySet());
+        keys.addAll(groupsB.keySet());
+
+        double alpha = benchmarkConfig.getSignificanceLevel();
+        List<OperationComparison> comparisons = new ArrayList<>();
+        for (SampleKey key : keys) {
+            SampleStats sa = stats(groupsA.getOrDefault(key, new double[0]));
+            SampleStats sb = stats(groupsB.getOrDefault(key, new double[0]));
+            WelchTest test = WelchTest.of(sa, sb, alpha);
+            double diff = sa.getN() > 0 && sb.getN() > 0 && sa.getMean() != 0
+                    ? (sb.getMean() - sa.getMean()) / Math.abs(sa.getMean()) * 100 : Double.NaN;
+            String verdict = verdict(sa, sb, test, labelA, labelB);
+            comparisons.add(new OperationComparison(key.getBenchmark(), key.getOperation(), key.getParams(), m, sa, sb, diff, test, verdict));
+            log.info("{} / {} {} [{}]: {}={} vs {}={} → {}", key.getBenchmark(), key.getOperation(), key.getParams(), m,
+                    labelA, format(sa), labelB, format(sb), verdict);
+        }
+        return comparisons;
+    }
+
+    /**
+     * Wyniki z bieżącego pliku JSON Lines i plików {@code extraFiles} – tylko {@code *.jsonl} z katalogów archiwów
+     * ({@code results_*}, patrz {@link ResultSink#archive(String)}) obok bieżącego pliku wyników.
+     */
+    public List<BenchmarkResult> load(Collection<String> extraFiles) {
+        resultSink.flush();
+        List<Path> files = new ArrayList<>();
+        files.add(resultSink.jsonlFile());
+        if (extraFiles != null) extraFiles.stream().filter(f -> !f.isBlank()).map(this::resultsFile).forEach(files::add);
+        List<BenchmarkResult> results = new ArrayList<>();
+        for (Path file : files) results.addAll(read(file));
+        return results;
+    }
+
+    /** Ścieżka z żądania HTTP – odrzucana, gdy wychodzi poza katalog wyników i jego archiwa. */
+    Path resultsFile(String file) {
+        Path base = resultSink.jsonlFile().toAbsolutePath().getParent();
+        Path path = base.resolve(file).normalize();
+        Path relative = path.startsWith(base) ? base.relativize(path) : null;
+        boolean allowed = relative != null
+                && path.getFileName().toString().endsWith(".jsonl")
+                && (relative.getNameCount() == 1
+                    || relative.getNameCount() == 2 && relative.getName(0).toString().startsWith("results_"));
+        if (allowed && Files.exists(path)) {
+            try {
+                allowed = path.toRealPath().startsWith(base.toRealPath());
+            } catch (IOException e) {
+                allowed = false;
+            }
+        }
+        if (!allowed) {
+            throw new IllegalArgumentException("Niedozwolony plik wyników: " + file
+                    + " (tylko *.jsonl w katalogu wyników lub w jego archiwach results_*)");
+        }
+        return path;
+    }
+
+    public List<BenchmarkResult> read(Path file) {
+        if (!Files.exists(file)) return List.of();
+        List<BenchmarkResult> results = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                try {
+                    results.add(objectMapper.readValue(line, BenchmarkResult.class));
+                } catch (IOException e) {
+                    log.debug("Pominięto wiersz {}: {}", file, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Nie można odczytać wyników z " + file + ": " + e.getMessage(), e);
+        }
+        return results;
+    }
+
+    /**
+     * Strona porównania: ID przebiegu (wyniki przebiegu i jego forków) albo nazwa profilu; opcjonalnie
+     * tylko jeden benchmark.
+     */
+    public static Predicate<BenchmarkResult> selector(String side, String benchmark) {
+        Predicate<BenchmarkResult> bySide = isRunId(side)
+                ? r -> side.equals(r.getRunId()) || side.equals(r.getParams() != null ? r.getParams().get("parentRun") : null)
+                : r -> side.equalsIgnoreCase(r.getProfile());
+        return benchmark == null || benchmark.isBlank() ? bySide : bySide.and(r -> benchmark.equals(r.getBenchmark()));
+    }
+
+    public static boolean isRunId(String side) {
+        try {
+            UUID.fromString(side);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    static Map<SampleKey, double[]> group(List<BenchmarkResult> results, String metric) {
+        Map<SampleKey, List<Double>> values = new LinkedHashMap<>();
+        for (BenchmarkResult r : results) {
+            Double v = value(r, metric);
+            if (v == null || v.isNaN() || v.isInfinite()) continue;
+            values.computeIfAbsent(SampleKey.of(r), k -> new ArrayList<>()).add(v);
+        }
+        Map<SampleKey, double[]> groups = new LinkedHashMap<>();
+        values.forEach((k, v) -> groups.put(k, v.stream().mapToDouble(Double::doubleValue).toArray()));
+        return groups;
+    }
+
+    private static String metric(String metric) {
+        return metric == null || metric.isBlank() ? DEFAULT_METRIC : metric;
+    }
+
+    private SampleStats stats(double[] values) {
+        return SampleStats.of(values, 1 - benchmarkConfig.getSignificanceLevel());
+    }
+
+    static Double value(BenchmarkResult r, String metric) {
+        return switch (metric) {
+            case "opsPerSecond" -> r.getOpsPerSecond();
+            case "durationMs" -> (double) r.getDurationMs();
+            case "records" -> (double) r.getRecords();
+            case "errors" -> (double) r.getErrors();
+            case "p50Ms" -> r.getP50Ms();
+            case "p90Ms" -> r.getP90Ms();
+            case "p95Ms" -> r.getP95Ms();
+            case "p99Ms" -> r.getP99Ms();
+            case "p999Ms" -> r.getP999Ms();
+            case "maxMs" -> r.getMaxMs();
+            default -> r.getCounters() != null && r.getCounters().get(metric) instanceof Number n ? n.doubleValue() : null;
+        };
+    }
+
+    private static String verdict(SampleStats a, SampleStats b, WelchTest test, String labelA, String labelB) {
+        if (a.getN() == 0 || b.getN() == 0) return "brak wyników po jednej ze stron";
+        if (!test.isTestable()) return "za mało powtórzeń (n < 2) – różnica nierozstrzygalna";
+        if (!test.isSignificant()) {
+            return String.format(Locale.ROOT, "różnica nieistotna statystycznie (p=%.3f)", test.getPValue());
+        }
+        return String.format(Locale.ROOT, "istotna różnica: %s %s niż %s (p=%.4f)",
+                labelB, b.getMean() > a.getMean() ? "więcej" : "mniej", labelA, test.getPValue());
+    }
+
+    @lombok.Value
+    static class SampleKey {
+        String benchmark;
+        String operation;
+        Map<String, String> params;
+
+        static SampleKey of(BenchmarkResult r) {
+            Map<String, String> params = new TreeMap<>();
+            if (r.getParams() != null) r.getParams().forEach((k, v) -> {
+                if (!REPETITION_PARAMS.contains(k)) params.put(k, v);
+            });
+            return new SampleKey(r.getBenchmark(), r.getOperation(), Collections.unmodifiableMap(params));
+        }
+    }
+
+    private static String format(SampleStats s) {
+        if (s.getN() < 2) return String.format(Locale.ROOT, "%.2f (n=%d)", s.getMean(), s.getN());
+        return String.format(Locale.ROOT, "%.2f ± %.2f (n=%d)", s.getMean(), s.getCiHigh() - s.getMean(), s.getN());
+    }
+}
@@ -0,0 +1,45 @@
+package com.benchmarking.dbcomparison.benchmark.results;
+
+/**
+ * Statystyki próby powtórzeń (iteracje / forki): średnia, odchylenie standardowe (n - 1), przedział ufności
+ * t-Studenta na poziomie {@code confidence} oraz jego połowa względem średniej – miara szumu między powtórzeniami.
+ * Przy n &lt; 2 przedział nieokreślony (NaN).
+ */
+@lombok.Value
+public class SampleStats {
+    int n;
+    double mean;
+    double stddev;
+    double min;
+    double max;
+    double confidence;
+    double ciLow;
+    double ciHigh;
+    double ciHalfWidthPercent;
+
+    public static SampleStats of(double[] values, double confidence) {
+        int n = values.length;
+        if (n == 0) return new SampleStats(0, Double.NaN, Double.NaN, Double.NaN, Double.NaN, confidence, Double.NaN, Double.NaN, Double.NaN);
+        double sum = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double v : values) {
+            sum += v;
+            min = Math.min(min, v);
+            max = Math.max(max, v);
+        }
+        double mean = sum / n;
+        if (n < 2) return new SampleStats(1, mean, Double.NaN, min, max, confidence, Double.NaN, Double.NaN, Double.NaN);
+        double squares = 0;
+        for (double v : values) squares += (v - mean) * (v - mean);
+        double stddev = Math.sqrt(squares / (n - 1));
+        double half = StudentT.quantile(1 - (1 - confidence) / 2, n - 1) * stddev / Math.sqrt(n);
+        return new SampleStats(n, mean, stddev, min, max, confidence, mean - half, mean + half,
+                mean != 0 ? Math.abs(half / mean) * 100 : Double.NaN);
+    }
+
+    /** Wariancja średniej (s² / n) – składnik błędu standardowego różnicy w teście Welcha. */
+    double meanVariance() {
+        return stddev * stddev / n;
+    }
+}
@@ -0,0 +1,91 @@
+package com.benchmarking.dbcomparison.benchmark.results;
+
+/**
+ * Rozkład t-Studenta dla przedziałów ufności i testu Welcha (ułamkowe stopnie swobody). Dystrybuanta przez
+ * regularyzowaną niepełną funkcję beta (ułamek łańcuchowy, jak w Numerical Recipes), kwantyl – bisekcją.
+ */
+final class StudentT {
+
+    private static final double EPS = 1e-12;
+    private static final int MAX_ITERATIONS = 300;
+    private static final double[] LANCZOS = {
+            76.18009172947146, -86.50532032941677, 24.01409824083091,
+            -1.231739572450155, 0.1208650973866179e-2, -0.5395239384953e-5};
+
+    private StudentT() {
+    }
+
+    /** P(T ≤ t) dla {@code df} stopni swobody. */
+    static double cdf(double t, double df) {
+        if (Double.isInfinite(t)) return t > 0 ? 1 : 0;
+        double tail = 0.5 * incompleteBeta(df / 2, 0.5, df / (df + t * t));
+        return t > 0 ? 1 - tail : tail;
+    }
+
+    /** Dwustronne p: P(|T| ≥ |t|). */
+    static double twoSidedP(double t, double df) {
+        return Math.min(1, 2 * (1 - cdf(Math.abs(t), df)));
+    }
+
+    /** Kwantyl rzędu {@code p} (0.5 < p < 1); np. 0.975 dla dwustronnego 95% przedziału. */
+    static double quantile(double p, double df) {
+        double lo = 0;
+        double hi = 1;
+        while (cdf(hi, df) < p && hi < 1e6) hi *= 2;
+        for (int i = 0; i < 100 && hi - lo > 1e-9; i++) {
+            double mid = (lo + hi) / 2;
+            if (cdf(mid, df) < p) lo = mid;
+            else hi = mid;
+        }
+        return (lo + hi) / 2;
+    }
+
+    private static double incompleteBeta(double a, double b, double x) {
+        if (x <= 0) return 0;
+        if (x >= 1) return 1;
+        double front = Math.exp(logGamma(a + b) - logGamma(a) - logGamma(b) + a * Math.log(x) + b * Math.log(1 - x));
+        return x < (a + 1) / (a + b + 2)
+                ? front * betaContinuedFraction(a, b, x) / a
+                : 1 - front * betaContinuedFraction(b, a, 1 - x) / b;
+    }
+
+    private static double betaContinuedFraction(double a, double b, double x) {
+        double qab = a + b;
+        double qap = a + 1;
+        double qam = a - 1;
+        double c = 1;
+        double d = 1 - qab * x / qap;
+        if (Math.abs(d) < 1e-300) d = 1e-300;
+        d = 1 / d;
+        double h = d;
+        for (int m = 1; m <= MAX_ITERATIONS; m++) {
+            int m2 = 2 * m;
+            double aa = m * (b - m) * x / ((qam + m2) * (a + m2));
+            d = 1 + aa * d;
+            if (Math.abs(d) < 1e-300) d = 1e-300;
+            c = 1 + aa / c;
+            if (Math.abs(c) < 1e-300) c = 1e-300;
+            d = 1 / d;
+            h *= d * c;
+            aa = -(a + m) * (qab + m) * x / ((a + m2) * (qap + m2));
+            d = 1 + aa * d;
+            if (Math.abs(d) < 1e-300) d = 1e-300;
+            c = 1 + aa / c;
+            if (Math.abs(c) < 1e-300) c = 1e-300;
+            d = 1 / d;
+            double delta = d * c;
+            h *= delta;
+            if (Math.abs(delta - 1) < EPS) break;
+        }
+        return h;
+    }
+
+    private static double logGamma(double x) {
+        double y = x;
+        double tmp = x + 5.5;
+        tmp -= (x + 0.5) * Math.log(tmp);
+        double series = 1.000000000190015;
+        for (double coefficient : LANCZOS) series += coefficient / ++y;
+        return -tmp + Math.log(2.5066282746310005 * series / x);
+    }
+}
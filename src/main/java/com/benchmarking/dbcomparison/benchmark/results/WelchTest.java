@@ -0,0 +1,35 @@
+package com.benchmarking.dbcomparison.benchmark.results;
+
+/**
+ * Test t Welcha dla dwóch prób o różnych wariancjach i licznościach (np. MySQL vs PostgreSQL, dwa przebiegi):
+ * t = (średnia B − średnia A) / √(s²A/nA + s²B/nB), stopnie swobody Welcha–Satterthwaite'a, p dwustronne.
+ * {@code significant} = p &lt; alfa; przy mniej niż dwóch powtórzeniach po którejś stronie test nie jest
+ * wykonywany ({@code testable = false}) – różnicy nie da się wtedy odróżnić od szumu.
+ */
+@lombok.Value
+public class WelchTest {
+    boolean testable;
+    double t;
+    double degreesOfFreedom;
+    double pValue;
+    double alpha;
+    boolean significant;
+
+    public static WelchTest of(SampleStats a, SampleStats b, double alpha) {
+        if (a.getN() < 2 || b.getN() < 2) return new WelchTest(false, Double.NaN, Double.NaN, Double.NaN, alpha, false);
+        double va = a.meanVariance();
+        double vb = b.meanVariance();
+        double se2 = va + vb;
+        double diff = b.getMean() - a.getMean();
+        if (se2 == 0) {
+            // obie próby bez rozrzutu – różnica pewna albo żadna
+            boolean differs = diff != 0;
+            return new WelchTest(true, differs ? Math.copySign(Double.POSITIVE_INFINITY, diff) : 0, Double.NaN,
+                    differs ? 0 : 1, alpha, differs);
+        }
+        double t = diff / Math.sqrt(se2);
+        double df = se2 * se2 / (va * va / (a.getN() - 1) + vb * vb / (b.getN() - 1));
+        double p = StudentT.twoSidedP(t, df);
+        return new WelchTest(true, t, df, p, alpha, p < alpha);
+    }
+}
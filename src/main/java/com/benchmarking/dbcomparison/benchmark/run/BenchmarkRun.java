@@ -0,0 +1,159 @@
+package com.benchmarking.dbcomparison.benchmark.run;
+
+import com.benchmarking.dbcomparison.benchmark.phase.BenchmarkPhase;
+import com.benchmarking.dbcomparison.benchmark.results.BenchmarkResult;
+import com.benchmarking.dbcomparison.benchmark.results.OperationSummary;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Stan jednego przebiegu benchmarku – serializowany do JSON przez {@code BenchmarkRunController}.
+ * Postęp (rekordy) zliczany z wielu wątków przez {@link LongAdder}; bieżące ops/s liczone
+ * z przyrostu rekordów od poprzedniego odczytu (nie częściej niż co sekundę).
+ */
+public class BenchmarkRun {
+
+    private final UUID id = UUID.randomUUID();
+    private final String benchmark;
+    private final Map<String, String> params;
+    private final Instant submittedAt = Instant.now();
+
+    // QUEUED -> RUNNING (wątek wykonawcy) i QUEUED -> CANCELLED (anulowanie) rozstrzyga CAS – wygrywa jedno
+    private final AtomicReference<RunStatus> status = new AtomicReference<>(RunStatus.QUEUED);
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String step;
+    private volatile String error;
+    private volatile boolean cancelRequested;
+
+    private final LongAdder recordsDone = new LongAdder();
+    private final List<PhaseResult> phases = Collections.synchronizedList(new ArrayList<>());
+    // wyniki z ResultSink (także z forków) – wejście statystyk powtórzeń, poza JSON przebiegu
+    private final List<BenchmarkResult> results = Collections.synchronizedList(new ArrayList<>());
+
+    private volatile int iterations = 1;
+    private volatile int iteration;
+    private volatile int forks;
+    private volatile int fork;
+    private volatile List<OperationSummary> statistics;
+
+    private long lastRateNanos = System.nanoTime();
+    private long lastRateRecords;
+    private double currentOpsPerSecond;
+
+    private volatile Future<?> future;
+    private volatile Supplier<BenchmarkPhase> phaseSource;
+
+    BenchmarkRun(String benchmark, Map<String, String> params) {
+        this.benchmark = benchmark;
+        this.params = params;
+    }
+
+    public UUID getId() { return id; }
+    public String getBenchmark() { return benchmark; }
+    public Map<String, String> getParams() { return params; }
+    public RunStatus getStatus() { return status.get(); }
+    public Instant getSubmittedAt() { return submittedAt; }
+    public Instant getStartedAt() { return startedAt; }
+    public Instant getFinishedAt() { return finishedAt; }
+    public String getStep() { return step; }
+    public String getError() { return error; }
+    public long getRecordsDone() { return recordsDone.sum(); }
+    public int getIterations() { return iterations; }
+    public int getIteration() { return iteration; }
+    public int getForks() { return forks; }
+    public int getFork() { return fork; }
+    /** Średnia, odchylenie i przedział ufności per operacja; null przy pojedynczym powtórzeniu. */
+    public List<OperationSummary> getStatistics() { return statistics; }
+
+    public BenchmarkPhase getPhase() {
+        Supplier<BenchmarkPhase> source = phaseSource;
+        return status.get() == RunStatus.RUNNING && source != null ? source.get() : null;
+    }
+
+    public long getElapsedMs() {
+        Instant from = startedAt;
+        if (from == null) return 0;
+        Instant to = finishedAt != null ? finishedAt : Instant.now();
+        return Duration.between(from, to).toMillis();
+    }
+
+    public synchronized double getCurrentOpsPerSecond() {
+        if (status.get() != RunStatus.RUNNING) return 0;
+        long now = System.nanoTime();
+        long elapsed = now - lastRateNanos;
+        if (elapsed >= 1_000_000_000L) {
+            long records = recordsDone.sum();
+            currentOpsPerSecond = (records - lastRateRecords) / (elapsed / 1_000_000_000.0);
+            lastRateNanos = now;
+            lastRateRecords = records;
+        }
+        return currentOpsPerSecond;
+    }
+
+    public List<PhaseResult> getPhases() {
+        synchronized (phases) {
+            return new ArrayList<>(phases);
+        }
+    }
+
+    @JsonIgnore
+    public boolean isCancelRequested() { return cancelRequested; }
+
+    @JsonIgnore
+    public List<BenchmarkResult> getResults() {
+        synchronized (results) {
+            return new ArrayList<>(results);
+        }
+    }
+
+    /* --- zmiany stanu (tylko z pakietu run) --- */
+
+    /** @return false, gdy przebieg został już anulowany w kolejce – wtedy nie wolno go uruchomić */
+    boolean markRunning(Supplier<BenchmarkPhase> phaseSource) {
+        this.phaseSource = phaseSource;
+        if (!status.compareAndSet(RunStatus.QUEUED, RunStatus.RUNNING)) return false;
+        this.startedAt = Instant.now();
+        return true;
+    }
+
+    /** @return false, gdy wykonawca zdążył już wystartować przebieg (albo ten się zakończył) */
+    boolean cancelQueued() {
+        if (!status.compareAndSet(RunStatus.QUEUED, RunStatus.CANCELLED)) return false;
+        this.finishedAt = Instant.now();
+        return true;
+    }
+
+    /** Koniec uruchomionego przebiegu – woła tylko wątek wykonawcy. */
+    void finish(RunStatus finalStatus, String error) {
+        this.error = error;
+        this.finishedAt = Instant.now();
+        this.status.set(finalStatus);
+    }
+
+    void requestCancel() {
+        this.cancelRequested = true;
+    }
+
+    void setStep(String step) { this.step = step; }
+    void addRecords(long n) { recordsDone.add(n); }
+    void addPhase(PhaseResult result) { phases.add(result); }
+    void addResult(BenchmarkResult result) { results.add(result); }
+    void setRepetitions(int iterations, int forks) { this.iterations = iterations; this.forks = forks; }
+    void setIteration(int iteration) { this.iteration = iteration; }
+    void setFork(int fork) { this.fork = fork; }
+    void setStatistics(List<OperationSummary> statistics) { this.statistics = statistics; }
+    void setFuture(Future<?> future) { this.future = future; }
+    Future<?> future() { return future; }
+}
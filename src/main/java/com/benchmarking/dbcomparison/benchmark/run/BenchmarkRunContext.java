@@ -0,0 +1,219 @@
+package com.benchmarking.dbcomparison.benchmark.run;
+
+import com.benchmarking.dbcomparison.benchmark.results.BenchmarkResult;
+import com.benchmarking.dbcomparison.benchmark.telemetry.jfr.BenchmarkStepEvent;
+import com.benchmarking.dbcomparison.config.DatabaseMetrics;
+import com.benchmarking.dbcomparison.util.LatencyStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Punkt zaczepienia benchmarków do raportowania postępu bieżącego przebiegu.
+ * Przebiegi wykonywane są pojedynczo, więc aktywny przebieg trzymany jest w jednym polu
+ * (widocznym także z wątków roboczych testów wielowątkowych). Gdy test wołany jest
+ * bezpośrednio z /benchmark/..., wszystkie metody są no-opami; {@link BenchmarkRunService} nie dopuszcza
+ * takiego wywołania w trakcie przebiegu. Stan kroku chroniony jest monitorem kontekstu – {@link #progress(long)}
+ * i {@link #isCancelled()}, wołane z wątków roboczych, go nie potrzebują.
+ * <p>
+ * {@link PhaseMetricsCollector} obejmują okno pomiarowe kroku ({@link #measurementStarted()} /
+ * {@link #measurementFinished()}, wołane przez {@code TimeBoxedRunner}) – bez rozgrzewki i wygaszania; krok bez
+ * okna mierzony jest od początku do końca. Ich wyniki dołączane są do wyniku kroku; każdy krok to też
+ * zdarzenie JFR {@link BenchmarkStepEvent}. Te same granice (krok, okno pomiarowe) zerują okno percentyli
+ * {@link DatabaseMetrics} – także poza przebiegiem, żeby wiersz wyniku nie zawierał pomiarów wcześniejszych kroków.
+ */
+@Slf4j
+@Component
+public class BenchmarkRunContext {
+
+    private final ObjectProvider<PhaseMetricsCollector> collectorProvider;
+    private final DatabaseMetrics databaseMetrics;
+    private volatile List<PhaseMetricsCollector> collectors = List.of();
+
+    @Value("${spring.profiles.active:unknown}")
+    private String activeProfile;
+
+    private volatile BenchmarkRun active;
+
+    // bieżący krok – dostęp pod monitorem kontekstu
+    private String stepName;
+    private long stepStartNanos;
+    private final LongAdder stepRecords = new LongAdder();
+    private LatencyStats stepLatency;
+    private BenchmarkStepEvent stepEvent;
+    // kolektory otwarte od początku kroku albo od otwarcia okna pomiarowego
+    private boolean collecting;
+    private boolean windowed;
+    private Map<String, Object> windowMetrics;
+
+    public BenchmarkRunContext(ObjectProvider<PhaseMetricsCollector> collectorProvider, DatabaseMetrics databaseMetrics) {
+        this.collectorProvider = collectorProvider;
+        this.databaseMetrics = databaseMetrics;
+    }
+
+    synchronized void attach(BenchmarkRun run) {
+        // leniwie – kolektory mogą zależeć od beanów, które same korzystają z kontekstu
+        this.collectors = collectorProvider.orderedStream().toList();
+        this.active = run;
+        this.stepName = null;
+    }
+
+    synchronized void detach() {
+        closeStep();
+        this.active = null;
+    }
+
+    /** Zamyka poprzedni krok (zapisując jego wynik) i otwiera nowy. */
+    public synchronized void step(String name) {
+        databaseMetrics.startWindow();
+        BenchmarkRun run = active;
+        if (run == null) return;
+        closeStep();
+        // przy powtórzeniach kroki kolejnych iteracji rozróżnione numerem
+        stepName = run.getIterations() > 1 ? name + " #" + run.getIteration() : name;
+        stepStartNanos = System.nanoTime();
+        stepRecords.reset();
+        stepLatency = null;
+        stepEvent = new BenchmarkStepEvent(run.getBenchmark(), stepName, activeProfile);
+        stepEvent.begin();
+        run.setStep(stepName);
+        windowed = false;
+        windowMetrics = null;
+        beginCollectors();
+    }
+
+    /**
+     * Początek okna pomiarowego bieżącego kroku: kolektory liczą od tej chwili, to, co zebrały od początku
+     * kroku (rozgrzewka), jest odrzucane.
+     */
+    public synchronized void measurementStarted() {
+        databaseMetrics.startWindow();
+        if (active == null || stepName == null) return;
+        if (collecting) {
+            for (PhaseMetricsCollector c : collectors) {
+                try {
+                    c.discard();
+                } catch (RuntimeException e) {
+                    log.warn("Kolektor {} – błąd odrzucenia pomiaru kroku {}: {}", c.name(), stepName, e.getMessage());
+                }
+            }
+            collecting = false;
+        }
+        windowed = true;
+        beginCollectors();
+    }
+
+    /** Koniec okna pomiarowego – wyniki kolektorów zapamiętane dla kroku (przy kilku oknach – ostatnie). */
+    public synchronized void measurementFinished() {
+        if (active == null || !windowed || !collecting) return;
+        windowMetrics = endCollectors();
+    }
+
+    /** Wyniki kolektorów z ostatniego zamkniętego okna pomiarowego bieżącego kroku; null, gdy go nie było. */
+    public synchronized Map<String, Object> measurementMetrics() {
+        return windowMetrics;
+    }
+
+    public void progress(long records) {
+        BenchmarkRun run = active;
+        if (run == null || records <= 0) return;
+        run.addRecords(records);
+        stepRecords.add(records);
+    }
+
+    /** ID aktywnego przebiegu; null poza przebiegiem. */
+    public UUID runId() {
+        BenchmarkRun run = active;
+        return run != null ? run.getId() : null;
+    }
+
+    /** Parametry aktywnego przebiegu (z numerem iteracji, gdy jest ich kilka); pusta mapa poza przebiegiem. */
+    public Map<String, String> runParams() {
+        BenchmarkRun run = active;
+        if (run == null || run.getParams() == null) return Map.of();
+        if (run.getIterations() <= 1) return run.getParams();
+        Map<String, String> params = new LinkedHashMap<>(run.getParams());
+        params.put("iteration", String.valueOf(run.getIteration()));
+        return params;
+    }
+
+    /** Wynik zapisany przez {@code ResultSink} – wejście statystyk powtórzeń przebiegu. */
+    public void collect(BenchmarkResult result) {
+        BenchmarkRun run = active;
+        if (run != null) run.addResult(result);
+    }
+
+    /** Nazwa bieżącego kroku (null poza krokiem). */
+    public synchronized String currentStep() {
+        return stepName;
+    }
+
+    /** Rekordy bieżącego kroku – kolektory liczą przyrost między {@link PhaseMetricsCollector#begin()} a {@code end()}. */
+    public long stepRecords() {
+        return stepRecords.sum();
+    }
+
+    /** Rozkład opóźnień bieżącego kroku – trafia do wyniku kroku w JSON. */
+    public synchronized void latency(LatencyStats stats) {
+        if (active != null) stepLatency = stats;
+    }
+
+    public boolean isCancelled() {
+        BenchmarkRun run = active;
+        return run != null && run.isCancelRequested();
+    }
+
+    public void checkCancelled() {
+        if (isCancelled()) throw new CancellationException("Przebieg anulowany");
+    }
+
+    private void closeStep() {
+        BenchmarkRun run = active;
+        if (run == null || stepName == null) return;
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - stepStartNanos);
+        long records = stepRecords.sum();
+        stepEvent.finish(records);
+        double ops = durationMs > 0 ? records * 1000.0 / durationMs : 0;
+        LatencyStats l = stepLatency;
+        Map<String, Object> metrics = collecting ? endCollectors()
+                : windowMetrics != null ? windowMetrics : new LinkedHashMap<>();
+        run.addPhase(new PhaseResult(stepName, records, durationMs, ops,
+                l != null ? l.getP50Ms() : null, l != null ? l.getP99Ms() : null, metrics));
+        stepName = null;
+        windowMetrics = null;
+    }
+
+    private void beginCollectors() {
+        for (PhaseMetricsCollector c : collectors) {
+            try {
+                c.begin();
+            } catch (RuntimeException e) {
+                log.warn("Kolektor {} – błąd na początku kroku {}: {}", c.name(), stepName, e.getMessage());
+            }
+        }
+        collecting = true;
+    }
+
+    private Map<String, Object> endCollectors() {
+        collecting = false;
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        for (PhaseMetricsCollector c : collectors) {
+            try {
+                Object value = c.end();
+                if (value != null) metrics.put(c.name(), value);
+            } catch (RuntimeException e) {
+                log.warn("Kolektor {} – błąd na końcu kroku {}: {}", c.name(), stepName, e.getMessage());
+            }
+        }
+        return metrics;
+    }
+}
@@ -0,0 +1,13 @@
+package com.benchmarking.dbcomparison.benchmark.run;
+
+import lombok.Data;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/** Zlecenie przebiegu: nazwa benchmarku (jak w /benchmark/...) i opcjonalne parametry, np. {"mix": "READ_MOSTLY"}. */
+@Data
+public class BenchmarkRunRequest {
+    private String benchmark;
+    private Map<String, String> params = new HashMap<>();
+}
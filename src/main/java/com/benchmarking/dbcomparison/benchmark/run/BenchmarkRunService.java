@@ -0,0 +1,271 @@
+package com.benchmarking.dbcomparison.benchmark.run;
+
+import com.benchmarking.dbcomparison.benchmark.*;
+import com.benchmarking.dbcomparison.benchmark.concurrency.*;
+import com.benchmarking.dbcomparison.benchmark.idgen.IdStrategyTest;
+import com.benchmarking.dbcomparison.benchmark.index.IndexPerformanceTest;
+import com.benchmarking.dbcomparison.benchmark.insert.InsertEngine;
+import com.benchmarking.dbcomparison.benchmark.isolation.AcidTest;
+import com.benchmarking.dbcomparison.benchmark.isolation.IsolationLevelTest;
+import com.benchmarking.dbcomparison.benchmark.phase.PhaseTracker;
+import com.benchmarking.dbcomparison.benchmark.results.OperationSummary;
+import com.benchmarking.dbcomparison.benchmark.results.ResultStatistics;
+import com.benchmarking.dbcomparison.benchmark.telemetry.AspectOverheadTest;
+import com.benchmarking.dbcomparison.benchmark.telemetry.jfr.JfrRecordingService;
+import com.benchmarking.dbcomparison.benchmark.workload.MixedWorkloadTest;
+import com.benchmarking.dbcomparison.config.BenchmarkConfig;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Kolejka przebiegów benchmarków: zlecenie dostaje ID od razu, a praca idzie na dedykowanym
+ * jednowątkowym executorze (testy współdzielą bazę i metryki, więc nie mogą biec równolegle).
+ * Parametry {@code iterations} i {@code forks} (domyślnie z {@code benchmark.*}) powtarzają benchmark
+ * w tej samej JVM albo w osobnych procesach; przy więcej niż jednym powtórzeniu przebieg dostaje statystyki
+ * per operacja ({@link ResultStatistics}). Wywołania synchroniczne z /benchmark/... idą przez {@link #runNow(String, Map)}
+ * i dzielą z przebiegami jedną blokadę – w trakcie przebiegu są odrzucane, a przebieg z kolejki czeka na ich koniec.
+ */
+@Slf4j
+@Component
+public class BenchmarkRunService {
+
+    private static final int MAX_FINISHED_RUNS = 100;
+
+    @FunctionalInterface
+    interface BenchmarkTask {
+        void run(Map<String, String> params) throws Exception;
+    }
+
+    private final Map<String, BenchmarkTask> tasks = new LinkedHashMap<>();
+    private final Map<UUID, BenchmarkRun> runs = new ConcurrentHashMap<>();
+    // wyłączność bazy, metryk i kontekstu – trzyma ją przebieg albo wywołanie synchroniczne
+    private final ReentrantLock exclusive = new ReentrantLock();
+    private final BenchmarkRunContext context;
+    private final PhaseTracker phaseTracker;
+    private final JfrRecordingService jfrRecordingService;
+    private final BenchmarkConfig benchmarkConfig;
+    private final ForkLauncher forkLauncher;
+    private final ResultStatistics statistics;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "benchmark-runner");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public BenchmarkRunService(BenchmarkRunContext context,
+                               PhaseTracker phaseTracker,
+                               JfrRecordingService jfrRecordingService,
+                               BenchmarkConfig benchmarkConfig,
+                               ForkLauncher forkLauncher,
+                               ResultStatistics statistics,
+                               InsertPerformanceTest insertPerformanceTest,
+                               ReadPerformanceTest readPerformanceTest,
+                               UpdatePerformanceTest updatePerformanceTest,
+                               DeletePerformanceTest deletePerformanceTest,
+                               AllCrudPerformanceTest allCrudPerformanceTest,
+                               IndexPerformanceTest indexPerformanceTest,
+                               IdStrategyTest idStrategyTest,
+                               AcidTest acidTest,
+                               IsolationLevelTest isolationLevelTest,
+                               MultiThreadedInsertTest multiThreadedInsertTest,
+                               MultiThreadedReadTest multiThreadedReadTest,
+                               MultiThreadedUpdateTest multiThreadedUpdateTest,
+                               MultiThreadedDeleteTest multiThreadedDeleteTest,
+                               MultiThreadedCrudTest multiThreadedCrudTest,
+                               OpenLoopCrudTest openLoopCrudTest,
+                               MixedWorkloadTest mixedWorkloadTest,
+                               ScalabilitySweepTest scalabilitySweepTest,
+                               AspectOverheadTest aspectOverheadTest) {
+        this.context = context;
+        this.phaseTracker = phaseTracker;
+        this.jfrRecordingService = jfrRecordingService;
+        this.benchmarkConfig = benchmarkConfig;
+        this.forkLauncher = forkLauncher;
+        this.statistics = statistics;
+        // nazwy jak ścieżki w BenchmarkController
+        tasks.put("insert", p -> insertPerformanceTest.runAll(InsertEngine.parse(p.get("engine"), null)));
+        tasks.put("read", p -> readPerformanceTest.runAll());
+        tasks.put("update", p -> updatePerformanceTest.runAll());
+        tasks.put("delete", p -> deletePerformanceTest.runAll());
+        tasks.put("allCrudTests", p -> allCrudPerformanceTest.runAllTests());
+        tasks.put("index", p -> indexPerformanceTest.runAllTests());
+        tasks.put("idStrategy", p -> idStrategyTest.runAll(InsertEngine.parse(p.get("engine"), null), p.get("strategies")));
+        tasks.put("acid", p -> acidTest.runAllTests());
+        tasks.put("isolation", p -> isolationLevelTest.runAllTests());
+        tasks.put("multiThreadedInsert", p -> multiThreadedInsertTest.runAllTests());
+        tasks.put("multiThreadedRead", p -> multiThreadedReadTest.runAllTests());
+        tasks.put("multiThreadedUpdate", p -> multiThreadedUpdateTest.runAllTests());
+        tasks.put("multiThreadedDelete", p -> multiThreadedDeleteTest.runAllTests());
+        tasks.put("multiThreadedCrud", p -> multiThreadedCrudTest.runAllTests());
+        tasks.put("openLoop", p -> openLoopCrudTest.runAllTests());
+        tasks.put("workload", p -> mixedWorkloadTest.runWorkload(p.get("mix")));
+        tasks.put("scalabilitySweep", p -> scalabilitySweepTest.runSweep(p.get("mix")));
+        tasks.put("aspectOverhead", p -> aspectOverheadTest.runAll());
+    }
+
+    public Set<String> benchmarks() {
+        return Collections.unmodifiableSet(tasks.keySet());
+    }
+
+    public BenchmarkRun submit(BenchmarkRunRequest request) {
+        BenchmarkTask task = task(request.getBenchmark());
+        Map<String, String> params = request.getParams() != null ? Map.copyOf(request.getParams()) : Map.of();
+        int iterations = intParam(params, "iterations", benchmarkConfig.getIterations(), 1);
+        int forks = intParam(params, "forks", benchmarkConfig.getForks(), 0);
+        BenchmarkRun run = new BenchmarkRun(request.getBenchmark(), params);
+        run.setRepetitions(iterations, forks);
+        pruneFinished();
+        runs.put(run.getId(), run);
+        run.setFuture(executor.submit(() -> execute(run, task)));
+        log.info("Przyjęto przebieg {} ({})", run.getId(), run.getBenchmark());
+        return run;
+    }
+
+    /**
+     * Wykonuje benchmark od razu na wątku wywołującym, bez rejestrowania przebiegu.
+     *
+     * @return false, gdy trwa przebieg albo inne wywołanie synchroniczne (nic nie zostało uruchomione)
+     */
+    public boolean runNow(String benchmark, Map<String, String> params) throws Exception {
+        BenchmarkTask task = task(benchmark);
+        if (!exclusive.tryLock()) return false;
+        try {
+            task.run(params);
+            return true;
+        } finally {
+            exclusive.unlock();
+        }
+    }
+
+    private BenchmarkTask task(String benchmark) {
+        BenchmarkTask task = benchmark != null ? tasks.get(benchmark) : null;
+        if (task == null) {
+            throw new IllegalArgumentException("Nieznany benchmark: " + benchmark + " (dostępne: " + tasks.keySet() + ")");
+        }
+        return task;
+    }
+
+    private void execute(BenchmarkRun run, BenchmarkTask task) {
+        if (run.isCancelRequested()) return;
+        exclusive.lock();
+        try {
+            if (run.markRunning(phaseTracker::current)) executeLocked(run, task);
+        } finally {
+            exclusive.unlock();
+        }
+    }
+
+    private void executeLocked(BenchmarkRun run, BenchmarkTask task) {
+        context.attach(run);
+        // parametr jfr=true – nagranie Flight Recorder wokół całego przebiegu
+        boolean jfr = Boolean.parseBoolean(run.getParams().get("jfr")) && !jfrRecordingService.isRecording();
+        try {
+            if (jfr) jfrRecordingService.start(run.getBenchmark() + "_" + run.getId());
+            if (run.getForks() > 0) {
+                for (int f = 1; f <= run.getForks(); f++) {
+                    context.checkCancelled();
+                    run.setFork(f);
+                    forkLauncher.run(run, f).forEach(run::addResult);
+                }
+            } else {
+                for (int i = 1; i <= run.getIterations(); i++) {
+                    context.checkCancelled();
+                    run.setIteration(i);
+                    task.run(run.getParams());
+                }
+            }
+            context.checkCancelled();
+            if (run.getIterations() > 1 || run.getForks() > 0) summarize(run);
+            context.detach();
+            run.finish(RunStatus.COMPLETED, null);
+            log.info("Przebieg {} ({}) zakończony", run.getId(), run.getBenchmark());
+        } catch (InterruptedException | CancellationException e) {
+            context.detach();
+            run.finish(RunStatus.CANCELLED, null);
+            log.info("Przebieg {} ({}) anulowany", run.getId(), run.getBenchmark());
+        } catch (Exception e) {
+            context.detach();
+            if (run.isCancelRequested()) {
+                run.finish(RunStatus.CANCELLED, null);
+            } else {
+                run.finish(RunStatus.FAILED, e.getMessage());
+                log.error("Przebieg {} ({}) zakończony błędem", run.getId(), run.getBenchmark(), e);
+            }
+        } finally {
+            if (jfr) jfrRecordingService.stop();
+            // przerwanie z cancel(true) nie może „przeciec” do następnego przebiegu
+            Thread.interrupted();
+        }
+    }
+
+    private void summarize(BenchmarkRun run) {
+        List<OperationSummary> summaries = statistics.summarize(run.getResults(), run.getParams().get("metric"));
+        run.setStatistics(summaries);
+        for (OperationSummary s : summaries) {
+            log.info("{} / {} {} [{}]: średnia {} ± {} ({}% CI, n={}, odch. {}, ±{}%)",
+                    s.getBenchmark(), s.getOperation(), s.getParams(), s.getMetric(),
+                    String.format(Locale.ROOT, "%.2f", s.getStats().getMean()),
+                    String.format(Locale.ROOT, "%.2f", s.getStats().getCiHigh() - s.getStats().getMean()),
+                    Math.round(s.getStats().getConfidence() * 100), s.getStats().getN(),
+                    String.format(Locale.ROOT, "%.2f", s.getStats().getStddev()),
+                    String.format(Locale.ROOT, "%.1f", s.getStats().getCiHalfWidthPercent()));
+        }
+    }
+
+    private static int intParam(Map<String, String> params, String name, int defaultValue, int min) {
+        String value = params.get(name);
+        int parsed;
+        try {
+            parsed = value != null ? Integer.parseInt(value.trim()) : defaultValue;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parametr " + name + " musi być liczbą całkowitą: " + value);
+        }
+        if (parsed < min) throw new IllegalArgumentException("Parametr " + name + " musi być >= " + min + ": " + parsed);
+        return parsed;
+    }
+
+    public Optional<BenchmarkRun> find(UUID id) {
+        return Optional.ofNullable(runs.get(id));
+    }
+
+    public List<BenchmarkRun> list() {
+        List<BenchmarkRun> all = new ArrayList<>(runs.values());
+        all.sort(Comparator.comparing(BenchmarkRun::getSubmittedAt).reversed());
+        return all;
+    }
+
+    /** Anulowanie: zlecenie w kolejce jest usuwane, trwające – przerywane (interrupt + flaga sprawdzana w pętlach testów). */
+    public Optional<BenchmarkRun> cancel(UUID id) {
+        BenchmarkRun run = runs.get(id);
+        if (run == null || run.getStatus().isFinished()) return Optional.ofNullable(run);
+        run.requestCancel();
+        Future<?> future = run.future();
+        if (run.cancelQueued()) {
+            // wykonawca nie zdążył wystartować i już nie wystartuje – wystarczy wyjąć zadanie z kolejki
+            if (future != null) future.cancel(false);
+        } else if (future != null && run.getStatus() == RunStatus.RUNNING) {
+            future.cancel(true);
+        }
+        return Optional.of(run);
+    }
+
+    private void pruneFinished() {
+        List<BenchmarkRun> finished = runs.values().stream()
+                .filter(r -> r.getStatus().isFinished())
+                .sorted(Comparator.comparing(BenchmarkRun::getSubmittedAt))
+                .toList();
+        for (int i = 0; i < finished.size() - MAX_FINISHED_RUNS; i++) {
+            runs.remove(finished.get(i).getId());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,130 @@
+package com.benchmarking.dbcomparison.benchmark.run;
+
+import com.benchmarking.dbcomparison.benchmark.results.BenchmarkResult;
+import com.benchmarking.dbcomparison.benchmark.results.ResultStatistics;
+import com.benchmarking.dbcomparison.config.BenchmarkConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Fork = ten sam benchmark w osobnej JVM tej samej aplikacji (świeży JIT, GC i pule połączeń), jak forki JMH.
+ * Proces potomny startuje z {@code server.port=0} i {@code benchmark.fork.*} ({@link ForkedRunner}), wykonuje
+ * przebieg i zapisuje jego wyniki do pliku JSON Lines, który tu jest wczytywany i usuwany. Wyjście procesu
+ * – w {@code fork-<przebieg>-<n>.log}. Fork dłuższy niż {@code benchmark.forkTimeoutMinutes} (albo parametr
+ * przebiegu {@code forkTimeoutMinutes}) jest zabijany, żeby zawieszony proces nie blokował kolejki przebiegów.
+ */
+@Slf4j
+@Component
+public class ForkLauncher {
+
+    private final ResultStatistics statistics;
+    private final BenchmarkConfig benchmarkConfig;
+
+    @Value("${spring.profiles.active:}")
+    private String activeProfile;
+
+    public ForkLauncher(ResultStatistics statistics, BenchmarkConfig benchmarkConfig) {
+        this.statistics = statistics;
+        this.benchmarkConfig = benchmarkConfig;
+    }
+
+    public List<BenchmarkResult> run(BenchmarkRun run, int fork) throws IOException, InterruptedException {
+        long timeoutMinutes = timeoutMinutes(run);
+        Path output = Files.createTempFile("fork-" + run.getId() + "-" + fork, ".jsonl");
+        Path logFile = Path.of("fork-" + run.getId() + "-" + fork + ".log");
+        Map<String, String> params = new LinkedHashMap<>(run.getParams());
+        // jawnie 0 – inaczej proces potomny wziąłby benchmark.forks z konfiguracji i forkował dalej
+        params.put("forks", "0");
+        params.put("parentRun", run.getId().toString());
+        params.put("fork", String.valueOf(fork));
+
+        List<String> command = command();
+        if (!activeProfile.isBlank()) command.add("--spring.profiles.active=" + activeProfile);
+        command.add("--server.port=0");
+        command.add("--spring.devtools.restart.enabled=false");
+        command.add("--benchmark.fork.benchmark=" + run.getBenchmark());
+        command.add("--benchmark.fork.params=" + encode(params));
+        command.add("--benchmark.fork.output=" + output.toAbsolutePath());
+
+        log.info("Fork {}/{} przebiegu {} – log: {}", fork, run.getForks(), run.getId(), logFile);
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile())
+                .start();
+        try {
+            if (!process.waitFor(timeoutMinutes, TimeUnit.MINUTES)) {
+                stop(process);
+                throw new IllegalStateException("Fork " + fork + " przekroczył " + timeoutMinutes + " min – zatrzymany (log: " + logFile + ")");
+            }
+            int exit = process.exitValue();
+            if (exit != 0) {
+                throw new IllegalStateException("Fork " + fork + " zakończył się kodem " + exit + " (log: " + logFile + ")");
+            }
+            return statistics.read(output);
+        } catch (InterruptedException e) {
+            // anulowanie przebiegu – proces potomny nie może zostać osierocony
+            stop(process);
+            throw e;
+        } finally {
+            Files.deleteIfExists(output);
+        }
+    }
+
+    private long timeoutMinutes(BenchmarkRun run) {
+        String value = run.getParams().get("forkTimeoutMinutes");
+        try {
+            long minutes = value != null ? Long.parseLong(value.trim()) : benchmarkConfig.getForkTimeoutMinutes();
+            return Math.max(1, minutes);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parametr forkTimeoutMinutes musi być liczbą całkowitą: " + value);
+        }
+    }
+
+    private static void stop(Process process) throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(10, TimeUnit.SECONDS)) process.destroyForcibly();
+    }
+
+    /** java + opcje bieżącej JVM (bez debuggera i JFR) + klasa główna / jar. */
+    private static List<String> command() {
+        String java = ProcessHandle.current().info().command()
+                .orElse(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        for (String arg : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            if (arg.startsWith("-agentlib:jdwp") || arg.startsWith("-XX:StartFlightRecording")) continue;
+            command.add(arg);
+        }
+        String main = System.getProperty("sun.java.command", "").split(" ")[0];
+        if (main.isBlank()) throw new IllegalStateException("Nie można ustalić klasy głównej do uruchomienia forka");
+        if (main.endsWith(".jar")) {
+            command.add("-jar");
+            command.add(main);
+        } else {
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add(main);
+        }
+        return command;
+    }
+
+    static String encode(Map<String, String> params) {
+        return params.entrySet().stream()
+                .map(e -> URLEncoder.encode(e.getKey(), StandardCharsets.UTF_8) + "=" + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+    }
+}
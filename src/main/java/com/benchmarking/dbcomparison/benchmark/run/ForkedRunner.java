@@ -0,0 +1,93 @@
+package com.benchmarking.dbcomparison.benchmark.run;
+
+import com.benchmarking.dbcomparison.benchmark.results.BenchmarkResult;
+import com.benchmarking.dbcomparison.benchmark.results.ResultSink;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Strona potomna {@link ForkLauncher}: aktywna tylko z {@code --benchmark.fork.benchmark}. Po starcie kontekstu
+ * zleca przebieg, czeka na jego koniec, zapisuje wyniki do {@code benchmark.fork.output} i kończy proces
+ * (kod 0 tylko dla COMPLETED).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty("benchmark.fork.benchmark")
+public class ForkedRunner implements ApplicationRunner {
+
+    private static final long POLL_MS = 500;
+
+    private final BenchmarkRunService runService;
+    private final ResultSink resultSink;
+    private final ObjectMapper objectMapper;
+    private final ConfigurableApplicationContext applicationContext;
+
+    @Value("${benchmark.fork.benchmark}")
+    private String benchmark;
+
+    @Value("${benchmark.fork.params:}")
+    private String params;
+
+    @Value("${benchmark.fork.output}")
+    private String output;
+
+    public ForkedRunner(BenchmarkRunService runService, ResultSink resultSink, ObjectMapper objectMapper,
+                        ConfigurableApplicationContext applicationContext) {
+        this.runService = runService;
+        this.resultSink = resultSink;
+        this.objectMapper = objectMapper;
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        BenchmarkRunRequest request = new BenchmarkRunRequest();
+        request.setBenchmark(benchmark);
+        Map<String, String> decoded = decode(params);
+        // fork nigdy nie uruchamia własnych forków, niezależnie od parametrów i benchmark.forks
+        decoded.put("forks", "0");
+        request.setParams(decoded);
+        BenchmarkRun run = runService.submit(request);
+        log.info("Fork {} – przebieg {} ({})", request.getParams().get("fork"), run.getId(), benchmark);
+        while (!run.getStatus().isFinished()) {
+            Thread.sleep(POLL_MS);
+        }
+        resultSink.flush();
+        try (BufferedWriter writer = Files.newBufferedWriter(Path.of(output), StandardCharsets.UTF_8)) {
+            for (BenchmarkResult result : run.getResults()) {
+                writer.write(objectMapper.writeValueAsString(result));
+                writer.newLine();
+            }
+        }
+        int code = run.getStatus() == RunStatus.COMPLETED ? 0 : 1;
+        if (code != 0) log.error("Fork zakończony stanem {}: {}", run.getStatus(), run.getError());
+        System.exit(SpringApplication.exit(applicationContext, () -> code));
+    }
+
+    private static Map<String, String> decode(String encoded) {
+        Map<String, String> params = new LinkedHashMap<>();
+        if (encoded == null || encoded.isBlank()) return params;
+        for (String pair : encoded.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq < 0) continue;
+            params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+}
@@ -0,0 +1,25 @@
+package com.benchmarking.dbcomparison.benchmark.run;
+
+/**
+ * Dodatkowe metryki jednego kroku przebiegu (pula połączeń, blokady, statystyki bazy …). Każdy bean
+ * tego typu jest wołany przez {@link BenchmarkRunContext} wokół okna pomiarowego kroku – bez rozgrzewki
+ * i wygaszania; krok bez okna pomiarowego mierzony jest w całości. Wynik trafia do
+ * {@link PhaseResult#getMetrics()} pod kluczem {@link #name()}.
+ * <p>
+ * Kroki idą jeden po drugim na wątku przebiegu, więc {@link #begin()} i {@link #end()} nie nakładają się.
+ * Wyjątek kolektora jest logowany i nie przerywa benchmarku.
+ */
+public interface PhaseMetricsCollector {
+
+    String name();
+
+    void begin();
+
+    /** @return wynik od ostatniego {@link #begin()} (serializowany do JSON); null – brak danych */
+    Object end();
+
+    /** Zamknięcie bez wyniku – pomiar od początku kroku odrzucony, bo krok otworzył okno pomiarowe po rozgrzewce. */
+    default void discard() {
+        end();
+    }
+}
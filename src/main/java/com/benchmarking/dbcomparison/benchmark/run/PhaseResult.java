@@ -0,0 +1,19 @@
+package com.benchmarking.dbcomparison.benchmark.run;
+
+import lombok.Value;
+
+import java.util.Map;
+
+/** Wynik jednego kroku przebiegu (np. „Odczyt klientów”, „customer_multithreaded_read”). */
+@Value
+public class PhaseResult {
+    String name;
+    long records;
+    long durationMs;
+    double opsPerSecond;
+    /** null, gdy krok nie raportuje rozkładu opóźnień */
+    Double p50Ms;
+    Double p99Ms;
+    /** wyniki {@link PhaseMetricsCollector} wg nazwy kolektora; pusta mapa, gdy żaden nic nie zgłosił */
+    Map<String, Object> metrics;
+}
@@ -0,0 +1,13 @@
+package com.benchmarking.dbcomparison.benchmark.run;
+
+public enum RunStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED;
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED || this == CANCELLED;
+    }
+}
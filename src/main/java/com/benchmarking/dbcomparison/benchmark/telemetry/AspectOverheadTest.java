@@ -0,0 +1,130 @@
+package com.benchmarking.dbcomparison.benchmark.telemetry;
+
+import com.benchmarking.dbcomparison.benchmark.phase.PhaseTracker;
+import com.benchmarking.dbcomparison.benchmark.results.ResultSink;
+import com.benchmarking.dbcomparison.config.BenchmarkConfig;
+import com.benchmarking.dbcomparison.config.DatabaseMetricsAspect;
+import com.benchmarking.dbcomparison.repository.OverheadProbeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Narzut {@link DatabaseMetricsAspect} na jedno wywołanie: atrapa repozytorium bez bazy ({@link OverheadProbeRepository})
+ * za proxy AOP z aspektem w trybach OFF / EVERY_CALL / 1 z N, względem wywołania celu bez proxy. Różnica obejmuje
+ * cały koszt porady: skok przez proxy, {@code ProceedingJoinPoint}, wyszukanie uchwytu metody i sam pomiar.
+ * Każdy tryb to osobna instancja aspektu ({@link DatabaseMetricsAspect#withSettings}), więc wspólny
+ * {@code benchmarkConfig} zostaje nietknięty. Wątki: 1 i {@code benchmark.threads} (rywalizacja o liczniki).
+ * Pomiary atrapy trafiają do metryk repozytorium {@code overheadprobe} (operacja OTHER).
+ */
+@Slf4j
+@Component
+public class AspectOverheadTest {
+
+    private static final int CALLS = 2_000_000;
+    private static final int WARMUP_CALLS = 200_000;
+    private static final int DEFAULT_SAMPLE_EVERY = 100;
+    private static final List<Integer> RESULT = List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+
+    @Autowired private DatabaseMetricsAspect aspect;
+    @Autowired private BenchmarkConfig benchmarkConfig;
+    @Autowired private PhaseTracker phaseTracker;
+    @Autowired private ResultSink resultSink;
+
+    // wynik pętli – żeby JIT nie usunął wywołań
+    private volatile long sink;
+
+    private enum Mode { DIRECT, OFF, EVERY_CALL, SAMPLED }
+
+    /** Cel bez proxy – punkt odniesienia. */
+    private static final class Probe implements OverheadProbeRepository {
+        @Override
+        public List<Integer> probe() {
+            return RESULT;
+        }
+    }
+
+    public void runAll() throws InterruptedException {
+        if (!phaseTracker.isRecording()) {
+            log.warn("Faza {} nie zapisuje metryk – aspekt mierzyłby tylko pominięcie", phaseTracker.current());
+        }
+        int sampleEvery = benchmarkConfig.getAspectSampleEvery() > 1 ? benchmarkConfig.getAspectSampleEvery() : DEFAULT_SAMPLE_EVERY;
+        SortedSet<Integer> threadCounts = new TreeSet<>(List.of(1, Math.max(1, benchmarkConfig.getThreads())));
+
+        Probe target = new Probe();
+        Map<Mode, OverheadProbeRepository> probes = new EnumMap<>(Mode.class);
+        probes.put(Mode.DIRECT, target);
+        probes.put(Mode.OFF, proxy(target, aspect.withSettings(false, 1)));
+        probes.put(Mode.EVERY_CALL, proxy(target, aspect.withSettings(true, 1)));
+        probes.put(Mode.SAMPLED, proxy(target, aspect.withSettings(true, sampleEvery)));
+
+        for (int threads : threadCounts) {
+            double baseline = Double.NaN;
+            for (Mode mode : Mode.values()) {
+                OverheadProbeRepository probe = probes.get(mode);
+                run(probe, threads, WARMUP_CALLS);
+                double nsPerCall = run(probe, threads, CALLS);
+                if (mode == Mode.DIRECT) baseline = nsPerCall;
+                String label = mode == Mode.SAMPLED ? "1/" + sampleEvery : mode.name();
+                log.info("Narzut aspektu [{} wątków] {}: {} ns/wywołanie (+{} ns)", threads, label,
+                        String.format(Locale.ROOT, "%.1f", nsPerCall),
+                        String.format(Locale.ROOT, "%.1f", nsPerCall - baseline));
+                resultSink.record("aspectOverhead", label)
+                        .param("threads", threads)
+                        .param("callsPerThread", CALLS)
+                        .opsPerSecond(threads * 1e9 / nsPerCall)
+                        .counter("ns_per_call", nsPerCall)
+                        .counter("overhead_ns", nsPerCall - baseline)
+                        .submit();
+            }
+        }
+    }
+
+    private static OverheadProbeRepository proxy(OverheadProbeRepository target, DatabaseMetricsAspect aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    /** Każdy wątek wykonuje {@code calls} wywołań; @return średni czas wywołania na wątku [ns] */
+    private double run(OverheadProbeRepository probe, int threads, int calls) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch go = new CountDownLatch(1);
+        try {
+            List<Future<Long>> elapsed = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                elapsed.add(pool.submit(() -> {
+                    ready.countDown();
+                    go.await();
+                    long hits = 0;
+                    long start = System.nanoTime();
+                    for (int i = 0; i < calls; i++) {
+                        if (probe.probe() == RESULT) hits++;
+                    }
+                    long ns = System.nanoTime() - start;
+                    sink += hits;
+                    return ns;
+                }));
+            }
+            ready.await();
+            go.countDown();
+            long total = 0;
+            for (Future<Long> f : elapsed) total += f.get();
+            return (double) total / threads / calls;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Pomiar narzutu aspektu nie powiódł się", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+}
@@ -0,0 +1,168 @@
+package com.benchmarking.dbcomparison.benchmark.telemetry;
+
+import com.benchmarking.dbcomparison.benchmark.run.PhaseMetricsCollector;
+import com.benchmarking.dbcomparison.config.DatabaseMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+
+/**
+ * Skuteczność bufora bazy – przyrost odczytów bloków z pamięci i z dysku między dwiema migawkami:
+ * <ul>
+ *     <li>PostgreSQL – {@code pg_stat_database.blks_hit/blks_read} bieżącej bazy oraz per tabela
+ *     {@code pg_statio_user_tables} (heap + indeksy); backendy zgłaszają liczniki co ~1 s, więc bardzo krótkie
+ *     okna mogą być zaniżone</li>
+ *     <li>MySQL – {@code Innodb_buffer_pool_read_requests} (odczyty logiczne) i {@code Innodb_buffer_pool_reads}
+ *     (odczyty, których nie było w buforze); wartości globalne, bez podziału na tabele</li>
+ * </ul>
+ * Jako kolektor kroku dołącza wynik do {@code PhaseResult}; {@code TimeBoxedRunner} mierzy nim samo okno
+ * pomiarowe (liczniki {@code buffer_*} wyniku), co pozwala odróżnić odczyt „zimny” od „ciepłego”. Przyrosty kroków trafiają też
+ * do {@code db_cache_hits_total} (bloki trafione / chybione).
+ */
+@Slf4j
+@Component
+public class BufferCacheSampler implements PhaseMetricsCollector {
+
+    private static final int TABLE_LIMIT = 20;
+
+    private static final String PG_DATABASE =
+            "SELECT blks_hit, blks_read FROM pg_stat_database WHERE datname = current_database()";
+    private static final String PG_TABLES =
+            "SELECT relname, coalesce(heap_blks_hit, 0) + coalesce(idx_blks_hit, 0) AS hit, " +
+            "coalesce(heap_blks_read, 0) + coalesce(idx_blks_read, 0) AS rd FROM pg_statio_user_tables";
+    private static final String MYSQL_BUFFER_POOL = "SHOW GLOBAL STATUS WHERE Variable_name IN " +
+            "('Innodb_buffer_pool_read_requests', 'Innodb_buffer_pool_reads')";
+
+    @Autowired private MonitoringConnections connections;
+    @Autowired private DatabaseMetrics databaseMetrics;
+
+    @Value("${spring.profiles.active:unknown}")
+    private String activeProfile;
+
+    private volatile Boolean available;
+    private Snapshot start;
+
+    private boolean isMySql() { return activeProfile != null && activeProfile.toLowerCase().contains("mysql"); }
+    private boolean isPostgres() { return activeProfile != null && activeProfile.toLowerCase().contains("postgres"); }
+
+    @Override
+    public String name() {
+        return "bufferCache";
+    }
+
+    @Override
+    public void begin() {
+        start = snapshot();
+    }
+
+    @Override
+    public void discard() {
+        start = null;
+    }
+
+    @Override
+    public Object end() {
+        Snapshot before = start;
+        start = null;
+        if (before == null) return null;
+        BufferCacheStats stats = since(before);
+        if (stats.isAvailable()) databaseMetrics.recordBufferCache(activeProfile, stats.getBlocksHit(), stats.getBlocksRead());
+        return stats.isAvailable() ? stats : null;
+    }
+
+    /** Migawka liczników; null, gdy niedostępne (nieznany profil, brak uprawnień) albo przy błędzie przejściowym. */
+    public Snapshot snapshot() {
+        if ((!isMySql() && !isPostgres()) || Boolean.FALSE.equals(available)) return null;
+        try (Connection c = connections.open(); Statement st = c.createStatement()) {
+            Snapshot s = new Snapshot();
+            if (isPostgres()) {
+                try (ResultSet rs = st.executeQuery(PG_DATABASE)) {
+                    if (rs.next()) {
+                        s.hit = rs.getLong(1);
+                        s.read = rs.getLong(2);
+                    }
+                }
+                try (ResultSet rs = st.executeQuery(PG_TABLES)) {
+                    while (rs.next()) s.tables.put(rs.getString(1), new long[]{rs.getLong(2), rs.getLong(3)});
+                }
+            } else {
+                long requests = 0;
+                try (ResultSet rs = st.executeQuery(MYSQL_BUFFER_POOL)) {
+                    while (rs.next()) {
+                        if ("Innodb_buffer_pool_reads".equalsIgnoreCase(rs.getString(1))) s.read = rs.getLong(2);
+                        else requests = rs.getLong(2);
+                    }
+                }
+                // read_requests obejmuje też odczyty chybione – trafienia to różnica
+                s.hit = requests - s.read;
+            }
+            available = true;
+            return s;
+        } catch (SQLException e) {
+            if (MonitoringConnections.isPermanent(e)) {
+                log.warn("Liczniki bufora bazy niedostępne ({}): {}", activeProfile, e.getMessage());
+                available = false;
+            } else {
+                log.warn("Migawka bufora bazy nieudana ({}), ponowienie w następnym kroku: {}", activeProfile, e.getMessage());
+            }
+            return null;
+        }
+    }
+
+    /** Przyrost od migawki {@code before}; {@link BufferCacheStats#unavailable()} bez migawek. */
+    public BufferCacheStats since(Snapshot before) {
+        Snapshot after = before != null ? snapshot() : null;
+        if (after == null) return BufferCacheStats.unavailable();
+        List<TableCacheStats> tables = new ArrayList<>();
+        for (Map.Entry<String, long[]> e : after.tables.entrySet()) {
+            long[] b = before.tables.getOrDefault(e.getKey(), new long[2]);
+            long hit = e.getValue()[0] - b[0];
+            long read = e.getValue()[1] - b[1];
+            if (hit + read > 0) tables.add(new TableCacheStats(e.getKey(), hit, read, ratio(hit, read)));
+        }
+        tables.sort(Comparator.comparingLong((TableCacheStats t) -> t.getBlocksHit() + t.getBlocksRead()).reversed());
+        long hit = after.hit - before.hit;
+        long read = after.read - before.read;
+        return new BufferCacheStats(true, hit, read, ratio(hit, read),
+                List.copyOf(tables.subList(0, Math.min(TABLE_LIMIT, tables.size()))));
+    }
+
+    private static double ratio(long hit, long read) {
+        return hit + read > 0 ? (double) hit / (hit + read) : Double.NaN;
+    }
+
+    public static final class Snapshot {
+        long hit;
+        long read;
+        final Map<String, long[]> tables = new HashMap<>();
+    }
+
+    /** Przyrost bloków trafionych w buforze i czytanych spoza niego; {@code hitRatio} NaN bez odczytów. */
+    @lombok.Value
+    public static class BufferCacheStats {
+        boolean available;
+        long blocksHit;
+        long blocksRead;
+        double hitRatio;
+        List<TableCacheStats> tables;
+
+        public static BufferCacheStats unavailable() {
+            return new BufferCacheStats(false, -1, -1, Double.NaN, List.of());
+        }
+    }
+
+    @lombok.Value
+    public static class TableCacheStats {
+        String table;
+        long blocksHit;
+        long blocksRead;
+        double hitRatio;
+    }
+}
@@ -0,0 +1,116 @@
+package com.benchmarking.dbcomparison.benchmark.telemetry;
+
+import org.hibernate.cfg.BatchSettings;
+import org.hibernate.engine.jdbc.batch.internal.BatchBuilderImpl;
+import org.hibernate.engine.jdbc.batch.spi.Batch;
+import org.hibernate.engine.jdbc.batch.spi.BatchBuilder;
+import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.batch.spi.BatchObserver;
+import org.hibernate.engine.jdbc.mutation.JdbcValueBindings;
+import org.hibernate.engine.jdbc.mutation.TableInclusionChecker;
+import org.hibernate.engine.jdbc.mutation.group.PreparedStatementGroup;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.io.Serial;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Liczniki batchy JDBC Hibernate, których {@code Statistics} nie ma: ile razy wykonano {@code executeBatch}
+ * i ile instrukcji w nich poszło. Podpinany jako {@value BatchSettings#BUILDER} – deleguje do domyślnego
+ * {@link BatchBuilderImpl} z {@code hibernate.jdbc.batch_size}, więc zachowanie batchowania się nie zmienia.
+ * Zapis bez batcha (batch_size 1, IDENTITY) w ogóle nie przechodzi tędy.
+ */
+@Component
+public class CountingBatchBuilder implements BatchBuilder, HibernatePropertiesCustomizer {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedStatements = new LongAdder();
+    private volatile BatchBuilderImpl delegate = new BatchBuilderImpl(1);
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        delegate = new BatchBuilderImpl(ConfigurationHelper.getInt(BatchSettings.STATEMENT_BATCH_SIZE, hibernateProperties, 1));
+        hibernateProperties.put(BatchSettings.BUILDER, this);
+    }
+
+    @Override
+    public Batch buildBatch(BatchKey key, Integer batchSize, Supplier<PreparedStatementGroup> statementGroupSupplier,
+                            JdbcCoordinator jdbcCoordinator) {
+        return new CountingBatch(delegate.buildBatch(key, batchSize, statementGroupSupplier, jdbcCoordinator));
+    }
+
+    public long batches() {
+        return batches.sum();
+    }
+
+    public long batchedStatements() {
+        return batchedStatements.sum();
+    }
+
+    /** Liczy wiersze dodane od ostatniego wykonania; wykonanie (jawne lub po zapełnieniu) zgłasza obserwator. */
+    private final class CountingBatch implements Batch, BatchObserver {
+        private final Batch batch;
+        private int pending;
+
+        CountingBatch(Batch batch) {
+            this.batch = batch;
+            batch.addObserver(this);
+        }
+
+        @Override
+        public void addToBatch(JdbcValueBindings jdbcValueBindings, TableInclusionChecker inclusionChecker) {
+            pending++;
+            batch.addToBatch(jdbcValueBindings, inclusionChecker);
+        }
+
+        @Override
+        public void batchExplicitlyExecuted() {
+            executed();
+        }
+
+        @Override
+        public void batchImplicitlyExecuted() {
+            executed();
+        }
+
+        private void executed() {
+            if (pending == 0) return;
+            batches.increment();
+            batchedStatements.add(pending);
+            pending = 0;
+        }
+
+        @Override
+        public BatchKey getKey() {
+            return batch.getKey();
+        }
+
+        @Override
+        public void addObserver(BatchObserver observer) {
+            batch.addObserver(observer);
+        }
+
+        @Override
+        public PreparedStatementGroup getStatementGroup() {
+            return batch.getStatementGroup();
+        }
+
+        @Override
+        public void execute() {
+            batch.execute();
+        }
+
+        @Override
+        public void release() {
+            batch.release();
+        }
+    }
+}
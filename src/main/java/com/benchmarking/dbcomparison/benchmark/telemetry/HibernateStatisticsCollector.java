@@ -0,0 +1,133 @@
+package com.benchmarking.dbcomparison.benchmark.telemetry;
+
+import com.benchmarking.dbcomparison.benchmark.run.PhaseMetricsCollector;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Przyrosty {@link Statistics} Hibernate w kroku przebiegu ({@code hibernate.generate_statistics: true}):
+ * zapisy encji, ładowania i dociągnięcia (fetch – leniwe encje / kolekcje, czyli N+1), zapytania,
+ * przygotowane instrukcje, flushe, cache drugiego poziomu oraz batche JDBC z {@link CountingBatchBuilder}.
+ * {@code unbatchedWrites} to zapisy encji, które nie poszły w batchu (IDENTITY, {@code order_inserts: false}
+ * przy przeplatanych encjach, batch_size 1).
+ */
+@Slf4j
+@Component
+public class HibernateStatisticsCollector implements PhaseMetricsCollector {
+
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private CountingBatchBuilder batchBuilder;
+
+    private Snapshot start;
+    private boolean warned;
+
+    @Override
+    public String name() {
+        return "hibernate";
+    }
+
+    @Override
+    public void begin() {
+        start = snapshot();
+    }
+
+    @Override
+    public void discard() {
+        start = null;
+    }
+
+    @Override
+    public Object end() {
+        Snapshot before = start;
+        start = null;
+        Snapshot after = snapshot();
+        return before != null && after != null ? diff(before, after) : null;
+    }
+
+    private Snapshot snapshot() {
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!stats.isStatisticsEnabled()) {
+            if (!warned) log.warn("Statystyki Hibernate wyłączone (hibernate.generate_statistics) – brak metryk kroku");
+            warned = true;
+            return null;
+        }
+        return new Snapshot(
+                stats.getEntityInsertCount(), stats.getEntityUpdateCount(), stats.getEntityDeleteCount(),
+                stats.getEntityLoadCount(), stats.getEntityFetchCount(),
+                stats.getCollectionLoadCount(), stats.getCollectionFetchCount(),
+                stats.getQueryExecutionCount(), stats.getPrepareStatementCount(), stats.getFlushCount(),
+                stats.getTransactionCount(), stats.getOptimisticFailureCount(),
+                stats.getSecondLevelCacheHitCount(), stats.getSecondLevelCacheMissCount(),
+                stats.getQueryCacheHitCount(), stats.getQueryCacheMissCount(),
+                batchBuilder.batches(), batchBuilder.batchedStatements());
+    }
+
+    static HibernatePhaseStats diff(Snapshot b, Snapshot a) {
+        long inserts = a.entityInserts - b.entityInserts;
+        long updates = a.entityUpdates - b.entityUpdates;
+        long deletes = a.entityDeletes - b.entityDeletes;
+        long batches = a.jdbcBatches - b.jdbcBatches;
+        long batched = a.batchedStatements - b.batchedStatements;
+        return new HibernatePhaseStats(
+                inserts, updates, deletes,
+                a.entityLoads - b.entityLoads, a.entityFetches - b.entityFetches,
+                a.collectionLoads - b.collectionLoads, a.collectionFetches - b.collectionFetches,
+                a.queries - b.queries, a.preparedStatements - b.preparedStatements, a.flushes - b.flushes,
+                a.transactions - b.transactions, a.optimisticFailures - b.optimisticFailures,
+                a.secondLevelCacheHits - b.secondLevelCacheHits, a.secondLevelCacheMisses - b.secondLevelCacheMisses,
+                a.queryCacheHits - b.queryCacheHits, a.queryCacheMisses - b.queryCacheMisses,
+                batches, batched, batches > 0 ? (double) batched / batches : 0,
+                Math.max(0, inserts + updates + deletes - batched));
+    }
+
+    @lombok.Value
+    static class Snapshot {
+        long entityInserts;
+        long entityUpdates;
+        long entityDeletes;
+        long entityLoads;
+        long entityFetches;
+        long collectionLoads;
+        long collectionFetches;
+        long queries;
+        long preparedStatements;
+        long flushes;
+        long transactions;
+        long optimisticFailures;
+        long secondLevelCacheHits;
+        long secondLevelCacheMisses;
+        long queryCacheHits;
+        long queryCacheMisses;
+        long jdbcBatches;
+        long batchedStatements;
+    }
+
+    /** Wynik kroku – przyrosty liczników; {@code avgBatchSize} = instrukcje w batchach / liczba batchy. */
+    @lombok.Value
+    public static class HibernatePhaseStats {
+        long entityInserts;
+        long entityUpdates;
+        long entityDeletes;
+        long entityLoads;
+        long entityFetches;
+        long collectionLoads;
+        long collectionFetches;
+        long queries;
+        long preparedStatements;
+        long flushes;
+        long transactions;
+        long optimisticFailures;
+        long secondLevelCacheHits;
+        long secondLevelCacheMisses;
+        long queryCacheHits;
+        long queryCacheMisses;
+        long jdbcBatches;
+        long batchedStatements;
+        double avgBatchSize;
+        long unbatchedWrites;
+    }
+}
@@ -0,0 +1,222 @@
+package com.benchmarking.dbcomparison.benchmark.telemetry;
+
+import com.benchmarking.dbcomparison.benchmark.run.PhaseMetricsCollector;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
+/**
+ * Telemetria puli HikariCP dla kroku przebiegu:
+ * <ul>
+ *     <li>stan puli z {@link HikariPoolMXBean} próbkowany co {@value #SAMPLE_MS} ms w trakcie kroku
+ *     (średnie i maksima aktywnych / bezczynnych połączeń i wątków czekających)</li>
+ *     <li>czas pozyskania i użycia połączenia oraz timeouty z trackera Micrometera, który Spring Boot podpina
+ *     pod Hikari ({@code hikaricp.connections.*}) – przyrost od początku kroku; p99 z kubełków histogramu
+ *     ({@code management.metrics.distribution.percentiles-histogram} w application.yml)</li>
+ * </ul>
+ * Rejestruje też prawdziwe {@code db_connections_active/idle/pending} zamiast wartości wpisanej na sztywno.
+ */
+@Slf4j
+@Component
+public class HikariPoolTelemetry implements PhaseMetricsCollector {
+
+    private static final long SAMPLE_MS = 100;
+
+    @Autowired private DataSource dataSource;
+    @Autowired private MeterRegistry meterRegistry;
+
+    @Value("${spring.profiles.active:unknown}")
+    private String activeProfile;
+
+    private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "hikari-sampler");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private HikariDataSource hikari;
+
+    // stan kroku – begin/end na wątku przebiegu, próbki z wątku samplera
+    private ScheduledFuture<?> sampling;
+    private final PoolSamples samples = new PoolSamples();
+    private MeterTotals start;
+
+    @PostConstruct
+    void init() {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) hikari = dataSource.unwrap(HikariDataSource.class);
+        } catch (SQLException e) {
+            log.warn("Nie udało się pobrać HikariDataSource: {}", e.getMessage());
+        }
+        if (hikari == null) return;
+        gauge("db_connections_active", HikariPoolMXBean::getActiveConnections);
+        gauge("db_connections_idle", HikariPoolMXBean::getIdleConnections);
+        gauge("db_connections_pending", HikariPoolMXBean::getThreadsAwaitingConnection);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sampler.shutdownNow();
+    }
+
+    private void gauge(String name, ToIntFunction<HikariPoolMXBean> value) {
+        Gauge.builder(name, this, t -> {
+                    HikariPoolMXBean pool = t.pool();
+                    return pool != null ? value.applyAsInt(pool) : Double.NaN;
+                })
+                .tags("database", activeProfile, "application", "db-comparison")
+                .register(meterRegistry);
+    }
+
+    /** null do pierwszego pobrania połączenia (pula startuje leniwie). */
+    HikariPoolMXBean pool() {
+        return hikari != null ? hikari.getHikariPoolMXBean() : null;
+    }
+
+    @Override
+    public String name() {
+        return "pool";
+    }
+
+    @Override
+    public void begin() {
+        if (hikari == null) return;
+        samples.reset();
+        start = MeterTotals.read(meterRegistry, hikari.getPoolName());
+        sampling = sampler.scheduleAtFixedRate(this::sample, 0, SAMPLE_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private void sample() {
+        HikariPoolMXBean pool = pool();
+        if (pool != null) samples.add(pool.getActiveConnections(), pool.getIdleConnections(), pool.getThreadsAwaitingConnection());
+    }
+
+    @Override
+    public Object end() {
+        if (hikari == null || sampling == null) return null;
+        sampling.cancel(false);
+        sampling = null;
+        sample();
+        MeterTotals now = MeterTotals.read(meterRegistry, hikari.getPoolName());
+        long acquires = now.acquireCount - start.acquireCount;
+        long uses = now.usageCount - start.usageCount;
+        return new PoolPhaseStats(
+                hikari.getMaximumPoolSize(),
+                samples.avg(0), samples.max(0),
+                samples.avg(1),
+                samples.avg(2), samples.max(2),
+                acquires,
+                acquires > 0 ? (now.acquireNanos - start.acquireNanos) / 1e6 / acquires : 0,
+                percentileMs(start.acquireBuckets, now.acquireBuckets, 0.99),
+                uses > 0 ? (now.usageNanos - start.usageNanos) / 1e6 / uses : 0,
+                (long) (now.timeouts - start.timeouts));
+    }
+
+    /** Percentyl z przyrostu kubełków (górna granica kubełka); NaN bez histogramu lub pomiarów. */
+    static double percentileMs(CountAtBucket[] before, CountAtBucket[] after, double p) {
+        if (after == null || after.length == 0) return Double.NaN;
+        double total = after[after.length - 1].count() - count(before, after.length - 1);
+        if (total <= 0) return Double.NaN;
+        for (int i = 0; i < after.length; i++) {
+            double cumulative = after[i].count() - count(before, i);
+            if (cumulative >= p * total) return after[i].bucket(TimeUnit.MILLISECONDS);
+        }
+        return after[after.length - 1].bucket(TimeUnit.MILLISECONDS);
+    }
+
+    private static double count(CountAtBucket[] buckets, int i) {
+        return buckets != null && i < buckets.length ? buckets[i].count() : 0;
+    }
+
+    /** Wynik kroku: średnie/maksima z próbek MXBean i przyrosty liczników trackera. */
+    @lombok.Value
+    public static class PoolPhaseStats {
+        int maxPoolSize;
+        double activeAvg;
+        int activeMax;
+        double idleAvg;
+        double pendingAvg;
+        int pendingMax;
+        long acquires;
+        double acquireMeanMs;
+        double acquireP99Ms;
+        double usageMeanMs;
+        long timeouts;
+    }
+
+    private static final class MeterTotals {
+        long acquireCount;
+        double acquireNanos;
+        CountAtBucket[] acquireBuckets;
+        long usageCount;
+        double usageNanos;
+        double timeouts;
+
+        static MeterTotals read(MeterRegistry registry, String poolName) {
+            MeterTotals t = new MeterTotals();
+            Timer acquire = registry.find("hikaricp.connections.acquire").tag("pool", poolName).timer();
+            if (acquire != null) {
+                t.acquireCount = acquire.count();
+                t.acquireNanos = acquire.totalTime(TimeUnit.NANOSECONDS);
+                t.acquireBuckets = acquire.takeSnapshot().histogramCounts();
+            }
+            Timer usage = registry.find("hikaricp.connections.usage").tag("pool", poolName).timer();
+            if (usage != null) {
+                t.usageCount = usage.count();
+                t.usageNanos = usage.totalTime(TimeUnit.NANOSECONDS);
+            }
+            Counter timeouts = registry.find("hikaricp.connections.timeout").tag("pool", poolName).counter();
+            if (timeouts != null) t.timeouts = timeouts.count();
+            return t;
+        }
+    }
+
+    /** Sumy i maksima próbek (aktywne, bezczynne, czekające) – zapis z wątku samplera, odczyt po jego zatrzymaniu. */
+    private static final class PoolSamples {
+        private final long[] sum = new long[3];
+        private final int[] max = new int[3];
+        private int n;
+
+        synchronized void reset() {
+            Arrays.fill(sum, 0);
+            Arrays.fill(max, 0);
+            n = 0;
+        }
+
+        synchronized void add(int active, int idle, int pending) {
+            int[] v = {active, idle, pending};
+            for (int i = 0; i < 3; i++) {
+                sum[i] += v[i];
+                max[i] = Math.max(max[i], v[i]);
+            }
+            n++;
+        }
+
+        synchronized double avg(int i) {
+            return n > 0 ? (double) sum[i] / n : 0;
+        }
+
+        synchronized int max(int i) {
+            return max[i];
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.benchmarking.dbcomparison.benchmark.telemetry;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Owija DataSource (Hikari) w proxy liczące wywołania JDBC do {@link JdbcStatementStats}: połączenie → instrukcje
+ * (z tekstem SQL z {@code prepareStatement}) → wyniki. Odwołania wstecz ({@code Statement.getConnection()},
+ * {@code ResultSet.getStatement()}) zwracają proxy, {@code equals} / {@code hashCode} działają po tożsamości proxy.
+ * Wszystko inne, łącznie z {@code unwrap} / {@code isWrapperFor} (telemetria Hikari, COPY, LOAD DATA), przechodzi
+ * do obiektów sterownika bez zmian.
+ * <p>
+ * Domyślnie wyłączone – każde wywołanie JDBC, także gettery {@code ResultSet}, idzie przez refleksję, co zawyża
+ * czasy w trybie, którego nie obejmuje pomiar narzutu aspektu. {@code benchmark.jdbcProxyEnabled=true} włącza proxy
+ * (czytane przy starcie).
+ */
+@Slf4j
+@Component
+public class JdbcProxyPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<JdbcStatementStats> statsProvider;
+    // leniwie – post-processor powstaje przed zwykłymi beanami
+    private volatile JdbcStatementStats stats;
+
+    @Value("${benchmark.jdbcProxyEnabled:false}")
+    private boolean enabled;
+
+    public JdbcProxyPostProcessor(ObjectProvider<JdbcStatementStats> statsProvider) {
+        this.statsProvider = statsProvider;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!enabled || !(bean instanceof DataSource dataSource) || isWrapped(bean)) return bean;
+        log.info("Liczniki JDBC: proxy na DataSource {}", beanName);
+        Class<?>[] interfaces = bean instanceof Closeable
+                ? new Class<?>[]{DataSource.class, Closeable.class}
+                : new Class<?>[]{DataSource.class};
+        return Proxy.newProxyInstance(getClass().getClassLoader(), interfaces, new DataSourceHandler(dataSource));
+    }
+
+    private static boolean isWrapped(Object bean) {
+        return Proxy.isProxyClass(bean.getClass()) && Proxy.getInvocationHandler(bean) instanceof DataSourceHandler;
+    }
+
+    private JdbcStatementStats stats() {
+        JdbcStatementStats s = stats;
+        if (s == null) stats = s = statsProvider.getObject();
+        return s;
+    }
+
+    /** {@code equals} / {@code hashCode} z {@link Object} – delegowane porównywałyby proxy z obiektem sterownika. */
+    private static boolean isIdentityMethod(Method method) {
+        return method.getDeclaringClass() == Object.class && !"toString".equals(method.getName());
+    }
+
+    private static Object identity(Object proxy, Method method, Object[] args) {
+        return "equals".equals(method.getName()) ? proxy == args[0] : System.identityHashCode(proxy);
+    }
+
+    private static Object call(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class DataSourceHandler implements InvocationHandler {
+        private final DataSource target;
+
+        DataSourceHandler(DataSource target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isIdentityMethod(method)) return identity(proxy, method, args);
+            Object result = call(target, method, args);
+            if (result instanceof Connection c && "getConnection".equals(method.getName())) {
+                return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class}, new ConnectionHandler(c));
+            }
+            return result;
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+        private final long openedNanos = System.nanoTime();
+        private boolean closed;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isIdentityMethod(method)) return identity(proxy, method, args);
+            switch (method.getName()) {
+                case "createStatement", "prepareStatement", "prepareCall" -> {
+                    Object statement = call(target, method, args);
+                    String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                    return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{statementInterface(method.getReturnType())},
+                            new StatementHandler((Statement) statement, sql, (Connection) proxy));
+                }
+                case "commit", "rollback" -> {
+                    long start = System.nanoTime();
+                    Object result = call(target, method, args);
+                    stats().recordTransactionEnd("commit".equals(method.getName()), System.nanoTime() - start);
+                    return result;
+                }
+                case "close" -> {
+                    if (!closed) {
+                        closed = true;
+                        stats().recordConnection(System.nanoTime() - openedNanos);
+                    }
+                    return call(target, method, args);
+                }
+                default -> {
+                    return call(target, method, args);
+                }
+            }
+        }
+
+        private Class<?> statementInterface(Class<?> returnType) {
+            if (returnType == CallableStatement.class) return CallableStatement.class;
+            if (returnType == PreparedStatement.class) return PreparedStatement.class;
+            return Statement.class;
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String sql;
+        private final Connection connection;
+        // Statement.addBatch(sql) – pierwszy tekst jako odcisk batcha
+        private String batchSql;
+        private int pendingBatch;
+
+        StatementHandler(Statement target, String sql, Connection connection) {
+            this.target = target;
+            this.sql = sql;
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isIdentityMethod(method)) return identity(proxy, method, args);
+            switch (method.getName()) {
+                case "execute", "executeQuery", "executeUpdate", "executeLargeUpdate" -> {
+                    String text = args != null && args.length > 0 && args[0] instanceof String s ? s : sql;
+                    long start = System.nanoTime();
+                    Object result = call(target, method, args);
+                    long rows = result instanceof Number n ? n.longValue() : -1;
+                    stats().recordExecute(text, System.nanoTime() - start, rows);
+                    return result instanceof ResultSet rs ? resultSet(rs, (Statement) proxy) : result;
+                }
+                case "addBatch" -> {
+                    pendingBatch++;
+                    if (batchSql == null && args != null && args.length > 0 && args[0] instanceof String s) batchSql = s;
+                    return call(target, method, args);
+                }
+                case "clearBatch" -> {
+                    pendingBatch = 0;
+                    batchSql = null;
+                    return call(target, method, args);
+                }
+                case "executeBatch", "executeLargeBatch" -> {
+                    int size = pendingBatch;
+                    String text = sql != null ? sql : batchSql;
+                    pendingBatch = 0;
+                    batchSql = null;
+                    long start = System.nanoTime();
+                    Object result = call(target, method, args);
+                    stats().recordBatch(text, size, counts(result), System.nanoTime() - start);
+                    return result;
+                }
+                case "getResultSet", "getGeneratedKeys" -> {
+                    Object result = call(target, method, args);
+                    return result instanceof ResultSet rs ? resultSet(rs, (Statement) proxy) : result;
+                }
+                case "getConnection" -> {
+                    return connection;
+                }
+                default -> {
+                    return call(target, method, args);
+                }
+            }
+        }
+
+        private long[] counts(Object result) {
+            if (result instanceof long[] l) return l;
+            int[] ints = (int[]) result;
+            long[] l = new long[ints.length];
+            for (int i = 0; i < ints.length; i++) l[i] = ints[i];
+            return l;
+        }
+    }
+
+    private ResultSet resultSet(ResultSet target, Statement statement) {
+        return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    if (isIdentityMethod(method)) return identity(proxy, method, args);
+                    if ("getStatement".equals(method.getName())) return statement;
+                    if (!"next".equals(method.getName())) return call(target, method, args);
+                    long start = System.nanoTime();
+                    Object hasRow = call(target, method, args);
+                    stats().recordFetch(System.nanoTime() - start, Boolean.TRUE.equals(hasRow));
+                    return hasRow;
+                });
+    }
+}
@@ -0,0 +1,266 @@
+package com.benchmarking.dbcomparison.benchmark.telemetry;
+
+import com.benchmarking.dbcomparison.benchmark.run.PhaseMetricsCollector;
+import org.springframework.stereotype.Component;
+
+import java.sql.Statement;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Liczniki warstwy JDBC zbierane przez proxy z {@link JdbcProxyPostProcessor}: round tripy (execute*, executeBatch,
+ * commit/rollback), rozmiary batchy, wiersze zmienione i pobrane, czas w sterowniku oraz czas trzymania połączenia
+ * (różnica to czas aplikacji/ORM z pobranym połączeniem). Batch, którego wszystkie wyniki to
+ * {@link Statement#SUCCESS_NO_INFO}, liczony jest jako przepisany przez sterownik ({@code rewriteBatchedStatements} /
+ * {@code reWriteBatchedInserts}). Instrukcje grupowane po odcisku – SQL bez literałów, listy {@code (?, ?, ...)}
+ * zwinięte do {@code (?+)}. Połączenia monitoringu ({@link MonitoringConnections}) idą poza pulą i nie są liczone.
+ */
+@Component
+public class JdbcStatementStats implements PhaseMetricsCollector {
+
+    private static final int TOP = 20;
+    private static final int MAX_FINGERPRINTS = 1000;
+    private static final int FINGERPRINT_LIMIT = 300;
+    private static final String OTHER = "(inne)";
+
+    // indeksy w tablicy z Counters.read()
+    private static final int EXECUTES = 0;
+    private static final int BATCHES = 1;
+    private static final int BATCHED_STATEMENTS = 2;
+    private static final int ROWS = 3;
+    private static final int NANOS = 4;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern PARAM_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern ROW_LIST = Pattern.compile("\\(\\?\\+\\)(?:\\s*,\\s*\\(\\?\\+\\))+");
+
+    private final Counters totals = new Counters();
+    private final LongAdder commits = new LongAdder();
+    private final LongAdder rollbacks = new LongAdder();
+    private final LongAdder rowsFetched = new LongAdder();
+    private final LongAdder fetchNanos = new LongAdder();
+    private final LongAdder transactionNanos = new LongAdder();
+    private final LongAdder connections = new LongAdder();
+    private final LongAdder connectionNanos = new LongAdder();
+    private final LongAdder rewrittenBatches = new LongAdder();
+    private final AtomicLong maxBatchSize = new AtomicLong();
+
+    private final Map<String, Counters> byFingerprint = new ConcurrentHashMap<>();
+    private final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+
+    private Snapshot start;
+
+    @Override
+    public String name() {
+        return "jdbc";
+    }
+
+    @Override
+    public void begin() {
+        maxBatchSize.set(0);
+        start = snapshot();
+    }
+
+    @Override
+    public void discard() {
+        start = null;
+    }
+
+    @Override
+    public Object end() {
+        Snapshot before = start;
+        start = null;
+        return before != null ? diff(before, snapshot()) : null;
+    }
+
+    /* ------------ zapis z proxy ------------ */
+
+    void recordExecute(String sql, long nanos, long rows) {
+        Counters c = counters(sql);
+        c.executes.increment();
+        c.nanos.add(nanos);
+        if (rows > 0) c.rows.add(rows);
+        totals.executes.increment();
+        totals.nanos.add(nanos);
+        if (rows > 0) totals.rows.add(rows);
+    }
+
+    void recordBatch(String sql, int size, long[] results, long nanos) {
+        long rows = 0;
+        boolean rewritten = results.length > 0;
+        for (long r : results) {
+            if (r > 0) rows += r;
+            if (r != Statement.SUCCESS_NO_INFO) rewritten = false;
+        }
+        Counters c = counters(sql);
+        c.batches.increment();
+        c.batchedStatements.add(size);
+        c.nanos.add(nanos);
+        c.rows.add(rows);
+        totals.batches.increment();
+        totals.batchedStatements.add(size);
+        totals.nanos.add(nanos);
+        totals.rows.add(rows);
+        if (rewritten) rewrittenBatches.increment();
+        maxBatchSize.accumulateAndGet(size, Math::max);
+    }
+
+    void recordFetch(long nanos, boolean row) {
+        fetchNanos.add(nanos);
+        if (row) rowsFetched.increment();
+    }
+
+    void recordTransactionEnd(boolean commit, long nanos) {
+        (commit ? commits : rollbacks).increment();
+        transactionNanos.add(nanos);
+    }
+
+    void recordConnection(long heldNanos) {
+        connections.increment();
+        connectionNanos.add(heldNanos);
+    }
+
+    private Counters counters(String sql) {
+        String fingerprint = fingerprint(sql);
+        Counters c = byFingerprint.get(fingerprint);
+        if (c != null) return c;
+        if (byFingerprint.size() >= MAX_FINGERPRINTS) return byFingerprint.computeIfAbsent(OTHER, k -> new Counters());
+        return byFingerprint.computeIfAbsent(fingerprint, k -> new Counters());
+    }
+
+    /** Odcisk liczony raz na tekst SQL (przygotowane instrukcje Hibernate powtarzają ten sam tekst). */
+    String fingerprint(String sql) {
+        if (sql == null) return OTHER;
+        String cached = fingerprints.get(sql);
+        if (cached != null) return cached;
+        if (fingerprints.size() >= MAX_FINGERPRINTS * 10) fingerprints.clear();
+        String f = STRING_LITERAL.matcher(sql).replaceAll("?");
+        f = NUMBER.matcher(f).replaceAll("?");
+        f = WHITESPACE.matcher(f).replaceAll(" ").trim();
+        f = PARAM_LIST.matcher(f).replaceAll("(?+)");
+        f = ROW_LIST.matcher(f).replaceAll("(?+)+");
+        if (f.length() > FINGERPRINT_LIMIT) f = f.substring(0, FINGERPRINT_LIMIT) + "…";
+        fingerprints.put(sql, f);
+        return f;
+    }
+
+    /* ------------ migawki ------------ */
+
+    private Snapshot snapshot() {
+        Snapshot s = new Snapshot();
+        s.totals = totals.read();
+        s.commits = commits.sum();
+        s.rollbacks = rollbacks.sum();
+        s.rowsFetched = rowsFetched.sum();
+        s.fetchNanos = fetchNanos.sum();
+        s.transactionNanos = transactionNanos.sum();
+        s.connections = connections.sum();
+        s.connectionNanos = connectionNanos.sum();
+        s.rewrittenBatches = rewrittenBatches.sum();
+        byFingerprint.forEach((f, c) -> s.statements.put(f, c.read()));
+        return s;
+    }
+
+    private JdbcPhaseStats diff(Snapshot b, Snapshot a) {
+        long[] t = minus(a.totals, b.totals);
+        long commitCount = a.commits - b.commits;
+        long rollbackCount = a.rollbacks - b.rollbacks;
+        long statements = t[EXECUTES] + t[BATCHED_STATEMENTS];
+        double driverMs = (t[NANOS] + a.fetchNanos - b.fetchNanos + a.transactionNanos - b.transactionNanos) / 1e6;
+        double heldMs = (a.connectionNanos - b.connectionNanos) / 1e6;
+
+        List<JdbcStatementDelta> top = new ArrayList<>();
+        for (Map.Entry<String, long[]> e : a.statements.entrySet()) {
+            long[] d = minus(e.getValue(), b.statements.getOrDefault(e.getKey(), new long[Counters.FIELDS]));
+            if (d[EXECUTES] + d[BATCHES] == 0) continue;
+            top.add(new JdbcStatementDelta(e.getKey(), d[EXECUTES], d[BATCHES], d[BATCHED_STATEMENTS], d[ROWS], d[NANOS] / 1e6));
+        }
+        top.sort(Comparator.comparingDouble(JdbcStatementDelta::getDriverMs).reversed());
+
+        return new JdbcPhaseStats(
+                t[EXECUTES] + t[BATCHES] + commitCount + rollbackCount,
+                t[EXECUTES], t[BATCHES], t[BATCHED_STATEMENTS],
+                t[BATCHES] > 0 ? (double) t[BATCHED_STATEMENTS] / t[BATCHES] : 0,
+                maxBatchSize.get(), a.rewrittenBatches - b.rewrittenBatches,
+                commitCount, rollbackCount,
+                t[ROWS], a.rowsFetched - b.rowsFetched,
+                statements > 0 ? (double) (t[ROWS] + a.rowsFetched - b.rowsFetched) / statements : 0,
+                driverMs, heldMs, Math.max(0, heldMs - driverMs),
+                a.connections - b.connections,
+                List.copyOf(top.subList(0, Math.min(TOP, top.size()))));
+    }
+
+    private static long[] minus(long[] a, long[] b) {
+        long[] d = new long[a.length];
+        for (int i = 0; i < a.length; i++) d[i] = a[i] - b[i];
+        return d;
+    }
+
+    private static final class Counters {
+        static final int FIELDS = 5;
+
+        final LongAdder executes = new LongAdder();
+        final LongAdder batches = new LongAdder();
+        final LongAdder batchedStatements = new LongAdder();
+        final LongAdder rows = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+
+        long[] read() {
+            return new long[]{executes.sum(), batches.sum(), batchedStatements.sum(), rows.sum(), nanos.sum()};
+        }
+    }
+
+    private static final class Snapshot {
+        long[] totals;
+        long commits;
+        long rollbacks;
+        long rowsFetched;
+        long fetchNanos;
+        long transactionNanos;
+        long connections;
+        long connectionNanos;
+        long rewrittenBatches;
+        final Map<String, long[]> statements = new HashMap<>();
+    }
+
+    /** Jedna instrukcja (odcisk) w kroku; {@code rows} – wiersze zmienione przez execute/batch. */
+    @lombok.Value
+    public static class JdbcStatementDelta {
+        String fingerprint;
+        long executes;
+        long batchExecutes;
+        long batchedStatements;
+        long rows;
+        double driverMs;
+    }
+
+    /**
+     * Wynik kroku. {@code driverMs} – suma czasów wywołań sterownika (execute*, executeBatch, next() wyniku,
+     * commit/rollback) ze wszystkich wątków; {@code appWithConnectionMs} – reszta czasu trzymania połączeń.
+     */
+    @lombok.Value
+    public static class JdbcPhaseStats {
+        long roundTrips;
+        long executes;
+        long batchExecutes;
+        long batchedStatements;
+        double avgBatchSize;
+        long maxBatchSize;
+        long rewrittenBatches;
+        long commits;
+        long rollbacks;
+        long rowsAffected;
+        long rowsFetched;
+        double rowsPerStatement;
+        double driverMs;
+        double connectionHeldMs;
+        double appWithConnectionMs;
+        long connections;
+        List<JdbcStatementDelta> top;
+    }
+}
@@ -0,0 +1,276 @@
+package com.benchmarking.dbcomparison.benchmark.telemetry;
+
+import com.benchmarking.dbcomparison.benchmark.run.PhaseMetricsCollector;
+import com.benchmarking.dbcomparison.config.BenchmarkConfig;
+import com.benchmarking.dbcomparison.config.DatabaseMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prawdziwe oczekiwania na blokady, próbkowane z widoków bazy co {@code benchmark.lockSampleIntervalMs}:
+ * <ul>
+ *     <li>PostgreSQL – nieprzyznane wpisy {@code pg_locks} złączone z {@code pg_stat_activity} (typ i tryb blokady,
+ *     {@code waitstart}), licznik {@code deadlocks} z {@code pg_stat_database}</li>
+ *     <li>MySQL – {@code performance_schema.data_lock_waits} + {@code data_locks} (typ i tryb), wiek oczekiwania
+ *     z {@code INNODB_TRX.trx_wait_started}, liczniki {@code Innodb_row_lock_waits/time} i {@code lock_deadlocks}</li>
+ * </ul>
+ * Oczekiwanie widziane w kolejnych próbkach kończy się, gdy zniknie z widoku – wtedy jego najdłuższy widziany
+ * czas trafia do {@code db_lock_wait_seconds} (dolne oszacowanie, krótsze od interwału mogą umknąć;
+ * pełną liczbę i czas w MySQL dają liczniki Innodb_row_lock_*).
+ * <p>
+ * Sesję otwiera krok przebiegu (jako {@link PhaseMetricsCollector}) albo test bezpośrednio przez {@link #open()}.
+ */
+@Slf4j
+@Component
+public class LockWaitSampler implements PhaseMetricsCollector {
+
+    private static final String PG_WAITS =
+            "SELECT l.pid || '@' || COALESCE(l.waitstart, a.query_start) AS id, l.locktype || ':' || l.mode AS lock_type, " +
+            "EXTRACT(EPOCH FROM (clock_timestamp() - COALESCE(l.waitstart, a.query_start))) * 1000 AS wait_ms " +
+            "FROM pg_locks l JOIN pg_stat_activity a ON a.pid = l.pid " +
+            "WHERE NOT l.granted AND a.datname = current_database()";
+    private static final String MYSQL_WAITS =
+            "SELECT CONCAT(w.REQUESTING_ENGINE_TRANSACTION_ID, '@', COALESCE(t.trx_wait_started, '')) AS id, " +
+            "CONCAT(l.LOCK_TYPE, ':', l.LOCK_MODE) AS lock_type, " +
+            "TIMESTAMPDIFF(MICROSECOND, t.trx_wait_started, NOW(6)) / 1000 AS wait_ms " +
+            "FROM performance_schema.data_lock_waits w " +
+            "JOIN performance_schema.data_locks l ON l.ENGINE_LOCK_ID = w.REQUESTING_ENGINE_LOCK_ID " +
+            "LEFT JOIN information_schema.INNODB_TRX t ON t.trx_id = w.REQUESTING_ENGINE_TRANSACTION_ID " +
+            "WHERE l.OBJECT_SCHEMA = DATABASE()";
+
+    @Autowired private MonitoringConnections connections;
+    @Autowired private DatabaseMetrics databaseMetrics;
+    @Autowired private BenchmarkConfig benchmarkConfig;
+    @Autowired private MeterRegistry meterRegistry;
+
+    @Value("${spring.profiles.active:unknown}")
+    private String activeProfile;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "lock-sampler");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private Session phaseSession;
+
+    private boolean isMySql() { return activeProfile != null && activeProfile.toLowerCase().contains("mysql"); }
+    private boolean isPostgres() { return activeProfile != null && activeProfile.toLowerCase().contains("postgres"); }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public String name() {
+        return "locks";
+    }
+
+    @Override
+    public void begin() {
+        phaseSession = open();
+    }
+
+    @Override
+    public Object end() {
+        Session s = phaseSession;
+        phaseSession = null;
+        return s != null ? s.stop() : null;
+    }
+
+    /** Rozpoczyna próbkowanie; null, gdy profil nie jest MySQL/PostgreSQL albo baza jest niedostępna. */
+    public Session open() {
+        if (!isMySql() && !isPostgres()) return null;
+        try {
+            Session s = new Session(connections.open());
+            long interval = Math.max(10, benchmarkConfig.getLockSampleIntervalMs());
+            s.task = scheduler.scheduleAtFixedRate(s::sampleQuietly, 0, interval, TimeUnit.MILLISECONDS);
+            return s;
+        } catch (SQLException e) {
+            log.warn("Próbkowanie blokad niedostępne: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Jedna sesja próbkowania – własne połączenie monitorujące, liczniki od otwarcia.
+     * Otwierana w try-with-resources, żeby wyjątek testu nie zostawił połączenia i zadania próbkującego.
+     */
+    public final class Session implements AutoCloseable {
+
+        private final Connection connection;
+        private final Map<String, long[]> startCounters;
+        private ScheduledFuture<?> task;
+
+        // id oczekiwania -> (typ blokady, najdłuższy widziany czas)
+        private final Map<String, Map.Entry<String, Double>> open = new HashMap<>();
+        private final Map<String, Integer> waitsByType = new TreeMap<>();
+        private int samples;
+        private long waitingSum;
+        private int waitingMax;
+        private long finished;
+        private double finishedSumMs;
+        private double finishedMaxMs;
+        private boolean sampleFailed;
+        private boolean stopped;
+        private LockPhaseStats result;
+
+        private Session(Connection connection) throws SQLException {
+            this.connection = connection;
+            this.startCounters = counters();
+        }
+
+        private void sampleQuietly() {
+            try {
+                sample();
+            } catch (SQLException e) {
+                if (!sampleFailed) log.warn("Błąd próbkowania blokad (kolejne pomijane w logu): {}", e.getMessage());
+                sampleFailed = true;
+            }
+        }
+
+        private synchronized void sample() throws SQLException {
+            Map<String, Map.Entry<String, Double>> current = new HashMap<>();
+            try (Statement st = connection.createStatement();
+                 ResultSet rs = st.executeQuery(isMySql() ? MYSQL_WAITS : PG_WAITS)) {
+                while (rs.next()) {
+                    String id = rs.getString("id");
+                    double waitMs = Math.max(0, rs.getDouble("wait_ms"));
+                    Map.Entry<String, Double> prev = current.get(id);
+                    if (prev == null || prev.getValue() < waitMs) current.put(id, Map.entry(rs.getString("lock_type"), waitMs));
+                }
+            }
+            samples++;
+            waitingSum += current.size();
+            waitingMax = Math.max(waitingMax, current.size());
+            for (Iterator<Map.Entry<String, Map.Entry<String, Double>>> it = open.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<String, Map.Entry<String, Double>> e = it.next();
+                if (!current.containsKey(e.getKey())) {
+                    finish(e.getValue());
+                    it.remove();
+                }
+            }
+            for (Map.Entry<String, Map.Entry<String, Double>> e : current.entrySet()) {
+                open.merge(e.getKey(), e.getValue(), (a, b) -> a.getValue() >= b.getValue() ? a : b);
+            }
+        }
+
+        private void finish(Map.Entry<String, Double> wait) {
+            finished++;
+            finishedSumMs += wait.getValue();
+            finishedMaxMs = Math.max(finishedMaxMs, wait.getValue());
+            waitsByType.merge(wait.getKey(), 1, Integer::sum);
+            databaseMetrics.recordLockWaitTime(wait.getKey(), activeProfile, Math.round(wait.getValue()));
+        }
+
+        /**
+         * Kończy próbkowanie; oczekiwania trwające w chwili zamknięcia liczone są z dotychczasowym czasem.
+         * Kolejne wywołania (także po {@link #close()}) zwracają ten sam wynik.
+         */
+        public synchronized LockPhaseStats stop() {
+            if (stopped) return result;
+            stopped = true;
+            result = collect();
+            return result;
+        }
+
+        @Override
+        public void close() {
+            stop();
+        }
+
+        private LockPhaseStats collect() {
+            if (task != null) task.cancel(false);
+            try {
+                sample();
+                open.values().forEach(this::finish);
+                open.clear();
+                Map<String, long[]> end = counters();
+                long deadlocks = delta(end, "deadlocks");
+                if (deadlocks > 0) {
+                    Counter.builder("db_deadlocks_total")
+                            .tags("database", activeProfile, "application", "db-comparison")
+                            .register(meterRegistry)
+                            .increment(deadlocks);
+                }
+                return new LockPhaseStats(samples,
+                        samples > 0 ? (double) waitingSum / samples : 0, waitingMax,
+                        finished, finished > 0 ? finishedSumMs / finished : 0, finishedMaxMs,
+                        new LinkedHashMap<>(waitsByType),
+                        deadlocks, delta(end, "row_lock_waits"), delta(end, "row_lock_time_ms"));
+            } catch (SQLException e) {
+                log.warn("Nie udało się zamknąć próbkowania blokad: {}", e.getMessage());
+                return null;
+            } finally {
+                try {
+                    connection.close();
+                } catch (SQLException ignored) {
+                    // połączenie monitorujące – nic do odzyskania
+                }
+            }
+        }
+
+        private long delta(Map<String, long[]> end, String key) {
+            long[] a = startCounters.get(key);
+            long[] b = end.get(key);
+            return a != null && b != null ? b[0] - a[0] : -1;
+        }
+
+        /** Liczniki skumulowane; brak klucza = licznik niedostępny w tej bazie. */
+        private Map<String, long[]> counters() throws SQLException {
+            Map<String, long[]> c = new HashMap<>();
+            try (Statement st = connection.createStatement()) {
+                if (isPostgres()) {
+                    try (ResultSet rs = st.executeQuery(
+                            "SELECT deadlocks FROM pg_stat_database WHERE datname = current_database()")) {
+                        if (rs.next()) c.put("deadlocks", new long[]{rs.getLong(1)});
+                    }
+                    return c;
+                }
+                try (ResultSet rs = st.executeQuery("SHOW GLOBAL STATUS WHERE Variable_name IN " +
+                        "('Innodb_row_lock_waits', 'Innodb_row_lock_time')")) {
+                    while (rs.next()) {
+                        String key = "Innodb_row_lock_waits".equalsIgnoreCase(rs.getString(1)) ? "row_lock_waits" : "row_lock_time_ms";
+                        c.put(key, new long[]{rs.getLong(2)});
+                    }
+                }
+                try (ResultSet rs = st.executeQuery(
+                        "SELECT `COUNT` FROM information_schema.INNODB_METRICS WHERE NAME = 'lock_deadlocks'")) {
+                    if (rs.next()) c.put("deadlocks", new long[]{rs.getLong(1)});
+                }
+            }
+            return c;
+        }
+    }
+
+    /** Wynik sesji. Liczniki -1 = niedostępne w tej bazie (np. Innodb_row_lock_* w PostgreSQL). */
+    @lombok.Value
+    public static class LockPhaseStats {
+        int samples;
+        double waitingAvg;
+        int waitingMax;
+        long observedWaits;
+        double observedWaitMeanMs;
+        double observedWaitMaxMs;
+        Map<String, Integer> observedWaitsByLockType;
+        long deadlocks;
+        long rowLockWaits;
+        long rowLockTimeMs;
+    }
+}
@@ -0,0 +1,39 @@
+package com.benchmarking.dbcomparison.benchmark.telemetry;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+
+/**
+ * Połączenia dla próbkowania w tle – z tymi samymi danymi co pula, ale poza nią, żeby monitoring
+ * nie zabierał połączeń mierzonym wątkom ani nie zawyżał czasu oczekiwania na pulę.
+ * Auto-commit włączony: widoki systemowe czytane są bez długiej transakcji.
+ */
+@Component
+public class MonitoringConnections {
+
+    @Autowired private DataSourceProperties properties;
+
+    public Connection open() throws SQLException {
+        Connection connection = DriverManager.getConnection(
+                properties.determineUrl(), properties.determineUsername(), properties.determinePassword());
+        connection.setAutoCommit(true);
+        return connection;
+    }
+
+    /**
+     * Błąd, który nie minie przy kolejnym kroku: brak uprawnień lub obiektu (SQLState 42xxx), nieobsługiwana
+     * funkcja (0Axxx), odrzucone logowanie (28xxx), brak rozszerzenia w shared_preload_libraries (55xxx).
+     * Pozostałe (zerwane połączenie, timeout, restart bazy) – przejściowe, próbkowanie ponawiane.
+     */
+    public static boolean isPermanent(SQLException e) {
+        if (e instanceof SQLFeatureNotSupportedException) return true;
+        String state = e.getSQLState();
+        return state != null && (state.startsWith("42") || state.startsWith("0A") || state.startsWith("28") || state.startsWith("55"));
+    }
+}
@@ -0,0 +1,372 @@
+package com.benchmarking.dbcomparison.benchmark.telemetry;
+
+import com.benchmarking.dbcomparison.benchmark.run.BenchmarkRunContext;
+import com.benchmarking.dbcomparison.benchmark.run.PhaseMetricsCollector;
+import com.benchmarking.dbcomparison.config.BenchmarkConfig;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Zasoby procesu, hosta i JVM w trakcie kroku, próbkowane co {@code benchmark.resourceSampleIntervalMs}:
+ * <ul>
+ *     <li>{@code /proc/self/stat} – CPU procesu (user/sys) i RSS; {@code /proc/stat} – CPU hosta i iowait</li>
+ *     <li>{@code /proc/meminfo} – zajęta pamięć hosta; {@code /proc/diskstats} – bajty odczytane/zapisane
+ *     (urządzenia fizyczne, bez partycji, loop i ram)</li>
+ *     <li>MXBeany – heap, liczba i czas GC, bajty zaalokowane przez wątki (JDK 21+: łącznie z zakończonymi
+ *     wątkami, JDK 17: tylko żyjące – zaniżone, gdy pule wątków testu kończą się w kroku; ujemny przyrost
+ *     raportowany jako niedostępny)</li>
+ * </ul>
+ * Szereg czasowy trafia do {@code resources-<id przebiegu>.csv}, podsumowanie kroku (CPU-sekundy na 1000 operacji,
+ * bajty alokacji na operację – na rekordach zgłoszonych między {@link #begin()} a {@link #end()}) do wyniku kroku.
+ * Bez /proc (nie-Linux) CPU procesu z MXBeana, reszta -1.
+ */
+@Slf4j
+@Component
+public class ResourceSampler implements PhaseMetricsCollector {
+
+    // USER_HZ (jednostka czasów w /proc) i rozmiar strony (RSS w stronach) z getconf; bez niego typowe wartości x86-64
+    private static final double TICKS_PER_SECOND = getconf("CLK_TCK", 100);
+    private static final long PAGE_SIZE = getconf("PAGESIZE", 4096);
+    private static final long SECTOR_SIZE = 512;
+    private static final double MB = 1024.0 * 1024.0;
+    private static final Pattern PARTITION = Pattern.compile("(sd|vd|xvd|hd)[a-z]+\\d+|nvme\\d+n\\d+p\\d+|mmcblk\\d+p\\d+");
+
+    @Autowired private BenchmarkConfig benchmarkConfig;
+    @Autowired private BenchmarkRunContext runContext;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "resource-sampler");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final com.sun.management.OperatingSystemMXBean os =
+            (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final Method totalAllocatedBytes = totalAllocatedBytesMethod();
+
+    // stan kroku – begin/end na wątku przebiegu, próbki z wątku samplera (synchronizowane na this)
+    private ScheduledFuture<?> sampling;
+    private FileWriter series;
+    private String step;
+    private Reading start;
+    private Reading last;
+    private long startRecords;
+    private int samples;
+    private double iowaitSum;
+    private double processCpuMax;
+    private long rssMax;
+    private long heapMax;
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public String name() {
+        return "resources";
+    }
+
+    @Override
+    public synchronized void begin() {
+        step = runContext.currentStep();
+        start = last = read();
+        startRecords = runContext.stepRecords();
+        samples = 0;
+        iowaitSum = processCpuMax = 0;
+        rssMax = start.rss;
+        heapMax = start.heapUsed;
+        series = openSeries(runContext.runId());
+        long interval = Math.max(100, benchmarkConfig.getResourceSampleIntervalMs());
+        sampling = scheduler.scheduleAtFixedRate(this::sample, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Object end() {
+        ScheduledFuture<?> s;
+        synchronized (this) {
+            s = sampling;
+            sampling = null;
+        }
+        if (s == null) return null;
+        s.cancel(false);
+        synchronized (this) {
+            sample();
+            closeSeries();
+            ResourcePhaseStats stats = summary(runContext.stepRecords() - startRecords);
+            start = null;
+            return stats;
+        }
+    }
+
+    private synchronized void sample() {
+        if (start == null) return;
+        Reading now = read();
+        double seconds = (now.nanos - last.nanos) / 1e9;
+        double processCpu = seconds > 0 ? (now.processCpuSeconds - last.processCpuSeconds) / seconds * 100 : 0;
+        double hostCpu = busyPercent(last, now);
+        double iowait = now.hostTicks > last.hostTicks ? (now.iowaitTicks - last.iowaitTicks) * 100.0 / (now.hostTicks - last.hostTicks) : -1;
+        samples++;
+        iowaitSum += Math.max(0, iowait);
+        processCpuMax = Math.max(processCpuMax, processCpu);
+        rssMax = Math.max(rssMax, now.rss);
+        heapMax = Math.max(heapMax, now.heapUsed);
+        if (series != null) {
+            try {
+                series.write(String.format(Locale.ROOT, "%d;%s;%.1f;%.1f;%.1f;%.1f;%.1f;%.1f;%d;%d;%.2f;%.2f;%.2f\n",
+                        System.currentTimeMillis(), step, processCpu, hostCpu, iowait,
+                        now.rss / MB, now.heapUsed / MB, now.hostMemUsed / MB,
+                        now.gcCount - last.gcCount, now.gcMillis - last.gcMillis,
+                        allocatedDelta(last, now) / MB,
+                        (now.diskRead - last.diskRead) / MB, (now.diskWritten - last.diskWritten) / MB));
+            } catch (IOException e) {
+                log.warn("Błąd zapisu próbki zasobów: {}", e.getMessage());
+            }
+        }
+        last = now;
+    }
+
+    private ResourcePhaseStats summary(long ops) {
+        Reading end = last;
+        double cpuSeconds = end.processCpuSeconds - start.processCpuSeconds;
+        double allocated = allocatedDelta(start, end);
+        return new ResourcePhaseStats(samples,
+                cpuSeconds, end.processUserSeconds - start.processUserSeconds,
+                ops > 0 ? cpuSeconds * 1000 / ops : Double.NaN,
+                busyPercent(start, end), samples > 0 ? iowaitSum / samples : -1,
+                processCpuMax, rssMax, heapMax, end.hostMemUsed,
+                end.gcCount - start.gcCount, end.gcMillis - start.gcMillis,
+                Double.isNaN(allocated) ? -1 : (long) allocated, ops > 0 ? allocated / ops : Double.NaN,
+                end.diskRead - start.diskRead, end.diskWritten - start.diskWritten);
+    }
+
+    /** NaN, gdy suma po żyjących wątkach (JDK 17) zmalała, bo zakończone wątki wypadły z sumy. */
+    private static double allocatedDelta(Reading a, Reading b) {
+        long delta = b.allocated - a.allocated;
+        return delta >= 0 ? delta : Double.NaN;
+    }
+
+    private static double busyPercent(Reading a, Reading b) {
+        long total = b.hostTicks - a.hostTicks;
+        return total > 0 ? 100.0 - (b.idleTicks - a.idleTicks) * 100.0 / total : -1;
+    }
+
+    private FileWriter openSeries(UUID runId) {
+        File file = new File("resources-" + (runId != null ? runId : "manual") + ".csv");
+        boolean header = !file.exists() || file.length() == 0;
+        try {
+            FileWriter w = new FileWriter(file, true);
+            if (header) {
+                w.write("Czas_epoch_ms;Krok;CPU_proces_%;CPU_host_%;IOwait_%;RSS_MB;Heap_MB;Pamięć_host_MB;" +
+                        "GC_liczba;GC_czas_ms;Alokacja_MB;Dysk_odczyt_MB;Dysk_zapis_MB\n");
+            }
+            return w;
+        } catch (IOException e) {
+            log.warn("Nie udało się otworzyć {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private void closeSeries() {
+        if (series == null) return;
+        try {
+            series.close();
+        } catch (IOException e) {
+            log.warn("Błąd zamknięcia szeregu zasobów: {}", e.getMessage());
+        }
+        series = null;
+    }
+
+    /* ------------ odczyty ------------ */
+
+    private Reading read() {
+        Reading r = new Reading();
+        r.nanos = System.nanoTime();
+        readProcessStat(r);
+        readHostStat(r);
+        r.hostMemUsed = readHostMemory();
+        readDiskStats(r);
+        r.heapUsed = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            r.gcCount += Math.max(0, gc.getCollectionCount());
+            r.gcMillis += Math.max(0, gc.getCollectionTime());
+        }
+        r.allocated = allocatedBytes();
+        return r;
+    }
+
+    private void readProcessStat(Reading r) {
+        String stat = readFirstLine(Path.of("/proc/self/stat"));
+        if (stat != null) {
+            // pola po nazwie procesu "(comm)", która może zawierać spacje; rest[0] = pole 3 (state)
+            String[] rest = stat.substring(stat.lastIndexOf(')') + 2).split(" ");
+            long user = Long.parseLong(rest[11]);
+            long sys = Long.parseLong(rest[12]);
+            r.processUserSeconds = user / TICKS_PER_SECOND;
+            r.processCpuSeconds = (user + sys) / TICKS_PER_SECOND;
+            r.rss = Long.parseLong(rest[21]) * PAGE_SIZE;
+        } else {
+            r.processCpuSeconds = os.getProcessCpuTime() / 1e9;
+            r.processUserSeconds = -1;
+            r.rss = -1;
+        }
+    }
+
+    private void readHostStat(Reading r) {
+        String cpu = readFirstLine(Path.of("/proc/stat"));
+        if (cpu == null || !cpu.startsWith("cpu ")) return;
+        // user nice system idle iowait irq softirq steal (guest liczony już w user)
+        String[] f = cpu.trim().split("\\s+");
+        for (int i = 1; i <= Math.min(8, f.length - 1); i++) r.hostTicks += Long.parseLong(f[i]);
+        r.idleTicks = Long.parseLong(f[4]) + Long.parseLong(f[5]);
+        r.iowaitTicks = Long.parseLong(f[5]);
+    }
+
+    private long readHostMemory() {
+        long total = -1;
+        long available = -1;
+        for (String line : readLines(Path.of("/proc/meminfo"))) {
+            if (line.startsWith("MemTotal:")) total = kilobytes(line);
+            else if (line.startsWith("MemAvailable:")) available = kilobytes(line);
+        }
+        return total >= 0 && available >= 0 ? total - available : -1;
+    }
+
+    private void readDiskStats(Reading r) {
+        for (String line : readLines(Path.of("/proc/diskstats"))) {
+            String[] f = line.trim().split("\\s+");
+            if (f.length < 10) continue;
+            String device = f[2];
+            if (device.startsWith("loop") || device.startsWith("ram") || PARTITION.matcher(device).matches()) continue;
+            r.diskRead += Long.parseLong(f[5]) * SECTOR_SIZE;
+            r.diskWritten += Long.parseLong(f[9]) * SECTOR_SIZE;
+        }
+    }
+
+    private long allocatedBytes() {
+        if (totalAllocatedBytes != null) {
+            try {
+                return (long) totalAllocatedBytes.invoke(threads);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // niżej suma po żyjących wątkach
+            }
+        }
+        long[] ids = threads.getAllThreadIds();
+        long sum = 0;
+        for (long bytes : threads.getThreadAllocatedBytes(ids)) sum += Math.max(0, bytes);
+        return sum;
+    }
+
+    /** {@code getTotalThreadAllocatedBytes()} z JDK 21 – kompilujemy pod 17, więc przez refleksję. */
+    private static Method totalAllocatedBytesMethod() {
+        try {
+            return com.sun.management.ThreadMXBean.class.getMethod("getTotalThreadAllocatedBytes");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /** Wartość {@code getconf <name>}; {@code fallback}, gdy polecenia nie ma (nie-Linux) albo zwróci coś innego niż liczbę. */
+    private static long getconf(String name, long fallback) {
+        if (!Files.exists(Path.of("/proc/self/stat"))) return fallback;
+        try {
+            Process p = new ProcessBuilder("getconf", name).redirectErrorStream(true).start();
+            String out;
+            try (var in = p.getInputStream()) {
+                out = new String(in.readAllBytes()).trim();
+            }
+            if (!p.waitFor(2, TimeUnit.SECONDS)) {
+                p.destroyForcibly();
+                return fallback;
+            }
+            long value = Long.parseLong(out);
+            return value > 0 ? value : fallback;
+        } catch (IOException | NumberFormatException e) {
+            return fallback;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return fallback;
+        }
+    }
+
+    private static long kilobytes(String meminfoLine) {
+        String[] f = meminfoLine.trim().split("\\s+");
+        return Long.parseLong(f[1]) * 1024;
+    }
+
+    private static String readFirstLine(Path path) {
+        List<String> lines = readLines(path);
+        return lines.isEmpty() ? null : lines.get(0);
+    }
+
+    private static List<String> readLines(Path path) {
+        try {
+            return Files.readAllLines(path);
+        } catch (IOException | RuntimeException e) {
+            return List.of();
+        }
+    }
+
+    /** Wartości skumulowane (CPU, GC, alokacja, dysk) i chwilowe (RSS, heap, pamięć hosta); -1 = niedostępne. */
+    private static final class Reading {
+        long nanos;
+        double processCpuSeconds;
+        double processUserSeconds;
+        long rss;
+        long hostTicks;
+        long idleTicks;
+        long iowaitTicks;
+        long hostMemUsed;
+        long diskRead;
+        long diskWritten;
+        long heapUsed;
+        long gcCount;
+        long gcMillis;
+        long allocated;
+    }
+
+    /**
+     * Podsumowanie kroku; wartości „na operację” liczone na rekordach zgłoszonych w mierzonym oknie (NaN, gdy
+     * ich nie było). {@code allocatedBytes} -1 i {@code allocatedBytesPerOp} NaN, gdy przyrost alokacji niewiarygodny.
+     */
+    @lombok.Value
+    public static class ResourcePhaseStats {
+        int samples;
+        double processCpuSeconds;
+        double processUserCpuSeconds;
+        double cpuSecondsPer1kOps;
+        double hostCpuAvgPercent;
+        double hostIowaitAvgPercent;
+        double processCpuMaxPercent;
+        long rssMaxBytes;
+        long heapMaxBytes;
+        long hostMemoryUsedBytes;
+        long gcCount;
+        long gcTimeMs;
+        long allocatedBytes;
+        double allocatedBytesPerOp;
+        long diskReadBytes;
+        long diskWrittenBytes;
+    }
+}
@@ -0,0 +1,207 @@
+package com.benchmarking.dbcomparison.benchmark.telemetry;
+
+import com.benchmarking.dbcomparison.benchmark.run.PhaseMetricsCollector;
+import com.benchmarking.dbcomparison.config.BenchmarkConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+
+/**
+ * Statystyki wykonania zapytań po stronie serwera – migawka przed i po kroku przebiegu, wynik to przyrosty:
+ * <ul>
+ *     <li>PostgreSQL – {@code pg_stat_statements} (liczba wywołań, czas wykonania, wiersze, trafienia
+ *     i odczyty bloków {@code shared_blks_hit/read}); wymaga {@code shared_preload_libraries}</li>
+ *     <li>MySQL – {@code performance_schema.events_statements_summary_by_digest} (wywołania, czas, wiersze
+ *     zwrócone/zmienione i przejrzane); bloków per zapytanie MySQL nie liczy – w zamian przyrost
+ *     {@code Innodb_buffer_pool_read_requests/reads} dla całego kroku</li>
+ * </ul>
+ * Porównanie z czasem po stronie klienta oddziela sieć, sterownik i ORM od wykonania w silniku.
+ * W wyniku {@code benchmark.statementStatsTop} zapytań o największym łącznym czasie; zapytania do widoków
+ * systemowych (próbkowanie blokad, sondy indeksów, ta migawka) są pomijane.
+ */
+@Slf4j
+@Component
+public class StatementStatsCollector implements PhaseMetricsCollector {
+
+    private static final int QUERY_TEXT_LIMIT = 300;
+
+    private static final String PG_STATEMENTS =
+            "SELECT s.queryid::text AS id, min(s.query) AS query, sum(s.calls) AS calls, " +
+            "sum(s.total_exec_time) AS total_ms, sum(s.rows) AS rows_returned, -1 AS rows_examined, " +
+            "sum(s.shared_blks_hit) AS blks_hit, sum(s.shared_blks_read) AS blks_read " +
+            "FROM pg_stat_statements s JOIN pg_database d ON d.oid = s.dbid " +
+            "WHERE d.datname = current_database() AND s.query !~* '(pg_stat|pg_locks|pg_database|pg_index|pgstat|pg_relation_size)' " +
+            "GROUP BY s.queryid";
+    private static final String MYSQL_STATEMENTS =
+            "SELECT DIGEST AS id, DIGEST_TEXT AS query, COUNT_STAR AS calls, SUM_TIMER_WAIT / 1000000000 AS total_ms, " +
+            "SUM_ROWS_SENT + SUM_ROWS_AFFECTED AS rows_returned, SUM_ROWS_EXAMINED AS rows_examined, " +
+            "-1 AS blks_hit, -1 AS blks_read " +
+            "FROM performance_schema.events_statements_summary_by_digest " +
+            "WHERE SCHEMA_NAME = DATABASE() AND DIGEST IS NOT NULL " +
+            "AND DIGEST_TEXT NOT LIKE '%performance_schema%' AND DIGEST_TEXT NOT LIKE '%information_schema%' " +
+            "AND DIGEST_TEXT NOT LIKE 'SHOW %'";
+
+    @Autowired private MonitoringConnections connections;
+    @Autowired private BenchmarkConfig benchmarkConfig;
+
+    @Value("${spring.profiles.active:unknown}")
+    private String activeProfile;
+
+    private volatile Boolean available;
+    private Snapshot start;
+
+    private boolean isMySql() { return activeProfile != null && activeProfile.toLowerCase().contains("mysql"); }
+    private boolean isPostgres() { return activeProfile != null && activeProfile.toLowerCase().contains("postgres"); }
+
+    @Override
+    public String name() {
+        return "statements";
+    }
+
+    @Override
+    public void begin() {
+        start = snapshot();
+    }
+
+    @Override
+    public void discard() {
+        start = null;
+    }
+
+    @Override
+    public Object end() {
+        Snapshot before = start;
+        start = null;
+        if (before == null) return null;
+        Snapshot after = snapshot();
+        return after != null ? diff(before, after) : null;
+    }
+
+    /** Migawka liczników; null, gdy widok jest niedostępny (brak rozszerzenia, uprawnień, nieznany profil). */
+    Snapshot snapshot() {
+        if ((!isMySql() && !isPostgres()) || Boolean.FALSE.equals(available)) return null;
+        try (Connection c = connections.open(); Statement st = c.createStatement()) {
+            if (available == null && isPostgres()) {
+                // działa tylko przy pg_stat_statements w shared_preload_libraries (docker/postgres/postgresql.conf)
+                st.execute("CREATE EXTENSION IF NOT EXISTS pg_stat_statements");
+            }
+            Snapshot s = new Snapshot();
+            try (ResultSet rs = st.executeQuery(isMySql() ? MYSQL_STATEMENTS : PG_STATEMENTS)) {
+                while (rs.next()) {
+                    s.statements.put(rs.getString("id"), new Counters(rs.getString("query"),
+                            rs.getLong("calls"), rs.getDouble("total_ms"), rs.getLong("rows_returned"),
+                            rs.getLong("rows_examined"), rs.getLong("blks_hit"), rs.getLong("blks_read")));
+                }
+            }
+            if (isMySql()) {
+                try (ResultSet rs = st.executeQuery("SHOW GLOBAL STATUS WHERE Variable_name IN " +
+                        "('Innodb_buffer_pool_read_requests', 'Innodb_buffer_pool_reads')")) {
+                    while (rs.next()) {
+                        if ("Innodb_buffer_pool_reads".equalsIgnoreCase(rs.getString(1))) s.bufferReads = rs.getLong(2);
+                        else s.bufferRequests = rs.getLong(2);
+                    }
+                }
+            }
+            available = true;
+            return s;
+        } catch (SQLException e) {
+            if (MonitoringConnections.isPermanent(e)) {
+                log.warn("Statystyki zapytań serwera niedostępne ({}): {}", activeProfile, e.getMessage());
+                available = false;
+            } else {
+                log.warn("Migawka statystyk zapytań nieudana ({}), ponowienie w następnym kroku: {}", activeProfile, e.getMessage());
+            }
+            return null;
+        }
+    }
+
+    StatementPhaseStats diff(Snapshot before, Snapshot after) {
+        List<StatementDelta> deltas = new ArrayList<>();
+        long calls = 0;
+        double totalMs = 0;
+        long hits = 0;
+        long reads = 0;
+        for (Map.Entry<String, Counters> e : after.statements.entrySet()) {
+            Counters a = e.getValue();
+            Counters b = before.statements.get(e.getKey());
+            // wpis usunięty z widoku w trakcie kroku (limit / reset) – liczymy od zera
+            if (b == null || b.calls > a.calls) b = Counters.ZERO;
+            long dCalls = a.calls - b.calls;
+            if (dCalls <= 0) continue;
+            double dMs = a.totalMs - b.totalMs;
+            long dHit = a.blksHit < 0 ? -1 : a.blksHit - b.blksHit;
+            long dRead = a.blksRead < 0 ? -1 : a.blksRead - b.blksRead;
+            deltas.add(new StatementDelta(e.getKey(), abbreviate(a.query), dCalls, dMs, dMs / dCalls,
+                    a.rows - b.rows, a.rowsExamined < 0 ? -1 : a.rowsExamined - b.rowsExamined, dHit, dRead));
+            calls += dCalls;
+            totalMs += dMs;
+            hits += Math.max(0, dHit);
+            reads += Math.max(0, dRead);
+        }
+        deltas.sort(Comparator.comparingDouble(StatementDelta::getTotalExecMs).reversed());
+        int top = Math.max(0, benchmarkConfig.getStatementStatsTop());
+        if (isMySql()) {
+            hits = after.bufferRequests - before.bufferRequests - (after.bufferReads - before.bufferReads);
+            reads = after.bufferReads - before.bufferReads;
+        }
+        return new StatementPhaseStats(deltas.size(), calls, totalMs, hits, reads,
+                List.copyOf(deltas.subList(0, Math.min(top, deltas.size()))));
+    }
+
+    private static String abbreviate(String query) {
+        if (query == null) return "";
+        String q = query.replaceAll("\\s+", " ").trim();
+        return q.length() > QUERY_TEXT_LIMIT ? q.substring(0, QUERY_TEXT_LIMIT) + "…" : q;
+    }
+
+    static final class Snapshot {
+        final Map<String, Counters> statements = new HashMap<>();
+        long bufferRequests;
+        long bufferReads;
+    }
+
+    @lombok.Value
+    static class Counters {
+        static final Counters ZERO = new Counters(null, 0, 0, 0, 0, 0, 0);
+
+        String query;
+        long calls;
+        double totalMs;
+        long rows;
+        long rowsExamined;
+        long blksHit;
+        long blksRead;
+    }
+
+    /** Przyrost jednego zapytania; -1 = licznik niedostępny w tej bazie. */
+    @lombok.Value
+    public static class StatementDelta {
+        String id;
+        String query;
+        long calls;
+        double totalExecMs;
+        double meanExecMs;
+        long rows;
+        long rowsExamined;
+        long sharedBlocksHit;
+        long sharedBlocksRead;
+    }
+
+    /** Wynik kroku: sumy po wszystkich zapytaniach bazy i najdroższe zapytania. */
+    @lombok.Value
+    public static class StatementPhaseStats {
+        int distinctStatements;
+        long calls;
+        double totalExecMs;
+        long blocksHit;
+        long blocksRead;
+        List<StatementDelta> top;
+    }
+}
@@ -0,0 +1,28 @@
+package com.benchmarking.dbcomparison.benchmark.telemetry.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Zapis jednej paczki w teście INSERT (JPA: {@code saveAll} + flush/clear, BULK / JDBC_BATCH: zapis bezpośredni). */
+@Name("dbcomparison.BatchFlush")
+@Label("Batch Flush")
+public class BatchFlushEvent extends DbEvent {
+
+    @Label("Engine")
+    String engine;
+
+    @Label("Entity")
+    String entity;
+
+    public BatchFlushEvent(String engine, String entity, String database) {
+        this.operation = "INSERT";
+        this.engine = engine;
+        this.entity = entity;
+        this.database = database;
+    }
+
+    public void finish(long rows) {
+        this.rows = rows;
+        commit();
+    }
+}
@@ -0,0 +1,19 @@
+package com.benchmarking.dbcomparison.benchmark.telemetry.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Czas spędzony w jednej fazie ({@code WARMUP}, {@code MEASUREMENT}, ...); {@code operation} to nazwa fazy. */
+@Name("dbcomparison.BenchmarkPhase")
+@Label("Benchmark Phase")
+public class BenchmarkPhaseEvent extends DbEvent {
+
+    @Label("Recording")
+    boolean recording;
+
+    public BenchmarkPhaseEvent(String phase, String database, boolean recording) {
+        this.operation = phase;
+        this.database = database;
+        this.recording = recording;
+    }
+}
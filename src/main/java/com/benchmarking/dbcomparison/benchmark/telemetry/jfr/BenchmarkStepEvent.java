@@ -0,0 +1,24 @@
+package com.benchmarking.dbcomparison.benchmark.telemetry.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Krok przebiegu z {@code BenchmarkRunContext}; {@code operation} to nazwa kroku, {@code rows} – rekordy kroku. */
+@Name("dbcomparison.BenchmarkStep")
+@Label("Benchmark Step")
+public class BenchmarkStepEvent extends DbEvent {
+
+    @Label("Benchmark")
+    String benchmark;
+
+    public BenchmarkStepEvent(String benchmark, String step, String database) {
+        this.benchmark = benchmark;
+        this.operation = step;
+        this.database = database;
+    }
+
+    public void finish(long rows) {
+        this.rows = rows;
+        commit();
+    }
+}
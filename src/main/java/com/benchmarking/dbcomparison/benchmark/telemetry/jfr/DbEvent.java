@@ -0,0 +1,27 @@
+package com.benchmarking.dbcomparison.benchmark.telemetry.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Wspólne pola zdarzeń JFR benchmarku: operacja, baza (profil) i liczba wierszy; czas trwania
+ * to wbudowany {@code duration} zdarzenia ({@code begin()} … {@code commit()}).
+ * Zdarzenia włącza wyłącznie nagranie {@link JfrRecordingService}. Poza nim {@code shouldCommit()} zwraca false,
+ * a koszt na gorącej ścieżce to samo utworzenie obiektu.
+ */
+@Category({"DB Comparison"})
+@StackTrace(false)
+abstract class DbEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Database")
+    String database;
+
+    @Label("Rows")
+    @Description("Liczba wierszy (zapisanych / zwróconych); -1 gdy nieznana")
+    long rows = -1;
+}
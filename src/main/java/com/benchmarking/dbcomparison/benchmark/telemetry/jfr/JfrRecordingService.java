@@ -0,0 +1,99 @@
+package com.benchmarking.dbcomparison.benchmark.telemetry.jfr;
+
+import com.benchmarking.dbcomparison.config.BenchmarkConfig;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Nagranie Java Flight Recorder wokół przebiegu: wbudowana konfiguracja JDK ({@code benchmark.jfrSettings})
+ * plus zdarzenia benchmarku (fazy, kroki, paczki INSERT, wywołania repozytoriów, transakcje). Plik
+ * {@code <nazwa>_<profil>_<czas>.jfr} trafia do katalogu {@code benchmark.resultsFile}, obok CSV z wynikami –
+ * do otwarcia w JMC albo {@code jfr print --events dbcomparison.* plik.jfr}. Jedno nagranie naraz,
+ * jak jeden przebieg naraz.
+ */
+@Slf4j
+@Component
+public class JfrRecordingService {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final List<Class<? extends jdk.jfr.Event>> EVENTS = List.of(
+            BenchmarkPhaseEvent.class, BenchmarkStepEvent.class, BatchFlushEvent.class,
+            RepositoryCallEvent.class, TransactionEvent.class);
+    // nazwa staje się częścią ścieżki pliku – bez separatorów i „..”
+    private static final Pattern NAME = Pattern.compile("[A-Za-z0-9_-]{1,100}");
+
+    @Autowired private BenchmarkConfig benchmarkConfig;
+
+    @Value("${spring.profiles.active:unknown}")
+    private String activeProfile;
+
+    private Recording recording;
+    private Path target;
+
+    /**
+     * Rozpoczyna nagranie; @return plik, do którego trafi po {@link #stop()}
+     * @throws IllegalArgumentException gdy nazwa ma znaki spoza {@code [A-Za-z0-9_-]}
+     */
+    public synchronized Path start(String name) {
+        if (name == null || !NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Nazwa nagrania JFR może zawierać tylko litery, cyfry, '_' i '-' (do 100 znaków): " + name);
+        }
+        if (recording != null) {
+            throw new IllegalStateException("Nagranie JFR już trwa (" + target.getFileName() + ")");
+        }
+        Recording r;
+        try {
+            r = new Recording(Configuration.getConfiguration(benchmarkConfig.getJfrSettings()));
+        } catch (IOException | ParseException e) {
+            log.warn("Nieznana konfiguracja JFR {} – używam default: {}", benchmarkConfig.getJfrSettings(), e.getMessage());
+            r = new Recording();
+        }
+        for (Class<? extends jdk.jfr.Event> event : EVENTS) r.enable(event).withoutStackTrace();
+        r.setName(name);
+        r.setToDisk(true);
+        r.start();
+        recording = r;
+        Path resultsDir = Path.of(benchmarkConfig.getResultsFile()).toAbsolutePath().getParent();
+        target = resultsDir.resolve(name + "_" + activeProfile + "_" + LocalDateTime.now().format(TIMESTAMP) + ".jfr");
+        log.info("Nagranie JFR {} rozpoczęte ({})", name, benchmarkConfig.getJfrSettings());
+        return target;
+    }
+
+    /** Kończy nagranie i zapisuje plik; @return ścieżka pliku albo null, gdy nic nie nagrywano */
+    public synchronized Path stop() {
+        if (recording == null) return null;
+        Recording r = recording;
+        Path file = target;
+        recording = null;
+        target = null;
+        try {
+            r.stop();
+            Files.createDirectories(file.getParent());
+            r.dump(file);
+            log.info("Nagranie JFR zapisane: {}", file);
+            return file;
+        } catch (IOException e) {
+            log.error("Błąd zapisu nagrania JFR {}", file, e);
+            return null;
+        } finally {
+            r.close();
+        }
+    }
+
+    public synchronized boolean isRecording() {
+        return recording != null;
+    }
+}
@@ -0,0 +1,28 @@
+package com.benchmarking.dbcomparison.benchmark.telemetry.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Wywołanie metody repozytorium mierzone przez {@code DatabaseMetricsAspect}. */
+@Name("dbcomparison.RepositoryCall")
+@Label("Repository Call")
+public class RepositoryCallEvent extends DbEvent {
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Method")
+    String method;
+
+    @Label("Failed")
+    boolean failed;
+
+    public void set(String repository, String method, String operation, String database, long rows, boolean failed) {
+        this.repository = repository;
+        this.method = method;
+        this.operation = operation;
+        this.database = database;
+        this.rows = rows;
+        this.failed = failed;
+    }
+}
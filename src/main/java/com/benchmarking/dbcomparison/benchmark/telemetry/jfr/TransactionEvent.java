@@ -0,0 +1,20 @@
+package com.benchmarking.dbcomparison.benchmark.telemetry.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Metoda {@code @Transactional} mierzona przez {@code DatabaseMetricsAspect}; {@code rows} z wyniku metody. */
+@Name("dbcomparison.Transaction")
+@Label("Transaction")
+public class TransactionEvent extends DbEvent {
+
+    @Label("Failed")
+    boolean failed;
+
+    public void set(String database, long rows, boolean failed) {
+        this.operation = "transaction";
+        this.database = database;
+        this.rows = rows;
+        this.failed = failed;
+    }
+}
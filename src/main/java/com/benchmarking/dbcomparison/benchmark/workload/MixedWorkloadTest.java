@@ -0,0 +1,294 @@
+package com.benchmarking.dbcomparison.benchmark.workload;
+
+import com.benchmarking.dbcomparison.benchmark.concurrency.BenchmarkExecutorFactory;
+import com.benchmarking.dbcomparison.benchmark.concurrency.VirtualThreadPinningMonitor;
+import com.benchmarking.dbcomparison.benchmark.keys.KeyChooser;
+import com.benchmarking.dbcomparison.benchmark.keys.KeyChooserFactory;
+import com.benchmarking.dbcomparison.benchmark.phase.TimeBoxedRunner;
+import com.benchmarking.dbcomparison.benchmark.results.ResultSink;
+import com.benchmarking.dbcomparison.benchmark.run.BenchmarkRunContext;
+import com.benchmarking.dbcomparison.config.BenchmarkConfig;
+import com.benchmarking.dbcomparison.config.DatabaseMetrics;
+import com.benchmarking.dbcomparison.repository.CustomerRepository;
+import com.benchmarking.dbcomparison.repository.OrderRepository;
+import com.benchmarking.dbcomparison.repository.ProductRepository;
+import com.benchmarking.dbcomparison.util.DataGenerator;
+import com.benchmarking.dbcomparison.util.LatencySamples;
+import com.benchmarking.dbcomparison.util.LatencyStats;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Workload mieszany w stylu YCSB: wszystkie typy operacji przeplatane w jednym przebiegu
+ * o stałym czasie trwania, na klientach, produktach i zamówieniach.
+ * Proporcje z {@code benchmark.workloadMix} (preset lub własne wagi, patrz {@link WorkloadMix}).
+ */
+@Slf4j
+@Component
+public class MixedWorkloadTest {
+
+    private static final String[] ORDER_STATUSES = {"PENDING", "PROCESSING", "SHIPPED", "DELIVERED"};
+
+    private static final ThreadLocal<DataGenerator> TL_GEN =
+            ThreadLocal.withInitial(DataGenerator::new);
+
+    @Value("${spring.profiles.active:unknown}")
+    private String activeProfile;
+
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private ProductRepository productRepository;
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private DatabaseMetrics databaseMetrics;
+    @Autowired private BenchmarkConfig benchmarkConfig;
+    @Autowired private BenchmarkExecutorFactory executorFactory;
+    @Autowired private VirtualThreadPinningMonitor pinningMonitor;
+    @Autowired private PlatformTransactionManager txManager;
+    @Autowired private KeyChooserFactory keyChooserFactory;
+    @Autowired private TimeBoxedRunner runner;
+    @Autowired private BenchmarkRunContext runContext;
+    @Autowired private ResultSink resultSink;
+
+    /** Wyniki jednego wątku – bez synchronizacji, łączone po zakończeniu. */
+    private static class WorkerResult {
+        final Map<WorkloadOperation, LatencySamples> samples = new EnumMap<>(WorkloadOperation.class);
+        final Map<WorkloadOperation, Integer> errors = new EnumMap<>(WorkloadOperation.class);
+
+        LatencySamples samples(WorkloadOperation op) {
+            return samples.computeIfAbsent(op, k -> new LatencySamples());
+        }
+    }
+
+    /**
+     * Wybór kluczy per tabela; wstawieni klienci dopisywani do puli (ważne dla rozkładu LATEST).
+     * Z {@link #loadKeys(WorkloadMix)} – serie pomiarów ładują pule raz i przekazują je do kolejnych punktów.
+     */
+    public static final class Keys {
+        final KeyChooser customers;
+        final KeyChooser products;
+        final KeyChooser orders;
+
+        private Keys(KeyChooser customers, KeyChooser products, KeyChooser orders) {
+            this.customers = customers;
+            this.products = products;
+            this.orders = orders;
+        }
+    }
+
+    private int workers() { return Math.max(1, benchmarkConfig.getThreads()); }
+
+    public void runWorkload(String mixSpec) throws InterruptedException {
+        WorkloadMix mix = WorkloadMix.parse(mixSpec != null ? mixSpec : benchmarkConfig.getWorkloadMix());
+        // measurementSeconds (jeśli ustawione) ma pierwszeństwo przed workloadDurationSeconds
+        int seconds = benchmarkConfig.getMeasurementSeconds() > 0
+                ? benchmarkConfig.getMeasurementSeconds() : benchmarkConfig.getWorkloadDurationSeconds();
+        WorkloadResult result = measure(mix, workers(), seconds);
+        if (result == null) return;
+
+        for (WorkloadOperation op : mix.getOperations()) {
+            LatencyStats stats = result.getPerOperation().get(op);
+            int err = result.getErrors().getOrDefault(op, 0);
+            log.info("Workload {} {}: {} ops ({} ops/s), p50={} ms, p99={} ms, błędy={}", mix.getName(), op,
+                    stats.getCount(), String.format(Locale.ROOT, "%.1f", stats.getCount() / result.getElapsedSeconds()),
+                    stats.getP50Ms(), stats.getP99Ms(), err);
+            logPerformance(mix, op.name(), stats, err, result);
+        }
+        logPerformance(mix, "TOTAL", result.getTotal(), result.getTotalErrors(), result);
+    }
+
+    /**
+     * Rozgrzewka, pomiar przez {@code seconds} i wygaszanie dla podanej liczby wątków – bez zapisu do CSV.
+     * Zwraca null, gdy w bazie brakuje danych.
+     */
+    public WorkloadResult measure(WorkloadMix mix, int threads, int seconds) throws InterruptedException {
+        Keys keys = loadKeys(mix);
+        return keys != null ? measure(mix, keys, threads, seconds) : null;
+    }
+
+    /** Pule kluczy klientów, produktów i zamówień z bazy; null, gdy którejś tabeli brakuje danych. */
+    public Keys loadKeys(WorkloadMix mix) {
+        List<UUID> customerIds = customerRepository.findAllIds();
+        List<UUID> productIds = productRepository.findAllIds();
+        List<UUID> orderIds = orderRepository.findAllIds();
+        if (customerIds.isEmpty() || productIds.isEmpty() || orderIds.isEmpty()) {
+            log.warn("Brak danych (klienci={}, produkty={}, zamówienia={}) – pomijam workload {}",
+                    customerIds.size(), productIds.size(), orderIds.size(), mix.getName());
+            return null;
+        }
+        return new Keys(keyChooserFactory.create(customerIds),
+                keyChooserFactory.create(productIds), keyChooserFactory.create(orderIds));
+    }
+
+    /** Jak {@link #measure(WorkloadMix, int, int)}, z pulami kluczy przygotowanymi wcześniej ({@link #loadKeys}). */
+    public WorkloadResult measure(WorkloadMix mix, Keys keys, int threads, int seconds) throws InterruptedException {
+        long durationNanos = TimeUnit.SECONDS.toNanos(Math.max(1, seconds));
+        String metric = "workload_" + mix.getName().toLowerCase(Locale.ROOT);
+        runContext.step(metric + " (" + threads + " wątków)");
+        TransactionTemplate tx = new TransactionTemplate(txManager);
+
+        if (benchmarkConfig.getWarmupSeconds() > 0) {
+            log.info("Workload {}: rozgrzewka {} s", mix.getName(), benchmarkConfig.getWarmupSeconds());
+            TimeBoxedRunner.Window warmup = runner.warmupWindow();
+            try (warmup) {
+                runWorkers(mix, keys, tx, threads, TimeUnit.SECONDS.toNanos(benchmarkConfig.getWarmupSeconds()));
+            }
+        }
+
+        log.info("Workload {}: {} wątków ({}), klucze {}, {} s", mix, threads, executorFactory.mode(),
+                keyChooserFactory.distribution(),
+                TimeUnit.NANOSECONDS.toSeconds(durationNanos));
+
+        VirtualThreadPinningMonitor.PinningSession pinning = pinningMonitor.start(metric);
+        Timer.Sample timer = databaseMetrics.startTimer();
+        List<Future<WorkerResult>> futures;
+        long elapsedNanos;
+        try (pinning; TimeBoxedRunner.Window window = runner.measurementWindow()) {
+            futures = runWorkers(mix, keys, tx, threads, durationNanos);
+            elapsedNanos = System.nanoTime() - window.startNanos();
+        } finally {
+            databaseMetrics.stopTimer(timer, metric, activeProfile);
+        }
+        runContext.checkCancelled();
+        double elapsedSec = elapsedNanos / 1_000_000_000.0;
+
+        Map<WorkloadOperation, LatencySamples> merged = new EnumMap<>(WorkloadOperation.class);
+        Map<WorkloadOperation, Integer> errors = new EnumMap<>(WorkloadOperation.class);
+        LatencySamples total = new LatencySamples();
+        int totalErrors = 0;
+        for (Future<WorkerResult> f : futures) {
+            WorkerResult r;
+            try {
+                r = f.get();
+            } catch (Exception e) {
+                log.error("Wątek workloadu zakończył się błędem", e);
+                continue;
+            }
+            r.samples.forEach((op, s) -> {
+                merged.computeIfAbsent(op, k -> new LatencySamples()).addAll(s);
+                total.addAll(s);
+            });
+            for (Map.Entry<WorkloadOperation, Integer> e : r.errors.entrySet()) {
+                errors.merge(e.getKey(), e.getValue(), Integer::sum);
+                totalErrors += e.getValue();
+            }
+        }
+
+        databaseMetrics.incrementDatabaseOperations(metric, activeProfile);
+        databaseMetrics.recordDataSize(metric, activeProfile, total.size());
+
+        Map<WorkloadOperation, LatencyStats> perOperation = new EnumMap<>(WorkloadOperation.class);
+        for (WorkloadOperation op : mix.getOperations()) {
+            perOperation.put(op, merged.getOrDefault(op, new LatencySamples()).stats());
+        }
+        runContext.latency(total.stats());
+        runner.cooldown(metric);
+        return new WorkloadResult(mix.getName(), threads, elapsedSec, pinning.getPinnedEvents(),
+                perOperation, errors, total.stats(), totalErrors);
+    }
+
+    private List<Future<WorkerResult>> runWorkers(WorkloadMix mix, Keys keys, TransactionTemplate tx,
+                                                  int threads, long durationNanos) throws InterruptedException {
+        ExecutorService executor = executorFactory.newExecutor(threads);
+        List<Future<WorkerResult>> futures = new ArrayList<>(threads);
+        long deadline = System.nanoTime() + durationNanos;
+        try {
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> runWorker(mix, keys, tx, deadline)));
+            }
+            executor.shutdown();
+            if (!executor.awaitTermination(TimeUnit.NANOSECONDS.toSeconds(durationNanos) + 60, TimeUnit.SECONDS)) {
+                log.warn("Workload {}: executor timeout – forcing shutdownNow()", mix.getName());
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            throw e;
+        }
+        return futures;
+    }
+
+    private WorkerResult runWorker(WorkloadMix mix, Keys keys, TransactionTemplate tx, long deadline) {
+        WorkerResult result = new WorkerResult();
+        while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted() && !runContext.isCancelled()) {
+            WorkloadOperation op = mix.next();
+            long t0 = System.nanoTime();
+            try {
+                execute(op, keys, tx);
+                result.samples(op).add(System.nanoTime() - t0);
+                runContext.progress(1);
+            } catch (Exception e) {
+                result.errors.merge(op, 1, Integer::sum);
+                log.debug("Błąd operacji {} w workloadzie: {}", op, e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    private void execute(WorkloadOperation op, Keys keys, TransactionTemplate tx) {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        switch (op) {
+            case READ -> {
+                switch (rnd.nextInt(3)) {
+                    case 0 -> customerRepository.findById(keys.customers.next()).orElseThrow();
+                    case 1 -> productRepository.findById(keys.products.next()).orElseThrow();
+                    default -> orderRepository.findById(keys.orders.next()).orElseThrow();
+                }
+            }
+            case UPDATE -> {
+                switch (rnd.nextInt(3)) {
+                    case 0 -> customerRepository.updateLoyaltyPointsById(keys.customers.next(), rnd.nextInt(0, 1000));
+                    case 1 -> productRepository.updateStockById(keys.products.next(), rnd.nextInt(0, 500));
+                    default -> orderRepository.updateStatusById(keys.orders.next(),
+                            ORDER_STATUSES[rnd.nextInt(ORDER_STATUSES.length)]);
+                }
+            }
+            case INSERT -> keys.customers.pool().add(customerRepository.save(TL_GEN.get().generateCustomer()).getId());
+            case SCAN -> {
+                PageRequest page = PageRequest.of(0, rnd.nextInt(1, Math.max(1, benchmarkConfig.getMaxScanLength()) + 1));
+                if (rnd.nextBoolean()) productRepository.scanFrom(keys.products.next(), page);
+                else orderRepository.scanFrom(keys.orders.next(), page);
+            }
+            case READ_MODIFY_WRITE -> tx.executeWithoutResult(s ->
+                    productRepository.findById(keys.products.next()).ifPresent(p -> {
+                        int stock = p.getStockQuantity() != null ? p.getStockQuantity() : 0;
+                        p.setStockQuantity(stock > 0 ? stock - 1 : 100);
+                        productRepository.save(p);
+                    }));
+        }
+    }
+
+    private void logPerformance(WorkloadMix mix, String operation, LatencyStats s, int errors, WorkloadResult r) {
+        resultSink.record("workload", mix.getName() + " " + operation)
+                .param("threads", r.getThreads())
+                .param("executor", executorFactory.mode())
+                .param("keyDistribution", keyChooserFactory.distribution())
+                .throughput(s.getCount(), Math.round(r.getElapsedSeconds() * 1000))
+                .opsPerSecond(s.getCount() / r.getElapsedSeconds())
+                .latency(s)
+                .errors(errors)
+                .counter("mean_ms", s.getMeanMs())
+                .counter("vt_pinned_events", r.getPinnedEvents())
+                .submit();
+    }
+
+    //runAllTests
+    public void runAllTests() throws InterruptedException {
+        runWorkload(null);
+    }
+}
@@ -0,0 +1,93 @@
+package com.benchmarking.dbcomparison.benchmark.workload;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Proporcje operacji w workloadzie. Można podać nazwę presetu (jak w YCSB) albo własne wagi,
+ * np. {@code "read=90,update=5,insert=5"}.
+ * <ul>
+ *     <li>UPDATE_HEAVY – 50/50 read/update (YCSB A)</li>
+ *     <li>READ_MOSTLY – 95/5 read/update (YCSB B)</li>
+ *     <li>READ_ONLY – 100% read (YCSB C)</li>
+ *     <li>SCAN_HEAVY – 95/5 scan/insert (YCSB E)</li>
+ *     <li>READ_MODIFY_WRITE – 50/50 read/read-modify-write (YCSB F)</li>
+ * </ul>
+ */
+public class WorkloadMix {
+
+    private static final Map<String, String> PRESETS = Map.of(
+            "UPDATE_HEAVY", "read=50,update=50",
+            "READ_MOSTLY", "read=95,update=5",
+            "READ_ONLY", "read=100",
+            "SCAN_HEAVY", "scan=95,insert=5",
+            "READ_MODIFY_WRITE", "read=50,read_modify_write=50"
+    );
+
+    private final String name;
+    private final WorkloadOperation[] operations;
+    private final double[] cumulative;
+
+    private WorkloadMix(String name, Map<WorkloadOperation, Double> weights) {
+        double total = weights.values().stream().mapToDouble(Double::doubleValue).sum();
+        if (total <= 0) throw new IllegalArgumentException("Workload bez operacji: " + name);
+        this.name = name;
+        this.operations = weights.keySet().toArray(new WorkloadOperation[0]);
+        this.cumulative = new double[operations.length];
+        double acc = 0;
+        for (int i = 0; i < operations.length; i++) {
+            acc += weights.get(operations[i]) / total;
+            cumulative[i] = acc;
+        }
+        cumulative[operations.length - 1] = 1.0;
+    }
+
+    public static WorkloadMix parse(String spec) {
+        String key = spec == null || spec.isBlank() ? "READ_MOSTLY" : spec.trim();
+        String preset = PRESETS.get(key.toUpperCase(Locale.ROOT));
+        return new WorkloadMix(preset != null ? key.toUpperCase(Locale.ROOT) : key, parseWeights(preset != null ? preset : key));
+    }
+
+    private static Map<WorkloadOperation, Double> parseWeights(String spec) {
+        Map<WorkloadOperation, Double> weights = new EnumMap<>(WorkloadOperation.class);
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split("=");
+            if (kv.length != 2) throw new IllegalArgumentException("Niepoprawny wpis workloadu: '" + part + "'");
+            double w = Double.parseDouble(kv[1].trim());
+            if (w > 0) weights.merge(WorkloadOperation.valueOf(kv[0].trim().toUpperCase(Locale.ROOT)), w, Double::sum);
+        }
+        return weights;
+    }
+
+    public WorkloadOperation next() {
+        double r = ThreadLocalRandom.current().nextDouble();
+        for (int i = 0; i < cumulative.length; i++) {
+            if (r < cumulative[i]) return operations[i];
+        }
+        return operations[operations.length - 1];
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public WorkloadOperation[] getOperations() {
+        return operations.clone();
+    }
+
+    @Override
+    public String toString() {
+        Map<WorkloadOperation, Double> shares = new EnumMap<>(WorkloadOperation.class);
+        double prev = 0;
+        for (int i = 0; i < operations.length; i++) {
+            shares.put(operations[i], cumulative[i] - prev);
+            prev = cumulative[i];
+        }
+        return name + " " + shares.entrySet().stream()
+                .map(e -> e.getKey().name().toLowerCase(Locale.ROOT) + "=" + Math.round(e.getValue() * 100) + "%")
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+}
@@ -0,0 +1,15 @@
+package com.benchmarking.dbcomparison.benchmark.workload;
+
+/** Typy operacji przeplatanych w jednym przebiegu workloadu mieszanego. */
+public enum WorkloadOperation {
+    /** Odczyt punktowy po kluczu (klient / produkt / zamówienie). */
+    READ,
+    /** Aktualizacja jednego wiersza po kluczu. */
+    UPDATE,
+    /** Wstawienie nowego klienta. */
+    INSERT,
+    /** Krótki skan zakresu po kluczu (1..maxScanLength wierszy). */
+    SCAN,
+    /** Odczyt i zapis tego samego wiersza w jednej transakcji. */
+    READ_MODIFY_WRITE
+}
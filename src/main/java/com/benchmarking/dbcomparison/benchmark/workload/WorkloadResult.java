@@ -0,0 +1,23 @@
+package com.benchmarking.dbcomparison.benchmark.workload;
+
+import com.benchmarking.dbcomparison.util.LatencyStats;
+import lombok.Value;
+
+import java.util.Map;
+
+/** Wynik jednego przebiegu workloadu mieszanego (okno pomiarowe). */
+@Value
+public class WorkloadResult {
+    String mix;
+    int threads;
+    double elapsedSeconds;
+    long pinnedEvents;
+    Map<WorkloadOperation, LatencyStats> perOperation;
+    Map<WorkloadOperation, Integer> errors;
+    LatencyStats total;
+    int totalErrors;
+
+    public double throughput() {
+        return elapsedSeconds > 0 ? total.getCount() / elapsedSeconds : 0;
+    }
+}
@@ -1,8 +1,17 @@
 package com.benchmarking.dbcomparison.config;
 
+import com.benchmarking.dbcomparison.benchmark.concurrency.ArrivalDistribution;
+import com.benchmarking.dbcomparison.benchmark.concurrency.ExecutorMode;
+import com.benchmarking.dbcomparison.benchmark.insert.InsertEngine;
+import com.benchmarking.dbcomparison.benchmark.keys.KeyDistribution;
+import com.benchmarking.dbcomparison.model.id.IdStrategy;
+import com.benchmarking.dbcomparison.util.GeneratorMode;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Configuration
 @ConfigurationProperties(prefix = "benchmark")
 public class BenchmarkConfig {
@@ -10,6 +19,92 @@ public class BenchmarkConfig {
     private int threads = 10;
     private int batchSize=1000;
 
+    // fazy przebiegu: rozgrzewka (s lub % rekordów), okno pomiarowe (0 = na liczbę rekordów), wygaszanie
+    private int warmupPercent = 1;
+    private int warmupSeconds = 0;
+    private int measurementSeconds = 0;
+    private int cooldownSeconds = 0;
+
+    // open-loop: docelowe tempa (ops/s) i rozkład odstępów między przybyciami
+    private List<Integer> targetRates = new ArrayList<>(List.of(250, 500, 1000, 2000));
+    private ArrivalDistribution arrivalDistribution = ArrivalDistribution.POISSON;
+
+    // rodzaj wątków w testach wielowątkowych; przy VIRTUAL raportujemy przypięcia dłuższe niż próg
+    private ExecutorMode executorMode = ExecutorMode.PLATFORM;
+    private int pinningThresholdMs = 20;
+
+    // workload mieszany: preset (READ_MOSTLY, UPDATE_HEAVY, ...) albo wagi "read=90,update=10"
+    private String workloadMix = "READ_MOSTLY";
+    private int workloadDurationSeconds = 60;
+    private int maxScanLength = 100;
+
+    // wybór kluczy w odczytach/aktualizacjach: UNIFORM / ZIPFIAN / HOTSPOT / LATEST
+    private KeyDistribution keyDistribution = KeyDistribution.UNIFORM;
+    private double zipfianTheta = 0.99;
+    private double hotspotDataFraction = 0.2;
+    private double hotspotOpFraction = 0.8;
+
+    // przebieg skalowalności: 1, 2, 4 … sweepMaxThreads wątków (0 = threads), opcjonalnie kilka pul Hikari
+    private int sweepMaxThreads = 0;
+    private List<Integer> sweepPoolSizes = new ArrayList<>();
+    private int sweepStepSeconds = 15;
+    private String sweepWorkload = "READ_ONLY";
+    private double kneeGainThreshold = 0.05;
+
+    // generowanie danych: FAKER (JavaFaker) / FAST (słowniki + SplittableRandom); generatorThreads > 0 – paczki
+    // generowane równolegle przed zapisem, 0 – na wątku zapisującym
+    private GeneratorMode generatorMode = GeneratorMode.FAKER;
+    private int generatorThreads = 0;
+
+    // zbiór deterministyczny: datasetSeed ustawiony = te same wiersze w każdym przebiegu, liczności z scaleFactor
+    private Long datasetSeed;
+    private double scaleFactor = 1.0;
+
+    // ścieżka zapisu w teście INSERT: JPA (saveAll) / JDBC_BATCH / BULK (COPY / LOAD DATA, paczki po bulkChunkRows wierszy)
+    private InsertEngine insertEngine = InsertEngine.JPA;
+    private int bulkChunkRows = 50_000;
+
+    // nadawanie kluczy głównych: RANDOM_V4 / TIME_ORDERED_V7 / SEQUENTIAL / SWAPPED_V1; idStrategies – warianty
+    // porównywane w teście strategii id (puste = wszystkie)
+    private IdStrategy idStrategy = IdStrategy.RANDOM_V4;
+    private List<IdStrategy> idStrategies = new ArrayList<>();
+
+    // co ile ms próbkować oczekiwania na blokady (pg_locks / performance_schema.data_lock_waits) w trakcie kroku
+    private int lockSampleIntervalMs = 50;
+
+    // aspekt metryk repozytoriów: false = bez pomiaru, aspectSampleEvery = N – czas i wynik mierzone co N-te wywołanie
+    // (losowo, 1 = każde), liczba operacji zawsze pełna
+    private boolean aspectEnabled = true;
+    private int aspectSampleEvery = 1;
+
+    // statystyki zapytań serwera (pg_stat_statements / events_statements_summary_by_digest) – ile najdroższych
+    // zapytań dołączać do wyniku kroku
+    private int statementStatsTop = 20;
+
+    // test indeksów: true = bieżący plan zastępuje bazowy w index-plan-baseline.csv (inaczej tylko flaga zmiany)
+    private boolean planBaselineUpdate = false;
+
+    // nagranie JFR wokół przebiegu: wbudowana konfiguracja JDK ("default" ~1% narzutu, "profile" – więcej próbek)
+    private String jfrSettings = "profile";
+
+    // próbkowanie zasobów hosta i JVM (/proc, MXBeany) w trakcie kroku; szereg czasowy w resources-<id przebiegu>.csv
+    private int resourceSampleIntervalMs = 1000;
+
+    // proxy JDBC liczące round tripy, batche i czas w sterowniku (JdbcProxyPostProcessor, czytane przy starcie);
+    // domyślnie wyłączone – refleksja na każdym wywołaniu JDBC dokłada własny narzut
+    private boolean jdbcProxyEnabled = false;
+
+    // wspólny zapis wyników (ResultSink): <resultsFile>.csv i <resultsFile>.jsonl w katalogu roboczym
+    private String resultsFile = "benchmark-results";
+    private int resultsQueueCapacity = 10_000;
+
+    // powtórzenia przebiegu: iterations razy w tym JVM albo w forks osobnych JVM (0 = bez forków);
+    // statystyki: przedziały ufności na poziomie 1 - significanceLevel, test Welcha na tym samym poziomie
+    private int iterations = 1;
+    private int forks = 0;
+    private int forkTimeoutMinutes = 120;
+    private double significanceLevel = 0.05;
+
     public int getRecordCount() {
         return recordCount;
     }
@@ -33,5 +128,340 @@ public class BenchmarkConfig {
     public void setBatchSize(int batchSize) {
         this.batchSize = batchSize;
     }
-}
 
+    public int getWarmupPercent() {
+        return warmupPercent;
+    }
+
+    public void setWarmupPercent(int warmupPercent) {
+        this.warmupPercent = warmupPercent;
+    }
+
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    public void setWarmupSeconds(int warmupSeconds) {
+        this.warmupSeconds = warmupSeconds;
+    }
+
+    public int getMeasurementSeconds() {
+        return measurementSeconds;
+    }
+
+    public void setMeasurementSeconds(int measurementSeconds) {
+        this.measurementSeconds = measurementSeconds;
+    }
+
+    public int getCooldownSeconds() {
+        return cooldownSeconds;
+    }
+
+    public void setCooldownSeconds(int cooldownSeconds) {
+        this.cooldownSeconds = cooldownSeconds;
+    }
+
+    public List<Integer> getTargetRates() {
+        return targetRates;
+    }
+
+    public void setTargetRates(List<Integer> targetRates) {
+        this.targetRates = targetRates;
+    }
+
+    public ArrivalDistribution getArrivalDistribution() {
+        return arrivalDistribution;
+    }
+
+    public void setArrivalDistribution(ArrivalDistribution arrivalDistribution) {
+        this.arrivalDistribution = arrivalDistribution;
+    }
+
+    public ExecutorMode getExecutorMode() {
+        return executorMode;
+    }
+
+    public void setExecutorMode(ExecutorMode executorMode) {
+        this.executorMode = executorMode;
+    }
+
+    public int getPinningThresholdMs() {
+        return pinningThresholdMs;
+    }
+
+    public void setPinningThresholdMs(int pinningThresholdMs) {
+        this.pinningThresholdMs = pinningThresholdMs;
+    }
+
+    public String getWorkloadMix() {
+        return workloadMix;
+    }
+
+    public void setWorkloadMix(String workloadMix) {
+        this.workloadMix = workloadMix;
+    }
+
+    public int getWorkloadDurationSeconds() {
+        return workloadDurationSeconds;
+    }
+
+    public void setWorkloadDurationSeconds(int workloadDurationSeconds) {
+        this.workloadDurationSeconds = workloadDurationSeconds;
+    }
+
+    public int getMaxScanLength() {
+        return maxScanLength;
+    }
+
+    public void setMaxScanLength(int maxScanLength) {
+        this.maxScanLength = maxScanLength;
+    }
+
+    public KeyDistribution getKeyDistribution() {
+        return keyDistribution;
+    }
+
+    public void setKeyDistribution(KeyDistribution keyDistribution) {
+        this.keyDistribution = keyDistribution;
+    }
+
+    public double getZipfianTheta() {
+        return zipfianTheta;
+    }
+
+    public void setZipfianTheta(double zipfianTheta) {
+        this.zipfianTheta = zipfianTheta;
+    }
+
+    public double getHotspotDataFraction() {
+        return hotspotDataFraction;
+    }
+
+    public void setHotspotDataFraction(double hotspotDataFraction) {
+        this.hotspotDataFraction = hotspotDataFraction;
+    }
+
+    public double getHotspotOpFraction() {
+        return hotspotOpFraction;
+    }
+
+    public void setHotspotOpFraction(double hotspotOpFraction) {
+        this.hotspotOpFraction = hotspotOpFraction;
+    }
+
+    public int getSweepMaxThreads() {
+        return sweepMaxThreads;
+    }
+
+    public void setSweepMaxThreads(int sweepMaxThreads) {
+        this.sweepMaxThreads = sweepMaxThreads;
+    }
+
+    public List<Integer> getSweepPoolSizes() {
+        return sweepPoolSizes;
+    }
+
+    public void setSweepPoolSizes(List<Integer> sweepPoolSizes) {
+        this.sweepPoolSizes = sweepPoolSizes;
+    }
+
+    public int getSweepStepSeconds() {
+        return sweepStepSeconds;
+    }
+
+    public void setSweepStepSeconds(int sweepStepSeconds) {
+        this.sweepStepSeconds = sweepStepSeconds;
+    }
+
+    public String getSweepWorkload() {
+        return sweepWorkload;
+    }
+
+    public void setSweepWorkload(String sweepWorkload) {
+        this.sweepWorkload = sweepWorkload;
+    }
+
+    public double getKneeGainThreshold() {
+        return kneeGainThreshold;
+    }
+
+    public void setKneeGainThreshold(double kneeGainThreshold) {
+        this.kneeGainThreshold = kneeGainThreshold;
+    }
+
+    public GeneratorMode getGeneratorMode() {
+        return generatorMode;
+    }
+
+    public void setGeneratorMode(GeneratorMode generatorMode) {
+        this.generatorMode = generatorMode;
+    }
+
+    public int getGeneratorThreads() {
+        return generatorThreads;
+    }
+
+    public void setGeneratorThreads(int generatorThreads) {
+        this.generatorThreads = generatorThreads;
+    }
+
+    public Long getDatasetSeed() {
+        return datasetSeed;
+    }
+
+    public void setDatasetSeed(Long datasetSeed) {
+        this.datasetSeed = datasetSeed;
+    }
+
+    public double getScaleFactor() {
+        return scaleFactor;
+    }
+
+    public void setScaleFactor(double scaleFactor) {
+        this.scaleFactor = scaleFactor;
+    }
+
+    public InsertEngine getInsertEngine() {
+        return insertEngine;
+    }
+
+    public void setInsertEngine(InsertEngine insertEngine) {
+        this.insertEngine = insertEngine;
+    }
+
+    public int getBulkChunkRows() {
+        return bulkChunkRows;
+    }
+
+    public void setBulkChunkRows(int bulkChunkRows) {
+        this.bulkChunkRows = bulkChunkRows;
+    }
+
+    public IdStrategy getIdStrategy() {
+        return idStrategy;
+    }
+
+    public void setIdStrategy(IdStrategy idStrategy) {
+        this.idStrategy = idStrategy;
+    }
+
+    public List<IdStrategy> getIdStrategies() {
+        return idStrategies;
+    }
+
+    public void setIdStrategies(List<IdStrategy> idStrategies) {
+        this.idStrategies = idStrategies;
+    }
+
+    public int getLockSampleIntervalMs() {
+        return lockSampleIntervalMs;
+    }
+
+    public void setLockSampleIntervalMs(int lockSampleIntervalMs) {
+        this.lockSampleIntervalMs = lockSampleIntervalMs;
+    }
+
+    public boolean isAspectEnabled() {
+        return aspectEnabled;
+    }
+
+    public void setAspectEnabled(boolean aspectEnabled) {
+        this.aspectEnabled = aspectEnabled;
+    }
+
+    public int getAspectSampleEvery() {
+        return aspectSampleEvery;
+    }
+
+    public void setAspectSampleEvery(int aspectSampleEvery) {
+        this.aspectSampleEvery = aspectSampleEvery;
+    }
+
+    public int getStatementStatsTop() {
+        return statementStatsTop;
+    }
+
+    public void setStatementStatsTop(int statementStatsTop) {
+        this.statementStatsTop = statementStatsTop;
+    }
+
+    public boolean isPlanBaselineUpdate() {
+        return planBaselineUpdate;
+    }
+
+    public void setPlanBaselineUpdate(boolean planBaselineUpdate) {
+        this.planBaselineUpdate = planBaselineUpdate;
+    }
+
+    public String getJfrSettings() {
+        return jfrSettings;
+    }
+
+    public void setJfrSettings(String jfrSettings) {
+        this.jfrSettings = jfrSettings;
+    }
+
+    public int getResourceSampleIntervalMs() {
+        return resourceSampleIntervalMs;
+    }
+
+    public void setResourceSampleIntervalMs(int resourceSampleIntervalMs) {
+        this.resourceSampleIntervalMs = resourceSampleIntervalMs;
+    }
+
+    public boolean isJdbcProxyEnabled() {
+        return jdbcProxyEnabled;
+    }
+
+    public void setJdbcProxyEnabled(boolean jdbcProxyEnabled) {
+        this.jdbcProxyEnabled = jdbcProxyEnabled;
+    }
+
+    public String getResultsFile() {
+        return resultsFile;
+    }
+
+    public void setResultsFile(String resultsFile) {
+        this.resultsFile = resultsFile;
+    }
+
+    public int getResultsQueueCapacity() {
+        return resultsQueueCapacity;
+    }
+
+    public void setResultsQueueCapacity(int resultsQueueCapacity) {
+        this.resultsQueueCapacity = resultsQueueCapacity;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+
+    public int getForks() {
+        return forks;
+    }
+
+    public void setForks(int forks) {
+        this.forks = forks;
+    }
+
+    public int getForkTimeoutMinutes() {
+        return forkTimeoutMinutes;
+    }
+
+    public void setForkTimeoutMinutes(int forkTimeoutMinutes) {
+        this.forkTimeoutMinutes = forkTimeoutMinutes;
+    }
+
+    public double getSignificanceLevel() {
+        return significanceLevel;
+    }
+
+    public void setSignificanceLevel(double significanceLevel) {
+        this.significanceLevel = significanceLevel;
+    }
+}
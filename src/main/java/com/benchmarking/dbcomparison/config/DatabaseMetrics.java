@@ -1,21 +1,51 @@
 package com.benchmarking.dbcomparison.config;
 
+import com.benchmarking.dbcomparison.benchmark.phase.PhaseTracker;
+import com.benchmarking.dbcomparison.util.LatencyStats;
 import io.micrometer.core.instrument.*;
-import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PreDestroy;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
 
 @Component
 public class DatabaseMetrics {
     private final MeterRegistry meterRegistry;
     private final Counter failedQueriesCounter;
     private final Timer transactionTimer;
+    private final PhaseTracker phaseTracker;
+
+    // baza -> operacja -> uchwyt; odczyt bez alokacji, tworzenie tylko przy pierwszym pomiarze pary
+    private final Map<String, Map<String, LatencyRecorder>> recorders = new ConcurrentHashMap<>();
+    // wskaźniki trzymane w polach – Micrometer przechowuje wartość gauge przez słabą referencję
+    private final Map<String, Map<String, AtomicLong>> dataSizes = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, LongAdder>> activeCalls = new ConcurrentHashMap<>();
+    // pozostałe liczniki i timery też rejestrowane raz na zestaw tagów: baza -> klucz -> miernik
+    private final Map<String, Map<String, Timer>> lockWaitTimers = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Counter>> indexUsageCounters = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Counter>> errorCounters = new ConcurrentHashMap<>();
+    private final Map<String, Map<Integer, Timer>> joinQueryTimers = new ConcurrentHashMap<>();
+    private final Map<String, Map<Boolean, Counter>> cacheCounters = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService merger = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "latency-merger");
+        t.setDaemon(true);
+        return t;
+    });
 
     private static final String APPLICATION_TAG = "db-comparison";
+    private static final long MERGE_INTERVAL_MS = 1000;
 
-    public DatabaseMetrics(MeterRegistry meterRegistry) {
+    public DatabaseMetrics(MeterRegistry meterRegistry, PhaseTracker phaseTracker) {
         this.meterRegistry = meterRegistry;
+        this.phaseTracker = phaseTracker;
         this.failedQueriesCounter = Counter.builder("db_queries_failed_total")
             .description("Number of failed database queries")
             .register(meterRegistry);
@@ -23,114 +53,171 @@ public class DatabaseMetrics {
             .description("Database transaction duration")
             .publishPercentiles(0.5, 0.95, 0.99)
             .register(meterRegistry);
+        merger.scheduleAtFixedRate(this::mergeLatencies, MERGE_INTERVAL_MS, MERGE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        merger.shutdownNow();
+    }
+
+    private void mergeLatencies() {
+        for (Map<String, LatencyRecorder> byOperation : recorders.values()) {
+            for (LatencyRecorder r : byOperation.values()) r.merge();
+        }
+    }
+
+    // Rozgrzewka i wygaszanie nie są zapisywane – tylko okno pomiarowe
+    boolean recording() {
+        return phaseTracker == null || phaseTracker.isRecording();
     }
 
     public void recordTransactionTime(long timeInMillis) {
+        if (!recording()) return;
         transactionTimer.record(timeInMillis, TimeUnit.MILLISECONDS);
     }
 
     public void incrementFailedQueries() {
+        if (!recording()) return;
         failedQueriesCounter.increment();
     }
 
     public void incrementDatabaseOperations(String operation, String database) {
-        meterRegistry.counter("db_operations_total",
-            "operation", operation,
-            "database", database,
-            "application", APPLICATION_TAG
-        ).increment();
+        if (!recording()) return;
+        recorder(operation, database).operations().increment();
     }
 
     public void recordDataSize(String tableName, String database, long size) {
-        meterRegistry.gauge("db_table_size",
+        if (!recording()) return;
+        dataSize(tableName, database).set(size);
+    }
+
+    AtomicLong dataSize(String tableName, String database) {
+        Map<String, AtomicLong> byTable = dataSizes.computeIfAbsent(database, d -> new ConcurrentHashMap<>());
+        AtomicLong size = byTable.get(tableName);
+        return size != null ? size : byTable.computeIfAbsent(tableName, t -> meterRegistry.gauge("db_table_size",
             Tags.of(
-                Tag.of("table", tableName),
+                Tag.of("table", t),
                 Tag.of("database", database),
                 Tag.of("application", APPLICATION_TAG)
             ),
-            size);
+            new AtomicLong()));
     }
 
     public Timer.Sample startTimer() {
         return Timer.start(meterRegistry);
     }
 
-    private Timer getOrCreateOperationTimer(String operation, String database) {
-        // Ten timer będzie używany przez stopTimer() i do odczytu p95
-        return Timer.builder("db_operation_time_seconds")
+    /** Uchwyt pomiaru dla pary (operacja, baza) – rejestracja w Micrometerze tylko za pierwszym razem. */
+    public LatencyRecorder recorder(String operation, String database) {
+        Map<String, LatencyRecorder> byOperation = recorders.get(database);
+        if (byOperation == null) byOperation = recorders.computeIfAbsent(database, d -> new ConcurrentHashMap<>());
+        LatencyRecorder r = byOperation.get(operation);
+        return r != null ? r : byOperation.computeIfAbsent(operation, op -> createRecorder(op, database));
+    }
+
+    private LatencyRecorder createRecorder(String operation, String database) {
+        // Ten timer zasila kubełki histogramu w Prometheusie; percentyle liczy LatencyRecorder
+        Timer timer = Timer.builder("db_operation_time_seconds")
                 .description("DB operation duration")
-                .publishPercentiles(0.5, 0.95, 0.99)          // percentyle
-                .publishPercentileHistogram(true)              // histogram (lepsza precyzja)
+                .publishPercentileHistogram(true)
+                .tags("operation", operation,
+                        "database", database,
+                        "application", APPLICATION_TAG)
+                .register(meterRegistry);
+        Counter operations = Counter.builder("db_operations_total")
+                .tags("operation", operation,
+                        "database", database,
+                        "application", APPLICATION_TAG)
+                .register(meterRegistry);
+        LatencyRecorder recorder = new LatencyRecorder(timer, operations);
+        latencyGauge(recorder, operation, database, "0.5", LatencyStats::getP50Ms);
+        latencyGauge(recorder, operation, database, "0.99", LatencyStats::getP99Ms);
+        latencyGauge(recorder, operation, database, "0.999", LatencyStats::getP999Ms);
+        latencyGauge(recorder, operation, database, "max", LatencyStats::getMaxMs);
+        return recorder;
+    }
+
+    private void latencyGauge(LatencyRecorder recorder, String operation, String database, String quantile,
+                              ToDoubleFunction<LatencyStats> value) {
+        Gauge.builder("db_operation_latency_ms", recorder, r -> value.applyAsDouble(r.lastStats()))
+                .description("DB operation latency (HdrHistogram, since start)")
                 .tags("operation", operation,
                         "database", database,
+                        "quantile", quantile,
                         "application", APPLICATION_TAG)
                 .register(meterRegistry);
     }
 
     public void stopTimer(Timer.Sample sample, String operation, String database) {
-        Timer t = getOrCreateOperationTimer(operation, database);
-        sample.stop(t);
+        if (!recording()) return;
+        recorder(operation, database).record(sample);
     }
 
-    public double getP95Millis(String operation, String database) {
-        Timer t = meterRegistry.find("db_operation_time_seconds")
-                .tag("operation", operation)
-                .tag("database", database)
-                .timer();
-        if (t == null) return Double.NaN;
-
-        var snap = t.takeSnapshot();
-        for (ValueAtPercentile v : snap.percentileValues()) {
-            if (Math.abs(v.percentile() - 0.95) < 1e-9) {
-                return v.value(TimeUnit.MILLISECONDS);
-            }
+    /** p50/p90/p95/p99/p99.9/max z bieżącego okna ({@link #startWindow()}); pusty wynik, gdy para nie była w nim mierzona. */
+    public LatencyStats getLatency(String operation, String database) {
+        Map<String, LatencyRecorder> byOperation = recorders.get(database);
+        LatencyRecorder r = byOperation != null ? byOperation.get(operation) : null;
+        return r != null ? r.windowStats() : LatencyStats.of(new long[0], 0);
+    }
+
+    /** Nowe okno percentyli dla wierszy wyników – na początku kroku i okna pomiaru (BenchmarkRunContext). */
+    public void startWindow() {
+        for (Map<String, LatencyRecorder> byOperation : recorders.values()) {
+            for (LatencyRecorder r : byOperation.values()) r.startWindow();
         }
-        return Double.NaN;
     }
 
-    // Cache hit ratio
-    public void recordCacheHit(String operation, String database, boolean isHit) {
-        meterRegistry.counter("db_cache_hits_total",
-            "operation", operation,
+    // Bufor bazy: przyrost bloków trafionych / czytanych z dysku w kroku (BufferCacheSampler)
+    public void recordBufferCache(String database, long blocksHit, long blocksRead) {
+        if (blocksHit > 0) cacheCounter(database, true).increment(blocksHit);
+        if (blocksRead > 0) cacheCounter(database, false).increment(blocksRead);
+    }
+
+    private Counter cacheCounter(String database, boolean isHit) {
+        return cached(cacheCounters, database, isHit, hit -> meterRegistry.counter("db_cache_hits_total",
+            "operation", "buffer_pool",
             "database", database,
-            "result", isHit ? "hit" : "miss",
+            "result", hit ? "hit" : "miss",
             "application", APPLICATION_TAG
-        ).increment();
+        ));
     }
 
-    // Aktywne połączenia
-    public void recordActiveConnections(String database, long connectionCount) {
-        meterRegistry.gauge("db_connections_active",
-            Tags.of(
-                Tag.of("database", database),
-                Tag.of("application", APPLICATION_TAG)
-            ),
-            connectionCount);
+    /** Miernik z pamięci podręcznej (baza, klucz); {@code create} rejestruje go w Micrometerze tylko za pierwszym razem. */
+    private static <K, M> M cached(Map<String, Map<K, M>> cache, String database, K key, Function<K, M> create) {
+        Map<K, M> byKey = cache.get(database);
+        if (byKey == null) byKey = cache.computeIfAbsent(database, d -> new ConcurrentHashMap<>());
+        M meter = byKey.get(key);
+        return meter != null ? meter : byKey.computeIfAbsent(key, create);
     }
 
-    // Aktywne wątki
-    public void recordThreadCount(String operation, String database, int threadCount) {
-        meterRegistry.gauge("db_threads_active",
-            Tags.of(
-                Tag.of("operation", operation),
-                Tag.of("database", database),
-                Tag.of("application", APPLICATION_TAG)
-            ),
-            threadCount);
+    // Wątki w trakcie wywołania repozytorium danego typu operacji
+    LongAdder activeCalls(String operation, String database) {
+        Map<String, LongAdder> byOperation = activeCalls.computeIfAbsent(database, d -> new ConcurrentHashMap<>());
+        LongAdder calls = byOperation.get(operation);
+        return calls != null ? calls : byOperation.computeIfAbsent(operation, op -> {
+            LongAdder adder = new LongAdder();
+            Gauge.builder("db_threads_active", adder, LongAdder::sum)
+                .tags("operation", op,
+                      "database", database,
+                      "application", APPLICATION_TAG)
+                .register(meterRegistry);
+            return adder;
+        });
     }
 
     // Czas oczekiwania na blokady
-    private Timer createLockWaitTimer(String lockType, String database) {
-        return Timer.builder("db_lock_wait_seconds")
-            .tags("lock_type", lockType,
+    private Timer lockWaitTimer(String lockType, String database) {
+        return cached(lockWaitTimers, database, lockType, type -> Timer.builder("db_lock_wait_seconds")
+            .tags("lock_type", type,
                   "database", database,
                   "application", APPLICATION_TAG)
-            .register(meterRegistry);
+            .register(meterRegistry));
     }
 
     public void recordLockWaitTime(String lockType, String database, long waitTimeMillis) {
-        Timer timer = createLockWaitTimer(lockType, database);
-        timer.record(waitTimeMillis, TimeUnit.MILLISECONDS);
+        if (!recording()) return;
+        lockWaitTimer(lockType, database).record(waitTimeMillis, TimeUnit.MILLISECONDS);
     }
 
     public double getOperationsCount(String operation, String database) {
@@ -155,43 +242,35 @@ public class DatabaseMetrics {
     }
 
     public double getTotalOperationTimeMillis(String operation, String database) {
-        Timer timer = meterRegistry.find("db_operation_time_seconds")
-                .tag("operation", operation)
-                .tag("database", database)
-                .timer();
-        return timer != null ? timer.totalTime(TimeUnit.MILLISECONDS) : 0;
+        Map<String, LatencyRecorder> byOperation = recorders.get(database);
+        LatencyRecorder r = byOperation != null ? byOperation.get(operation) : null;
+        return r != null ? r.timer().totalTime(TimeUnit.MILLISECONDS) : 0;
     }
 
     public void recordIndexUsage(String indexName, String database) {
-        meterRegistry.counter("db_index_usage_total",
-            "index", indexName,
+        if (!recording()) return;
+        cached(indexUsageCounters, database, indexName, index -> meterRegistry.counter("db_index_usage_total",
+            "index", index,
             "database", database,
             "application", APPLICATION_TAG
-        ).increment();
+        )).increment();
     }
 
     public void incrementDatabaseErrors(String operation, String database) {
-        meterRegistry.counter("db_errors_total",
-            "operation", operation,
+        if (!recording()) return;
+        cached(errorCounters, database, operation, op -> meterRegistry.counter("db_errors_total",
+            "operation", op,
             "database", database,
             "application", APPLICATION_TAG
-        ).increment();
+        )).increment();
     }
 
     public void recordJoinQueryMetrics(String database, int joinCount, long durationMs) {
-        meterRegistry.timer("db_join_query_seconds",
+        if (!recording()) return;
+        cached(joinQueryTimers, database, joinCount, joins -> meterRegistry.timer("db_join_query_seconds",
             "database", database,
-            "join_count", String.valueOf(joinCount),
+            "join_count", String.valueOf(joins),
             "application", APPLICATION_TAG
-        ).record(durationMs, TimeUnit.MILLISECONDS);
-    }
-
-    public void recordCacheMetrics(String operation, String database, boolean isHit) {
-        meterRegistry.counter("db_cache_hits_total",
-                "operation", operation,
-                "database", database,
-                "result", isHit ? "hit" : "miss",
-                "application", APPLICATION_TAG
-        ).increment();
+        )).record(durationMs, TimeUnit.MILLISECONDS);
     }
 }
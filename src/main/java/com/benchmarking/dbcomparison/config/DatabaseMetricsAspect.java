@@ -1,130 +1,129 @@
 package com.benchmarking.dbcomparison.config;
 
-import io.micrometer.core.instrument.Timer;
+import jdk.jfr.Event;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Arrays;
-import java.util.Random;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
 
+/**
+ * Pomiar wywołań repozytoriów i metod {@code @Transactional}. Uchwyty metryk rozwiązywane są raz na
+ * (klasa repozytorium, metoda) – gorąca ścieżka to dwa odczyty mapy, {@code nanoTime} i zapis do HdrHistogramu.
+ * {@code benchmark.aspectEnabled=false} wyłącza pomiar, {@code benchmark.aspectSampleEvery=N} mierzy czas
+ * i wynik losowo co N-te wywołanie (percentyle bez obciążenia, liczba operacji nadal pełna).
+ * Narzut sprawdza {@code AspectOverheadTest}. Przy trwającym nagraniu JFR każde mierzone wywołanie
+ * to też zdarzenie {@code dbcomparison.RepositoryCall} / {@code dbcomparison.Transaction}.
+ */
 @Aspect
 @Component
 public class DatabaseMetricsAspect {
 
+    private static final String REPOSITORY_PACKAGE = "com.benchmarking.dbcomparison.repository";
+
     private final DatabaseMetrics databaseMetrics;
+    private final BenchmarkConfig benchmarkConfig;
 
     @Value("${spring.profiles.active:unknown}")
     private String activeProfile;
 
-    public DatabaseMetricsAspect(DatabaseMetrics databaseMetrics) {
+    // klasa celu -> metoda -> uchwyty; saveAll itp. są wspólne dla wszystkich repozytoriów, stąd klucz z klasą
+    private final Map<Class<?>, Map<Method, RepositoryCallMetrics>> handles = new ConcurrentHashMap<>();
+    private volatile RepositoryCallMetrics transactionHandle;
+
+    public DatabaseMetricsAspect(DatabaseMetrics databaseMetrics, BenchmarkConfig benchmarkConfig) {
         this.databaseMetrics = databaseMetrics;
+        this.benchmarkConfig = benchmarkConfig;
+    }
+
+    /** Wywołanie mierzonej metody – {@code joinPoint::proceed}. */
+    @FunctionalInterface
+    private interface Invocation {
+        Object proceed() throws Throwable;
     }
 
     @Around("@annotation(transactional)")
     public Object measureTransactionTime(ProceedingJoinPoint joinPoint, Transactional transactional) throws Throwable {
-        Timer.Sample timer = databaseMetrics.startTimer();
-        String operationType = joinPoint.getSignature().getName();
-
-        try {
-            Object result = joinPoint.proceed();
-            databaseMetrics.stopTimer(timer, "transaction", activeProfile);
-            databaseMetrics.incrementDatabaseOperations("transaction", activeProfile);
-            return result;
-        } catch (Exception e) {
-            databaseMetrics.incrementFailedQueries();
-            throw e;
-        }
+        if (!benchmarkConfig.isAspectEnabled()) return joinPoint.proceed();
+        RepositoryCallMetrics handle = transactionHandle;
+        if (handle == null) transactionHandle = handle = metrics(null, "transaction", "transaction");
+        return measure(handle, joinPoint::proceed);
     }
 
     @Around("execution(* com.benchmarking.dbcomparison.repository.*.*(..))")
     public Object measureQueryTime(ProceedingJoinPoint joinPoint) throws Throwable {
-        String methodName = joinPoint.getSignature().getName();
-        String operationType = getOperationType(methodName);
-        Timer.Sample timer = databaseMetrics.startTimer();
-        String repositoryName = getRepositoryName(joinPoint);
+        if (!benchmarkConfig.isAspectEnabled()) return joinPoint.proceed();
+        return measure(handle(joinPoint), joinPoint::proceed);
+    }
 
+    /** Rdzeń pomiaru, wspólny dla obu porad. */
+    private Object measure(RepositoryCallMetrics handle, Invocation invocation) throws Throwable {
+        if (!benchmarkConfig.isAspectEnabled() || !databaseMetrics.recording()) return invocation.proceed();
+        int every = benchmarkConfig.getAspectSampleEvery();
+        boolean sampled = every <= 1 || ThreadLocalRandom.current().nextInt(every) == 0;
+        long start = sampled ? System.nanoTime() : 0;
+        Event event = handle.newEvent();
+        if (event != null) event.begin();
+        Object result = null;
+        boolean failed = true;
+        handle.activeCalls.increment();
         try {
-            // Pomiar aktywnych połączeń i wątków przed wykonaniem operacji
-            updateConnectionMetrics();
-            databaseMetrics.recordThreadCount(operationType, activeProfile, Thread.activeCount());
-
-            Object result = joinPoint.proceed();
-            databaseMetrics.stopTimer(timer, operationType, activeProfile);
-            databaseMetrics.incrementDatabaseOperations(operationType, activeProfile);
-
-            // Pomiar rozmiaru danych
-            if (result instanceof Iterable<?>) {
-                int count = countResults((Iterable<?>) result);
-                databaseMetrics.recordDataSize(repositoryName, activeProfile, count);
-            }
-
-            // Cache hit ratio dla operacji SELECT
-            if (isSelectOperation(operationType)) {
-                measureCacheEffectiveness(methodName, result);
+            result = invocation.proceed();
+            failed = false;
+            if (sampled) {
+                handle.latency.record(System.nanoTime() - start);
+                handle.observe(result);
             }
-
-            // Czas oczekiwania na blokady dla operacji modyfikujących
-            if (isModifyingOperation(operationType)) {
-                measureLockWaitTime(operationType);
-            }
-
+            handle.latency.operations().increment();
             return result;
         } catch (Exception e) {
             databaseMetrics.incrementFailedQueries();
             throw e;
+        } finally {
+            handle.activeCalls.decrement();
+            if (event != null && event.shouldCommit()) handle.commit(event, result, failed, activeProfile);
         }
     }
 
-    private void updateConnectionMetrics() {
-        try {
-            // Pobieranie informacji o połączeniach z HikariCP
-            long activeConnections = getHikariActiveConnections();
-            databaseMetrics.recordActiveConnections(activeProfile, activeConnections);
-        } catch (Exception e) {
-            // Ignoruj błędy - nie chcemy przerywać głównej operacji
-            // log.warn("Nie udało się pobrać statystyk połączeń", e);
-        }
-    }
-
-    private long getHikariActiveConnections() {
-        // Tutaj można dodać integrację z HikariCP metrics
-        return 10; // Tymczasowa wartość
-    }
-
-    private void measureCacheEffectiveness(String methodName, Object result) {
-        boolean isCacheHit = isCacheHit(result);
-        databaseMetrics.recordCacheHit(methodName, activeProfile, isCacheHit);
-    }
-
-    private boolean isCacheHit(Object result) {
-        if (result instanceof Iterable<?>) {
-            return countResults((Iterable<?>) result) > 0;
-        }
-        return result != null;
+    /**
+     * Osobna instancja aspektu z własnymi ustawieniami pomiaru (te same metryki w rejestrze, własne uchwyty). Test narzutu
+     * nakłada ją na proxy atrapy repozytorium, zamiast przełączać wspólny {@link BenchmarkConfig}.
+     */
+    public DatabaseMetricsAspect withSettings(boolean enabled, int sampleEvery) {
+        BenchmarkConfig settings = new BenchmarkConfig();
+        settings.setAspectEnabled(enabled);
+        settings.setAspectSampleEvery(sampleEvery);
+        DatabaseMetricsAspect copy = new DatabaseMetricsAspect(databaseMetrics, settings);
+        copy.activeProfile = activeProfile;
+        return copy;
     }
 
-    private void measureLockWaitTime(String operationType) {
-        // Symulacja czasu oczekiwania na blokady
-        long waitTime = estimateLockWaitTime();
-        databaseMetrics.recordLockWaitTime(operationType, activeProfile, waitTime);
+    private RepositoryCallMetrics handle(ProceedingJoinPoint joinPoint) {
+        Class<?> targetClass = joinPoint.getTarget().getClass();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Map<Method, RepositoryCallMetrics> byMethod = handles.get(targetClass);
+        if (byMethod == null) byMethod = handles.computeIfAbsent(targetClass, c -> new ConcurrentHashMap<>());
+        RepositoryCallMetrics handle = byMethod.get(method);
+        return handle != null ? handle : byMethod.computeIfAbsent(method, m ->
+                metrics(getRepositoryName(targetClass, m), m.getName(), getOperationType(m.getName())));
     }
 
-    private long estimateLockWaitTime() {
-        // W rzeczywistej implementacji należałoby pobrać te dane z bazy
-        return ThreadLocalRandom.current().nextLong(1, 100);
-    }
-
-    private boolean isSelectOperation(String operationType) {
-        return "SELECT".equals(operationType);
-    }
-
-    private boolean isModifyingOperation(String operationType) {
-        return Arrays.asList("INSERT", "UPDATE", "DELETE").contains(operationType);
+    /**
+     * Nowy komplet uchwytów (rejestracja w Micrometerze tylko przy pierwszym użyciu nazw); rozmiar wyniku –
+     * gdy podano repozytorium. Trafienia w cache liczy {@code BufferCacheSampler} z liczników bazy.
+     */
+    private RepositoryCallMetrics metrics(String repository, String method, String operation) {
+        return new RepositoryCallMetrics(repository, method, operation,
+                databaseMetrics.recorder(operation, activeProfile),
+                databaseMetrics.activeCalls(operation, activeProfile),
+                repository != null ? databaseMetrics.dataSize(repository, activeProfile) : null);
     }
 
     private String getOperationType(String methodName) {
@@ -136,14 +135,15 @@ public class DatabaseMetricsAspect {
         return "OTHER";
     }
 
-    private String getRepositoryName(ProceedingJoinPoint joinPoint) {
-        String className = joinPoint.getTarget().getClass().getSimpleName();
-        return className.replace("Repository", "").toLowerCase();
-    }
-
-    private int countResults(Iterable<?> results) {
-        int count = 0;
-        for (Object o : results) count++;
-        return count;
+    /** Interfejs repozytorium zamiast nazwy klasy proxy ($ProxyNNN). */
+    private String getRepositoryName(Class<?> targetClass, Method method) {
+        Class<?> repository = method.getDeclaringClass();
+        for (Class<?> candidate : targetClass.getInterfaces()) {
+            if (REPOSITORY_PACKAGE.equals(candidate.getPackageName())) {
+                repository = candidate;
+                break;
+            }
+        }
+        return repository.getSimpleName().replace("Repository", "").toLowerCase();
     }
 }
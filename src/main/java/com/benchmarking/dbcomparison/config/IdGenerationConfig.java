@@ -0,0 +1,21 @@
+package com.benchmarking.dbcomparison.config;
+
+import com.benchmarking.dbcomparison.model.id.BenchmarkIdGenerator;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+
+/** Ustawia strategię kluczy głównych z {@code benchmark.idStrategy} dla całej aplikacji. */
+@Slf4j
+@Configuration
+public class IdGenerationConfig {
+
+    @Autowired private BenchmarkConfig benchmarkConfig;
+
+    @PostConstruct
+    void applyIdStrategy() {
+        BenchmarkIdGenerator.use(benchmarkConfig.getIdStrategy());
+        log.info("Strategia kluczy głównych: {}", benchmarkConfig.getIdStrategy());
+    }
+}
@@ -0,0 +1,111 @@
+package com.benchmarking.dbcomparison.config;
+
+import com.benchmarking.dbcomparison.util.LatencyStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Uchwyt pomiaru opóźnień jednej pary (operacja, baza) – rozwiązywany raz w {@link DatabaseMetrics}
+ * i trzymany w pamięci, więc pomiar nie buduje już Timera ani tagów przy każdym wywołaniu.
+ * <p>
+ * Zapis trafia do paska HdrHistogram {@link Recorder} wybranego po id wątku (paski tworzone leniwie): przy
+ * pulach do {@value #STRIPES} wątków każdy wątek ma praktycznie własny histogram, a zapis jest wait-free.
+ * Scalanie interwałów do histogramu skumulowanego ({@link #merge}) robi wątek próbkujący albo odczyt – nigdy
+ * wątek mierzony. Obok skumulowanego (wskaźniki Prometheusa) scalenie zasila histogram okna, zerowany przez
+ * {@link #startWindow()} na początku kroku / okna pomiaru – z niego pochodzą percentyle wierszy wyników.
+ * Wartości w mikrosekundach, {@value #SIGNIFICANT_DIGITS} cyfry znaczące (błąd &lt; 1%).
+ * <p>
+ * Timer Micrometera zostaje (kubełki histogramu dla dashboardów Grafany), ale bez percentyli liczonych
+ * po stronie klienta – p50/p99/p99.9/max eksportują wskaźniki z ostatniego scalenia.
+ */
+public class LatencyRecorder {
+
+    static final int SIGNIFICANT_DIGITS = 2;
+    static final int STRIPES = 64;
+
+    private final Timer timer;
+    private final Counter operations;
+    private final AtomicReferenceArray<Recorder> stripes = new AtomicReferenceArray<>(STRIPES);
+
+    // stan scalania – tylko pod monitorem merge()
+    private final Histogram interval = new Histogram(SIGNIFICANT_DIGITS);
+    private final Histogram cumulative = new Histogram(SIGNIFICANT_DIGITS);
+    private final Histogram window = new Histogram(SIGNIFICANT_DIGITS);
+    private volatile LatencyStats stats = LatencyStats.of(new long[0], 0);
+
+    LatencyRecorder(Timer timer, Counter operations) {
+        this.timer = timer;
+        this.operations = operations;
+    }
+
+    Counter operations() {
+        return operations;
+    }
+
+    Timer timer() {
+        return timer;
+    }
+
+    public void record(Timer.Sample sample) {
+        recordHistogram(sample.stop(timer));
+    }
+
+    public void record(long nanos) {
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+        recordHistogram(nanos);
+    }
+
+    private void recordHistogram(long nanos) {
+        stripe().recordValue(Math.max(1, nanos / 1_000));
+    }
+
+    private Recorder stripe() {
+        long id = Thread.currentThread().getId();
+        int index = (int) ((id ^ (id >>> 16)) & (STRIPES - 1));
+        Recorder r = stripes.get(index);
+        if (r == null) {
+            stripes.compareAndSet(index, null, new Recorder(SIGNIFICANT_DIGITS));
+            r = stripes.get(index);
+        }
+        return r;
+    }
+
+    /** Dokłada interwały wszystkich pasków do histogramu skumulowanego i odświeża eksportowane statystyki. */
+    synchronized void merge() {
+        boolean changed = false;
+        for (int i = 0; i < STRIPES; i++) {
+            Recorder r = stripes.get(i);
+            if (r == null) continue;
+            r.getIntervalHistogramInto(interval);
+            if (interval.getTotalCount() > 0) {
+                cumulative.add(interval);
+                window.add(interval);
+                changed = true;
+            }
+            interval.reset();
+        }
+        if (changed) stats = LatencyStats.ofMicros(cumulative);
+    }
+
+    /** Zamyka poprzednie okno: zapisy sprzed wywołania trafiają jeszcze do histogramu skumulowanego, ale nie do nowego okna. */
+    synchronized void startWindow() {
+        merge();
+        window.reset();
+    }
+
+    /** Statystyki od ostatniego {@link #startWindow()}, łącznie z jeszcze nie scalonymi zapisami. */
+    public synchronized LatencyStats windowStats() {
+        merge();
+        return LatencyStats.ofMicros(window);
+    }
+
+    /** Statystyki z ostatniego scalenia – tanie, dla wskaźników Micrometera. */
+    public LatencyStats lastStats() {
+        return stats;
+    }
+}
@@ -1,5 +1,6 @@
 package com.benchmarking.dbcomparison.config;
 
+import com.benchmarking.dbcomparison.benchmark.phase.PhaseTracker;
 import io.micrometer.core.aop.TimedAspect;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
@@ -16,7 +17,7 @@ public class MetricsConfig {
     }
 
     @Bean
-    public DatabaseMetrics databaseMetrics(MeterRegistry registry) {
-        return new DatabaseMetrics(registry);
+    public DatabaseMetrics databaseMetrics(MeterRegistry registry, PhaseTracker phaseTracker) {
+        return new DatabaseMetrics(registry, phaseTracker);
     }
 }
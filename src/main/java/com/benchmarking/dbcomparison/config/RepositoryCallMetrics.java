@@ -0,0 +1,67 @@
+package com.benchmarking.dbcomparison.config;
+
+import com.benchmarking.dbcomparison.benchmark.telemetry.jfr.RepositoryCallEvent;
+import com.benchmarking.dbcomparison.benchmark.telemetry.jfr.TransactionEvent;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Uchwyty metryk jednej metody repozytorium, rozwiązywane raz przy pierwszym wywołaniu
+ * ({@link DatabaseMetricsAspect#metrics}). Wynik oceniany jest bez iterowania – rozmiar tylko z
+ * {@link Collection#size()} / {@link Slice#getNumberOfElements()}, więc leniwe kolekcje nie są ładowane.
+ */
+public final class RepositoryCallMetrics {
+
+    private static final EventType TRANSACTION_EVENT = EventType.getEventType(TransactionEvent.class);
+    private static final EventType REPOSITORY_CALL_EVENT = EventType.getEventType(RepositoryCallEvent.class);
+
+    // opis do zdarzeń JFR; repository == null dla uchwytu transakcji
+    final String repository;
+    final String method;
+    final String operation;
+    final LatencyRecorder latency;
+    final LongAdder activeCalls;
+    final AtomicLong resultSize;
+
+    RepositoryCallMetrics(String repository, String method, String operation,
+                          LatencyRecorder latency, LongAdder activeCalls, AtomicLong resultSize) {
+        this.repository = repository;
+        this.method = method;
+        this.operation = operation;
+        this.latency = latency;
+        this.activeCalls = activeCalls;
+        this.resultSize = resultSize;
+    }
+
+    void observe(Object result) {
+        long size = size(result);
+        if (size >= 0 && resultSize != null) resultSize.set(size);
+    }
+
+    /** Zdarzenie JFR wywołania; null, gdy żadne nagranie go nie włączyło – bez alokacji na gorącej ścieżce. */
+    Event newEvent() {
+        if ("transaction".equals(operation)) return TRANSACTION_EVENT.isEnabled() ? new TransactionEvent() : null;
+        return REPOSITORY_CALL_EVENT.isEnabled() ? new RepositoryCallEvent() : null;
+    }
+
+    void commit(Event event, Object result, boolean failed, String database) {
+        if (event instanceof TransactionEvent t) {
+            t.set(database, size(result), failed);
+        } else {
+            ((RepositoryCallEvent) event).set(repository, method, operation, database, size(result), failed);
+        }
+        event.commit();
+    }
+
+    /** Liczba wierszy bez iterowania; -1 gdy wynik nie jest kolekcją. */
+    private static long size(Object result) {
+        if (result instanceof Collection<?> c) return c.size();
+        if (result instanceof Slice<?> s) return s.getNumberOfElements();
+        return -1;
+    }
+}
@@ -1,113 +1,155 @@
 package com.benchmarking.dbcomparison.controller;
-import com.benchmarking.dbcomparison.benchmark.*;
-import com.benchmarking.dbcomparison.benchmark.concurrency.*;
-import com.benchmarking.dbcomparison.benchmark.index.IndexPerformanceTest;
-import com.benchmarking.dbcomparison.benchmark.isolation.AcidTest;
-import com.benchmarking.dbcomparison.benchmark.isolation.IsolationLevelTest;
+import com.benchmarking.dbcomparison.benchmark.run.BenchmarkRunService;
+import com.benchmarking.dbcomparison.benchmark.telemetry.jfr.JfrRecordingService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Synchroniczne uruchamianie testów (odpowiedź po zakończeniu). Testy idą przez {@link BenchmarkRunService},
+ * więc w trakcie przebiegu z /benchmark/runs wywołanie kończy się 409 zamiast mieszać pomiary obu.
+ */
 @RestController
 @RequestMapping("/benchmark")
 @RequiredArgsConstructor
 public class BenchmarkController {
-    private final InsertPerformanceTest insertPerformanceTest;
-    private final ReadPerformanceTest readPerformanceTest;
-    private final UpdatePerformanceTest updatePerformanceTest;
-    private final DeletePerformanceTest deletePerformanceTest;
-    private final AllCrudPerformanceTest allCrudPerformanceTest;
-    private final IndexPerformanceTest indexPerformanceTest;
-    private final AcidTest acidTest;
-    private final IsolationLevelTest isolationLevelTest;
-    private final MultiThreadedInsertTest multiThreadedInsertTest;
-    private final MultiThreadedReadTest multiThreadedReadTest;
-    private final MultiThreadedUpdateTest multiThreadedUpdateTest;
-    private final MultiThreadedDeleteTest multiThreadedDeleteTest;
-    private final MultiThreadedCrudTest multiThreadedCrudTest;
+    private final BenchmarkRunService runService;
+    private final JfrRecordingService jfrRecordingService;
 
 
 // --------------- CRUD Tests ----------------
     @GetMapping("/insert")
-    public String runInsertTest() {
-        insertPerformanceTest.runAll();
-        return "Test insert zakończony.";
+    public ResponseEntity<String> runInsertTest(@RequestParam(required = false) String engine) throws Exception {
+        return run("insert", params("engine", engine), "Test insert zakończony.");
     }
 
     @GetMapping("/read")
-    public String runReadTest() {
-        readPerformanceTest.runAll();
-        return "Test read zakończony.";
+    public ResponseEntity<String> runReadTest() throws Exception {
+        return run("read", Map.of(), "Test read zakończony.");
     }
 
     @GetMapping("/update")
-    public String runUpdateTest() {
-        updatePerformanceTest.runAll();
-        return "Test update zakończony.";
+    public ResponseEntity<String> runUpdateTest() throws Exception {
+        return run("update", Map.of(), "Test update zakończony.");
     }
 
     @GetMapping("/delete")
-    public String runDeleteTest() {
-        deletePerformanceTest.runAll();
-        return "Test delete zakończony.";
+    public ResponseEntity<String> runDeleteTest() throws Exception {
+        return run("delete", Map.of(), "Test delete zakończony.");
     }
 
     @GetMapping("/allCrudTests")
-    public String runAllCrudTests() {
-        allCrudPerformanceTest.runAllTests();
-        return "Wszystkie testy CRUD zakończone.";
+    public ResponseEntity<String> runAllCrudTests() throws Exception {
+        return run("allCrudTests", Map.of(), "Wszystkie testy CRUD zakończone.");
     }
 
 // --------------- Index Tests ----------------
     @GetMapping("/index")
-    public String runIndexTest() {
-        indexPerformanceTest.runAllTests();
-        return "Wszystkie testy indexów zakończone.";
+    public ResponseEntity<String> runIndexTest() throws Exception {
+        return run("index", Map.of(), "Wszystkie testy indexów zakończone.");
+    }
+
+    @GetMapping("/idStrategy")
+    public ResponseEntity<String> runIdStrategyTest(@RequestParam(required = false) String engine,
+                                    @RequestParam(required = false) String strategies) throws Exception {
+        return run("idStrategy", params("engine", engine, "strategies", strategies), "Test strategii kluczy głównych zakończony.");
     }
 
 // --------------- Isolation Tests ----------------
     @GetMapping("/acid")
-    public String runAcidTest() throws InterruptedException {
-        acidTest.runAllTests();
-        return "Wszystkie testy ACID zakończone.";
+    public ResponseEntity<String> runAcidTest() throws Exception {
+        return run("acid", Map.of(), "Wszystkie testy ACID zakończone.");
     }
 
     @GetMapping("/isolation")
-    public String runIsolationLevelTest() throws InterruptedException {
-        isolationLevelTest.runAllTests();
-        return "Wszystkie testy poziomów izolacji zakończone.";
+    public ResponseEntity<String> runIsolationLevelTest() throws Exception {
+        return run("isolation", Map.of(), "Wszystkie testy poziomów izolacji zakończone.");
     }
 
 // --------------- Multi-Threaded CRUD Tests ----------------
     @GetMapping("/multiThreadedInsert")
-    public String runMultiThreadedInsertTest() throws InterruptedException {
-        multiThreadedInsertTest.runAllTests();
-        return "Wielowątkowy test INSERT zakończony.";
+    public ResponseEntity<String> runMultiThreadedInsertTest() throws Exception {
+        return run("multiThreadedInsert", Map.of(), "Wielowątkowy test INSERT zakończony.");
     }
 
     @GetMapping("/multiThreadedRead")
-    public String runMultiThreadedReadTest() throws InterruptedException {
-        multiThreadedReadTest.runAllTests();
-        return "Wielowątkowy test READ zakończony.";
+    public ResponseEntity<String> runMultiThreadedReadTest() throws Exception {
+        return run("multiThreadedRead", Map.of(), "Wielowątkowy test READ zakończony.");
     }
 
     @GetMapping("/multiThreadedUpdate")
-    public String runMultiThreadedUpdateTest() throws InterruptedException {
-        multiThreadedUpdateTest.runAllTests();
-        return "Wielowątkowy test UPDATE zakończony.";
+    public ResponseEntity<String> runMultiThreadedUpdateTest() throws Exception {
+        return run("multiThreadedUpdate", Map.of(), "Wielowątkowy test UPDATE zakończony.");
     }
 
     @GetMapping("/multiThreadedDelete")
-    public String runMultiThreadedDeleteTest() throws InterruptedException {
-        multiThreadedDeleteTest.runAllTests();
-        return "Wielowątkowy test DELETE zakończony.";
+    public ResponseEntity<String> runMultiThreadedDeleteTest() throws Exception {
+        return run("multiThreadedDelete", Map.of(), "Wielowątkowy test DELETE zakończony.");
     }
 
     @GetMapping("/multiThreadedCrud")
-    public String runMultiThreadedCrudTests() throws InterruptedException {
-        multiThreadedCrudTest.runAllTests();
-        return "Wszystkie wielowątkowe testy CRUD zakończone.";
+    public ResponseEntity<String> runMultiThreadedCrudTests() throws Exception {
+        return run("multiThreadedCrud", Map.of(), "Wszystkie wielowątkowe testy CRUD zakończone.");
+    }
+
+// --------------- Open-loop Tests ----------------
+    @GetMapping("/openLoop")
+    public ResponseEntity<String> runOpenLoopTests() throws Exception {
+        return run("openLoop", Map.of(), "Testy open-loop zakończone.");
+    }
+
+// --------------- Workload Tests ----------------
+    @GetMapping("/workload")
+    public ResponseEntity<String> runMixedWorkload(@RequestParam(required = false) String mix) throws Exception {
+        return run("workload", params("mix", mix), "Workload mieszany zakończony.");
+    }
+
+    @GetMapping("/scalabilitySweep")
+    public ResponseEntity<String> runScalabilitySweep(@RequestParam(required = false) String mix) throws Exception {
+        return run("scalabilitySweep", params("mix", mix), "Test skalowalności zakończony.");
+    }
+
+// --------------- Instrumentation ----------------
+    @GetMapping("/aspectOverhead")
+    public ResponseEntity<String> runAspectOverhead() throws Exception {
+        return run("aspectOverhead", Map.of(), "Pomiar narzutu aspektu metryk zakończony.");
+    }
+
+    /** Nagranie JFR wokół testów wołanych ręcznie: start → /benchmark/... → stop (plik .jfr obok CSV). */
+    @GetMapping("/jfr/start")
+    public ResponseEntity<String> startJfrRecording(@RequestParam(defaultValue = "benchmark") String name) {
+        try {
+            return ResponseEntity.ok("Nagranie JFR rozpoczęte, zapis do: " + jfrRecordingService.start(name));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
     }
 
+    @GetMapping("/jfr/stop")
+    public String stopJfrRecording() {
+        var file = jfrRecordingService.stop();
+        return file != null ? "Nagranie JFR zapisane: " + file : "Brak trwającego nagrania JFR.";
+    }
 
+    private ResponseEntity<String> run(String benchmark, Map<String, String> params, String done) throws Exception {
+        if (!runService.runNow(benchmark, params)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Trwa inny benchmark – spróbuj po jego zakończeniu.");
+        }
+        return ResponseEntity.ok(done);
+    }
 
+    /** Pary nazwa–wartość; parametry bez wartości pomijane (test bierze wtedy domyślne). */
+    private static Map<String, String> params(String... nameValues) {
+        Map<String, String> params = new HashMap<>();
+        for (int i = 0; i + 1 < nameValues.length; i += 2) {
+            if (nameValues[i + 1] != null) params.put(nameValues[i], nameValues[i + 1]);
+        }
+        return params;
+    }
 }
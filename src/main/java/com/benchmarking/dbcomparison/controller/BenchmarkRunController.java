@@ -0,0 +1,101 @@
+package com.benchmarking.dbcomparison.controller;
+
+import com.benchmarking.dbcomparison.benchmark.results.BenchmarkResult;
+import com.benchmarking.dbcomparison.benchmark.results.OperationComparison;
+import com.benchmarking.dbcomparison.benchmark.results.OperationSummary;
+import com.benchmarking.dbcomparison.benchmark.results.ResultStatistics;
+import com.benchmarking.dbcomparison.benchmark.run.BenchmarkRun;
+import com.benchmarking.dbcomparison.benchmark.run.BenchmarkRunRequest;
+import com.benchmarking.dbcomparison.benchmark.run.BenchmarkRunService;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Asynchroniczne przebiegi: POST zwraca ID od razu (202), postęp i wyniki pod GET /benchmark/runs/{id},
+ * anulowanie przez DELETE /benchmark/runs/{id}. Statystyki powtórzeń pod GET /benchmark/runs/{id}/statistics,
+ * porównanie dwóch przebiegów lub profili (test Welcha) pod GET /benchmark/runs/compare?a=...&b=...
+ */
+@RestController
+@RequestMapping("/benchmark/runs")
+public class BenchmarkRunController {
+
+    private final BenchmarkRunService runService;
+    private final ResultStatistics statistics;
+
+    public BenchmarkRunController(BenchmarkRunService runService, ResultStatistics statistics) {
+        this.runService = runService;
+        this.statistics = statistics;
+    }
+
+    @PostMapping
+    public ResponseEntity<?> submit(@RequestBody BenchmarkRunRequest request) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(runService.submit(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<List<BenchmarkRun>> list() {
+        return ResponseEntity.ok(runService.list());
+    }
+
+    @GetMapping("/benchmarks")
+    public ResponseEntity<Set<String>> benchmarks() {
+        return ResponseEntity.ok(runService.benchmarks());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<BenchmarkRun> get(@PathVariable UUID id) {
+        return ResponseEntity.of(runService.find(id));
+    }
+
+    @GetMapping("/{id}/statistics")
+    public ResponseEntity<List<OperationSummary>> statistics(@PathVariable UUID id,
+                                                             @RequestParam(required = false) String metric) {
+        return ResponseEntity.of(runService.find(id).map(run -> statistics.summarize(run.getResults(), metric)));
+    }
+
+    /**
+     * {@code a}, {@code b} – ID przebiegu (z pamięci albo z pliku wyników, razem z forkami) lub nazwa profilu
+     * (wiersze z pliku wyników, np. wspólnego dla instancji mysql i postgres; dodatkowe pliki w {@code files}).
+     */
+    @GetMapping("/compare")
+    public ResponseEntity<?> compare(@RequestParam String a,
+                                     @RequestParam String b,
+                                     @RequestParam(required = false) String metric,
+                                     @RequestParam(required = false) String benchmark,
+                                     @RequestParam(required = false) List<String> files) {
+        try {
+            List<BenchmarkResult> loaded = new ArrayList<>();
+            if (!inMemory(a) || !inMemory(b)) loaded = statistics.load(files);
+            List<OperationComparison> comparisons = statistics.compare(a, side(a, benchmark, loaded), b, side(b, benchmark, loaded), metric);
+            return ResponseEntity.ok(comparisons);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    private boolean inMemory(String side) {
+        return ResultStatistics.isRunId(side) && runService.find(UUID.fromString(side)).isPresent();
+    }
+
+    private List<BenchmarkResult> side(String side, String benchmark, List<BenchmarkResult> loaded) {
+        List<BenchmarkResult> source = inMemory(side) ? runService.find(UUID.fromString(side)).orElseThrow().getResults() : loaded;
+        return source.stream().filter(ResultStatistics.selector(side, benchmark)).toList();
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<BenchmarkRun> cancel(@PathVariable UUID id) {
+        return ResponseEntity.of(runService.cancel(id));
+    }
+}
@@ -1,5 +1,6 @@
 package com.benchmarking.dbcomparison.model;
 
+import com.benchmarking.dbcomparison.model.id.BenchmarkId;
 import jakarta.persistence.*;
 import lombok.Data;
 import java.time.LocalDateTime;
@@ -11,7 +12,7 @@ import java.util.UUID;
 @Entity
 public class Brand {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @BenchmarkId
     private UUID id;
 
     private String name;
@@ -1,5 +1,6 @@
 package com.benchmarking.dbcomparison.model;
 
+import com.benchmarking.dbcomparison.model.id.BenchmarkId;
 import jakarta.persistence.*;
 import lombok.Data;
 import org.hibernate.annotations.OnDelete;
@@ -12,7 +13,7 @@ import java.util.UUID;
 @Entity
 public class InventoryMovement {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @BenchmarkId
     private UUID id;
 
     @ManyToOne
@@ -1,5 +1,6 @@
 package com.benchmarking.dbcomparison.model;
 
+import com.benchmarking.dbcomparison.model.id.BenchmarkId;
 import jakarta.persistence.*;
 import lombok.Data;
 import org.hibernate.annotations.OnDelete;
@@ -17,7 +18,7 @@ import java.util.UUID;
 @Table(name = "orders")
 public class Order {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @BenchmarkId
     private UUID id;
 
     @ManyToOne
@@ -0,0 +1,17 @@
+package com.benchmarking.dbcomparison.model.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/** Klucz UUID nadawany wg bieżącej {@link IdStrategy} (zamiast {@code GenerationType.UUID}). */
+@IdGeneratorType(BenchmarkIdGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface BenchmarkId {
+}
@@ -0,0 +1,48 @@
+package com.benchmarking.dbcomparison.model.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.io.Serial;
+import java.util.EnumSet;
+import java.util.UUID;
+
+/**
+ * Generator Hibernate dla {@link BenchmarkId}. Strategia jest jedna na aplikację i przełączana w locie
+ * ({@link #use}) – instancje generatora tworzy Hibernate przy starcie, więc nie mogą jej trzymać same.
+ * Z tego samego źródła biorą id ścieżki JDBC batch i ładowania natywnego.
+ */
+public class BenchmarkIdGenerator implements BeforeExecutionGenerator {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static volatile IdStrategy strategy = IdStrategy.RANDOM_V4;
+
+    public static IdStrategy current() {
+        return strategy;
+    }
+
+    /** @return poprzednia strategia – do przywrócenia po teście */
+    public static IdStrategy use(IdStrategy next) {
+        IdStrategy previous = strategy;
+        strategy = next;
+        return previous;
+    }
+
+    public static UUID nextId() {
+        return strategy.next();
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return nextId();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
@@ -0,0 +1,83 @@
+package com.benchmarking.dbcomparison.model.id;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sposób nadawania kluczy głównych. Wszystkie warianty dają {@link UUID} (kolumny {@code uuid} / BINARY(16)),
+ * różnią się kolejnością bajtów, a więc miejscem, w które trafia nowy wiersz w B-drzewie klucza:
+ * <ul>
+ *     <li>RANDOM_V4 – losowy v4 (jak dotąd), wstawienia rozrzucone po całym indeksie</li>
+ *     <li>TIME_ORDERED_V7 – RFC 9562 v7: 48 bitów milisekund + licznik w obrębie milisekundy, reszta losowa</li>
+ *     <li>SEQUENTIAL – ściśle rosnący licznik (odpowiednik BIGINT z sekwencji przy 16-bajtowym kluczu)</li>
+ *     <li>SWAPPED_V1 – v1 w układzie {@code UUID_TO_BIN(uuid, 1)} z MySQL: time_hi, time_mid, time_low</li>
+ * </ul>
+ * Warianty uporządkowane są monotoniczne w obrębie JVM, także przy wielu wątkach.
+ */
+public enum IdStrategy {
+
+    RANDOM_V4 {
+        @Override
+        public UUID next() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long msb = (random.nextLong() & ~0xF000L) | 0x4000L;
+            long lsb = (random.nextLong() & 0x3FFF_FFFF_FFFF_FFFFL) | VARIANT;
+            return new UUID(msb, lsb);
+        }
+    },
+
+    TIME_ORDERED_V7 {
+        // 48 bitów ms << 12 | 12-bitowy licznik; po przepełnieniu licznika czas "pożycza" kolejną milisekundę
+        private final AtomicLong last = new AtomicLong();
+
+        @Override
+        public UUID next() {
+            long now = System.currentTimeMillis() << 12;
+            long state = last.accumulateAndGet(now, (prev, n) -> Math.max(prev + 1, n));
+            long msb = ((state >>> 12) << 16) | 0x7000L | (state & 0xFFFL);
+            long lsb = (ThreadLocalRandom.current().nextLong() & 0x3FFF_FFFF_FFFF_FFFFL) | VARIANT;
+            return new UUID(msb, lsb);
+        }
+    },
+
+    SEQUENTIAL {
+        // prefiks = start JVM (ms), żeby kolejne uruchomienia nie trafiały w klucze poprzednich
+        private final long prefix = (System.currentTimeMillis() << 16) | 0x8000L;
+        private final AtomicLong counter = new AtomicLong();
+
+        @Override
+        public UUID next() {
+            return new UUID(prefix, VARIANT | counter.incrementAndGet());
+        }
+    },
+
+    SWAPPED_V1 {
+        // znaczniki v1: 100 ns od 1582-10-15; węzeł i clock_seq losowe na JVM (bit multicast = nie MAC)
+        private static final long GREGORIAN_OFFSET = 0x01B2_1DD2_1381_4000L;
+        private final AtomicLong last = new AtomicLong();
+        private final long clockSeqAndNode = VARIANT
+                | (ThreadLocalRandom.current().nextLong() & 0x3FFF_0000_0000_0000L)
+                | (ThreadLocalRandom.current().nextLong() & 0xFFFF_FFFF_FFFFL)
+                | 0x0100_0000_0000L;
+
+        @Override
+        public UUID next() {
+            long now = System.currentTimeMillis() * 10_000 + GREGORIAN_OFFSET;
+            long ts = last.accumulateAndGet(now, (prev, n) -> Math.max(prev + 1, n));
+            long timeHiAndVersion = 0x1000L | ((ts >>> 48) & 0x0FFFL);
+            long msb = (timeHiAndVersion << 48) | (((ts >>> 32) & 0xFFFFL) << 32) | (ts & 0xFFFF_FFFFL);
+            return new UUID(msb, clockSeqAndNode);
+        }
+    };
+
+    private static final long VARIANT = 0x8000_0000_0000_0000L;
+
+    public abstract UUID next();
+
+    /** Nazwa z parametru żądania (bez rozróżniania wielkości liter); pusta = {@code fallback}. */
+    public static IdStrategy parse(String value, IdStrategy fallback) {
+        if (value == null || value.isBlank()) return fallback;
+        return valueOf(value.trim().toUpperCase());
+    }
+}
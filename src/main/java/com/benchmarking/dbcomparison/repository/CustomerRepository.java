@@ -22,6 +22,21 @@ public interface CustomerRepository extends JpaRepository<Customer, UUID> {
 
     boolean existsByEmail(String email);
 
+    // Same ID – lekki odczyt do wyboru kluczy w testach współbieżnych
+    @Query("select c.id from Customer c")
+    List<UUID> findAllIds();
+
+    // Punktowa aktualizacja jednego wiersza (workload mieszany)
+    @Modifying
+    @Transactional
+    @Query("update Customer c set c.loyaltyPoints = :points where c.id = :id")
+    int updateLoyaltyPointsById(@Param("id") UUID id, @Param("points") int points);
+
+    @Modifying
+    @Transactional
+    @Query("update Customer c set c.email = :email where c.id = :id")
+    int updateEmailById(@Param("id") UUID id, @Param("email") String email);
+
     /* --- UPDATE emaili --- */
     // Postgres: CAST(UUID as text)
     @Modifying(clearAutomatically = true, flushAutomatically = true)
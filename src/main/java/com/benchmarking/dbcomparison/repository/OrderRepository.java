@@ -30,6 +30,20 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
            """)
     List<Order> findAllWithCustomerAndItemsByIdIn(@Param("ids") List<UUID> ids);
 
+    /* ======================= workload mieszany ======================= */
+
+    @Query("select o.id from Order o")
+    List<UUID> findAllIds();
+
+    // Skan zakresu po kluczu (długość przez Pageable)
+    @Query("select o from Order o where o.id >= :from order by o.id")
+    List<Order> scanFrom(@Param("from") UUID from, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("update Order o set o.status = :status where o.id = :id")
+    int updateStatusById(@Param("id") UUID id, @Param("status") String status);
+
     /* ======================= UPDATE statusu ======================= */
 
     // Postgres: UPDATE ... FROM (SELECT ... LIMIT)
@@ -0,0 +1,12 @@
+package com.benchmarking.dbcomparison.repository;
+
+import java.util.List;
+
+/**
+ * Atrapa repozytorium bez bazy dla {@code AspectOverheadTest}. Leży w tym pakiecie, bo tylko tu sięga punkt
+ * przecięcia {@code DatabaseMetricsAspect}; nie rozszerza {@code Repository}, więc Spring Data jej nie tworzy.
+ */
+public interface OverheadProbeRepository {
+
+    List<Integer> probe();
+}
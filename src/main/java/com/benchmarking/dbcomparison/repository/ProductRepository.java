@@ -1,6 +1,7 @@
 package com.benchmarking.dbcomparison.repository;
 
 import com.benchmarking.dbcomparison.model.Product;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -13,6 +14,19 @@ public interface ProductRepository extends JpaRepository<Product, UUID> {
     List<Product> findTop10ByOrderByRatingDesc();
     List<Product> findTop100ByOrderByRatingDesc();
 
+    /* --- workload mieszany --- */
+    @Query("select p.id from Product p")
+    List<UUID> findAllIds();
+
+    // Skan zakresu po kluczu (długość przez Pageable)
+    @Query("select p from Product p where p.id >= :from order by p.id")
+    List<Product> scanFrom(@Param("from") UUID from, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("update Product p set p.stockQuantity = :qty where p.id = :id")
+    int updateStockById(@Param("id") UUID id, @Param("qty") int qty);
+
     /* --- UPDATE cen --- */
     // MySQL – wrapper subselect
     @Modifying(clearAutomatically = true, flushAutomatically = true)
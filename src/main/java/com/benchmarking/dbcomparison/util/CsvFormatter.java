@@ -1,35 +1,61 @@
 package com.benchmarking.dbcomparison.util;
 
-import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
-import java.util.Locale;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+import java.util.StringJoiner;
 
+/**
+ * Formatowanie wierszy CSV wyników ({@code ;} jako separator). Liczby bez separatora tysięcy i z kropką dziesiętną
+ * – niezależnie od locale, żeby pliki z różnych maszyn dało się łączyć i czytać arkuszem / pandas
+ * ({@code decimal='.'}); NaN i null jako puste pole. Pola z {@code ;}, cudzysłowem lub końcem linii w cudzysłowie.
+ */
 public class CsvFormatter {
-    private static final DecimalFormat decimalFormat;
 
-    static {
-        DecimalFormatSymbols symbols = new DecimalFormatSymbols(new Locale("pl", "PL"));
-        decimalFormat = new DecimalFormat("#,##0.00", symbols);
+    public static final String SEPARATOR = ";";
+
+    public static String formatNumber(Number number) {
+        if (number == null) return "";
+        if (number instanceof Double || number instanceof Float) {
+            double d = number.doubleValue();
+            if (Double.isNaN(d) || Double.isInfinite(d)) return "";
+            // maks. 4 miejsca po przecinku, bez notacji wykładniczej i zer na końcu
+            return BigDecimal.valueOf(d).setScale(4, RoundingMode.HALF_UP).stripTrailingZeros().toPlainString();
+        }
+        return number.toString();
+    }
+
+    public static String formatValue(Object value) {
+        if (value == null) return "";
+        if (value instanceof Number n) return formatNumber(n);
+        if (value instanceof Map<?, ?> m) return quote(formatMap(m));
+        return quote(value.toString());
     }
 
-    public static String formatNumber(double number) {
-        return decimalFormat.format(number);
+    /** Mapa jako jedno pole (bez cudzysłowu – dodaje {@link #formatValue(Object)}): {@code klucz=wartość,klucz=wartość}. */
+    public static String formatMap(Map<?, ?> values) {
+        if (values == null || values.isEmpty()) return "";
+        StringJoiner joiner = new StringJoiner(",");
+        values.forEach((k, v) -> joiner.add(k + "=" + (v instanceof Number n ? formatNumber(n) : String.valueOf(v))));
+        return joiner.toString();
     }
 
     public static String formatCsvLine(Object... values) {
         StringBuilder sb = new StringBuilder();
         for (int i = 0; i < values.length; i++) {
             if (i > 0) {
-                sb.append(";");
-            }
-            Object value = values[i];
-            if (value instanceof Number) {
-                sb.append(formatNumber(((Number) value).doubleValue()));
-            } else {
-                sb.append(value != null ? value.toString() : "");
+                sb.append(SEPARATOR);
             }
+            sb.append(formatValue(values[i]));
         }
         sb.append("\n");
         return sb.toString();
     }
+
+    private static String quote(String s) {
+        if (s.contains(SEPARATOR) || s.contains("\"") || s.contains("\n") || s.contains("\r")) {
+            return "\"" + s.replace("\"", "\"\"") + "\"";
+        }
+        return s;
+    }
 }
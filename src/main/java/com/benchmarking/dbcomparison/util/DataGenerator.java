@@ -9,7 +9,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 
-public class DataGenerator {
+public class DataGenerator implements EntityGenerator {
     private final Faker faker;
     private final Random random;
 
@@ -22,6 +22,7 @@ public class DataGenerator {
         return faker;
     }
 
+    @Override
     public Customer generateCustomer() {
         Customer customer = new Customer();
         customer.setFirstName(faker.name().firstName());
@@ -42,6 +43,7 @@ public class DataGenerator {
         return customer;
     }
 
+    @Override
     public Brand generateBrand() {
         Brand brand = new Brand();
         brand.setName(faker.company().name());
@@ -54,6 +56,7 @@ public class DataGenerator {
         return brand;
     }
 
+    @Override
     public ProductCategory generateCategory(ProductCategory parentCategory) {
         ProductCategory category = new ProductCategory();
         category.setName(faker.commerce().department());
@@ -66,6 +69,7 @@ public class DataGenerator {
         return category;
     }
 
+    @Override
     public Product generateProduct(Brand brand, ProductCategory category) {
         Product product = new Product();
         product.setName(truncate(faker.commerce().productName(), 255));
@@ -91,6 +95,7 @@ public class DataGenerator {
     }
 
 
+    @Override
     public Order generateOrder(Customer customer, List<Product> availableProducts) {
         Order order = new Order();
         order.setCustomer(customer);
@@ -128,6 +133,7 @@ public class DataGenerator {
     }
 
 
+    @Override
     public ProductReview generateReview(Product product, Customer customer) {
         ProductReview review = new ProductReview();
         review.setProduct(product);
@@ -142,6 +148,7 @@ public class DataGenerator {
         return review;
     }
 
+    @Override
     public InventoryMovement generateInventoryMovement(Product product) {
         InventoryMovement movement = new InventoryMovement();
         movement.setProduct(product);
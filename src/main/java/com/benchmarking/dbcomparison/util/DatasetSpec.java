@@ -0,0 +1,138 @@
+package com.benchmarking.dbcomparison.util;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministyczny zbiór danych w duchu TPC-H: ziarno + współczynnik skali (SF) wyznaczają liczności
+ * wszystkich tabel i treść każdego wiersza.
+ * <p>
+ * Każdy wiersz ma własne ziarno liczone z (ziarno zbioru, tabela, indeks), a czas odniesienia jest stały,
+ * więc ten sam seed i SF dają identyczne wiersze na MySQL i PostgreSQL – niezależnie od liczby wątków
+ * i od tego, jak zbiór podzielono na fragmenty ({@link #chunks}). Dzięki temu rozłączne fragmenty
+ * można generować równolegle.
+ * <p>
+ * Liczności przy SF = 1 (rosną liniowo, kategorie – z pierwiastkiem SF):
+ * <pre>
+ * klienci         10 000
+ * marki              500
+ * kategorie          200 głównych × (1 + 4 podkategorie)
+ * produkty        10 000
+ * zamówienia      15 000   (1,5 na klienta, średnio 2,5 pozycji na zamówienie)
+ * opinie          20 000   (2 na produkt)
+ * ruchy mag.      30 000   (3 na produkt)
+ * </pre>
+ * Identyfikatory nadaje nadal JPA – deterministyczna jest treść wierszy i powiązania (po indeksie rodzica).
+ */
+@Value
+public class DatasetSpec {
+
+    public static final int BASE_CUSTOMERS = 10_000;
+    public static final int BASE_BRANDS = 500;
+    public static final int BASE_MAIN_CATEGORIES = 200;
+    public static final int SUBCATEGORIES_PER_MAIN = 4;
+    public static final int BASE_PRODUCTS = 10_000;
+    public static final double ORDERS_PER_CUSTOMER = 1.5;
+    public static final double ITEMS_PER_ORDER = 2.5;
+    public static final double REVIEWS_PER_PRODUCT = 2.0;
+    public static final double MOVEMENTS_PER_PRODUCT = 3.0;
+
+    /** Wspólne „teraz” dla wszystkich dat w zbiorze – inaczej daty zależałyby od chwili uruchomienia. */
+    public static final LocalDateTime REFERENCE_TIME = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    long seed;
+    double scaleFactor;
+
+    public static DatasetSpec of(long seed, double scaleFactor) {
+        if (!(scaleFactor > 0)) throw new IllegalArgumentException("Współczynnik skali musi być > 0: " + scaleFactor);
+        return new DatasetSpec(seed, scaleFactor);
+    }
+
+    public int customers()      { return scaled(BASE_CUSTOMERS); }
+    public int brands()         { return scaled(BASE_BRANDS); }
+    public int mainCategories() { return Math.max(1, (int) Math.round(BASE_MAIN_CATEGORIES * Math.sqrt(scaleFactor))); }
+    public int categories()     { return mainCategories() * (1 + SUBCATEGORIES_PER_MAIN); }
+    public int products()       { return scaled(BASE_PRODUCTS); }
+    public int orders()         { return Math.max(1, (int) Math.round(customers() * ORDERS_PER_CUSTOMER)); }
+    public int expectedOrderItems() { return (int) Math.round(orders() * ITEMS_PER_ORDER); }
+    public int reviews()        { return Math.max(1, (int) Math.round(products() * REVIEWS_PER_PRODUCT)); }
+    public int movements()      { return Math.max(1, (int) Math.round(products() * MOVEMENTS_PER_PRODUCT)); }
+
+    /** Liczba wierszy generowanych dla tabeli (dla kategorii – liczba kategorii głównych, podkategorie idą z nimi). */
+    public int count(DatasetTable table) {
+        return switch (table) {
+            case CUSTOMER -> customers();
+            case BRAND -> brands();
+            case CATEGORY -> mainCategories();
+            case PRODUCT -> products();
+            case ORDER -> orders();
+            case REVIEW -> reviews();
+            case MOVEMENT -> movements();
+        };
+    }
+
+    private int scaled(int base) {
+        return Math.max(1, (int) Math.round(base * scaleFactor));
+    }
+
+    /** Ziarno wiersza – funkcja wyłącznie (seed, tabela, indeks), mieszana jak w SplitMix64. */
+    public long rowSeed(DatasetTable table, long index) {
+        long z = seed + table.salt() * 0x9E3779B97F4A7C15L + index * 0xD1B54A32D192ED03L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /** Generator dla jednego wątku; przed każdym wierszem ustawiany jest jego seed ({@link #rowFactory}). */
+    public FastDataGenerator newGenerator() {
+        return new FastDataGenerator(new SplittableRandom(seed), REFERENCE_TIME);
+    }
+
+    /** Ustawia generator na wiersz {@code index} tabeli – od tej chwili wynik zależy tylko od (seed, tabela, indeks). */
+    public EntityGenerator atRow(EntityGenerator generator, DatasetTable table, long index) {
+        if (!(generator instanceof FastDataGenerator fast)) {
+            throw new IllegalStateException("Zbiór deterministyczny wymaga FastDataGenerator, jest: "
+                    + generator.getClass().getSimpleName());
+        }
+        fast.reseed(rowSeed(table, index));
+        return fast;
+    }
+
+    /** Opakowuje fabrykę encji tak, by każdy wiersz był generowany z własnego ziarna. */
+    public <T> ParallelDataGenerator.EntityFactory<T> rowFactory(DatasetTable table,
+                                                                ParallelDataGenerator.EntityFactory<T> factory) {
+        return (generator, index) -> factory.create(atRow(generator, table, index), index);
+    }
+
+    /** Podział tabeli na rozłączne fragmenty [from, to) – do generowania równoległego lub partiami. */
+    public List<Chunk> chunks(DatasetTable table, int chunkSize) {
+        int total = count(table), size = Math.max(1, chunkSize);
+        List<Chunk> chunks = new ArrayList<>((total + size - 1) / size);
+        for (int from = 0; from < total; from += size) {
+            chunks.add(new Chunk(table, from, Math.min(total, from + size)));
+        }
+        return chunks;
+    }
+
+    public String describe() {
+        return String.format(java.util.Locale.ROOT,
+                "seed=%d SF=%.3f: klienci=%d, marki=%d, kategorie=%d, produkty=%d, zamówienia=%d (~%d pozycji), opinie=%d, ruchy=%d",
+                seed, scaleFactor, customers(), brands(), categories(), products(), orders(), expectedOrderItems(),
+                reviews(), movements());
+    }
+
+    @Value
+    public static class Chunk {
+        DatasetTable table;
+        int from;
+        int to;
+
+        public int size() {
+            return to - from;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.benchmarking.dbcomparison.util;
+
+/**
+ * Tabele zbioru danych z {@link DatasetSpec}. Sól wchodzi do ziarna wiersza, więc wiersz i-ty klientów
+ * i wiersz i-ty produktów dostają niezależne strumienie losowe. Pozycje zamówień powstają razem z zamówieniem.
+ */
+public enum DatasetTable {
+    CUSTOMER(0x1L),
+    BRAND(0x2L),
+    CATEGORY(0x3L),
+    PRODUCT(0x4L),
+    ORDER(0x5L),
+    REVIEW(0x6L),
+    MOVEMENT(0x7L);
+
+    private final long salt;
+
+    DatasetTable(long salt) {
+        this.salt = salt;
+    }
+
+    public long salt() {
+        return salt;
+    }
+}
@@ -0,0 +1,26 @@
+package com.benchmarking.dbcomparison.util;
+
+import com.benchmarking.dbcomparison.model.*;
+
+import java.util.List;
+
+/**
+ * Wspólny kontrakt generatorów danych testowych – {@link DataGenerator} (Faker) i {@link FastDataGenerator}.
+ * Implementacje nie są bezpieczne wątkowo: każdy wątek powinien mieć własną instancję.
+ */
+public interface EntityGenerator {
+
+    Customer generateCustomer();
+
+    Brand generateBrand();
+
+    ProductCategory generateCategory(ProductCategory parentCategory);
+
+    Product generateProduct(Brand brand, ProductCategory category);
+
+    Order generateOrder(Customer customer, List<Product> availableProducts);
+
+    ProductReview generateReview(Product product, Customer customer);
+
+    InventoryMovement generateInventoryMovement(Product product);
+}
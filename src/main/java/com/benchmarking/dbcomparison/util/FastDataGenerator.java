@@ -0,0 +1,380 @@
+package com.benchmarking.dbcomparison.util;
+
+import com.benchmarking.dbcomparison.model.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Szybki generator danych o tych samych kształtach co {@link DataGenerator}, ale bez JavaFakera.
+ * <ul>
+ *     <li>słowniki (imiona, ulice, nazwy produktów, lorem) są budowane raz, statycznie</li>
+ *     <li>{@link SplittableRandom} zamiast {@code Random} – jedna instancja na generator (czyli na wątek)</li>
+ *     <li>UUID v4 z dwóch {@code nextLong()} zamiast {@code UUID.randomUUID()} (SecureRandom)</li>
+ *     <li>ceny, wagi i oceny brane z gotowych tablic {@link BigDecimal}</li>
+ * </ul>
+ * Instancja nie jest bezpieczna wątkowo. Z ustalonym ziarnem i czasem odniesienia (patrz {@link DatasetSpec})
+ * generuje zawsze te same wiersze.
+ */
+public class FastDataGenerator implements EntityGenerator {
+
+    private static final String[] FIRST_NAMES = {
+            "Anna", "Maria", "Katarzyna", "Małgorzata", "Agnieszka", "Barbara", "Ewa", "Krystyna", "Magdalena", "Joanna",
+            "Zofia", "Monika", "Aleksandra", "Natalia", "Julia", "Marta", "Karolina", "Dorota", "Beata", "Paulina",
+            "Piotr", "Krzysztof", "Andrzej", "Tomasz", "Paweł", "Jan", "Michał", "Marcin", "Jakub", "Adam",
+            "Łukasz", "Marek", "Grzegorz", "Mateusz", "Wojciech", "Mariusz", "Dariusz", "Zbigniew", "Kamil", "Szymon"
+    };
+    private static final String[] LAST_NAMES = {
+            "Nowak", "Kowalski", "Wiśniewski", "Wójcik", "Kowalczyk", "Kamiński", "Lewandowski", "Zieliński", "Szymański",
+            "Woźniak", "Dąbrowski", "Kozłowski", "Jankowski", "Mazur", "Kwiatkowski", "Krawczyk", "Piotrowski", "Grabowski",
+            "Nowakowski", "Pawłowski", "Michalski", "Adamczyk", "Dudek", "Zając", "Wieczorek", "Jabłoński", "Król", "Majewski",
+            "Olszewski", "Jaworski", "Wróbel", "Malinowski", "Pawlak", "Witkowski", "Walczak", "Stępień", "Górski", "Rutkowski"
+    };
+    private static final String[] STREETS = {
+            "Polna", "Leśna", "Słoneczna", "Krótka", "Szkolna", "Ogrodowa", "Lipowa", "Łąkowa", "Brzozowa", "Kwiatowa",
+            "Kościelna", "Sosnowa", "Zielona", "Parkowa", "Akacjowa", "Kolejowa", "Mickiewicza", "Słowackiego",
+            "Kościuszki", "Sienkiewicza", "Długa", "Piłsudskiego", "Warszawska", "Krakowska", "Wiejska", "Nowa"
+    };
+    private static final String[] CITIES = {
+            "Warszawa", "Kraków", "Łódź", "Wrocław", "Poznań", "Gdańsk", "Szczecin", "Bydgoszcz", "Lublin", "Białystok",
+            "Katowice", "Gdynia", "Częstochowa", "Radom", "Toruń", "Sosnowiec", "Kielce", "Rzeszów", "Gliwice", "Zabrze",
+            "Olsztyn", "Bielsko-Biała", "Bytom", "Zielona Góra", "Rybnik", "Ruda Śląska", "Opole", "Tychy", "Gorzów Wielkopolski"
+    };
+    private static final String[] EMAIL_DOMAINS = {"gmail.com", "wp.pl", "onet.pl", "interia.pl", "o2.pl", "yahoo.com"};
+    private static final String[] COMPANY_PREFIXES = {
+            "Nowak", "Kowalski", "Zieliński", "Mazur", "Król", "Wróbel", "Dudek", "Pawlak", "Walczak", "Górski",
+            "Jabłoński", "Majewski", "Adamczyk", "Sikora", "Baran", "Ostrowski", "Szewczyk", "Tomaszewski"
+    };
+    private static final String[] COMPANY_SUFFIXES = {"S.A.", "sp. z o.o.", "sp.j.", "sp.k.", "i Syn", "Grupa", "Holding"};
+    private static final String[] CATCH_PHRASES = {
+            "Zintegrowane rozwiązania dla biznesu", "Innowacyjna platforma logistyczna", "Skalowalne usługi w chmurze",
+            "Zrównoważony rozwój produktów", "Elastyczne modele sprzedaży", "Kompleksowa obsługa klienta",
+            "Nowoczesne technologie produkcji", "Wielokanałowa dystrybucja", "Zorientowane na jakość procesy"
+    };
+    private static final String[] DEPARTMENTS = {
+            "Książki", "Filmy", "Muzyka", "Gry", "Elektronika", "Komputery", "Dom", "Ogród", "Narzędzia", "Spożywcze",
+            "Zdrowie", "Uroda", "Zabawki", "Dzieci", "Niemowlęta", "Odzież", "Buty", "Biżuteria", "Sport", "Outdoor",
+            "Motoryzacja", "Przemysł"
+    };
+    private static final String[] PRODUCT_ADJECTIVES = {
+            "Mały", "Ergonomiczny", "Rustykalny", "Inteligentny", "Wspaniały", "Niesamowity", "Fantastyczny", "Praktyczny",
+            "Elegancki", "Lekki", "Wytrzymały", "Synergiczny", "Przetestowany", "Średni", "Solidny", "Nowoczesny"
+    };
+    private static final String[] PRODUCT_MATERIALS = {
+            "stalowy", "drewniany", "betonowy", "plastikowy", "bawełniany", "granitowy", "gumowy", "skórzany", "jedwabny",
+            "wełniany", "lniany", "marmurowy", "żelazny", "brązowy", "miedziany", "aluminiowy", "papierowy"
+    };
+    private static final String[] PRODUCT_NOUNS = {
+            "krzesło", "samochód", "komputer", "rękawiczki", "spodnie", "koszula", "stół", "buty", "kapelusz", "ręcznik",
+            "mydło", "tuńczyk", "kurczak", "ryba", "ser", "boczek", "pizza", "sałatka", "kiełbasa", "chipsy", "zegarek",
+            "lampa", "plecak", "portfel", "talerz", "klawiatura", "torba", "butelka"
+    };
+    private static final String[] LOREM = (
+            "lorem ipsum dolor sit amet consectetur adipiscing elit sed do eiusmod tempor incididunt ut labore et dolore "
+                    + "magna aliqua enim ad minim veniam quis nostrud exercitation ullamco laboris nisi aliquip ex ea commodo "
+                    + "consequat duis aute irure in reprehenderit voluptate velit esse cillum fugiat nulla pariatur excepteur "
+                    + "sint occaecat cupidatat non proident sunt culpa qui officia deserunt mollit anim id est laborum")
+            .split(" ");
+    private static final String[] FILE_EXTENSIONS = {"png", "jpg", "gif", "svg", "webp"};
+    private static final String[] SHIPPING_METHODS = {"DPD", "InPost", "DHL", "FedEx"};
+    private static final String[] PAYMENT_METHODS = {"BLIK", "CARD", "TRANSFER", "COD"};
+    private static final String[] MOVEMENT_TYPES = {"RESTOCK", "SALE", "RETURN", "DAMAGE", "ADJUSTMENT"};
+    private static final String[] REFERENCE_TYPES = {"ORDER", "SUPPLIER_DELIVERY", "INVENTORY_CHECK", "RETURN_ORDER"};
+
+    // ceny 1.00–100.00 (jak faker.commerce().price()), wagi 0.10–9.99, oceny 1.00–4.99 – wszystko co 0.01
+    private static final BigDecimal[] PRICES = decimalTable(100, 10_000);
+    private static final BigDecimal[] WEIGHTS = decimalTable(10, 999);
+    private static final BigDecimal[] RATINGS = decimalTable(100, 499);
+
+    private static final BigDecimal SHIPPING_COST = new BigDecimal("15.99");
+    private static final BigDecimal DISCOUNT_RATE = new BigDecimal("0.10");
+    private static final BigDecimal TAX_RATE = new BigDecimal("0.23");
+    private static final BigDecimal[] QUANTITIES = {BigDecimal.ZERO, BigDecimal.ONE, BigDecimal.valueOf(2),
+            BigDecimal.valueOf(3), BigDecimal.valueOf(4)};
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private SplittableRandom random;
+    // „teraz” liczone raz na generator – LocalDateTime.now() przy każdym polu kosztuje więcej niż reszta encji
+    private final LocalDateTime now;
+    private final LocalDate today;
+    private final StringBuilder sb = new StringBuilder(1024);
+
+    public FastDataGenerator() {
+        this(new SplittableRandom(), LocalDateTime.now());
+    }
+
+    public FastDataGenerator(SplittableRandom random, LocalDateTime now) {
+        this.random = random;
+        this.now = now;
+        this.today = now.toLocalDate();
+    }
+
+    /** Ustawia nowe ziarno – kolejne encje zależą już tylko od niego (wiersz = ziarno, niezależnie od wątku). */
+    public void reseed(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    /** UUID w wersji 4 z generatora niekryptograficznego. */
+    public static UUID randomUuid(SplittableRandom random) {
+        long msb = (random.nextLong() & 0xffffffffffff0fffL) | 0x0000000000004000L;
+        long lsb = (random.nextLong() & 0x3fffffffffffffffL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    @Override
+    public Customer generateCustomer() {
+        Customer customer = new Customer();
+        String firstName = pick(FIRST_NAMES);
+        String lastName = pick(LAST_NAMES);
+        customer.setFirstName(firstName);
+        customer.setLastName(lastName);
+        customer.setEmail(uniqueToken() + "@" + pick(EMAIL_DOMAINS));
+        customer.setPhoneNumber(phoneNumber());
+        customer.setDateOfBirth(today.minusYears(random.nextInt(18, 80)));
+        customer.setAddressStreet(streetAddress());
+        customer.setAddressCity(pick(CITIES));
+        customer.setAddressPostalCode(postalCode());
+        customer.setAddressCountry("Polska");
+        customer.setStatus("ACTIVE");
+        customer.setLoyaltyPoints(random.nextInt(0, 1000));
+        customer.setNewsletterSubscription(random.nextBoolean());
+        customer.setLastLoginDate(now.minusDays(random.nextInt(30)));
+        customer.setCreatedAt(now.minusDays(random.nextInt(365)));
+        customer.setUpdatedAt(now);
+        return customer;
+    }
+
+    @Override
+    public Brand generateBrand() {
+        Brand brand = new Brand();
+        String prefix = pick(COMPANY_PREFIXES);
+        brand.setName(prefix + " " + pick(COMPANY_SUFFIXES));
+        brand.setDescription(pick(CATCH_PHRASES));
+        brand.setWebsite("www." + prefix.toLowerCase() + ".pl");
+        brand.setLogoUrl("https://example.com/" + pick(LOREM) + "." + pick(FILE_EXTENSIONS));
+        brand.setIsActive(true);
+        brand.setCreatedAt(now.minusDays(random.nextInt(365)));
+        brand.setUpdatedAt(now);
+        return brand;
+    }
+
+    @Override
+    public ProductCategory generateCategory(ProductCategory parentCategory) {
+        ProductCategory category = new ProductCategory();
+        category.setName(pick(DEPARTMENTS));
+        category.setDescription(sentence(4, 10));
+        category.setParentCategory(parentCategory);
+        category.setLevel(parentCategory == null ? 1 : parentCategory.getLevel() + 1);
+        category.setIsActive(true);
+        category.setCreatedAt(now.minusDays(random.nextInt(365)));
+        category.setUpdatedAt(now);
+        return category;
+    }
+
+    @Override
+    public Product generateProduct(Brand brand, ProductCategory category) {
+        Product product = new Product();
+        product.setName(productName());
+        product.setDescription(truncate(paragraph(), 1000));
+        product.setPrice(PRICES[random.nextInt(PRICES.length)]);
+        product.setStockQuantity(random.nextInt(0, 1000));
+        product.setCategory(category);
+        product.setBrand(brand);
+        product.setWeight(WEIGHTS[random.nextInt(WEIGHTS.length)]);
+        product.setDimensions(random.nextInt(10, 100) + "x" + random.nextInt(10, 100) + "x" + random.nextInt(10, 100));
+        product.setSku("SKU-" + randomUuid(random));
+        product.setBarcode(ean13());
+        product.setIsAvailable(true);
+        product.setMinStockLevel(10);
+        product.setMaxStockLevel(100);
+        product.setRating(RATINGS[random.nextInt(RATINGS.length)]);
+        product.setReviewCount(random.nextInt(0, 100));
+        product.setCreatedAt(now.minusDays(random.nextInt(365)));
+        product.setUpdatedAt(now);
+        return product;
+    }
+
+    @Override
+    public Order generateOrder(Customer customer, List<Product> availableProducts) {
+        Order order = new Order();
+        order.setCustomer(customer);
+        order.setOrderNumber(randomUuid(random));
+        order.setStatus("NEW");
+        order.setShippingAddressStreet(customer.getAddressStreet());
+        order.setShippingAddressCity(customer.getAddressCity());
+        order.setShippingAddressPostalCode(customer.getAddressPostalCode());
+        order.setShippingAddressCountry(customer.getAddressCountry());
+        order.setShippingMethod(pick(SHIPPING_METHODS));
+        order.setShippingCost(SHIPPING_COST);
+        order.setPaymentMethod(pick(PAYMENT_METHODS));
+        order.setPaymentStatus("PENDING");
+
+        LocalDateTime orderDate = now.minusDays(random.nextInt(30));
+        order.setOrderDate(orderDate);
+        order.setEstimatedDeliveryDate(orderDate.toLocalDate().plusDays(3));
+        order.setCreatedAt(orderDate);
+        order.setUpdatedAt(orderDate);
+
+        int numberOfItems = random.nextInt(1, 5);
+        List<OrderItem> items = new ArrayList<>(numberOfItems);
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        for (int i = 0; i < numberOfItems; i++) {
+            Product product = availableProducts.get(random.nextInt(availableProducts.size()));
+            OrderItem item = generateOrderItem(order, product);
+            items.add(item);
+            totalAmount = totalAmount.add(item.getTotalAmount());
+        }
+
+        order.setTotalAmount(totalAmount);
+        order.setItems(items);
+        return order;
+    }
+
+    @Override
+    public ProductReview generateReview(Product product, Customer customer) {
+        ProductReview review = new ProductReview();
+        review.setProduct(product);
+        review.setCustomer(customer);
+        review.setRating(random.nextInt(1, 6));
+        review.setTitle(sentence(3, 3));
+        review.setComment(truncate(paragraph(), 255));
+        review.setIsVerified(false);
+        review.setHelpfulVotes(random.nextInt(0, 50));
+        review.setCreatedAt(now.minusDays(random.nextInt(30)));
+        review.setUpdatedAt(now);
+        return review;
+    }
+
+    @Override
+    public InventoryMovement generateInventoryMovement(Product product) {
+        InventoryMovement movement = new InventoryMovement();
+        movement.setProduct(product);
+        movement.setMovementType(pick(MOVEMENT_TYPES));
+        movement.setQuantity(random.nextInt(-50, 101));
+        movement.setReferenceType(pick(REFERENCE_TYPES));
+        movement.setReferenceId(randomUuid(random));
+        movement.setNotes(sentence(4, 10));
+        movement.setCreatedAt(now.minusHours(random.nextInt(24 * 30)));
+        movement.setCreatedBy(randomUuid(random));
+        return movement;
+    }
+
+    private OrderItem generateOrderItem(Order order, Product product) {
+        OrderItem item = new OrderItem();
+        item.setOrder(order);
+        item.setProduct(product);
+        int quantity = random.nextInt(1, 5);
+        item.setQuantity(quantity);
+        item.setUnitPrice(product.getPrice());
+
+        BigDecimal baseAmount = item.getUnitPrice().multiply(QUANTITIES[quantity]);
+        item.setDiscountAmount(baseAmount.multiply(DISCOUNT_RATE).setScale(2, RoundingMode.HALF_UP));
+        item.setTaxRate(TAX_RATE);
+        BigDecimal taxable = baseAmount.subtract(item.getDiscountAmount());
+        item.setTaxAmount(taxable.multiply(TAX_RATE).setScale(2, RoundingMode.HALF_UP));
+        item.setTotalAmount(taxable.add(item.getTaxAmount()).setScale(2, RoundingMode.HALF_UP));
+
+        item.setCreatedAt(order.getCreatedAt());
+        item.setUpdatedAt(order.getUpdatedAt());
+        return item;
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /** 32 znaki hex – unikalna część e-maila (kolumna ma UNIQUE). */
+    private String uniqueToken() {
+        sb.setLength(0);
+        appendHex(random.nextLong());
+        appendHex(random.nextLong());
+        return sb.toString();
+    }
+
+    private void appendHex(long v) {
+        for (int shift = 60; shift >= 0; shift -= 4) sb.append(HEX[(int) (v >>> shift) & 0xf]);
+    }
+
+    private String phoneNumber() {
+        sb.setLength(0);
+        sb.append("+48 ");
+        for (int i = 0; i < 9; i++) {
+            if (i == 3 || i == 6) sb.append(' ');
+            sb.append((char) ('0' + (i == 0 ? random.nextInt(4, 10) : random.nextInt(10))));
+        }
+        return sb.toString();
+    }
+
+    private String streetAddress() {
+        return "ul. " + pick(STREETS) + " " + random.nextInt(1, 200);
+    }
+
+    private String postalCode() {
+        sb.setLength(0);
+        sb.append((char) ('0' + random.nextInt(10))).append((char) ('0' + random.nextInt(10))).append('-');
+        for (int i = 0; i < 3; i++) sb.append((char) ('0' + random.nextInt(10)));
+        return sb.toString();
+    }
+
+    private String productName() {
+        return pick(PRODUCT_ADJECTIVES) + " " + pick(PRODUCT_MATERIALS) + " " + pick(PRODUCT_NOUNS);
+    }
+
+    private String ean13() {
+        sb.setLength(0);
+        int sum = 0;
+        for (int i = 0; i < 12; i++) {
+            int d = random.nextInt(10);
+            sum += (i % 2 == 0) ? d : d * 3;
+            sb.append((char) ('0' + d));
+        }
+        sb.append((char) ('0' + (10 - sum % 10) % 10));
+        return sb.toString();
+    }
+
+    /** Zdanie lorem o długości {@code minWords}..{@code maxWords} słów, z wielką literą i kropką. */
+    private String sentence(int minWords, int maxWords) {
+        sb.setLength(0);
+        appendSentence(minWords, maxWords);
+        return sb.toString();
+    }
+
+    /** Akapit 3–6 zdań, jak faker.lorem().paragraph(). */
+    private String paragraph() {
+        sb.setLength(0);
+        int sentences = random.nextInt(3, 7);
+        for (int i = 0; i < sentences; i++) {
+            if (i > 0) sb.append(' ');
+            appendSentence(4, 10);
+        }
+        return sb.toString();
+    }
+
+    private void appendSentence(int minWords, int maxWords) {
+        int words = minWords >= maxWords ? minWords : random.nextInt(minWords, maxWords + 1);
+        int start = sb.length();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(pick(LOREM));
+        }
+        sb.setCharAt(start, Character.toUpperCase(sb.charAt(start)));
+        sb.append('.');
+    }
+
+    private static BigDecimal[] decimalTable(int fromCents, int toCents) {
+        BigDecimal[] table = new BigDecimal[toCents - fromCents + 1];
+        for (int i = 0; i < table.length; i++) table[i] = BigDecimal.valueOf(fromCents + i, 2);
+        return table;
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+}
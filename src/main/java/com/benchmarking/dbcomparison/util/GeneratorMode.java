@@ -0,0 +1,17 @@
+package com.benchmarking.dbcomparison.util;
+
+/**
+ * Sposób generowania danych testowych.
+ * <ul>
+ *     <li>FAKER – {@link DataGenerator}, realistyczne dane z JavaFakera (wolne przy milionach rekordów)</li>
+ *     <li>FAST – {@link FastDataGenerator}, te same kształty ze słowników ładowanych raz</li>
+ * </ul>
+ */
+public enum GeneratorMode {
+    FAKER,
+    FAST;
+
+    public EntityGenerator create() {
+        return this == FAST ? new FastDataGenerator() : new DataGenerator();
+    }
+}
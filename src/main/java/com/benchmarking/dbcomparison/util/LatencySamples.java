@@ -0,0 +1,39 @@
+package com.benchmarking.dbcomparison.util;
+
+import java.util.Arrays;
+
+/** Rosnąca tablica próbek opóźnień (ns) – jedna na wątek, bez synchronizacji; łączona po zakończeniu testu. */
+public class LatencySamples {
+
+    private long[] values;
+    private int size;
+
+    public LatencySamples() {
+        this(1024);
+    }
+
+    public LatencySamples(int initialCapacity) {
+        this.values = new long[Math.max(16, initialCapacity)];
+    }
+
+    public void add(long nanos) {
+        if (size == values.length) values = Arrays.copyOf(values, values.length * 2);
+        values[size++] = nanos;
+    }
+
+    public void addAll(LatencySamples other) {
+        if (size + other.size > values.length) {
+            values = Arrays.copyOf(values, Math.max(values.length * 2, size + other.size));
+        }
+        System.arraycopy(other.values, 0, values, size, other.size);
+        size += other.size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public LatencyStats stats() {
+        return LatencyStats.of(values, size);
+    }
+}
@@ -0,0 +1,81 @@
+package com.benchmarking.dbcomparison.util;
+
+import org.HdrHistogram.AbstractHistogram;
+
+import java.util.Arrays;
+
+/**
+ * Podsumowanie próbek opóźnień (w nanosekundach) – percentyle liczone dokładnie po posortowaniu.
+ * Wartości zwracane w milisekundach.
+ */
+public class LatencyStats {
+
+    private final int count;
+    private final double meanMs;
+    private final double p50Ms;
+    private final double p90Ms;
+    private final double p95Ms;
+    private final double p99Ms;
+    private final double p999Ms;
+    private final double maxMs;
+
+    private LatencyStats(int count, double meanMs, double p50Ms, double p90Ms, double p95Ms, double p99Ms, double p999Ms, double maxMs) {
+        this.count = count;
+        this.meanMs = meanMs;
+        this.p50Ms = p50Ms;
+        this.p90Ms = p90Ms;
+        this.p95Ms = p95Ms;
+        this.p99Ms = p99Ms;
+        this.p999Ms = p999Ms;
+        this.maxMs = maxMs;
+    }
+
+    /** Liczy statystyki z pierwszych {@code n} elementów tablicy (tablica nie jest modyfikowana). */
+    public static LatencyStats of(long[] nanos, int n) {
+        if (n <= 0) return new LatencyStats(0, 0, 0, 0, 0, 0, 0, 0);
+        long[] sorted = Arrays.copyOf(nanos, n);
+        Arrays.sort(sorted);
+        double sum = 0;
+        for (long v : sorted) sum += v;
+        return new LatencyStats(n,
+                toMs(sum / n),
+                toMs(percentile(sorted, 0.50)),
+                toMs(percentile(sorted, 0.90)),
+                toMs(percentile(sorted, 0.95)),
+                toMs(percentile(sorted, 0.99)),
+                toMs(percentile(sorted, 0.999)),
+                toMs(sorted[n - 1]));
+    }
+
+    /** Statystyki z histogramu HdrHistogram z wartościami w mikrosekundach (dokładność wg cyfr znaczących). */
+    public static LatencyStats ofMicros(AbstractHistogram micros) {
+        long n = micros.getTotalCount();
+        if (n <= 0) return new LatencyStats(0, 0, 0, 0, 0, 0, 0, 0);
+        return new LatencyStats((int) Math.min(Integer.MAX_VALUE, n),
+                micros.getMean() / 1000.0,
+                micros.getValueAtPercentile(50.0) / 1000.0,
+                micros.getValueAtPercentile(90.0) / 1000.0,
+                micros.getValueAtPercentile(95.0) / 1000.0,
+                micros.getValueAtPercentile(99.0) / 1000.0,
+                micros.getValueAtPercentile(99.9) / 1000.0,
+                micros.getMaxValue() / 1000.0);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int idx = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, idx))];
+    }
+
+    private static double toMs(double nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    public int getCount() { return count; }
+    public double getMeanMs() { return meanMs; }
+    public double getP50Ms() { return p50Ms; }
+    public double getP90Ms() { return p90Ms; }
+    public double getP95Ms() { return p95Ms; }
+    public double getP99Ms() { return p99Ms; }
+    public double getP999Ms() { return p999Ms; }
+    public double getMaxMs() { return maxMs; }
+}
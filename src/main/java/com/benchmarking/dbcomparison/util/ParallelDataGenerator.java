@@ -0,0 +1,131 @@
+package com.benchmarking.dbcomparison.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Generowanie paczek encji na wątkach roboczych „przed” wątkiem zapisującym.
+ * Każdy wątek ma własny {@link EntityGenerator}, gotowe paczki trafiają do ograniczonej kolejki,
+ * więc generator wyprzedza zapis najwyżej o {@code queueDepth} paczek.
+ * <p>
+ * Kolejność paczek nie jest gwarantowana, ale każdy indeks 0..total-1 trafia do dokładnie jednej paczki.
+ * Użycie:
+ * <pre>
+ * try (ParallelDataGenerator&lt;Customer&gt; gen = new ParallelDataGenerator&lt;&gt;(n, 1000, 4, 8,
+ *         FastDataGenerator::new, (g, i) -&gt; g.generateCustomer())) {
+ *     List&lt;Customer&gt; batch;
+ *     while ((batch = gen.nextBatch()) != null) repository.saveAll(batch);
+ * }
+ * </pre>
+ */
+@Slf4j
+public class ParallelDataGenerator<T> implements AutoCloseable {
+
+    /** Tworzy encję o podanym indeksie przy użyciu generatora bieżącego wątku. */
+    @FunctionalInterface
+    public interface EntityFactory<T> {
+        T create(EntityGenerator generator, int index);
+    }
+
+    private static final AtomicInteger THREAD_SEQ = new AtomicInteger();
+
+    private final int total;
+    private final int batchSize;
+    private final int batches;
+    private final EntityFactory<T> factory;
+    private final Supplier<? extends EntityGenerator> generators;
+
+    private final List<T> end = new ArrayList<>(0);
+    private final BlockingQueue<List<T>> queue;
+    private final AtomicInteger nextBatch = new AtomicInteger();
+    private final AtomicInteger activeWorkers;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final ExecutorService executor;
+    private boolean finished;
+
+    public ParallelDataGenerator(int total, int batchSize, int workers, int queueDepth,
+                                 Supplier<? extends EntityGenerator> generators, EntityFactory<T> factory) {
+        this.total = Math.max(0, total);
+        this.batchSize = Math.max(1, batchSize);
+        this.batches = (this.total + this.batchSize - 1) / this.batchSize;
+        this.factory = factory;
+        this.generators = generators;
+
+        int threads = Math.max(1, Math.min(workers, Math.max(1, batches)));
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueDepth));
+        this.activeWorkers = new AtomicInteger(threads);
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "data-gen-" + THREAD_SEQ.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        for (int i = 0; i < threads; i++) executor.execute(this::work);
+    }
+
+    private void work() {
+        try {
+            EntityGenerator generator = generators.get();
+            int b;
+            while (failure.get() == null && (b = nextBatch.getAndIncrement()) < batches) {
+                int from = b * batchSize;
+                int to = Math.min(total, from + batchSize);
+                List<T> batch = new ArrayList<>(to - from);
+                for (int i = from; i < to; i++) batch.add(factory.create(generator, i));
+                queue.put(batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Throwable t) {
+            failure.compareAndSet(null, t);
+            log.error("Błąd generatora danych", t);
+        }
+        // znacznik końca odkłada ostatni wątek albo ten, który zawiódł – konsument nie czeka wtedy na resztę
+        if (activeWorkers.decrementAndGet() == 0 || failure.get() != null) {
+            try {
+                queue.put(end);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Następna gotowa paczka albo {@code null}, gdy wszystkie zostały już oddane.
+     * Błąd któregokolwiek wątku roboczego jest zgłaszany tutaj.
+     */
+    public List<T> nextBatch() {
+        if (finished) return null;
+        List<T> batch;
+        try {
+            batch = queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new IllegalStateException("Przerwano oczekiwanie na wygenerowane dane", e);
+        }
+        if (batch == end) {
+            finished = true;
+            Throwable t = failure.get();
+            if (t != null) throw new IllegalStateException("Generowanie danych nie powiodło się", t);
+            return null;
+        }
+        return batch;
+    }
+
+    @Override
+    public void close() {
+        finished = true;
+        executor.shutdownNow();
+        queue.clear();
+    }
+}
@@ -1,14 +1,12 @@
 package com.benchmarking.dbcomparison.benchmark;
 
+import com.benchmarking.dbcomparison.benchmark.results.ResultSink;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
 
-import java.io.File;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -36,6 +34,9 @@ public class AllCrudPerformanceTest {
     @Autowired
     private DeletePerformanceTest deleteTests;
 
+    @Autowired
+    private ResultSink resultSink;
+
     @BeforeAll
     void setUp() {
         timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
@@ -97,53 +98,11 @@ public class AllCrudPerformanceTest {
     }
 
     private void createBackupFiles() {
-        try {
-            backupIfExists("performance-insert-results.csv");
-            backupIfExists("performance-read-results.csv");
-            backupIfExists("performance-update-results.csv");
-            backupIfExists("performance-delete-results.csv");
-        } catch (Exception e) {
-            log.error("Błąd podczas tworzenia kopii zapasowych plików CSV", e);
-        }
-    }
-
-    private void backupIfExists(String filename) {
-        try {
-            File file = new File(filename);
-            if (file.exists()) {
-                String backupName = filename.replace(".csv", String.format("_%s.csv", timestamp));
-                Files.copy(file.toPath(), Path.of(backupName));
-                file.delete();
-            }
-        } catch (Exception e) {
-            log.error("Błąd podczas tworzenia kopii zapasowej pliku: {}", filename, e);
-        }
+        // wyniki sprzed serii osobno – katalog serii zawiera tylko jej wyniki
+        resultSink.archive("results_backup_" + timestamp);
     }
 
     private void archiveResultFiles() {
-        try {
-            String resultDir = String.format("results_%s_%s", activeProfile, timestamp);
-            new File(resultDir).mkdirs();
-
-            moveIfExists("performance-insert-results.csv", resultDir);
-            moveIfExists("performance-read-results.csv", resultDir);
-            moveIfExists("performance-update-results.csv", resultDir);
-            moveIfExists("performance-delete-results.csv", resultDir);
-
-            log.info("Wyniki testów zostały zarchiwizowane w katalogu: {}", resultDir);
-        } catch (Exception e) {
-            log.error("Błąd podczas archiwizacji wyników", e);
-        }
-    }
-
-    private void moveIfExists(String filename, String targetDir) {
-        try {
-            File file = new File(filename);
-            if (file.exists()) {
-                Files.move(file.toPath(), Path.of(targetDir, filename));
-            }
-        } catch (Exception e) {
-            log.error("Błąd podczas przenoszenia pliku: {}", filename, e);
-        }
+        resultSink.archive(String.format("results_%s_%s", activeProfile, timestamp));
     }
 }
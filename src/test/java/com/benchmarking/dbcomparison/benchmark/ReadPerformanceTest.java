@@ -120,7 +120,7 @@ public class ReadPerformanceTest {
 
         int size = 0;
         try {
-            List<com.benchmarking.dbcomparison.model.Order> orders = orderRepository.findAllWithCustomerAndItems();
+            List<com.benchmarking.dbcomparison.model.Order> orders = orderRepository.findAllWithCustomerAndItemsByIdIn(orderRepository.findAllIds());
             size = orders.size();
             databaseMetrics.incrementDatabaseOperations(metricName, activeProfile);
             databaseMetrics.recordDataSize(metricName, activeProfile, size);
@@ -152,10 +152,8 @@ public class ReadPerformanceTest {
             size = topProducts.size();
             databaseMetrics.incrementDatabaseOperations(metricName, activeProfile);
             databaseMetrics.recordDataSize(metricName, activeProfile, size);
-            databaseMetrics.recordCacheMetrics(metricName, activeProfile, true);
         } catch (Exception e) {
             databaseMetrics.incrementDatabaseErrors(metricName, activeProfile);
-            databaseMetrics.recordCacheMetrics(metricName, activeProfile, false);
             throw e;
         } finally {
             databaseMetrics.stopTimer(timer, metricName, activeProfile);
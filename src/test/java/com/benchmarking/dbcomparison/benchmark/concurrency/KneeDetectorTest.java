@@ -0,0 +1,71 @@
+package com.benchmarking.dbcomparison.benchmark.concurrency;
+
+import com.benchmarking.dbcomparison.util.LatencyStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KneeDetectorTest {
+
+    private static List<ScalabilityPoint> curve(double... throughput) {
+        List<ScalabilityPoint> points = new ArrayList<>();
+        int threads = 1;
+        for (double t : throughput) {
+            points.add(new ScalabilityPoint(10, threads, t, 0, LatencyStats.of(new long[0], 0)));
+            threads *= 2;
+        }
+        return points;
+    }
+
+    @Test
+    void kneeIsTheLastPointBeforeGainDropsBelowThreshold() {
+        // +100%, +50%, +3% – kolano przy 4 wątkach (indeks 2)
+        List<ScalabilityPoint> points = curve(100, 200, 300, 309, 310);
+        assertEquals(2, KneeDetector.findKnee(points, 0.05));
+        assertEquals(4, points.get(KneeDetector.findKnee(points, 0.05)).getThreads());
+    }
+
+    @Test
+    void curveWithoutFlatteningReturnsLastPoint() {
+        assertEquals(3, KneeDetector.findKnee(curve(100, 190, 350, 600), 0.05));
+    }
+
+    @Test
+    void dropInThroughputIsAKnee() {
+        assertEquals(1, KneeDetector.findKnee(curve(100, 180, 150, 400), 0.05));
+    }
+
+    @Test
+    void zeroBaselineCountsAsUnboundedGain() {
+        // 0 -> 100 nie jest kolanem, dopiero 100 -> 102 (+2%)
+        assertEquals(1, KneeDetector.findKnee(curve(0, 100, 102), 0.05));
+        // dwa poziomy bez przepustowości – brak przyrostu, kolano na pierwszym
+        assertEquals(0, KneeDetector.findKnee(curve(0, 0, 100), 0.05));
+        assertEquals(0, KneeDetector.gain(curve(0, 0), 1));
+    }
+
+    @Test
+    void emptyAndSinglePointCurves() {
+        assertEquals(-1, KneeDetector.findKnee(List.of(), 0.05));
+        assertEquals(0, KneeDetector.findKnee(curve(100), 0.05));
+    }
+
+    @Test
+    void gainIsRelativeToPreviousPoint() {
+        List<ScalabilityPoint> points = curve(0, 100, 150, 120);
+        assertEquals(0, KneeDetector.gain(points, 0));
+        assertEquals(Double.POSITIVE_INFINITY, KneeDetector.gain(points, 1), "wzrost od zera – przyrost nieskończony");
+        assertEquals(0.5, KneeDetector.gain(points, 2), 1e-12);
+        assertEquals(-0.2, KneeDetector.gain(points, 3), 1e-12);
+    }
+
+    @Test
+    void sweepStepsAreDoublingUpToMax() {
+        assertEquals(List.of(1), ScalabilitySweepTest.threadSteps(1));
+        assertEquals(List.of(1, 2, 4, 8), ScalabilitySweepTest.threadSteps(8));
+        assertEquals(List.of(1, 2, 4, 8, 12), ScalabilitySweepTest.threadSteps(12));
+    }
+}
@@ -151,7 +151,7 @@ public class IndexPerformanceTest {
         databaseMetrics.stopTimer(timer, label, activeProfile);
         databaseMetrics.recordTransactionTime(durationMs);
         databaseMetrics.incrementDatabaseOperations(label, activeProfile);
-        databaseMetrics.recordIndexUsage(indexName, activeProfile, results.size());
+        databaseMetrics.recordIndexUsage(indexName, activeProfile);
 
         saveToCsv(label, query, durationMs, results.size());
     }
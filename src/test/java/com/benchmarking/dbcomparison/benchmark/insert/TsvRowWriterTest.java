@@ -0,0 +1,75 @@
+package com.benchmarking.dbcomparison.benchmark.insert;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TsvRowWriterTest {
+
+    private static String text(TsvRowWriter writer) throws IOException {
+        return new String(writer.stream().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void encodesAllColumnKindsSeparatedByTabs() throws IOException {
+        UUID id = UUID.fromString("0189f7a2-3c4d-7e5f-8a6b-1c2d3e4f5a6b");
+        TsvRowWriter writer = new TsvRowWriter();
+        writer.uuid(id).str("Jan").num(42).num(new BigDecimal("1E+3")).bool(true)
+                .date(LocalDate.of(2024, 2, 29)).timestamp(LocalDateTime.of(2024, 2, 29, 13, 5, 7, 123_456_000));
+        writer.endRow();
+
+        assertEquals(id + "\tJan\t42\t1000\t1\t2024-02-29\t2024-02-29 13:05:07.123456\n", text(writer));
+        assertEquals(1, writer.rows());
+    }
+
+    @Test
+    void nullsAndSpecialCharactersAreEscaped() throws IOException {
+        TsvRowWriter writer = new TsvRowWriter();
+        writer.str(null).str("a\tb\nc\rd\\e").uuid(null).bool(null);
+        writer.endRow();
+
+        assertEquals("\\N\ta\\tb\\nc\\rd\\\\e\t\\N\t\\N\n", text(writer));
+    }
+
+    @Test
+    void nonAsciiTextMatchesJdkUtf8() throws IOException {
+        // 2-, 3- i 4-bajtowe sekwencje oraz samotny surogat
+        String value = "Zażółć ★ 😀 \uD800x";
+        TsvRowWriter writer = new TsvRowWriter();
+        writer.str(value);
+
+        assertArrayEquals(value.getBytes(StandardCharsets.UTF_8), writer.stream().readAllBytes());
+    }
+
+    @Test
+    void growsBeyondInitialBuffer() throws IOException {
+        String longValue = "ą".repeat(100_000);
+        TsvRowWriter writer = new TsvRowWriter();
+        writer.str(longValue).str(longValue);
+        writer.endRow();
+
+        assertEquals(longValue + "\t" + longValue + "\n", text(writer));
+        assertEquals(400_002, writer.size());
+    }
+
+    @Test
+    void resetStartsNewBatchInSameBuffer() throws IOException {
+        TsvRowWriter writer = new TsvRowWriter();
+        writer.str("first").num(1);
+        writer.endRow();
+        writer.reset();
+        writer.str("second");
+        writer.endRow();
+
+        assertEquals("second\n", text(writer));
+        assertEquals(1, writer.rows());
+        assertEquals(7, writer.size());
+    }
+}
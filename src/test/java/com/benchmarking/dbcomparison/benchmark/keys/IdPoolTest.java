@@ -0,0 +1,62 @@
+package com.benchmarking.dbcomparison.benchmark.keys;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdPoolTest {
+
+    @Test
+    void keepsIdsInInsertionOrder() {
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        IdPool pool = IdPool.of(ids);
+
+        assertEquals(3, pool.size());
+        assertFalse(pool.isEmpty());
+        for (int i = 0; i < ids.size(); i++) assertEquals(ids.get(i), pool.get(i));
+    }
+
+    @Test
+    void growsBeyondInitialCapacity() {
+        IdPool pool = new IdPool(1);
+        List<UUID> added = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            UUID id = new UUID(i, -i);
+            pool.add(id);
+            added.add(id);
+        }
+
+        assertEquals(1_000, pool.size());
+        for (int i = 0; i < added.size(); i++) assertEquals(added.get(i), pool.get(i));
+    }
+
+    @Test
+    void emptyPool() {
+        IdPool pool = IdPool.of(List.of());
+        assertTrue(pool.isEmpty());
+        assertEquals(0, pool.size());
+    }
+
+    @Test
+    void readersSeeEveryIdBelowTheObservedSize() throws InterruptedException {
+        IdPool pool = new IdPool(16);
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 100_000; i++) pool.add(new UUID(i, i));
+        });
+        writer.start();
+        // rozmiar czytany przed get – wszystkie indeksy poniżej niego muszą być kompletne (msb i lsb)
+        while (writer.isAlive()) {
+            int n = pool.size();
+            if (n == 0) continue;
+            UUID id = pool.get(n - 1);
+            assertEquals(id.getMostSignificantBits(), id.getLeastSignificantBits());
+            assertEquals(n - 1, id.getMostSignificantBits());
+        }
+        writer.join();
+        assertEquals(100_000, pool.size());
+    }
+}
@@ -0,0 +1,91 @@
+package com.benchmarking.dbcomparison.benchmark.keys;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZipfianGeneratorTest {
+
+    private static final int SAMPLES = 200_000;
+
+    @Test
+    void thetaOutsideOpenUnitIntervalIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new ZipfianGenerator(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ZipfianGenerator(100, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ZipfianGenerator(100, -0.5));
+    }
+
+    @Test
+    void headRanksFollowTheZipfProbabilities() {
+        int n = 1_000;
+        double theta = 0.99;
+        long[] counts = histogram(new ZipfianGenerator(n, theta), n);
+
+        double zetaN = zeta(n, theta);
+        // rangi 0 i 1 losowane są wprost z 1/zeta(n) i 1/(2^theta * zeta(n))
+        assertEquals(1 / zetaN, counts[0] / (double) SAMPLES, 0.01);
+        assertEquals(1 / (Math.pow(2, theta) * zetaN), counts[1] / (double) SAMPLES, 0.01);
+        assertTrue(counts[0] > counts[10] && counts[10] > counts[500], "częstość maleje z rangą");
+    }
+
+    @Test
+    void growingItemCountRecomputesTheDistribution() {
+        ZipfianGenerator zipf = new ZipfianGenerator(100, 0.9);
+        int n = 10_000;
+        long[] counts = histogram(zipf, n);
+
+        // po doliczeniu zeta(n) przyrostowo udział rangi 0 jak dla generatora od razu na n elementów
+        assertEquals(1 / zeta(n, 0.9), counts[0] / (double) SAMPLES, 0.01);
+        long tail = 0;
+        for (int i = 100; i < n; i++) tail += counts[i];
+        assertTrue(tail > 0, "rangi powyżej początkowej liczby elementów są losowane");
+    }
+
+    @Test
+    void concurrentGrowthNeverYieldsRanksOutOfRange() throws Exception {
+        ZipfianGenerator zipf = new ZipfianGenerator(10, 0.99);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int n = 10; n < 20_000; n += 7) {
+                        long rank = zipf.next(n);
+                        assertTrue(rank >= 0 && rank < n, "ranga " + rank + " dla n=" + n);
+                    }
+                }));
+            }
+            for (Future<?> f : futures) f.get();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void singleItemAlwaysYieldsRankZero() {
+        ZipfianGenerator zipf = new ZipfianGenerator(1, 0.5);
+        for (int i = 0; i < 1_000; i++) assertEquals(0, zipf.next(1));
+    }
+
+    private static long[] histogram(ZipfianGenerator zipf, int n) {
+        long[] counts = new long[n];
+        for (int i = 0; i < SAMPLES; i++) {
+            long rank = zipf.next(n);
+            assertTrue(rank >= 0 && rank < n);
+            counts[(int) rank]++;
+        }
+        return counts;
+    }
+
+    private static double zeta(long n, double theta) {
+        double sum = 0;
+        for (long i = 1; i <= n; i++) sum += 1 / Math.pow(i, theta);
+        return sum;
+    }
+}
@@ -0,0 +1,57 @@
+package com.benchmarking.dbcomparison.benchmark.results;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultStatisticsTest {
+
+    private static BenchmarkResult row(String operation, Map<String, String> params, double opsPerSecond) {
+        return new BenchmarkResult("run", Instant.EPOCH, "postgres", "scalabilitySweep", operation, params,
+                100, 1000, opsPerSecond, null, null, null, null, null, null, 0, Map.of());
+    }
+
+    @Test
+    void rowsWithDifferentParamsAreNotPooled() {
+        List<BenchmarkResult> rows = List.of(
+                row("READ_ONLY", Map.of("threads", "4", "iteration", "1"), 100),
+                row("READ_ONLY", Map.of("threads", "4", "iteration", "2"), 110),
+                row("READ_ONLY", Map.of("threads", "16", "iteration", "1"), 300),
+                row("READ_ONLY", Map.of("threads", "16", "iteration", "2"), 320));
+
+        Map<ResultStatistics.SampleKey, double[]> groups = ResultStatistics.group(rows, "opsPerSecond");
+
+        assertEquals(2, groups.size());
+        for (Map.Entry<ResultStatistics.SampleKey, double[]> e : groups.entrySet()) {
+            assertEquals(2, e.getValue().length);
+            assertFalse(e.getKey().getParams().containsKey("iteration"));
+        }
+        assertArrayEquals(new double[]{300, 320},
+                groups.get(new ResultStatistics.SampleKey("scalabilitySweep", "READ_ONLY", Map.of("threads", "16"))), 0);
+    }
+
+    @Test
+    void forkAndIterationParamsDoNotSplitTheSample() {
+        List<BenchmarkResult> rows = List.of(
+                row("insert", Map.of("recordCount", "1000", "fork", "1", "parentRun", "a", "forks", "0"), 100),
+                row("insert", Map.of("recordCount", "1000", "fork", "2", "parentRun", "a", "forks", "0"), 105),
+                row("insert", Map.of("recordCount", "1000", "iteration", "3", "iterations", "3"), 95));
+
+        Map<ResultStatistics.SampleKey, double[]> groups = ResultStatistics.group(rows, "opsPerSecond");
+
+        assertEquals(1, groups.size());
+        assertEquals(3, groups.values().iterator().next().length);
+    }
+
+    @Test
+    void missingMetricValuesAreSkipped() {
+        List<BenchmarkResult> rows = List.of(row("insert", Map.of(), 100), row("insert", Map.of(), 105));
+
+        assertTrue(ResultStatistics.group(rows, "p99Ms").isEmpty());
+        assertTrue(ResultStatistics.group(rows, "unknown_counter").isEmpty());
+    }
+}
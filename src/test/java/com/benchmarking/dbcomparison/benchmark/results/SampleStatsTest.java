@@ -0,0 +1,44 @@
+package com.benchmarking.dbcomparison.benchmark.results;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SampleStatsTest {
+
+    @Test
+    void meanStddevAndConfidenceInterval() {
+        SampleStats s = SampleStats.of(new double[]{100, 102, 98, 101, 99}, 0.95);
+
+        assertEquals(5, s.getN());
+        assertEquals(100, s.getMean(), 1e-12);
+        assertEquals(Math.sqrt(2.5), s.getStddev(), 1e-12);
+        assertEquals(98, s.getMin(), 0);
+        assertEquals(102, s.getMax(), 0);
+        // t(0.975, 4) = 2.776 → połowa przedziału 2.776 · √2.5 / √5
+        double half = 2.7764 * Math.sqrt(2.5) / Math.sqrt(5);
+        assertEquals(100 - half, s.getCiLow(), 1e-3);
+        assertEquals(100 + half, s.getCiHigh(), 1e-3);
+        assertEquals(half, s.getCiHalfWidthPercent(), 1e-3);
+    }
+
+    @Test
+    void singleValueHasNoInterval() {
+        SampleStats s = SampleStats.of(new double[]{42}, 0.95);
+
+        assertEquals(1, s.getN());
+        assertEquals(42, s.getMean(), 0);
+        assertTrue(Double.isNaN(s.getStddev()));
+        assertTrue(Double.isNaN(s.getCiLow()));
+        assertTrue(Double.isNaN(s.getCiHigh()));
+    }
+
+    @Test
+    void emptySample() {
+        SampleStats s = SampleStats.of(new double[0], 0.95);
+
+        assertEquals(0, s.getN());
+        assertTrue(Double.isNaN(s.getMean()));
+    }
+}
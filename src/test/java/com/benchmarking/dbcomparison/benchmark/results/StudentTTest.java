@@ -0,0 +1,35 @@
+package com.benchmarking.dbcomparison.benchmark.results;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** Wartości tablicowe rozkładu t-Studenta (kwantyl 0.975 – dwustronny 95% przedział). */
+class StudentTTest {
+
+    @Test
+    void quantileMatchesTables() {
+        assertEquals(12.706, StudentT.quantile(0.975, 1), 1e-3);
+        assertEquals(4.303, StudentT.quantile(0.975, 2), 1e-3);
+        assertEquals(2.776, StudentT.quantile(0.975, 4), 1e-3);
+        assertEquals(2.228, StudentT.quantile(0.975, 10), 1e-3);
+        assertEquals(2.045, StudentT.quantile(0.975, 29), 1e-3);
+        assertEquals(1.984, StudentT.quantile(0.975, 100), 1e-3);
+        assertEquals(3.169, StudentT.quantile(0.995, 10), 1e-3);
+    }
+
+    @Test
+    void cdfIsSymmetric() {
+        assertEquals(0.5, StudentT.cdf(0, 7), 1e-12);
+        assertEquals(1, StudentT.cdf(1.3, 7) + StudentT.cdf(-1.3, 7), 1e-12);
+        assertEquals(0.975, StudentT.cdf(2.228, 10), 1e-4);
+    }
+
+    @Test
+    void twoSidedPValue() {
+        assertEquals(0.05, StudentT.twoSidedP(2.228, 10), 1e-4);
+        assertEquals(0.05, StudentT.twoSidedP(-2.228, 10), 1e-4);
+        assertEquals(1, StudentT.twoSidedP(0, 5), 1e-12);
+        assertEquals(0, StudentT.twoSidedP(Double.POSITIVE_INFINITY, 5), 1e-12);
+    }
+}
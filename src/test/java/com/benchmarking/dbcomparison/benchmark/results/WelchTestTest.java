@@ -0,0 +1,58 @@
+package com.benchmarking.dbcomparison.benchmark.results;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WelchTestTest {
+
+    private static SampleStats sample(double... values) {
+        return SampleStats.of(values, 0.95);
+    }
+
+    @Test
+    void clearlyDifferentSamplesAreSignificant() {
+        WelchTest test = WelchTest.of(sample(100, 102, 98, 101, 99), sample(110, 108, 112, 109, 111), 0.05);
+
+        assertTrue(test.isTestable());
+        assertEquals(10, test.getT(), 1e-9);
+        assertEquals(8, test.getDegreesOfFreedom(), 1e-9);
+        assertTrue(test.getPValue() < 1e-4);
+        assertTrue(test.isSignificant());
+    }
+
+    @Test
+    void overlappingSamplesAreNotSignificant() {
+        WelchTest test = WelchTest.of(sample(100, 102, 98, 101, 99), sample(101, 97, 103, 99, 100), 0.05);
+
+        assertTrue(test.isTestable());
+        assertEquals(0, test.getT(), 1e-9);
+        assertEquals(1, test.getPValue(), 1e-9);
+        assertFalse(test.isSignificant());
+    }
+
+    @Test
+    void unequalVariancesUseWelchSatterthwaiteDegreesOfFreedom() {
+        // s²A = 2.5 (n 5), s²B = 10 (n 5): df = (0.5 + 2)² / (0.5²/4 + 2²/4) = 5.88
+        WelchTest test = WelchTest.of(sample(100, 102, 98, 101, 99), sample(104, 108, 100, 106, 102), 0.05);
+
+        assertEquals(5.882, test.getDegreesOfFreedom(), 1e-3);
+        assertEquals(4 / Math.sqrt(2.5), test.getT(), 1e-9);
+        assertEquals(StudentT.twoSidedP(test.getT(), test.getDegreesOfFreedom()), test.getPValue(), 1e-12);
+    }
+
+    @Test
+    void fewerThanTwoRepetitionsAreNotTestable() {
+        WelchTest test = WelchTest.of(sample(100), sample(110, 108, 112), 0.05);
+
+        assertFalse(test.isTestable());
+        assertFalse(test.isSignificant());
+        assertTrue(Double.isNaN(test.getPValue()));
+    }
+
+    @Test
+    void samplesWithoutSpread() {
+        assertTrue(WelchTest.of(sample(5, 5, 5), sample(6, 6, 6), 0.05).isSignificant());
+        assertFalse(WelchTest.of(sample(5, 5, 5), sample(5, 5, 5), 0.05).isSignificant());
+    }
+}
@@ -0,0 +1,70 @@
+package com.benchmarking.dbcomparison.benchmark.run;
+
+import com.benchmarking.dbcomparison.benchmark.phase.BenchmarkPhase;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BenchmarkRunTest {
+
+    private static BenchmarkRun queued() {
+        return new BenchmarkRun("insert", Map.of());
+    }
+
+    @Test
+    void cancelledInQueueNeverStarts() {
+        BenchmarkRun run = queued();
+
+        assertTrue(run.cancelQueued());
+        assertEquals(RunStatus.CANCELLED, run.getStatus());
+        assertNotNull(run.getFinishedAt());
+        assertFalse(run.markRunning(() -> BenchmarkPhase.MEASUREMENT));
+        assertEquals(RunStatus.CANCELLED, run.getStatus());
+        assertNull(run.getStartedAt());
+    }
+
+    @Test
+    void startedRunCannotBeCancelledAsQueued() {
+        BenchmarkRun run = queued();
+
+        assertTrue(run.markRunning(() -> BenchmarkPhase.MEASUREMENT));
+        assertFalse(run.cancelQueued());
+        assertEquals(RunStatus.RUNNING, run.getStatus());
+        assertEquals(BenchmarkPhase.MEASUREMENT, run.getPhase());
+
+        run.finish(RunStatus.COMPLETED, null);
+        assertFalse(run.cancelQueued());
+        assertEquals(RunStatus.COMPLETED, run.getStatus());
+    }
+
+    @Test
+    void exactlyOneSideWinsTheRace() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < 2_000; i++) {
+                BenchmarkRun run = queued();
+                CountDownLatch go = new CountDownLatch(1);
+                Future<Boolean> started = pool.submit(() -> {
+                    go.await();
+                    return run.markRunning(() -> BenchmarkPhase.MEASUREMENT);
+                });
+                Future<Boolean> cancelled = pool.submit(() -> {
+                    go.await();
+                    return run.cancelQueued();
+                });
+                go.countDown();
+
+                assertNotEquals(started.get(), cancelled.get());
+                assertEquals(started.get() ? RunStatus.RUNNING : RunStatus.CANCELLED, run.getStatus());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.benchmarking.dbcomparison.benchmark.telemetry;
+
+import com.benchmarking.dbcomparison.benchmark.telemetry.JdbcStatementStats.JdbcPhaseStats;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcStatementStatsTest {
+
+    private final JdbcStatementStats stats = new JdbcStatementStats();
+
+    @Test
+    void literalsAndWhitespaceAreNormalized() {
+        assertEquals("SELECT * FROM customer WHERE email = ? AND id = ?",
+                stats.fingerprint("SELECT *\n  FROM customer\tWHERE email = 'a@b.pl' AND id = 42"));
+        assertEquals("UPDATE t SET name = ? WHERE price > ?",
+                stats.fingerprint("UPDATE t SET name = 'it''s' WHERE price > 12.50"));
+    }
+
+    @Test
+    void identifiersWithDigitsAreKept() {
+        assertEquals("SELECT c1 FROM order_items2 WHERE c1 = ?", stats.fingerprint("SELECT c1 FROM order_items2 WHERE c1 = 7"));
+    }
+
+    @Test
+    void parameterListsCollapseRegardlessOfLength() {
+        String three = stats.fingerprint("SELECT * FROM product WHERE id IN (1, 2, 3)");
+        String five = stats.fingerprint("SELECT * FROM product WHERE id IN (?, ?, ?, ?, ?)");
+        assertEquals("SELECT * FROM product WHERE id IN (?+)", three);
+        assertEquals(three, five);
+        // pojedynczy parametr to nie lista
+        assertEquals("SELECT * FROM product WHERE id IN (?)", stats.fingerprint("SELECT * FROM product WHERE id IN (?)"));
+    }
+
+    @Test
+    void multiRowValuesCollapseToOneFingerprint() {
+        assertEquals("INSERT INTO t (a, b) VALUES (?+)", stats.fingerprint("INSERT INTO t (a, b) VALUES (?, ?)"));
+        assertEquals("INSERT INTO t (a, b) VALUES (?+)+", stats.fingerprint("INSERT INTO t (a, b) VALUES (?, ?), (?, ?),\n (?, ?)"));
+        assertEquals("INSERT INTO t (a, b) VALUES (?+)+", stats.fingerprint("INSERT INTO t (a, b) VALUES (1, 'x'), (2, 'y')"));
+    }
+
+    @Test
+    void longStatementsAreTruncatedAndNullIsOther() {
+        String f = stats.fingerprint("SELECT " + "col, ".repeat(200) + "x FROM t");
+        assertEquals(301, f.length());
+        assertTrue(f.endsWith("…"));
+        assertEquals("(inne)", stats.fingerprint(null));
+    }
+
+    @Test
+    void statementsAreGroupedByFingerprintWithinTheWindow() {
+        stats.recordExecute("SELECT * FROM customer WHERE id = 1", 1_000_000, -1);
+        stats.begin();
+        stats.recordExecute("SELECT * FROM customer WHERE id = 2", 2_000_000, -1);
+        stats.recordExecute("SELECT * FROM customer WHERE id = 3", 3_000_000, -1);
+        stats.recordBatch("INSERT INTO t (a) VALUES (?)", 3,
+                new long[]{Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO}, 4_000_000);
+
+        JdbcPhaseStats s = (JdbcPhaseStats) stats.end();
+
+        assertEquals(3, s.getRoundTrips());
+        assertEquals(2, s.getExecutes());
+        assertEquals(1, s.getBatchExecutes());
+        assertEquals(3, s.getBatchedStatements());
+        assertEquals(1, s.getRewrittenBatches());
+        assertEquals(9.0, s.getDriverMs(), 1e-9);
+        assertEquals(2, s.getTop().size());
+        var select = s.getTop().stream().filter(d -> d.getFingerprint().startsWith("SELECT")).findFirst().orElseThrow();
+        assertEquals("SELECT * FROM customer WHERE id = ?", select.getFingerprint());
+        assertEquals(2, select.getExecutes());
+    }
+}
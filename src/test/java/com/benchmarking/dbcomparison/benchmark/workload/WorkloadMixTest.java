@@ -0,0 +1,61 @@
+package com.benchmarking.dbcomparison.benchmark.workload;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkloadMixTest {
+
+    @Test
+    void presetNamesAreCaseInsensitive() {
+        WorkloadMix mix = WorkloadMix.parse(" update_heavy ");
+        assertEquals("UPDATE_HEAVY", mix.getName());
+        assertEquals("UPDATE_HEAVY [read=50%,update=50%]", mix.toString());
+    }
+
+    @Test
+    void blankSpecFallsBackToReadMostly() {
+        assertEquals("READ_MOSTLY", WorkloadMix.parse(null).getName());
+        assertEquals("READ_MOSTLY [read=95%,update=5%]", WorkloadMix.parse("  ").toString());
+    }
+
+    @Test
+    void customWeightsAreNormalizedAndMerged() {
+        // wagi nie muszą sumować się do 100, powtórzony wpis się sumuje, zera są pomijane
+        WorkloadMix mix = WorkloadMix.parse("read=3, Scan=1, read=4, insert=0, update=2");
+        assertEquals("read=3, Scan=1, read=4, insert=0, update=2", mix.getName());
+        assertArrayEquals(new WorkloadOperation[]{WorkloadOperation.READ, WorkloadOperation.UPDATE, WorkloadOperation.SCAN},
+                mix.getOperations());
+        assertEquals(mix.getName() + " [read=70%,update=20%,scan=10%]", mix.toString());
+    }
+
+    @Test
+    void singleOperationAlwaysDrawsIt() {
+        WorkloadMix mix = WorkloadMix.parse("READ_ONLY");
+        for (int i = 0; i < 1_000; i++) assertEquals(WorkloadOperation.READ, mix.next());
+    }
+
+    @Test
+    void nextFollowsWeights() {
+        WorkloadMix mix = WorkloadMix.parse("read=80,read_modify_write=20");
+        Map<WorkloadOperation, Integer> counts = new EnumMap<>(WorkloadOperation.class);
+        int draws = 100_000;
+        for (int i = 0; i < draws; i++) counts.merge(mix.next(), 1, Integer::sum);
+
+        assertEquals(2, counts.size());
+        assertEquals(0.8, counts.get(WorkloadOperation.READ) / (double) draws, 0.01);
+        assertEquals(0.2, counts.get(WorkloadOperation.READ_MODIFY_WRITE) / (double) draws, 0.01);
+    }
+
+    @Test
+    void invalidSpecsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> WorkloadMix.parse("read"));
+        assertThrows(IllegalArgumentException.class, () -> WorkloadMix.parse("read=1=2"));
+        assertThrows(IllegalArgumentException.class, () -> WorkloadMix.parse("delete=10"));
+        assertThrows(IllegalArgumentException.class, () -> WorkloadMix.parse("read=abc"));
+        assertThrows(IllegalArgumentException.class, () -> WorkloadMix.parse("read=0,update=-5"));
+    }
+}
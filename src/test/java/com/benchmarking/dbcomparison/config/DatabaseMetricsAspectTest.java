@@ -0,0 +1,61 @@
+package com.benchmarking.dbcomparison.config;
+
+import com.benchmarking.dbcomparison.repository.OverheadProbeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatabaseMetricsAspectTest {
+
+    private static final List<Integer> RESULT = List.of(1, 2, 3);
+
+    private final BenchmarkConfig config = new BenchmarkConfig();
+    private final DatabaseMetrics metrics = new DatabaseMetrics(new SimpleMeterRegistry(), null);
+    private final DatabaseMetricsAspect aspect = new DatabaseMetricsAspect(metrics, config);
+
+    DatabaseMetricsAspectTest() {
+        ReflectionTestUtils.setField(aspect, "activeProfile", "postgres");
+    }
+
+    @AfterEach
+    void shutdown() {
+        metrics.shutdown();
+    }
+
+    private static OverheadProbeRepository proxy(DatabaseMetricsAspect aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory((OverheadProbeRepository) () -> RESULT);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    @Test
+    void repositoryPackageCallsAreCountedThroughTheProxy() {
+        OverheadProbeRepository probe = proxy(aspect);
+        for (int i = 0; i < 5; i++) assertSame(RESULT, probe.probe());
+
+        assertEquals(5, metrics.getOperationsCount("OTHER", "postgres"));
+        assertEquals(5, metrics.getLatency("OTHER", "postgres").getCount());
+    }
+
+    @Test
+    void settingsCopyDoesNotTouchSharedConfig() {
+        OverheadProbeRepository disabled = proxy(aspect.withSettings(false, 1));
+        OverheadProbeRepository sampled = proxy(aspect.withSettings(true, 1_000_000));
+        for (int i = 0; i < 100; i++) {
+            disabled.probe();
+            sampled.probe();
+        }
+
+        assertTrue(config.isAspectEnabled());
+        assertEquals(1, config.getAspectSampleEvery());
+        // wyłączony nic nie liczy; próbkowany liczy każde wywołanie, a czas tylko co N-te
+        assertEquals(100, metrics.getOperationsCount("OTHER", "postgres"));
+        assertTrue(metrics.getLatency("OTHER", "postgres").getCount() < 100);
+    }
+}
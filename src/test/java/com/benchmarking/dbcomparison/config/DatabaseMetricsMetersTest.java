@@ -0,0 +1,61 @@
+package com.benchmarking.dbcomparison.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatabaseMetricsMetersTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final DatabaseMetrics metrics = new DatabaseMetrics(registry, null);
+
+    @AfterEach
+    void shutdown() {
+        metrics.shutdown();
+    }
+
+    @Test
+    void errorAndIndexCountersAreRegisteredOncePerTagSet() {
+        for (int i = 0; i < 3; i++) metrics.incrementDatabaseErrors("insert", "postgres");
+        metrics.incrementDatabaseErrors("insert", "mysql");
+        metrics.recordIndexUsage("idx_email", "postgres");
+        metrics.recordIndexUsage("idx_email", "postgres");
+
+        assertEquals(3, metrics.getErrorsCount("insert", "postgres"));
+        assertEquals(1, metrics.getErrorsCount("insert", "mysql"));
+        assertEquals(2, registry.find("db_errors_total").counters().size());
+        Counter index = registry.get("db_index_usage_total").tag("index", "idx_email").counter();
+        assertEquals(2, index.count());
+    }
+
+    @Test
+    void lockWaitAndJoinTimersAccumulateInOneMeter() {
+        metrics.recordLockWaitTime("row", "postgres", 5);
+        metrics.recordLockWaitTime("row", "postgres", 7);
+        metrics.recordJoinQueryMetrics("postgres", 2, 10);
+        metrics.recordJoinQueryMetrics("postgres", 3, 10);
+        metrics.recordJoinQueryMetrics("postgres", 2, 20);
+
+        Timer lockWait = registry.get("db_lock_wait_seconds").tag("lock_type", "row").timer();
+        assertEquals(2, lockWait.count());
+        assertEquals(12, lockWait.totalTime(TimeUnit.MILLISECONDS), 1e-9);
+        assertEquals(2, registry.find("db_join_query_seconds").timers().size());
+        assertEquals(30, registry.get("db_join_query_seconds").tag("join_count", "2").timer()
+                .totalTime(TimeUnit.MILLISECONDS), 1e-9);
+    }
+
+    @Test
+    void bufferCacheCountersSplitHitsAndMisses() {
+        metrics.recordBufferCache("postgres", 100, 5);
+        metrics.recordBufferCache("postgres", 50, 0);
+
+        assertEquals(150, registry.get("db_cache_hits_total").tag("result", "hit").counter().count());
+        assertEquals(5, registry.get("db_cache_hits_total").tag("result", "miss").counter().count());
+    }
+}
@@ -0,0 +1,40 @@
+package com.benchmarking.dbcomparison.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DatabaseMetricsWindowTest {
+
+    private final DatabaseMetrics metrics = new DatabaseMetrics(new SimpleMeterRegistry(), null);
+
+    @AfterEach
+    void shutdown() {
+        metrics.shutdown();
+    }
+
+    @Test
+    void latencyIsReportedFromTheCurrentWindowOnly() {
+        LatencyRecorder recorder = metrics.recorder("read", "postgres");
+        for (int i = 0; i < 100; i++) recorder.record(50_000_000L);
+
+        metrics.startWindow();
+        for (int i = 0; i < 10; i++) recorder.record(2_000_000L);
+
+        assertEquals(10, metrics.getLatency("read", "postgres").getCount());
+        assertEquals(2.0, metrics.getLatency("read", "postgres").getMaxMs(), 0.02);
+        // wskaźniki Prometheusa nadal widzą wszystkie pomiary
+        assertEquals(110, recorder.lastStats().getCount());
+    }
+
+    @Test
+    void newWindowIsEmpty() {
+        metrics.recorder("read", "postgres").record(1_000_000L);
+        metrics.startWindow();
+
+        assertEquals(0, metrics.getLatency("read", "postgres").getCount());
+        assertEquals(0, metrics.getLatency("unknown", "postgres").getCount());
+    }
+}
@@ -0,0 +1,104 @@
+package com.benchmarking.dbcomparison.model.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdStrategyTest {
+
+    /** Kolejność bajtów w kolumnie uuid / BINARY(16) – bez znaku, od najstarszego bajtu. */
+    private static int byteOrder(UUID a, UUID b) {
+        int c = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return c != 0 ? c : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    @Test
+    void versionAndVariantMatchStrategy() {
+        assertEquals(4, IdStrategy.RANDOM_V4.next().version());
+        assertEquals(7, IdStrategy.TIME_ORDERED_V7.next().version());
+        for (IdStrategy strategy : IdStrategy.values()) {
+            assertEquals(2, strategy.next().variant(), strategy.name());
+        }
+        // SWAPPED_V1: nibble wersji jest na początku time_hi, czyli w pierwszym bajcie
+        UUID swapped = IdStrategy.SWAPPED_V1.next();
+        assertEquals(1, swapped.getMostSignificantBits() >>> 60);
+    }
+
+    @Test
+    void timeOrderedV7CarriesCurrentMillis() {
+        long before = System.currentTimeMillis();
+        UUID id = IdStrategy.TIME_ORDERED_V7.next();
+        long after = System.currentTimeMillis();
+
+        long millis = id.getMostSignificantBits() >>> 16;
+        // licznik może "pożyczyć" kilka milisekund przy szybkim nadawaniu w innych testach
+        assertTrue(millis >= before && millis <= after + 10, "ms = " + millis);
+    }
+
+    @Test
+    void orderedStrategiesAreMonotonicInByteOrder() {
+        for (IdStrategy strategy : List.of(IdStrategy.TIME_ORDERED_V7, IdStrategy.SEQUENTIAL, IdStrategy.SWAPPED_V1)) {
+            UUID previous = strategy.next();
+            for (int i = 0; i < 10_000; i++) {
+                UUID next = strategy.next();
+                assertTrue(byteOrder(previous, next) < 0, strategy + ": " + previous + " !< " + next);
+                previous = next;
+            }
+        }
+    }
+
+    @Test
+    void orderedStrategiesStayUniqueAcrossThreads() throws Exception {
+        int threads = 4;
+        int perThread = 20_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            for (IdStrategy strategy : List.of(IdStrategy.TIME_ORDERED_V7, IdStrategy.SEQUENTIAL, IdStrategy.SWAPPED_V1)) {
+                List<Future<List<UUID>>> futures = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    futures.add(pool.submit(() -> {
+                        List<UUID> ids = new ArrayList<>(perThread);
+                        for (int i = 0; i < perThread; i++) ids.add(strategy.next());
+                        return ids;
+                    }));
+                }
+                Set<UUID> all = new HashSet<>();
+                for (Future<List<UUID>> f : futures) all.addAll(f.get());
+                assertEquals(threads * perThread, all.size(), strategy.name());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void parseIgnoresCaseAndFallsBackOnBlank() {
+        assertEquals(IdStrategy.TIME_ORDERED_V7, IdStrategy.parse(" time_ordered_v7 ", IdStrategy.RANDOM_V4));
+        assertEquals(IdStrategy.SEQUENTIAL, IdStrategy.parse(null, IdStrategy.SEQUENTIAL));
+        assertEquals(IdStrategy.SEQUENTIAL, IdStrategy.parse("  ", IdStrategy.SEQUENTIAL));
+        assertThrows(IllegalArgumentException.class, () -> IdStrategy.parse("v9", IdStrategy.RANDOM_V4));
+    }
+
+    @Test
+    void generatorSwitchesStrategyAndReturnsPrevious() {
+        IdStrategy original = BenchmarkIdGenerator.use(IdStrategy.SEQUENTIAL);
+        try {
+            assertEquals(IdStrategy.SEQUENTIAL, BenchmarkIdGenerator.current());
+            UUID first = BenchmarkIdGenerator.nextId();
+            assertTrue(byteOrder(first, BenchmarkIdGenerator.nextId()) < 0);
+            assertEquals(IdStrategy.SEQUENTIAL, BenchmarkIdGenerator.use(IdStrategy.RANDOM_V4));
+            assertEquals(4, BenchmarkIdGenerator.nextId().version());
+        } finally {
+            BenchmarkIdGenerator.use(original);
+        }
+    }
+}
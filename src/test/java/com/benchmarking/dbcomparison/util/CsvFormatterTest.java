@@ -0,0 +1,69 @@
+package com.benchmarking.dbcomparison.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvFormatterTest {
+
+    @Test
+    void numbersUseDotAndNoGroupingRegardlessOfLocale() {
+        Locale previous = Locale.getDefault();
+        Locale.setDefault(Locale.GERMANY);
+        try {
+            assertEquals("1234567.5", CsvFormatter.formatNumber(1_234_567.5));
+            assertEquals("0.125", CsvFormatter.formatNumber(0.125f));
+            assertEquals("1234567", CsvFormatter.formatNumber(1_234_567L));
+        } finally {
+            Locale.setDefault(previous);
+        }
+    }
+
+    @Test
+    void doublesAreRoundedToFourPlacesWithoutExponent() {
+        assertEquals("3.1416", CsvFormatter.formatNumber(Math.PI));
+        assertEquals("2", CsvFormatter.formatNumber(2.0));
+        assertEquals("0", CsvFormatter.formatNumber(0.00001));
+        assertEquals("100000000000000000000", CsvFormatter.formatNumber(1e20));
+        assertEquals("-0.0001", CsvFormatter.formatNumber(-0.00005));
+    }
+
+    @Test
+    void missingValuesAreEmptyFields() {
+        assertEquals("", CsvFormatter.formatNumber(null));
+        assertEquals("", CsvFormatter.formatNumber(Double.NaN));
+        assertEquals("", CsvFormatter.formatNumber(Double.POSITIVE_INFINITY));
+        assertEquals("", CsvFormatter.formatValue(null));
+        assertEquals("", CsvFormatter.formatMap(Map.of()));
+    }
+
+    @Test
+    void specialCharactersAreQuoted() {
+        assertEquals("plain text", CsvFormatter.formatValue("plain text"));
+        assertEquals("\"a;b\"", CsvFormatter.formatValue("a;b"));
+        assertEquals("\"say \"\"hi\"\"\"", CsvFormatter.formatValue("say \"hi\""));
+        assertEquals("\"line\nbreak\"", CsvFormatter.formatValue("line\nbreak"));
+        assertEquals("\"cr\rhere\"", CsvFormatter.formatValue("cr\rhere"));
+    }
+
+    @Test
+    void mapIsOneFieldWithFormattedNumbers() {
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("threads", 8);
+        params.put("ratio", 0.33333);
+        params.put("mode", "a;b");
+
+        assertEquals("threads=8,ratio=0.3333,mode=a;b", CsvFormatter.formatMap(params));
+        assertEquals("\"threads=8,ratio=0.3333,mode=a;b\"", CsvFormatter.formatValue(params));
+    }
+
+    @Test
+    void lineJoinsFieldsWithSeparator() {
+        assertEquals("insert;1.5;;\"x;y\";42\n", CsvFormatter.formatCsvLine("insert", 1.5, null, "x;y", 42));
+        assertEquals("\n", CsvFormatter.formatCsvLine());
+    }
+}
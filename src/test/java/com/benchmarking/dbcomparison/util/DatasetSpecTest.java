@@ -0,0 +1,91 @@
+package com.benchmarking.dbcomparison.util;
+
+import com.benchmarking.dbcomparison.model.Customer;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatasetSpecTest {
+
+    @Test
+    void countsScaleLinearlyAndCategoriesWithSquareRoot() {
+        DatasetSpec sf1 = DatasetSpec.of(42, 1);
+        assertEquals(10_000, sf1.customers());
+        assertEquals(500, sf1.brands());
+        assertEquals(200, sf1.mainCategories());
+        assertEquals(1_000, sf1.categories());
+        assertEquals(15_000, sf1.orders());
+        assertEquals(20_000, sf1.reviews());
+        assertEquals(30_000, sf1.movements());
+
+        DatasetSpec sf4 = DatasetSpec.of(42, 4);
+        assertEquals(40_000, sf4.customers());
+        assertEquals(400, sf4.mainCategories());
+        assertEquals(sf4.mainCategories(), sf4.count(DatasetTable.CATEGORY));
+
+        // bardzo mały SF – co najmniej jeden wiersz w każdej tabeli
+        DatasetSpec tiny = DatasetSpec.of(42, 0.00001);
+        for (DatasetTable table : DatasetTable.values()) assertTrue(tiny.count(table) >= 1, table.name());
+    }
+
+    @Test
+    void nonPositiveScaleFactorIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> DatasetSpec.of(1, 0));
+        assertThrows(IllegalArgumentException.class, () -> DatasetSpec.of(1, -1));
+        assertThrows(IllegalArgumentException.class, () -> DatasetSpec.of(1, Double.NaN));
+    }
+
+    @Test
+    void rowContentDependsOnlyOnSeedTableAndIndex() {
+        DatasetSpec spec = DatasetSpec.of(7, 1);
+        ParallelDataGenerator.EntityFactory<Customer> factory = spec.rowFactory(DatasetTable.CUSTOMER, (g, i) -> g.generateCustomer());
+
+        // inny generator i inna kolejność wierszy – ta sama treść wiersza 5
+        FastDataGenerator first = spec.newGenerator();
+        Customer a = factory.create(first, 5);
+        FastDataGenerator second = spec.newGenerator();
+        factory.create(second, 9);
+        factory.create(second, 0);
+        Customer b = factory.create(second, 5);
+        assertEquals(a.getEmail(), b.getEmail());
+        assertEquals(a.getFirstName(), b.getFirstName());
+        assertEquals(a.getDateOfBirth(), b.getDateOfBirth());
+
+        assertNotEquals(a.getEmail(), factory.create(second, 6).getEmail());
+        Customer otherSeed = DatasetSpec.of(8, 1).rowFactory(DatasetTable.CUSTOMER, (g, i) -> g.generateCustomer())
+                .create(spec.newGenerator(), 5);
+        assertNotEquals(a.getEmail(), otherSeed.getEmail());
+    }
+
+    @Test
+    void rowSeedsDifferAcrossTables() {
+        DatasetSpec spec = DatasetSpec.of(7, 1);
+        assertNotEquals(spec.rowSeed(DatasetTable.CUSTOMER, 3), spec.rowSeed(DatasetTable.PRODUCT, 3));
+        assertEquals(spec.rowSeed(DatasetTable.CUSTOMER, 3), DatasetSpec.of(7, 2).rowSeed(DatasetTable.CUSTOMER, 3));
+    }
+
+    @Test
+    void chunksCoverTheTableWithoutGaps() {
+        DatasetSpec spec = DatasetSpec.of(1, 0.25);
+        List<DatasetSpec.Chunk> chunks = spec.chunks(DatasetTable.CUSTOMER, 1_000);
+        assertEquals(3, chunks.size());
+        int next = 0;
+        for (DatasetSpec.Chunk c : chunks) {
+            assertEquals(next, c.getFrom());
+            next = c.getTo();
+        }
+        assertEquals(spec.customers(), next);
+        assertEquals(500, chunks.get(2).size());
+    }
+
+    @Test
+    void nonDeterministicGeneratorIsRejected() {
+        DatasetSpec spec = DatasetSpec.of(1, 1);
+        EntityGenerator other = (EntityGenerator) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{EntityGenerator.class}, (proxy, method, args) -> null);
+        assertThrows(IllegalStateException.class, () -> spec.atRow(other, DatasetTable.BRAND, 0));
+    }
+}
@@ -0,0 +1,62 @@
+package com.benchmarking.dbcomparison.util;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyStatsTest {
+
+    @Test
+    void percentilesFromSortedSamples() {
+        long[] nanos = new long[100];
+        // 1..100 ms w odwrotnej kolejności – of() sortuje kopię
+        for (int i = 0; i < 100; i++) nanos[i] = (100 - i) * 1_000_000L;
+
+        LatencyStats s = LatencyStats.of(nanos, 100);
+
+        assertEquals(100, s.getCount());
+        assertEquals(50.5, s.getMeanMs(), 1e-9);
+        assertEquals(50, s.getP50Ms(), 0);
+        assertEquals(90, s.getP90Ms(), 0);
+        assertEquals(95, s.getP95Ms(), 0);
+        assertEquals(99, s.getP99Ms(), 0);
+        assertEquals(100, s.getP999Ms(), 0);
+        assertEquals(100, s.getMaxMs(), 0);
+        assertEquals(1_000_000L * 100, nanos[0], "tablica wejściowa nie jest modyfikowana");
+    }
+
+    @Test
+    void onlyTheFirstNSamplesCount() {
+        long[] nanos = {2_000_000, 4_000_000, 0, 0, 0};
+
+        LatencyStats s = LatencyStats.of(nanos, 2);
+
+        assertEquals(2, s.getCount());
+        assertEquals(3, s.getMeanMs(), 1e-9);
+        assertEquals(2, s.getP50Ms(), 0);
+        assertEquals(4, s.getMaxMs(), 0);
+    }
+
+    @Test
+    void emptySample() {
+        LatencyStats s = LatencyStats.of(new long[0], 0);
+
+        assertEquals(0, s.getCount());
+        assertEquals(0, s.getP99Ms(), 0);
+    }
+
+    @Test
+    void histogramInMicroseconds() {
+        Histogram h = new Histogram(3);
+        for (int i = 1; i <= 1000; i++) h.recordValue(i * 10L); // 10 µs .. 10 ms
+
+        LatencyStats s = LatencyStats.ofMicros(h);
+
+        assertEquals(1000, s.getCount());
+        assertEquals(5.0, s.getP50Ms(), 0.01);
+        assertEquals(9.5, s.getP95Ms(), 0.01);
+        assertEquals(9.9, s.getP99Ms(), 0.01);
+        assertEquals(10.0, s.getMaxMs(), 0.01);
+    }
+}